@@ -0,0 +1,110 @@
+package com.krugs.hackathon_1.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.service.GeminiRouteParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 응답 파싱/직렬화 비교
+ * - legacy*: 기존 방식 (코드 블록 replace → Map 역직렬화 → List&lt;List&lt;Double&gt;&gt; 캐스팅)
+ * - streaming*: GeminiRouteParser (JsonParser → RouteData + GeoPath(double[]))
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm(B/op)으로 비교
+ * 실행: gradle jmh -Pjmh.includes=GeminiRouteParserBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class GeminiRouteParserBenchmark {
+
+    @Param({"40", "200"})
+    public int pointsPerRoute;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GeminiRouteParser parser;
+    private String response;
+    private List<RouteData> parsedRoutes;
+    private List<Map<String, Object>> legacyRoutes;
+
+    @Setup
+    public void setUp() throws Exception {
+        parser = new GeminiRouteParser(objectMapper);
+        response = "```json\n" + sampleResponse(pointsPerRoute) + "\n```";
+        parsedRoutes = parser.parseResponse(response, 3);
+        legacyRoutes = legacyParse(response);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyParse() throws Exception {
+        return legacyParse(response);
+    }
+
+    @Benchmark
+    public List<RouteData> streamingParse() throws Exception {
+        return parser.parseResponse(response, 3);
+    }
+
+    @Benchmark
+    public String legacySerialize() throws Exception {
+        return objectMapper.writeValueAsString(legacyRoutes);
+    }
+
+    @Benchmark
+    public String streamingSerialize() throws Exception {
+        return objectMapper.writeValueAsString(parsedRoutes);
+    }
+
+    /**
+     * 기존 CourseRecommendationService.parseGeminiResponse 방식
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> legacyParse(String raw) throws Exception {
+        String cleanedResponse = raw.trim();
+        if (cleanedResponse.startsWith("```json")) {
+            cleanedResponse = cleanedResponse.replace("```json", "").replace("```", "").trim();
+        } else if (cleanedResponse.startsWith("```")) {
+            cleanedResponse = cleanedResponse.replace("```", "").trim();
+        }
+
+        Map<String, Object> jsonResponse = objectMapper.readValue(cleanedResponse, Map.class);
+        List<Map<String, Object>> routesJson = (List<Map<String, Object>>) jsonResponse.get("routes");
+
+        List<Map<String, Object>> routes = new ArrayList<>();
+        for (int i = 0; i < Math.min(routesJson.size(), 3); i++) {
+            Map<String, Object> routeJson = routesJson.get(i);
+            List<List<Double>> coordinates = (List<List<Double>>) routeJson.get("coordinates");
+            routeJson.put("coordinates", coordinates);
+            routeJson.put("rank", i + 1);
+            routes.add(routeJson);
+        }
+        return routes;
+    }
+
+    private static String sampleResponse(int points) {
+        StringBuilder json = new StringBuilder("{\"routes\": [");
+        for (int r = 0; r < 3; r++) {
+            if (r > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\": \"유성 온천 순환 코스 ").append(r + 1).append("\",")
+                    .append("\"description\": \"유성온천과 갑천을 잇는 자연경관 코스\",")
+                    .append("\"distance\": 10.5, \"startPointLat\": 36.3742, \"startPointLng\": 127.3515,")
+                    .append("\"coordinates\": [");
+            for (int i = 0; i < points; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(String.format(Locale.ROOT, "[%.6f, %.6f]", 36.3742 + i * 0.0007, 127.3515 + i * 0.0005));
+            }
+            json.append("],\"landmarks\": [\"유성온천\", \"유성호\", \"대덕산\"],")
+                    .append("\"elevationGain\": 65, \"safetyScore\": 8, \"estimatedTime\": \"1:40\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.krugs.hackathon_1.bench;
+
+import com.krugs.hackathon_1.util.GeoGridIndex;
+import com.krugs.hackathon_1.util.GeoUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주변 코스 검색: GeoGridIndex vs 전체 선형 탐색
+ * 코스 100만 개를 국내 도시 주변에 몰아서 생성 (실제 분포처럼 도심 밀집)
+ * 적재 시간과 힙 사용량은 Trial 시작 시 출력
+ * 실행: gradle jmh -Pjmh.includes=GeoGridIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GeoGridIndexBenchmark {
+
+    private static final double[][] CITIES = {
+            {37.5665, 126.9780}, {35.1796, 129.0756}, {35.8714, 128.6014}, {37.4563, 126.7052},
+            {35.1595, 126.8526}, {36.3504, 127.3845}, {35.5384, 129.3114}, {37.2636, 127.0286},
+            {33.4996, 126.5312}, {37.8813, 127.7298}, {36.6424, 127.4890}, {35.8242, 127.1480}
+    };
+    private static final String[] THEMES = {"city", "river", "mountain", "park", "coast", "history", "night", "forest"};
+    private static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+
+    @Param({"1000000"})
+    public int courses;
+
+    @Param({"0.05"})
+    public double cellDegrees;
+
+    private GeoGridIndex index;
+    private long[] ids;
+    private double[] lats;
+    private double[] lngs;
+    private String[] themes;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        ids = new long[courses];
+        lats = new double[courses];
+        lngs = new double[courses];
+        themes = new String[courses];
+        double[] spans = new double[courses * 2];
+        String[] difficulties = new String[courses];
+        for (int i = 0; i < courses; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            ids[i] = i + 1;
+            lats[i] = city[0] + random.nextGaussian() * 0.08;
+            lngs[i] = city[1] + random.nextGaussian() * 0.1;
+            spans[i * 2] = 0.005 + random.nextDouble() * 0.04;
+            spans[i * 2 + 1] = 0.005 + random.nextDouble() * 0.05;
+            themes[i] = THEMES[random.nextInt(THEMES.length)];
+            difficulties[i] = DIFFICULTIES[random.nextInt(DIFFICULTIES.length)];
+        }
+
+        // 원본 배열을 뺀 인덱스 자체의 힙 사용량
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        long started = System.nanoTime();
+        List<GeoGridIndex.Item> items = new ArrayList<>(courses);
+        for (int i = 0; i < courses; i++) {
+            double spanLat = spans[i * 2];
+            double spanLng = spans[i * 2 + 1];
+            items.add(new GeoGridIndex.Item(ids[i], lats[i], lngs[i], lats[i] - spanLat / 2, lngs[i] - spanLng / 2,
+                    lats[i] + spanLat / 2, lngs[i] + spanLng / 2, themes[i], difficulties[i]));
+        }
+        index = new GeoGridIndex(cellDegrees);
+        index.putAll(items);
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+        items = null;
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n[index] courses=%d, cells=%d, build=%d ms, heap≈%.1f MB%n",
+                index.size(), index.cellCount(), buildMillis, (after - before) / 1048576.0);
+
+        queries = new double[256][];
+        for (int i = 0; i < queries.length; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            queries[i] = new double[]{city[0] + random.nextGaussian() * 0.05, city[1] + random.nextGaussian() * 0.05};
+        }
+    }
+
+    private double[] query() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Hit> nearby3km() {
+        double[] q = query();
+        return index.nearby(q[0], q[1], 3, null, null, 20);
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Hit> nearby10km() {
+        double[] q = query();
+        return index.nearby(q[0], q[1], 10, null, null, 20);
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Hit> nearby10kmTheme() {
+        double[] q = query();
+        return index.nearby(q[0], q[1], 10, "river", null, 20);
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Hit> withinViewport() {
+        double[] q = query();
+        return index.within(q[0] - 0.02, q[1] - 0.025, q[0] + 0.02, q[1] + 0.025, null, null, 20);
+    }
+
+    /**
+     * 기준선: 모든 코스 거리 계산 후 상위 20개
+     */
+    @Benchmark
+    public List<GeoGridIndex.Hit> linearScan3km() {
+        double[] q = query();
+        PriorityQueue<GeoGridIndex.Hit> top = new PriorityQueue<>(
+                Comparator.comparingDouble(GeoGridIndex.Hit::distanceKm).reversed());
+        for (int i = 0; i < ids.length; i++) {
+            double distance = GeoUtils.haversineKm(q[0], q[1], lats[i], lngs[i]);
+            if (distance <= 3) {
+                top.add(new GeoGridIndex.Hit(ids[i], distance));
+                if (top.size() > 20) {
+                    top.poll();
+                }
+            }
+        }
+        return new ArrayList<>(top);
+    }
+}
@@ -0,0 +1,105 @@
+package com.krugs.hackathon_1.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.util.GeometryCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 코스 좌표/고도 저장 형식 비교: 기존 Jackson JSON 왕복 vs GeometryCodec 바이너리
+ * 좌표당 바이트 수는 Trial 시작 시 출력
+ * 실행: gradle jmh -Pjmh.includes=GeometryCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GeometryCodecBenchmark {
+
+    /** 좌표 수 - 5000은 10m 간격 풀코스 마라톤 수준 */
+    @Param({"500", "5000"})
+    public int points;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Map<String, Double>> coordinates;
+    private List<Double> elevations;
+    private String coordinatesJson;
+    private String elevationsJson;
+    private byte[] coordinatesData;
+    private byte[] elevationData;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(3);
+        coordinates = new ArrayList<>(points);
+        elevations = new ArrayList<>(points);
+        double lat = 36.3504;
+        double lng = 127.3845;
+        double heading = 0;
+        double elevation = 60;
+        for (int i = 0; i < points; i++) {
+            heading += random.nextGaussian() * 0.2;
+            lat += Math.cos(heading) * 0.00009;
+            lng += Math.sin(heading) * 0.00011;
+            elevation += random.nextGaussian() * 0.8;
+            Map<String, Double> point = new LinkedHashMap<>();
+            point.put("lat", Math.round(lat * 1e7) / 1e7);
+            point.put("lng", Math.round(lng * 1e7) / 1e7);
+            coordinates.add(point);
+            elevations.add(Math.round(elevation * 100) / 100.0);
+        }
+
+        coordinatesJson = objectMapper.writeValueAsString(coordinates);
+        elevationsJson = objectMapper.writeValueAsString(elevations);
+        coordinatesData = GeometryCodec.encodeCoordinates(coordinates);
+        elevationData = GeometryCodec.encodeElevations(elevations);
+
+        System.out.printf("%n[size] points=%d, coordinates json=%.1f B/pt, binary=%.2f B/pt; elevations json=%.1f B/pt, binary=%.2f B/pt%n",
+                points,
+                coordinatesJson.getBytes(StandardCharsets.UTF_8).length / (double) points,
+                coordinatesData.length / (double) points,
+                elevationsJson.getBytes(StandardCharsets.UTF_8).length / (double) points,
+                elevationData.length / (double) points);
+    }
+
+    @Benchmark
+    public String jsonEncode() throws Exception {
+        return objectMapper.writeValueAsString(coordinates);
+    }
+
+    @Benchmark
+    public List<Map<String, Double>> jsonDecode() throws Exception {
+        return objectMapper.readValue(coordinatesJson,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
+    }
+
+    @Benchmark
+    public List<Double> jsonDecodeElevations() throws Exception {
+        return objectMapper.readValue(elevationsJson,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Double.class));
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return GeometryCodec.encodeCoordinates(coordinates);
+    }
+
+    @Benchmark
+    public List<Map<String, Double>> binaryDecode() {
+        return GeometryCodec.decodeCoordinates(coordinatesData);
+    }
+
+    @Benchmark
+    public GeoPath binaryDecodePath() {
+        return GeometryCodec.decodePath(coordinatesData);
+    }
+
+    @Benchmark
+    public List<Double> binaryDecodeElevations() {
+        return GeometryCodec.decodeElevations(elevationData);
+    }
+}
@@ -0,0 +1,132 @@
+package com.krugs.hackathon_1.bench;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.util.GpsTrackCodec;
+import com.krugs.hackathon_1.util.TrackBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 달리기 기록 GPS 저장 형식 비교: 기존 JSON 문자열 vs GpsTrackCodec 열 단위 압축 바이너리
+ * 디코딩은 포인트마다 위경도/고도/시각/심박을 읽어 합산 (JSON은 맵 목록 변환과 토큰 스트리밍 둘 다 측정)
+ * 포인트당 바이트 수 (JSON, JSON Deflate, 바이너리)는 Trial 시작 시 출력
+ * 실행: gradle jmh -Pjmh.includes=GpsTrackCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GpsTrackCodecBenchmark {
+
+    /** 포인트 수 - 1Hz 기준 7200은 2시간 달리기 */
+    @Param({"1800", "7200"})
+    public int points;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Map<String, Object>> gpsData;
+    private TrackBuffer track;
+    private String json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(7);
+        gpsData = new ArrayList<>(points);
+        double lat = 36.3504;
+        double lng = 127.3845;
+        double heading = 0;
+        double elevation = 60;
+        double heartRate = 140;
+        long time = 1_760_000_000_000L;
+        for (int i = 0; i < points; i++) {
+            heading += random.nextGaussian() * 0.05;
+            // 초당 약 3m, GPS 오차 ±1m
+            lat += Math.cos(heading) * 0.000027 + random.nextGaussian() * 0.000003;
+            lng += Math.sin(heading) * 0.000033 + random.nextGaussian() * 0.000004;
+            elevation += random.nextGaussian() * 0.3;
+            heartRate = Math.max(90, Math.min(190, heartRate + random.nextGaussian()));
+            // 가끔 한 번씩 기록이 1~2초 밀림
+            time += random.nextInt(50) == 0 ? 2000 + random.nextInt(1000) : 1000;
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("lat", Math.round(lat * 1e7) / 1e7);
+            point.put("lng", Math.round(lng * 1e7) / 1e7);
+            point.put("ele", Math.round(elevation * 10) / 10.0);
+            point.put("time", Instant.ofEpochMilli(time).toString());
+            point.put("hr", (int) Math.round(heartRate));
+            gpsData.add(point);
+        }
+
+        json = objectMapper.writeValueAsString(gpsData);
+        track = GpsTrackCodec.toTrack(gpsData);
+        binary = GpsTrackCodec.encode(track);
+
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream deflatedJson = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflatedJson)) {
+            out.write(jsonBytes);
+        }
+        System.out.printf("%n[size] points=%d, json=%.1f B/pt, json deflate=%.2f B/pt, binary=%.2f B/pt%n",
+                points,
+                jsonBytes.length / (double) points,
+                deflatedJson.size() / (double) points,
+                binary.length / (double) points);
+    }
+
+    @Benchmark
+    public String jsonEncode() throws Exception {
+        return objectMapper.writeValueAsString(gpsData);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> jsonDecode() throws Exception {
+        return objectMapper.readValue(json,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
+    }
+
+    @Benchmark
+    public double jsonStream() throws Exception {
+        double sum = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    sum += switch (field) {
+                        case "time" -> Instant.parse(parser.getText()).toEpochMilli();
+                        default -> parser.getValueAsDouble();
+                    };
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return GpsTrackCodec.encode(track);
+    }
+
+    @Benchmark
+    public byte[] binaryEncodeFromMaps() {
+        return GpsTrackCodec.encode(GpsTrackCodec.toTrack(gpsData));
+    }
+
+    @Benchmark
+    public double binaryCursor() {
+        double sum = 0;
+        GpsTrackCodec.Cursor cursor = GpsTrackCodec.cursor(binary);
+        while (cursor.next()) {
+            sum += cursor.lat() + cursor.lng() + cursor.elevation() + cursor.time() + cursor.heartRate();
+        }
+        return sum;
+    }
+}
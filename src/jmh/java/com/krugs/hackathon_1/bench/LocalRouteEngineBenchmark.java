@@ -0,0 +1,42 @@
+package com.krugs.hackathon_1.bench;
+
+import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.service.LocalRouteEngine;
+import com.krugs.hackathon_1.service.RegionDataService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내부 경로 생성기 요청당 지연 시간 측정
+ * 실행: gradle jmh -Pjmh.includes=LocalRouteEngineBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LocalRouteEngineBenchmark {
+
+    @Param({"5", "10", "21.1", "42.195"})
+    public float distance;
+
+    @Param({"대전 유성", "공주"})
+    public String startLocation;
+
+    private LocalRouteEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new LocalRouteEngine(new RegionDataService());
+    }
+
+    @Benchmark
+    public List<RouteData> loopRoute() {
+        return engine.generateRoutes("자연경관", distance, startLocation, startLocation, "intermediate");
+    }
+
+    @Benchmark
+    public List<RouteData> linearRoute() {
+        return engine.generateRoutes("역사문화", distance, startLocation, "부여", "beginner");
+    }
+}
@@ -0,0 +1,114 @@
+package com.krugs.hackathon_1.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.service.RegionDataService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지역 데이터셋 적재 시간 측정 (관광지 1만 개 이상)
+ * - coldStart: 바이너리가 없어서 JSON 파싱 + 컴파일 + 매핑 + 인덱스 생성
+ * - warmStart: 최신 바이너리를 매핑 + 인덱스 생성
+ * 힙 사용량은 Trial 종료 시 GC 후 스냅샷 하나가 차지하는 크기를 출력
+ * 실행: gradle jmh -Pjmh.includes=RegionDatasetBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RegionDatasetBenchmark {
+
+    @Param({"10000", "50000"})
+    public int attractions;
+
+    private Path directory;
+    private Path dataset;
+    private Path binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("region-bench");
+        dataset = directory.resolve("regions.json");
+        binary = directory.resolve("regions.bin");
+        Files.write(dataset, new ObjectMapper().writeValueAsBytes(generate(attractions)));
+
+        // 최신 바이너리 준비 + 스냅샷 하나의 힙 사용량 측정
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        new RegionDataService(dataset.toString(), binary.toString(), null);
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        RegionDataService service = new RegionDataService(dataset.toString(), binary.toString(), null);
+        System.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        System.out.printf("%n[heap] attractions=%d, retained≈%d KB, binary=%d KB, json=%d KB%n",
+                attractions, (after - before) / 1024, (int) service.getDatasetStats().get("binaryBytes") / 1024,
+                Files.size(dataset) / 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        deleteBinaries();
+        Files.deleteIfExists(dataset);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public RegionDataService warmStart() {
+        return new RegionDataService(dataset.toString(), binary.toString(), null);
+    }
+
+    @Benchmark
+    public RegionDataService coldStart() throws IOException {
+        deleteBinaries();
+        return new RegionDataService(dataset.toString(), binary.toString(), null);
+    }
+
+    /**
+     * 원본 CRC가 붙은 바이너리 파일 (regions.*.bin) 삭제
+     */
+    private void deleteBinaries() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "regions.*.bin")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static List<Map<String, Object>> generate(int attractionCount) {
+        Random random = new Random(7);
+        String[] categories = {"자연경관", "역사문화", "온천", "해변", "산", "박물관", "공원", "시장"};
+        List<Map<String, Object>> regions = new ArrayList<>();
+        int perRegion = 40;
+        for (int r = 0; r * perRegion < attractionCount; r++) {
+            double centerLat = 36.0 + random.nextDouble();
+            double centerLng = 126.3 + random.nextDouble() * 1.3;
+            List<Map<String, Object>> list = new ArrayList<>();
+            for (int a = 0; a < perRegion && r * perRegion + a < attractionCount; a++) {
+                Map<String, Object> attraction = new LinkedHashMap<>();
+                attraction.put("name", "관광지 " + r + "-" + a);
+                attraction.put("latitude", centerLat + random.nextGaussian() * 0.02);
+                attraction.put("longitude", centerLng + random.nextGaussian() * 0.02);
+                attraction.put("category", categories[random.nextInt(categories.length)]);
+                attraction.put("description", "충청권 관광지 설명 " + a);
+                list.add(attraction);
+            }
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("regionName", r == 0 ? "대전 유성" : "지역 " + r);
+            region.put("centerLat", centerLat);
+            region.put("centerLng", centerLng);
+            region.put("description", "지역 설명 " + r);
+            region.put("themes", List.of("자연경관", "역사문화"));
+            region.put("specialties", List.of("특산물 A", "특산물 B"));
+            region.put("attractions", list);
+            regions.add(region);
+        }
+        return regions;
+    }
+}
@@ -0,0 +1,67 @@
+package com.krugs.hackathon_1.bench;
+
+import com.krugs.hackathon_1.dto.Attraction;
+import com.krugs.hackathon_1.dto.RegionInfo;
+import com.krugs.hackathon_1.service.RegionDataService;
+import com.krugs.hackathon_1.util.RegionNameIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지역명 인덱스 조회 지연 시간 측정 (실제 지역 + 무작위 한글 이름 수천 개)
+ * 실행: gradle jmh -Pjmh.includes=RegionNameIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RegionNameIndexBenchmark {
+
+    @Param({"1000", "5000"})
+    public int syntheticRegions;
+
+    @Param({"천안역", "천ㅇ", "쳔안", "충남 공주시 금강", "없는지명입니다"})
+    public String query;
+
+    private RegionNameIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<RegionInfo> regions = new ArrayList<>(new RegionDataService().getAllRegions());
+        for (int i = 0; i < syntheticRegions; i++) {
+            List<Attraction> attractions = new ArrayList<>();
+            for (int j = 0; j < 4; j++) {
+                attractions.add(Attraction.builder().name(randomName(random, 2 + random.nextInt(4)))
+                        .latitude(36 + random.nextDouble()).longitude(127 + random.nextDouble())
+                        .category("기타").build());
+            }
+            regions.add(RegionInfo.builder()
+                    .regionName(randomName(random, 2 + random.nextInt(2)))
+                    .centerLat(36 + random.nextDouble())
+                    .centerLng(127 + random.nextDouble())
+                    .attractions(attractions)
+                    .build());
+        }
+        index = RegionNameIndex.build(regions);
+    }
+
+    @Benchmark
+    public List<RegionNameIndex.Candidate> autocomplete() {
+        return index.search(query, 10);
+    }
+
+    @Benchmark
+    public RegionInfo resolve() {
+        return index.resolve(query);
+    }
+
+    private static String randomName(Random random, int syllables) {
+        StringBuilder sb = new StringBuilder(syllables);
+        for (int i = 0; i < syllables; i++) {
+            sb.append((char) (0xAC00 + random.nextInt(11172)));
+        }
+        return sb.toString();
+    }
+}
@@ -2,8 +2,10 @@ package com.krugs.hackathon_1;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Hackathon1Application {
 
     public static void main(String[] args) {
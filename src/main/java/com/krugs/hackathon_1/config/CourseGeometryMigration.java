@@ -0,0 +1,83 @@
+package com.krugs.hackathon_1.config;
+
+import com.krugs.hackathon_1.entity.UploadedCourse;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import com.krugs.hackathon_1.service.CourseSimilarityService;
+import com.krugs.hackathon_1.service.NearbyCourseService;
+import com.krugs.hackathon_1.service.UploadedCourseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시작 시 JSON 컬럼에 남아 있는 코스 좌표/고도를 바이너리 컬럼으로 이전
+ * 시작점/범위, 경로 서명이 비어 있는 코스는 좌표에서 계산하여 채우고 주변 코스/유사도 인덱스에 추가
+ * (좌표 2개 미만이라 서명을 만들 수 없는 코스는 빈 서명으로 표시하여 다시 처리하지 않음)
+ * 100건 단위로 처리하며, 역변환 결과가 JSON과 다르거나 읽을 수 없는 행은 JSON 그대로 두고 읽기 시 JSON에서 역변환
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseGeometryMigration implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Value("${course.geometry.migrate-on-startup:true}")
+    private boolean enabled;
+
+    private final UploadedCourseRepository courseRepository;
+    private final UploadedCourseService courseService;
+    private final NearbyCourseService nearbyCourseService;
+    private final CourseSimilarityService similarityService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        long lastId = 0;
+        int migrated = 0;
+        int failed = 0;
+        int kept = 0;
+        List<UploadedCourse> page;
+        do {
+            page = courseRepository.findLegacyGeometry(lastId, PageRequest.of(0, PAGE_SIZE));
+            List<UploadedCourse> changed = new ArrayList<>(page.size());
+            for (UploadedCourse course : page) {
+                lastId = course.getId();
+                try {
+                    if (courseService.migrateGeometry(course)) {
+                        changed.add(course);
+                        if (Boolean.TRUE.equals(course.getGeometryJsonKept())) {
+                            kept++;
+                        }
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Course {} geometry migration failed: {}", course.getId(), e.getMessage());
+                }
+            }
+            // 엔티티 저장 대신 UPDATE 쿼리 → updatedAt이 바뀌지 않아 기존 ETag/Last-Modified 유지
+            transactionTemplate.executeWithoutResult(status -> changed.forEach(courseRepository::migrateGeometry));
+            changed.forEach(nearbyCourseService::put);
+            changed.forEach(similarityService::put);
+            migrated += changed.size();
+        } while (page.size() == PAGE_SIZE);
+
+        if (migrated > 0 || failed > 0) {
+            log.info("Course geometry migrated to binary. migrated: {}, json kept: {}, failed: {}, {} ms",
+                    migrated, kept, failed, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
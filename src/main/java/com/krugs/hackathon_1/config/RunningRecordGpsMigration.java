@@ -0,0 +1,99 @@
+package com.krugs.hackathon_1.config;
+
+import com.krugs.hackathon_1.repository.RunningRecordRepository;
+import com.krugs.hackathon_1.service.RunningRecordService;
+import com.krugs.hackathon_1.service.TrackAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 시작 시 JSON 컬럼에 남아 있는 기록 GPS 데이터를 바이너리 트랙 컬럼으로 이전
+ * GPS JSON은 기록당 수 MB까지 커질 수 있으므로 id/JSON만 20건 단위로 읽고 한 건씩 UPDATE
+ * 알 수 없는 필드가 있는 등 손실 없이 옮길 수 없는 행은 JSON 그대로 두고 표시하여 다음 시작 때 다시 읽지 않음 (내보내기 시 JSON에서 읽음)
+ * 이어서 구간/최고 기록이 계산되지 않은 바이너리 트랙을 분석하고 개인 최고 기록에 반영
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RunningRecordGpsMigration implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Value("${record.gps.migrate-on-startup:true}")
+    private boolean enabled;
+
+    private final RunningRecordRepository recordRepository;
+    private final RunningRecordService recordService;
+    private final TrackAnalysisService analysisService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        long lastId = 0;
+        int migrated = 0;
+        int kept = 0;
+        long jsonBytes = 0;
+        List<RunningRecordRepository.LegacyGpsView> page;
+        do {
+            page = recordRepository.findLegacyGps(lastId, Limit.of(PAGE_SIZE));
+            for (RunningRecordRepository.LegacyGpsView record : page) {
+                lastId = record.getId();
+                try {
+                    if (recordService.migrateGps(record.getId(), record.getGpsData())) {
+                        migrated++;
+                        jsonBytes += record.getGpsData().length();
+                    } else {
+                        kept++;
+                    }
+                } catch (Exception e) {
+                    kept++;
+                    log.warn("Running record {} GPS migration failed: {}", record.getId(), e.getMessage());
+                }
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        if (migrated > 0 || kept > 0) {
+            log.info("Running record GPS migrated to binary. migrated: {} ({} JSON chars), kept as JSON: {}, {} ms",
+                    migrated, jsonBytes, kept, (System.nanoTime() - started) / 1_000_000);
+        }
+        analyzeTracks();
+    }
+
+    private void analyzeTracks() {
+        long started = System.nanoTime();
+        long lastId = 0;
+        int analyzed = 0;
+        int failed = 0;
+        List<Long> page;
+        do {
+            page = recordRepository.findUnanalyzed(lastId, Limit.of(PAGE_SIZE));
+            for (Long recordId : page) {
+                lastId = recordId;
+                try {
+                    if (analysisService.backfill(recordId)) {
+                        analyzed++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Running record {} track analysis failed: {}", recordId, e.getMessage());
+                }
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        if (analyzed > 0 || failed > 0) {
+            log.info("Running record tracks analyzed. analyzed: {}, failed: {}, {} ms",
+                    analyzed, failed, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
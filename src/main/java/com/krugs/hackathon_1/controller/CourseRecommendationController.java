@@ -2,21 +2,32 @@ package com.krugs.hackathon_1.controller;
 
 import com.krugs.hackathon_1.dto.RouteData;
 import com.krugs.hackathon_1.service.CourseRecommendationService;
+import com.krugs.hackathon_1.service.RecommendationRejectedException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/courses")
 @RequiredArgsConstructor
 public class CourseRecommendationController {
 
+    private static final long SSE_TIMEOUT_MILLIS = 90_000L;
+
     private final CourseRecommendationService courseRecommendationService;
 
     /**
      * Gemini API를 통해 추천 코스 생성
-     * POST /api/courses/recommend
+     * POST /api/courses/recommend (engine=local 이면 Gemini 없이 내부 생성기 사용)
      */
     @PostMapping("/recommend")
     public ResponseEntity<?> recommendCourses(
@@ -24,11 +35,12 @@ public class CourseRecommendationController {
             @RequestParam Float distance,
             @RequestParam String startLocation,
             @RequestParam String endLocation,
-            @RequestParam(defaultValue = "intermediate") String difficulty) {
+            @RequestParam(defaultValue = "intermediate") String difficulty,
+            @RequestParam(defaultValue = "gemini") String engine) {
 
         try {
             List<RouteData> routes = courseRecommendationService.generateOptimalRoutes(
-                    theme, distance, startLocation, endLocation, difficulty);
+                    theme, distance, startLocation, endLocation, difficulty, engine);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -37,6 +49,8 @@ public class CourseRecommendationController {
 
             return ResponseEntity.ok(response);
 
+        } catch (RecommendationRejectedException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -45,6 +59,91 @@ public class CourseRecommendationController {
         }
     }
 
+    /**
+     * 비동기 추천 코스 생성 - Gemini 응답을 기다리는 동안 요청 스레드 반환
+     * POST /api/courses/recommend/async
+     */
+    @PostMapping("/recommend/async")
+    public CompletableFuture<ResponseEntity<?>> recommendCoursesAsync(
+            @RequestParam String theme,
+            @RequestParam Float distance,
+            @RequestParam String startLocation,
+            @RequestParam String endLocation,
+            @RequestParam(defaultValue = "intermediate") String difficulty,
+            @RequestParam(defaultValue = "gemini") String engine) {
+
+        return courseRecommendationService
+                .generateOptimalRoutesAsync(theme, distance, startLocation, endLocation, difficulty, engine)
+                .<ResponseEntity<?>>thenApply(routes -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("data", routes);
+                    response.put("count", routes.size());
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof RecommendationRejectedException rejected) {
+                        return serviceUnavailable(rejected);
+                    }
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("success", false);
+                    errorResponse.put("error", cause.getMessage());
+                    return ResponseEntity.badRequest().body(errorResponse);
+                });
+    }
+
+    /**
+     * 추천 코스 스트리밍 (Server-Sent Events)
+     * 각 코스가 완성되는 즉시 "route" 이벤트로 전송, 끝나면 "done" 또는 "error" 이벤트
+     * GET /api/courses/recommend/stream?theme=자연경관&distance=10&startLocation=대전&endLocation=대전
+     */
+    @GetMapping(value = "/recommend/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRecommendations(
+            @RequestParam String theme,
+            @RequestParam Float distance,
+            @RequestParam String startLocation,
+            @RequestParam(required = false, defaultValue = "") String endLocation,
+            @RequestParam(defaultValue = "intermediate") String difficulty,
+            @RequestParam(defaultValue = "gemini") String engine) {
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        String actualEndLocation = endLocation.isBlank() ? startLocation : endLocation;
+
+        CompletableFuture<List<RouteData>> task = courseRecommendationService
+                .streamOptimalRoutes(theme, distance, startLocation, actualEndLocation, difficulty, engine,
+                        route -> sendEvent(emitter, "route", route));
+        // 클라이언트 연결 종료/타임아웃 시 Gemini 스트림과 실행기 슬롯을 바로 반환 (완료 후 cancel은 무시됨)
+        emitter.onTimeout(() -> {
+            task.cancel(true);
+            emitter.complete();
+        });
+        emitter.onError(error -> task.cancel(true));
+        emitter.onCompletion(() -> task.cancel(true));
+
+        task.whenComplete((routes, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            try {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    sendEvent(emitter, "error", Map.of("success", false, "error", String.valueOf(cause.getMessage())));
+                } else {
+                    sendEvent(emitter, "done", Map.of("success", true, "count", routes.size()));
+                }
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                // 클라이언트 연결 종료
+                emitter.completeWithError(e);
+            }
+        });
+
+        return emitter;
+    }
+
     /**
      * GET 방식으로도 추천 받기 (파라미터 기본값 적용)
      * GET /api/courses/recommend?theme=공원&distance=10&startLocation=대전&difficulty=beginner
@@ -55,7 +154,8 @@ public class CourseRecommendationController {
             @RequestParam(required = false, defaultValue = "10") String distanceStr,
             @RequestParam(required = false, defaultValue = "대전") String startLocation,
             @RequestParam(required = false, defaultValue = "") String endLocation,
-            @RequestParam(required = false, defaultValue = "intermediate") String difficulty) {
+            @RequestParam(required = false, defaultValue = "intermediate") String difficulty,
+            @RequestParam(required = false, defaultValue = "gemini") String engine) {
 
         try {
             // ✅ 1️⃣ 파라미터 정제 (trim)
@@ -102,7 +202,7 @@ public class CourseRecommendationController {
             System.out.println("   난이도: " + difficulty);
             
             List<RouteData> routes = courseRecommendationService.generateOptimalRoutes(
-                    theme, distance, startLocation, actualEndLocation, difficulty);
+                    theme, distance, startLocation, actualEndLocation, difficulty, engine);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -113,6 +213,8 @@ public class CourseRecommendationController {
             System.out.println("✅ 응답 생성 완료: " + routes.size() + "개 코스");
             return ResponseEntity.ok(response);
 
+        } catch (RecommendationRejectedException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             System.out.println("❌ 서버 오류: " + e.getMessage());
             e.printStackTrace();
@@ -122,5 +224,39 @@ public class CourseRecommendationController {
             return ResponseEntity.internalServerError().body(errorResponse);
         }
     }
-}
 
+    /**
+     * 추천 캐시 통계 조회 (hit/miss/coalesced)
+     * GET /api/courses/recommend/stats
+     */
+    @GetMapping("/recommend/stats")
+    public ResponseEntity<?> getRecommendationStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", courseRecommendationService.getCacheStats());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 추천 대기열 초과 시 503 응답
+     */
+    private ResponseEntity<?> serviceUnavailable(RecommendationRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(errorResponse);
+    }
+
+    /**
+     * SSE 이벤트 전송 - 연결이 끊기면 UncheckedIOException으로 생성 작업 중단
+     */
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.krugs.hackathon_1.controller;
+
+import com.krugs.hackathon_1.dto.LivePointBatch;
+import com.krugs.hackathon_1.dto.RunningRecordDTO;
+import com.krugs.hackathon_1.service.LiveTrackingRejectedException;
+import com.krugs.hackathon_1.service.LiveTrackingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.*;
+
+/**
+ * 실시간 달리기 기록
+ * 세션 시작 → 몇 초마다 GPS 포인트 묶음 전송(seq 1, 2, 3...) → 종료 시 달리기 기록으로 저장
+ */
+@RestController
+@RequestMapping("/api/runner/live")
+@RequiredArgsConstructor
+public class LiveTrackingController {
+    
+    private final LiveTrackingService liveTrackingService;
+    
+    /**
+     * 실시간 기록 세션 시작
+     * POST /api/runner/live?courseId=
+     */
+    @PostMapping
+    public ResponseEntity<?> open(
+            @RequestParam(required = false) Long courseId,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", liveTrackingService.open(runnerId, courseId));
+            
+            return ResponseEntity.ok(response);
+        } catch (LiveTrackingRejectedException e) {
+            return tooManyRequests(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * GPS 포인트 묶음 추가 (202: 받음 / 200: 이미 받은 seq / 409: seq 누락 - expectedSeq부터 재전송 / 429: 잠시 후 같은 seq로 재전송)
+     * POST /api/runner/live/{sessionId}/points
+     * { "seq": 1, "points": [{ "lat": 37.5, "lng": 127.0, "ele": 30.2, "time": "2025-01-01T06:00:00Z", "hr": 140 }] }
+     */
+    @PostMapping("/{sessionId}/points")
+    public ResponseEntity<?> appendPoints(
+            @PathVariable String sessionId,
+            @RequestBody LivePointBatch batch,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            LiveTrackingService.Ack ack = liveTrackingService.append(sessionId, runnerId, batch);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", ack.accepted() || ack.duplicate());
+            response.put("data", ack);
+            
+            if (ack.accepted()) {
+                return ResponseEntity.accepted().body(response);
+            }
+            if (ack.duplicate()) {
+                return ResponseEntity.ok(response);
+            }
+            response.put("error", "seq " + ack.expectedSeq() + "부터 다시 보내주세요.");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (LiveTrackingRejectedException e) {
+            return tooManyRequests(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 세션 상태 조회 (마지막으로 받은 seq, 버퍼 포인트 수, 누적 거리)
+     * GET /api/runner/live/{sessionId}
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<?> status(
+            @PathVariable String sessionId,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", liveTrackingService.status(sessionId, runnerId));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 세션 종료 후 달리기 기록으로 저장 (다시 호출하면 같은 기록 반환)
+     * POST /api/runner/live/{sessionId}/finish?notes=
+     */
+    @PostMapping("/{sessionId}/finish")
+    public ResponseEntity<?> finish(
+            @PathVariable String sessionId,
+            @RequestParam(required = false) String notes,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            RunningRecordDTO saved = liveTrackingService.finish(sessionId, runnerId, notes);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", saved);
+            response.put("message", "기록이 저장되었습니다.");
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 세션 폐기 (기록을 저장하지 않음)
+     * DELETE /api/runner/live/{sessionId}
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<?> discard(
+            @PathVariable String sessionId,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            liveTrackingService.discard(sessionId, runnerId);
+            
+            return ResponseEntity.ok(Map.of("success", true, "message", "기록 세션을 폐기했습니다."));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 실시간 기록 통계
+     * GET /api/runner/live/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> stats() {
+        return ResponseEntity.ok(Map.of("success", true, "data", liveTrackingService.stats()));
+    }
+    
+    private ResponseEntity<?> tooManyRequests(LiveTrackingRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+}
@@ -1,13 +1,26 @@
 package com.krugs.hackathon_1.controller;
 
+import com.krugs.hackathon_1.dto.BatchItemResult;
+import com.krugs.hackathon_1.dto.CursorPage;
 import com.krugs.hackathon_1.dto.MarathonEventDTO;
+import com.krugs.hackathon_1.dto.RecommendationSpec;
 import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.service.BatchRecommendationService;
 import com.krugs.hackathon_1.service.MarathonEventService;
 import com.krugs.hackathon_1.service.CourseRecommendationService;
+import com.krugs.hackathon_1.service.RecommendationRejectedException;
+import com.krugs.hackathon_1.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/organizer/marathons")
@@ -16,6 +29,9 @@ public class MarathonEventController {
     
     private final MarathonEventService marathonService;
     private final CourseRecommendationService courseRecommendationService;
+    private final BatchRecommendationService batchRecommendationService;
+    
+    private static final long BATCH_SSE_TIMEOUT_MILLIS = 180_000L;
     
     /**
      * 마라톤 코스 추천 (Gemini API)
@@ -27,11 +43,12 @@ public class MarathonEventController {
             @RequestParam Float distance,
             @RequestParam String startLocation,
             @RequestParam String endLocation,
-            @RequestParam(defaultValue = "중급") String difficulty) {
+            @RequestParam(defaultValue = "중급") String difficulty,
+            @RequestParam(defaultValue = "gemini") String engine) {
         
         try {
             List<RouteData> routes = courseRecommendationService.generateOptimalRoutes(
-                    theme, distance, startLocation, endLocation, difficulty);
+                    theme, distance, startLocation, endLocation, difficulty, engine);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -40,6 +57,8 @@ public class MarathonEventController {
             response.put("message", routes.size() + "개의 추천 코스가 생성되었습니다.");
             
             return ResponseEntity.ok(response);
+        } catch (RecommendationRejectedException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -48,6 +67,94 @@ public class MarathonEventController {
         }
     }
     
+    /**
+     * 마라톤 코스 추천 (비동기) - Gemini 응답 대기 중 요청 스레드 반환
+     * GET /api/organizer/marathons/recommend/async
+     */
+    @GetMapping("/recommend/async")
+    public CompletableFuture<ResponseEntity<?>> recommendCoursesAsync(
+            @RequestParam String theme,
+            @RequestParam Float distance,
+            @RequestParam String startLocation,
+            @RequestParam String endLocation,
+            @RequestParam(defaultValue = "중급") String difficulty,
+            @RequestParam(defaultValue = "gemini") String engine) {
+        
+        return courseRecommendationService
+                .generateOptimalRoutesAsync(theme, distance, startLocation, endLocation, difficulty, engine)
+                .<ResponseEntity<?>>thenApply(routes -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("data", routes);
+                    response.put("count", routes.size());
+                    response.put("message", routes.size() + "개의 추천 코스가 생성되었습니다.");
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof RecommendationRejectedException rejected) {
+                        return serviceUnavailable(rejected);
+                    }
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("success", false);
+                    errorResponse.put("error", cause.getMessage());
+                    return ResponseEntity.badRequest().body(errorResponse);
+                });
+    }
+    
+    /**
+     * 여러 이벤트 코스 일괄 추천 - 같은 조건은 한 번만 생성, 병렬 실행
+     * 일부 항목이 실패/시간 초과여도 나머지 결과와 함께 응답 (partial=true)
+     * POST /api/organizer/marathons/recommend/batch
+     */
+    @PostMapping("/recommend/batch")
+    public CompletableFuture<ResponseEntity<?>> recommendBatch(@RequestBody List<RecommendationSpec> specs) {
+        
+        try {
+            return batchRecommendationService.recommend(specs, result -> { })
+                    .<ResponseEntity<?>>thenApply(results -> ResponseEntity.ok(batchSummary(results, true)))
+                    .exceptionally(error -> {
+                        Map<String, Object> errorResponse = new HashMap<>();
+                        errorResponse.put("success", false);
+                        errorResponse.put("error", error.getMessage());
+                        return ResponseEntity.badRequest().body(errorResponse);
+                    });
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errorResponse));
+        }
+    }
+    
+    /**
+     * 일괄 추천 스트리밍 (Server-Sent Events)
+     * 항목이 끝나는 순서대로 "item" 이벤트, 전체가 끝나면 "done" 이벤트 (요약)
+     * POST /api/organizer/marathons/recommend/batch/stream
+     */
+    @PostMapping(value = "/recommend/batch/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter recommendBatchStream(@RequestBody List<RecommendationSpec> specs) {
+        
+        SseEmitter emitter = new SseEmitter(BATCH_SSE_TIMEOUT_MILLIS);
+        try {
+            batchRecommendationService
+                    .recommend(specs, result -> sendEvent(emitter, "item", result))
+                    .whenComplete((results, error) -> {
+                        if (error != null) {
+                            sendEvent(emitter, "error", Map.of("success", false, "error", String.valueOf(error.getMessage())));
+                        } else {
+                            sendEvent(emitter, "done", batchSummary(results, false));
+                        }
+                        emitter.complete();
+                    });
+        } catch (Exception e) {
+            sendEvent(emitter, "error", Map.of("success", false, "error", String.valueOf(e.getMessage())));
+            emitter.complete();
+        }
+        return emitter;
+    }
+    
     /**
      * 마라톤 이벤트 생성
      * POST /api/organizer/marathons
@@ -79,18 +186,28 @@ public class MarathonEventController {
     }
     
     /**
-     * 모든 마라톤 이벤트 조회
-     * GET /api/organizer/marathons
+     * 마라톤 이벤트 조회 (최신순, 다음 페이지는 응답의 nextCursor로 요청)
+     * 이벤트 생성/수정/삭제가 없었으면 304 (If-None-Match)
+     * GET /api/organizer/marathons?cursor=...&size=20
      */
     @GetMapping
-    public ResponseEntity<?> getAllMarathons() {
+    public ResponseEntity<?> getAllMarathons(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
         try {
-            List<MarathonEventDTO> marathons = marathonService.getAllMarathons();
+            if (marathonService.getMarathonsVersion().notModified(request)) {
+                return null;
+            }
+            
+            CursorPage<MarathonEventDTO> page = marathonService.getMarathons(cursor, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", marathons);
-            response.put("count", marathons.size());
+            response.put("data", page.items());
+            response.put("count", page.items().size());
+            response.put("nextCursor", page.nextCursor());
+            response.put("hasNext", page.hasNext());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -101,12 +218,17 @@ public class MarathonEventController {
     }
     
     /**
-     * 특정 마라톤 이벤트 조회
+     * 특정 마라톤 이벤트 조회 (변경이 없으면 이벤트를 읽지 않고 304)
      * GET /api/organizer/marathons/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getMarathon(@PathVariable Long id) {
+    public ResponseEntity<?> getMarathon(@PathVariable Long id, WebRequest request) {
         try {
+            Optional<ResourceVersion> version = marathonService.getMarathonVersion(id);
+            if (version.isPresent() && version.get().notModified(request)) {
+                return null;
+            }
+            
             MarathonEventDTO marathon = marathonService.getMarathon(id);
             
             Map<String, Object> response = new HashMap<>();
@@ -180,5 +302,57 @@ public class MarathonEventController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
+    
+    /**
+     * 일괄 추천 결과 요약 (성공/실패 수, 부분 성공 여부)
+     * 같은 조건으로 묶인 결과는 요청 항목 수(indexes)만큼 셈
+     */
+    private Map<String, Object> batchSummary(List<BatchItemResult> results, boolean includeItems) {
+        int count = 0;
+        int succeeded = 0;
+        for (BatchItemResult result : results) {
+            int items = result.getIndexes().size();
+            count += items;
+            if (BatchItemResult.STATUS_OK.equals(result.getStatus())) {
+                succeeded += items;
+            }
+        }
+        int failed = count - succeeded;
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", failed == 0);
+        response.put("partial", succeeded > 0 && failed > 0);
+        response.put("count", count);
+        response.put("groups", results.size());
+        response.put("succeeded", succeeded);
+        response.put("failed", failed);
+        if (includeItems) {
+            response.put("data", results);
+        }
+        response.put("message", count + "개 중 " + succeeded + "개의 추천이 완료되었습니다.");
+        return response;
+    }
+    
+    /**
+     * SSE 이벤트 전송 (연결이 끊긴 경우 무시)
+     */
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 - 나머지 항목은 계속 실행되어 캐시에 저장됨
+        }
+    }
+    
+    /**
+     * 추천 대기열 초과 시 503 응답
+     */
+    private ResponseEntity<?> serviceUnavailable(RecommendationRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(errorResponse);
+    }
 }
-
@@ -0,0 +1,73 @@
+package com.krugs.hackathon_1.controller;
+
+import com.krugs.hackathon_1.service.RegionDataService;
+import com.krugs.hackathon_1.util.RegionNameIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/regions")
+@RequiredArgsConstructor
+public class RegionController {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final RegionDataService regionDataService;
+
+    /**
+     * 출발지/도착지 입력 자동완성 (지역명, 관광지명) - 데이터셋이 바뀌지 않았으면 304
+     * GET /api/regions/autocomplete?q=천안&limit=10
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<?> autocomplete(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+
+        // 같은 데이터셋이면 같은 결과 (ETag는 URL별로 구분되므로 검색어는 버전에 넣지 않음)
+        if (regionDataService.getDatasetVersion().notModified(request)) {
+            return null;
+        }
+
+        List<RegionNameIndex.Candidate> candidates =
+                regionDataService.searchLocations(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        List<Map<String, Object>> items = new ArrayList<>(candidates.size());
+        for (RegionNameIndex.Candidate candidate : candidates) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", candidate.name());
+            item.put("regionName", candidate.region().getRegionName());
+            item.put("type", candidate.type().name().toLowerCase(Locale.ROOT));
+            item.put("lat", candidate.lat());
+            item.put("lng", candidate.lng());
+            item.put("score", candidate.score());
+            items.add(item);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("query", query);
+        response.put("data", items);
+        response.put("count", items.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 현재 적재된 지역 데이터셋 정보
+     * GET /api/regions/dataset
+     */
+    @GetMapping("/dataset")
+    public ResponseEntity<?> datasetStats(WebRequest request) {
+        if (regionDataService.getDatasetVersion().notModified(request)) {
+            return null;
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", regionDataService.getDatasetStats());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,11 +1,20 @@
 package com.krugs.hackathon_1.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.CursorPage;
 import com.krugs.hackathon_1.dto.RunningRecordDTO;
 import com.krugs.hackathon_1.service.RunningRecordService;
+import com.krugs.hackathon_1.util.TrackFileReader;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -14,7 +23,10 @@ import java.util.*;
 @RequiredArgsConstructor
 public class RunningRecordController {
     
+    private static final MediaType GPX_MEDIA_TYPE = MediaType.parseMediaType("application/gpx+xml");
+    
     private final RunningRecordService recordService;
+    private final ObjectMapper objectMapper;
     
     /**
      * 새로운 달리기 기록 저장
@@ -47,24 +59,83 @@ public class RunningRecordController {
     }
     
     /**
-     * 사용자의 모든 기록 조회
-     * GET /api/runner/records
+     * GPX/TCX 파일로 기록 가져오기 (스트리밍 파싱, 거리/시간은 트랙에서 계산)
+     * 요청 본문에 파일 내용을 그대로 보내거나(Content-Encoding: gzip 가능) multipart의 file 필드로 전송
+     * POST /api/runner/records/import?courseId=&notes=
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importRecord(
+            HttpServletRequest request,
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) String notes,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try (InputStream in = file != null ? file.getInputStream()
+                : TrackFileReader.open(request.getInputStream(), request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            RunningRecordDTO saved = recordService.importRecord(in, runnerId, courseId, notes);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", saved);
+            response.put("message", "기록을 가져왔습니다.");
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage() != null ? e.getMessage() : "기록 가져오기 실패")
+            );
+        }
+    }
+    
+    /**
+     * 기록 GPS 경로를 GPX 파일로 내보내기 (응답 스트림에 바로 씀)
+     * GET /api/runner/records/{id}/gpx
+     */
+    @GetMapping("/{id}/gpx")
+    public ResponseEntity<StreamingResponseBody> exportRecordGpx(@PathVariable Long id) {
+        try {
+            StreamingResponseBody body = recordService.exportGpx(id);
+            return ResponseEntity.ok()
+                .contentType(GPX_MEDIA_TYPE)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"record-" + id + ".gpx\"")
+                .body(body);
+        } catch (Exception e) {
+            // 반환 타입이 스트리밍 본문이므로 오류 응답도 같은 형식으로 직접 씀
+            Map<String, Object> error = Map.of("success", false, "error", e.getMessage());
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+        }
+    }
+    
+    /**
+     * 사용자의 기록 조회 (최신순, 다음 페이지는 응답의 nextCursor로 요청)
+     * GET /api/runner/records?cursor=...&size=20
      */
     @GetMapping
     public ResponseEntity<?> getRecords(
-            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
         try {
             if (runnerId == null) {
                 runnerId = 2L;
             }
             
-            List<RunningRecordDTO> records = recordService.getUserRecords(runnerId);
+            CursorPage<RunningRecordDTO> page = recordService.getUserRecords(runnerId, cursor, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", records);
-            response.put("count", records.size());
+            response.put("data", page.items());
+            response.put("count", page.items().size());
+            response.put("nextCursor", page.nextCursor());
+            response.put("hasNext", page.hasNext());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -158,6 +229,136 @@ public class RunningRecordController {
         }
     }
     
+    /**
+     * 주간 통계 조회 (최근 weeks주, 월요일 시작, 기록이 없는 주 포함)
+     * GET /api/runner/records/weekly-stats?weeks=12
+     */
+    @GetMapping("/weekly-stats")
+    public ResponseEntity<?> getWeeklyStats(
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId,
+            @RequestParam(defaultValue = "12") int weeks) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            List<Map<String, Object>> weeklyStats = recordService.getWeeklyStats(runnerId, weeks);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", weeklyStats);
+            response.put("count", weeklyStats.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 연도별 통계 조회
+     * GET /api/runner/records/yearly-stats
+     */
+    @GetMapping("/yearly-stats")
+    public ResponseEntity<?> getYearlyStats(
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            List<Map<String, Object>> yearlyStats = recordService.getYearlyStats(runnerId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", yearlyStats);
+            response.put("count", yearlyStats.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 활동 히트맵 조회 (최근 days일 중 기록이 있는 날, 1~4단계)
+     * GET /api/runner/records/heatmap?days=365
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> getHeatmap(
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId,
+            @RequestParam(defaultValue = "365") int days) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", recordService.getHeatmap(runnerId, days));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 목표 거리별 개인 최고 기록 조회 (1k/5k/10k/하프/풀, 달성한 거리만)
+     * GET /api/runner/records/personal-records
+     */
+    @GetMapping("/personal-records")
+    public ResponseEntity<?> getPersonalRecords(
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            List<Map<String, Object>> records = recordService.getPersonalRecords(runnerId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", records);
+            response.put("count", records.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 기록의 km 구간 기록과 목표 거리별 최고 기록 조회
+     * GET /api/runner/records/{id}/splits
+     */
+    @GetMapping("/{id}/splits")
+    public ResponseEntity<?> getSplits(@PathVariable Long id) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", recordService.getSplits(id));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
     /**
      * 특정 기록 조회
      * GET /api/runner/records/{id}
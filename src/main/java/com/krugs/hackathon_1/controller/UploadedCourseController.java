@@ -1,10 +1,31 @@
 package com.krugs.hackathon_1.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.CourseGeometryDTO;
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.dto.CursorPage;
+import com.krugs.hackathon_1.dto.NearbyCourseDTO;
+import com.krugs.hackathon_1.dto.SimilarCourseDTO;
 import com.krugs.hackathon_1.dto.UploadedCourseDTO;
+import com.krugs.hackathon_1.service.CourseLeaderboard;
+import com.krugs.hackathon_1.service.CourseLikeService;
+import com.krugs.hackathon_1.service.CourseSearchService;
+import com.krugs.hackathon_1.service.CourseSimilarityService;
+import com.krugs.hackathon_1.service.CourseViewCounter;
+import com.krugs.hackathon_1.service.NearbyCourseService;
 import com.krugs.hackathon_1.service.UploadedCourseService;
+import com.krugs.hackathon_1.util.ResourceVersion;
+import com.krugs.hackathon_1.util.TrackFileReader;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 import java.util.*;
 
 @RestController
@@ -12,10 +33,19 @@ import java.util.*;
 @RequiredArgsConstructor
 public class UploadedCourseController {
     
+    private static final MediaType GPX_MEDIA_TYPE = MediaType.parseMediaType("application/gpx+xml");
+    
     private final UploadedCourseService courseService;
+    private final CourseViewCounter viewCounter;
+    private final CourseLikeService likeService;
+    private final CourseLeaderboard leaderboard;
+    private final NearbyCourseService nearbyCourseService;
+    private final CourseSimilarityService similarityService;
+    private final CourseSearchService searchService;
+    private final ObjectMapper objectMapper;
     
     /**
-     * 코스 업로드
+     * 코스 업로드 (경로가 거의 같은 코스가 이미 있으면 duplicates로 함께 반환)
      * POST /api/runner/courses
      */
     @PostMapping
@@ -29,11 +59,16 @@ public class UploadedCourseController {
             }
             
             UploadedCourseDTO saved = courseService.uploadCourse(dto, runnerId);
+            List<SimilarCourseDTO> duplicates = similarityService.findDuplicates(saved.getId());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("data", saved);
             response.put("message", "코스가 업로드되었습니다.");
+            if (!duplicates.isEmpty()) {
+                response.put("duplicates", duplicates);
+                response.put("warning", "경로가 거의 같은 코스가 이미 있습니다.");
+            }
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -45,24 +80,90 @@ public class UploadedCourseController {
     }
     
     /**
-     * 사용자의 모든 코스 조회
-     * GET /api/runner/courses/my
+     * GPX/TCX 파일로 코스 가져오기 (스트리밍 파싱)
+     * 요청 본문에 파일 내용을 그대로 보내거나(Content-Encoding: gzip 가능) multipart의 file 필드로 전송
+     * POST /api/runner/courses/import?courseName=&theme=&difficultyLevel=&description=
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importCourse(
+            HttpServletRequest request,
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(required = false) String courseName,
+            @RequestParam(required = false) String theme,
+            @RequestParam(required = false) String difficultyLevel,
+            @RequestParam(required = false) String description,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try (InputStream in = file != null ? file.getInputStream()
+                : TrackFileReader.open(request.getInputStream(), request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            CourseSummaryDTO saved = courseService.importCourse(in, runnerId, courseName, theme, difficultyLevel, description);
+            List<SimilarCourseDTO> duplicates = similarityService.findDuplicates(saved.id());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", saved);
+            response.put("message", "코스를 가져왔습니다.");
+            if (!duplicates.isEmpty()) {
+                response.put("duplicates", duplicates);
+                response.put("warning", "경로가 거의 같은 코스가 이미 있습니다.");
+            }
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage() != null ? e.getMessage() : "코스 가져오기 실패")
+            );
+        }
+    }
+    
+    /**
+     * 코스 경로를 GPX 파일로 내보내기 (응답 스트림에 바로 씀)
+     * GET /api/runner/courses/{id}/gpx
+     */
+    @GetMapping("/{id}/gpx")
+    public ResponseEntity<StreamingResponseBody> exportCourseGpx(@PathVariable Long id) {
+        try {
+            StreamingResponseBody body = courseService.exportGpx(id);
+            return ResponseEntity.ok()
+                .contentType(GPX_MEDIA_TYPE)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"course-" + id + ".gpx\"")
+                .body(body);
+        } catch (Exception e) {
+            // 반환 타입이 스트리밍 본문이므로 오류 응답도 같은 형식으로 직접 씀
+            Map<String, Object> error = Map.of("success", false, "error", e.getMessage());
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+        }
+    }
+    
+    /**
+     * 사용자의 코스 조회 (최신순, 다음 페이지는 응답의 nextCursor로 요청)
+     * GET /api/runner/courses/my?cursor=...&size=20
      */
     @GetMapping("/my")
     public ResponseEntity<?> getUserCourses(
-            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
         try {
             if (runnerId == null) {
                 runnerId = 2L;
             }
             
-            List<UploadedCourseDTO> courses = courseService.getUserCourses(runnerId);
+            CursorPage<CourseSummaryDTO> page = courseService.getUserCourses(runnerId, cursor, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", courses);
-            response.put("count", courses.size());
+            response.put("data", page.items());
+            response.put("count", page.items().size());
+            response.put("nextCursor", page.nextCursor());
+            response.put("hasNext", page.hasNext());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -73,27 +174,26 @@ public class UploadedCourseController {
     }
     
     /**
-     * 모든 코스 조회 (검색)
-     * GET /api/runner/courses?theme=자연경관&difficulty=intermediate
+     * 모든 코스 조회 (검색, 검색어가 있으면 관련도순 / 없으면 인기순 페이지)
+     * GET /api/runner/courses?q=벚꽃 갑천&theme=자연경관&difficulty=intermediate&cursor=...&size=20
      */
     @GetMapping
     public ResponseEntity<?> searchCourses(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String theme,
-            @RequestParam(required = false, name = "difficulty") String difficultyLevel) {
+            @RequestParam(required = false, name = "difficulty") String difficultyLevel,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
         try {
-            List<UploadedCourseDTO> courses;
-            
-            if (theme != null || difficultyLevel != null) {
-                courses = courseService.searchCourses(theme, difficultyLevel);
-            } else {
-                courses = courseService.searchCourses(null, null);
-            }
+            CursorPage<CourseSummaryDTO> page = courseService.searchCourses(theme, difficultyLevel, q, cursor, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", courses);
-            response.put("count", courses.size());
+            response.put("data", page.items());
+            response.put("count", page.items().size());
+            response.put("nextCursor", page.nextCursor());
+            response.put("hasNext", page.hasNext());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -113,7 +213,7 @@ public class UploadedCourseController {
             @RequestParam(defaultValue = "5") int limit) {
         
         try {
-            List<UploadedCourseDTO> courses = courseService.getTopCoursesByTheme(theme, limit);
+            List<CourseSummaryDTO> courses = courseService.getTopCoursesByTheme(theme, limit);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -130,12 +230,215 @@ public class UploadedCourseController {
     }
     
     /**
-     * 특정 코스 조회
+     * 코스 좋아요 (이미 좋아요한 코스면 변경 없음)
+     * POST /api/runner/courses/{id}/like
+     */
+    @PostMapping("/{id}/like")
+    public ResponseEntity<?> likeCourse(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", likeService.like(id, runnerId));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 코스 좋아요 취소 (좋아요하지 않은 코스면 변경 없음)
+     * DELETE /api/runner/courses/{id}/like
+     */
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<?> unlikeCourse(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-Runner-Id", required = false) Long runnerId) {
+        
+        try {
+            if (runnerId == null) {
+                runnerId = 2L;
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", likeService.unlike(id, runnerId));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 테마별 인기 순위표 통계
+     * GET /api/runner/courses/leaderboard/stats
+     */
+    @GetMapping("/leaderboard/stats")
+    public ResponseEntity<?> getLeaderboardStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", leaderboard.stats());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 내 주변 코스 (시작점 기준 반경 검색, 가까운 순)
+     * GET /api/runner/courses/nearby?lat=&lng=&radiusKm=&theme=&difficulty=&limit=
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyCourses(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String theme,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) Integer limit) {
+        
+        try {
+            List<NearbyCourseDTO> courses = nearbyCourseService.nearby(lat, lng, radiusKm, theme, difficulty, limit);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", courses);
+            response.put("count", courses.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 지도 영역 안의 코스 (코스 범위가 영역과 겹치는 코스, 영역 중심에서 가까운 순)
+     * GET /api/runner/courses/within?minLat=&minLng=&maxLat=&maxLng=&theme=&difficulty=&limit=
+     */
+    @GetMapping("/within")
+    public ResponseEntity<?> getCoursesWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam(required = false) String theme,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) Integer limit) {
+        
+        try {
+            List<NearbyCourseDTO> courses = nearbyCourseService.within(
+                minLat, minLng, maxLat, maxLng, theme, difficulty, limit);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", courses);
+            response.put("count", courses.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 경로가 비슷한 코스 (Fréchet 거리 가까운 순)
+     * GET /api/runner/courses/{id}/similar?limit=10
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarCourses(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit) {
+        
+        try {
+            List<SimilarCourseDTO> courses = similarityService.findSimilar(id, limit);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", courses);
+            response.put("count", courses.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 비슷한 코스 검색 통계 (후보 수, 검증 수, 평균 소요 시간)
+     * GET /api/runner/courses/similar/stats
+     */
+    @GetMapping("/similar/stats")
+    public ResponseEntity<?> getSimilarityStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", similarityService.stats());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 코스 전문 검색 인덱스 통계 (코스 수, 토큰 수, 평균 검색 시간)
+     * GET /api/runner/courses/search/stats
+     */
+    @GetMapping("/search/stats")
+    public ResponseEntity<?> getSearchIndexStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", searchService.stats());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 주변 코스 공간 인덱스 통계
+     * GET /api/runner/courses/nearby/stats
+     */
+    @GetMapping("/nearby/stats")
+    public ResponseEntity<?> getNearbyIndexStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", nearbyCourseService.stats());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 조회수 버퍼 통계 (미반영 조회수, 반영 지연, 배치 크기)
+     * GET /api/runner/courses/views/stats
+     */
+    @GetMapping("/views/stats")
+    public ResponseEntity<?> getViewCounterStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", viewCounter.stats());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 특정 코스 조회 (If-None-Match가 현재 버전과 같으면 코스를 읽지 않고 304, 조회수는 기록)
      * GET /api/runner/courses/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCourse(@PathVariable Long id) {
+    public ResponseEntity<?> getCourse(@PathVariable Long id, WebRequest request) {
         try {
+            Optional<ResourceVersion> version = courseService.getCourseVersion(id);
+            if (version.isPresent() && version.get().notModified(request)) {
+                viewCounter.record(id);
+                return null;
+            }
+            
             UploadedCourseDTO course = courseService.getCourse(id);
             
             Map<String, Object> response = new HashMap<>();
@@ -150,6 +453,33 @@ public class UploadedCourseController {
         }
     }
     
+    /**
+     * 코스 경로 조회 (좌표, 고도, 폴리라인) - 목록 응답에는 경로가 없으므로 지도 표시 시 사용
+     * 경로가 바뀌지 않았으면 304 (If-None-Match / If-Modified-Since)
+     * GET /api/runner/courses/{id}/geometry
+     */
+    @GetMapping("/{id}/geometry")
+    public ResponseEntity<?> getCourseGeometry(@PathVariable Long id, WebRequest request) {
+        try {
+            Optional<ResourceVersion> version = courseService.getGeometryVersion(id);
+            if (version.isPresent() && version.get().notModified(request)) {
+                return null;
+            }
+            
+            CourseGeometryDTO geometry = courseService.getCourseGeometry(id);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", geometry);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "error", e.getMessage())
+            );
+        }
+    }
+    
     /**
      * 코스 정보 수정
      * PUT /api/runner/courses/{id}
@@ -0,0 +1,57 @@
+package com.krugs.hackathon_1.dto;
+
+import java.util.List;
+
+/**
+ * 관광지 목록을 Attraction 객체 없이 순번으로 읽는 열 단위 접근
+ * 메모리 매핑된 지역 데이터셋의 관광지 목록은 이 인터페이스를 직접 구현하여 버퍼에서 바로 읽음
+ * (요청마다 전체 관광지를 도는 경로 생성/이름 색인에서 객체 할당을 피하기 위함)
+ */
+public interface AttractionColumns {
+
+    int size();
+
+    String name(int index);
+
+    String category(int index);
+
+    double latitude(int index);
+
+    double longitude(int index);
+
+    /**
+     * 목록이 이미 열 단위 접근을 지원하면 그대로, 아니면 get(index)로 읽는 어댑터 (null은 빈 목록)
+     */
+    static AttractionColumns of(List<Attraction> attractions) {
+        if (attractions instanceof AttractionColumns columns) {
+            return columns;
+        }
+        List<Attraction> list = attractions != null ? attractions : List.of();
+        return new AttractionColumns() {
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public String name(int index) {
+                return list.get(index).getName();
+            }
+
+            @Override
+            public String category(int index) {
+                return list.get(index).getCategory();
+            }
+
+            @Override
+            public double latitude(int index) {
+                return list.get(index).getLatitude();
+            }
+
+            @Override
+            public double longitude(int index) {
+                return list.get(index).getLongitude();
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.krugs.hackathon_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 일괄 추천 항목별 결과
+ * 같은 조건의 항목은 한 번만 생성하고 indexes에 요청 순번을 모두 담음
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    public static final String STATUS_OK = "ok";
+    public static final String STATUS_ERROR = "error";
+    public static final String STATUS_TIMEOUT = "timeout";
+    public static final String STATUS_REJECTED = "rejected";
+
+    private List<Integer> indexes;      // 요청 목록에서의 순번 (0부터)
+    private RecommendationSpec spec;
+    private String status;              // ok, error, timeout, rejected
+    private List<RouteData> routes;
+    private String error;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,14 @@
+package com.krugs.hackathon_1.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 코스 경로 정보 (좌표, 고도, 폴리라인)
+ */
+public record CourseGeometryDTO(
+        Long courseId,
+        String routePolyline,
+        List<Map<String, Double>> coordinates,
+        List<Double> elevationData) {
+}
@@ -0,0 +1,32 @@
+package com.krugs.hackathon_1.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.krugs.hackathon_1.util.PageCursor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 코스 목록용 요약 정보 (좌표/고도/폴리라인 컬럼은 조회하지 않음)
+ * 경로는 GET /api/runner/courses/{id}/geometry 로 따로 조회
+ */
+public record CourseSummaryDTO(
+        Long id,
+        Long runnerId,
+        String courseName,
+        String theme,
+        Float distance,
+        String difficultyLevel,
+        String description,
+        Integer likeCount,
+        Integer viewCount,
+        Boolean hasCoordinates,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime createdAt) {
+
+    /**
+     * 인기순 목록의 키셋 커서 (좋아요 수, id)
+     */
+    public PageCursor likeCursor() {
+        return PageCursor.of(likeCount != null ? likeCount : 0, id);
+    }
+}
@@ -0,0 +1,34 @@
+package com.krugs.hackathon_1.dto;
+
+import com.krugs.hackathon_1.util.PageCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋 페이지 결과 (다음 페이지가 없으면 nextCursor = null)
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * size + 1개를 조회한 결과로 페이지 구성 - 남는 1개가 있으면 마지막 항목 기준으로 다음 커서 생성
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, PageCursor> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+    }
+
+    /**
+     * 항목 변환 (커서는 그대로 유지)
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,261 @@
+package com.krugs.hackathon_1.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 경로 좌표 목록 - 위도/경도를 double[] 두 개에 저장하여
+ * 좌표마다 List&lt;Double&gt; 박싱 객체가 생기지 않도록 한 압축 표현
+ * JSON 형식은 기존과 동일한 [[위도, 경도], ...] 배열
+ */
+@JsonSerialize(using = GeoPath.Serializer.class)
+@JsonDeserialize(using = GeoPath.Deserializer.class)
+public final class GeoPath {
+
+    private static final double[] EMPTY = new double[0];
+
+    private final double[] lats;
+    private final double[] lngs;
+    private final int size;
+
+    private GeoPath(double[] lats, double[] lngs, int size) {
+        this.lats = lats;
+        this.lngs = lngs;
+        this.size = size;
+    }
+
+    public static GeoPath empty() {
+        return new GeoPath(EMPTY, EMPTY, 0);
+    }
+
+    /**
+     * 배열을 그대로 감싸서 생성 (복사하지 않음)
+     */
+    public static GeoPath of(double[] lats, double[] lngs) {
+        if (lats.length != lngs.length) {
+            throw new IllegalArgumentException("위도/경도 개수가 다릅니다.");
+        }
+        return new GeoPath(lats, lngs, lats.length);
+    }
+
+    /**
+     * [[위도, 경도], ...] 리스트에서 생성
+     */
+    public static GeoPath fromList(List<List<Double>> coordinates) {
+        if (coordinates == null || coordinates.isEmpty()) {
+            return empty();
+        }
+        Builder builder = builder(coordinates.size());
+        for (List<Double> point : coordinates) {
+            if (point != null && point.size() >= 2 && point.get(0) != null && point.get(1) != null) {
+                builder.add(point.get(0), point.get(1));
+            }
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder(32);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(Math.max(expectedSize, 4));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double lat(int index) {
+        checkIndex(index);
+        return lats[index];
+    }
+
+    public double lng(int index) {
+        checkIndex(index);
+        return lngs[index];
+    }
+
+    /**
+     * [[위도, 경도], ...] 리스트로 변환 (기존 API 호환용)
+     */
+    public List<List<Double>> toList() {
+        List<List<Double>> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(List.of(lats[i], lngs[i]));
+        }
+        return list;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GeoPath other) || other.size != size) {
+            return false;
+        }
+        return Arrays.equals(lats, 0, size, other.lats, 0, size)
+                && Arrays.equals(lngs, 0, size, other.lngs, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Double.hashCode(lats[i]);
+            result = 31 * result + Double.hashCode(lngs[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "GeoPath[" + size + " points]";
+    }
+
+    /**
+     * 좌표를 하나씩 추가하며 배열을 늘려가는 빌더
+     */
+    public static final class Builder {
+        private double[] lats;
+        private double[] lngs;
+        private int size;
+
+        private Builder(int capacity) {
+            lats = new double[capacity];
+            lngs = new double[capacity];
+        }
+
+        public Builder add(double lat, double lng) {
+            if (size == lats.length) {
+                int capacity = lats.length + (lats.length >> 1) + 1;
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+            }
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public GeoPath build() {
+            if (size == 0) {
+                return empty();
+            }
+            if (size == lats.length) {
+                return new GeoPath(lats, lngs, size);
+            }
+            return new GeoPath(Arrays.copyOf(lats, size), Arrays.copyOf(lngs, size), size);
+        }
+    }
+
+    /**
+     * 스트리밍 파서에서 좌표 배열 읽기 - 현재 토큰이 START_ARRAY여야 함
+     * [위도, 경도] 배열과 {"lat": .., "lng": ..} 객체 형식 모두 허용
+     */
+    public static GeoPath read(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return empty();
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return empty();
+        }
+
+        Builder builder = builder();
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_ARRAY) {
+                double lat = Double.NaN;
+                double lng = Double.NaN;
+                int index = 0;
+                while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (token.isNumeric()) {
+                        if (index == 0) {
+                            lat = p.getDoubleValue();
+                        } else if (index == 1) {
+                            lng = p.getDoubleValue();
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                    index++;
+                }
+                if (!Double.isNaN(lat) && !Double.isNaN(lng)) {
+                    builder.add(lat, lng);
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                double lat = Double.NaN;
+                double lng = Double.NaN;
+                while ((token = p.nextToken()) == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    token = p.nextToken();
+                    if (token.isNumeric() && ("lat".equals(field) || "latitude".equals(field))) {
+                        lat = p.getDoubleValue();
+                    } else if (token.isNumeric() && ("lng".equals(field) || "lon".equals(field) || "longitude".equals(field))) {
+                        lng = p.getDoubleValue();
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                if (!Double.isNaN(lat) && !Double.isNaN(lng)) {
+                    builder.add(lat, lng);
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * [[위도, 경도], ...] 형식으로 직접 출력 (중간 리스트 생성 없음)
+     */
+    public static class Serializer extends JsonSerializer<GeoPath> {
+        @Override
+        public void serialize(GeoPath path, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartArray(path, path.size);
+            for (int i = 0; i < path.size; i++) {
+                gen.writeStartArray(null, 2);
+                gen.writeNumber(path.lats[i]);
+                gen.writeNumber(path.lngs[i]);
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<GeoPath> {
+        @Override
+        public GeoPath deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return read(p);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.krugs.hackathon_1.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 실시간 기록 GPS 포인트 묶음 - seq는 세션 안에서 1부터 1씩 증가
+ * 같은 seq를 다시 보내면 중복으로 보고 무시 (네트워크 재전송에 안전)
+ */
+public record LivePointBatch(Long seq, List<Point> points) {
+
+    /**
+     * GPS 포인트 (시각은 ISO-8601, 고도/시각/심박은 생략 가능)
+     */
+    public record Point(Double lat, Double lng, Double ele, Instant time, Integer hr) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.krugs.hackathon_1.dto;
+
+/**
+ * 주변 코스 검색 결과 (코스 요약 + 기준점에서 시작점까지 거리)
+ */
+public record NearbyCourseDTO(CourseSummaryDTO course, double distanceKm) {
+}
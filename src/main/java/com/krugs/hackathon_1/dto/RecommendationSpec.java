@@ -0,0 +1,24 @@
+package com.krugs.hackathon_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 추천 요청의 항목 하나
+ * eventId를 지정하면 비어 있는 조건은 해당 마라톤 이벤트 정보로 채움
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationSpec {
+    private Long eventId;
+    private String theme;
+    private Float distance;
+    private String startLocation;
+    private String endLocation;
+    private String difficulty;
+    private String engine;
+}
@@ -13,10 +13,12 @@ import java.util.List;
 public class RouteData {
     private String name;
     private String description;
-    private Float distance;
+    private Float distance;             // 실제 경로 길이 (km, 검증 후 보정)
+    private Float claimedDistance;      // Gemini가 제시한 거리 (km)
+    private Boolean distanceMismatch;   // 요청 거리와 차이가 큰 경우 true
     private Double startPointLat;  // ✅ 시작점 위도
     private Double startPointLng;  // ✅ 시작점 경도
-    private List<List<Double>> coordinates;
+    private GeoPath coordinates;         // [[위도, 경도], ...] (double[] 기반)
     private List<String> landmarks;
     private Integer elevationGain;
     private Integer safetyScore;
@@ -0,0 +1,51 @@
+package com.krugs.hackathon_1.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Objects;
+
+/**
+ * 러너 누적 통계 스냅샷 (runner_stats 행, 메모리 캐시 값)
+ */
+public record RunnerStatsDTO(
+        Long runnerId,
+        long totalRecords,
+        double totalDistance,
+        long totalSeconds,
+        long totalCalories,
+        Float bestPace,
+        Long bestPaceRecordId,
+        Float longestDistance,
+        Long longestRecordId,
+        @JsonIgnore
+        Long version) {
+
+    /**
+     * 기록 테이블에서 GROUP BY로 다시 계산한 러너 합계 (검증/초기 적재용)
+     */
+    public record Totals(Long runnerId, Long records, Double distance, Long seconds, Long calories,
+                         Float bestPace, Float longestDistance) {
+
+        public static Totals empty(Long runnerId) {
+            return new Totals(runnerId, 0L, 0.0, 0L, 0L, null, null);
+        }
+    }
+
+    /**
+     * 최고 페이스 / 최장 거리 기록 (기록 id, 값)
+     */
+    public record Best(Long recordId, Float value) {
+    }
+
+    /**
+     * 저장된 합계가 다시 계산한 값과 같은지 (거리는 float 합산 오차 허용)
+     */
+    public boolean matches(Totals totals) {
+        return totalRecords == totals.records()
+                && Math.abs(totalDistance - totals.distance()) < 0.001
+                && totalSeconds == totals.seconds()
+                && totalCalories == totals.calories()
+                && Objects.equals(bestPace, totals.bestPace())
+                && Objects.equals(longestDistance, totals.longestDistance());
+    }
+}
@@ -0,0 +1,8 @@
+package com.krugs.hackathon_1.dto;
+
+/**
+ * 비슷한 코스 검색 결과
+ * jaccard: 지나는 격자 칸 집합의 유사도 추정값 (0~1), frechetMeters: 경로 간 이산 Fréchet 거리
+ */
+public record SimilarCourseDTO(CourseSummaryDTO course, double jaccard, double frechetMeters) {
+}
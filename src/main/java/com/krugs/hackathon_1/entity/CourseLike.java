@@ -0,0 +1,40 @@
+package com.krugs.hackathon_1.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "course_likes", uniqueConstraints = {
+    // 사용자당 코스 하나에 좋아요 한 번
+    @UniqueConstraint(name = "uk_course_like_course_runner", columnNames = {"courseId", "runnerId"})
+}, indexes = {
+    @Index(name = "idx_course_like_runner", columnList = "runnerId")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseLike {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long courseId;
+    
+    @Column(nullable = false)
+    private Long runnerId;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "marathon_events")
+@Table(name = "marathon_events", indexes = {
+    // 키셋 페이지네이션 (생성 시각 + id)
+    @Index(name = "idx_event_created", columnList = "createdAt DESC, id DESC"),
+    // 목록 ETag (최근 수정 시각)
+    @Index(name = "idx_event_updated", columnList = "updatedAt")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -55,12 +60,21 @@ public class MarathonEvent {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    @Column
+    private LocalDateTime updatedAt;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (status == null) {
             status = "pending";
         }
     }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
 
@@ -0,0 +1,48 @@
+package com.krugs.hackathon_1.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 기록별 목표 거리 최고 기록 (저장 시 GPS 트랙에서 계산)
+ * 개인 최고 기록이 삭제되면 트랙을 다시 읽지 않고 이 테이블에서 다음 기록을 찾음
+ */
+@Entity
+@Table(name = "record_best_efforts", indexes = {
+    // 러너 + 목표 거리별 가장 빠른 기록
+    @Index(name = "idx_effort_runner_distance_seconds", columnList = "runnerId, distanceMeters, seconds"),
+    @Index(name = "idx_effort_record", columnList = "recordId")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordBestEffort {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long recordId;
+    
+    @Column(nullable = false)
+    private Long runnerId;
+    
+    @Column(nullable = false)
+    private int distanceMeters;
+    
+    @Column(nullable = false)
+    private double seconds;
+    
+    // 기록 시작 후 몇 초 지점에서 시작했는지
+    @Column(nullable = false)
+    private double startSeconds;
+    
+    @Column(nullable = false)
+    private LocalDateTime recordDate;
+}
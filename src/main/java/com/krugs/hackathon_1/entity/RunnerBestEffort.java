@@ -0,0 +1,45 @@
+package com.krugs.hackathon_1.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 러너별 목표 거리 개인 최고 기록 (목표 거리마다 한 행, 아직 달성하지 못했으면 기록 값이 null)
+ * 기록 저장 시 더 빠를 때만 교체, 최고 기록이 삭제되면 record_best_efforts에서 다음 기록으로 교체
+ */
+@Entity
+@Table(name = "runner_best_efforts", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_runner_best_effort_runner_distance", columnNames = {"runnerId", "distanceMeters"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunnerBestEffort {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long runnerId;
+    
+    @Column(nullable = false)
+    private int distanceMeters;
+    
+    @Column
+    private Double seconds;
+    
+    @Column
+    private Long recordId;
+    
+    @Column
+    private LocalDateTime recordDate;
+    
+    @Version
+    private Long version;
+}
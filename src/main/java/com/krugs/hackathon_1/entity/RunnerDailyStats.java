@@ -0,0 +1,49 @@
+package com.krugs.hackathon_1.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * 러너별 일 단위 기록 합계 (주/월/연 통계와 히트맵의 원본)
+ * 기록 저장/삭제 시 같은 트랜잭션에서 증감, 합계가 0이 된 날도 행은 남김
+ */
+@Entity
+@Table(name = "runner_daily_stats", uniqueConstraints = {
+    // 러너 + 날짜 범위 조회 겸용
+    @UniqueConstraint(name = "uk_runner_daily_runner_date", columnNames = {"runnerId", "runDate"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunnerDailyStats {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long runnerId;
+    
+    @Column(nullable = false)
+    private LocalDate runDate;
+    
+    @Column(nullable = false)
+    private long records;
+    
+    @Column(nullable = false)
+    private double distance;
+    
+    @Column(nullable = false)
+    private long seconds;
+    
+    @Column(nullable = false)
+    private long calories;
+    
+    @Version
+    private Long version;
+}
@@ -0,0 +1,60 @@
+package com.krugs.hackathon_1.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * 러너별 누적 통계 (기록 저장/삭제 시 같은 트랜잭션에서 증감)
+ * version은 갱신마다 1씩 증가 - 메모리 캐시는 더 큰 version만 받아들임
+ */
+@Entity
+@Table(name = "runner_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunnerStats {
+    
+    @Id
+    private Long runnerId;
+    
+    @Column(nullable = false)
+    private long totalRecords;
+    
+    @Column(nullable = false)
+    private double totalDistance;
+    
+    @Column(nullable = false)
+    private long totalSeconds;
+    
+    @Column(nullable = false)
+    private long totalCalories;
+    
+    // 최고 페이스 (분/km, 최소 거리 이상 기록 중 가장 빠른 값)
+    @Column
+    private Float bestPace;
+    
+    @Column
+    private Long bestPaceRecordId;
+    
+    @Column
+    private Float longestDistance;
+    
+    @Column
+    private Long longestRecordId;
+    
+    @Version
+    private Long version;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -8,7 +8,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "running_records")
+@Table(name = "running_records", indexes = {
+    // 키셋 페이지네이션 (기록 날짜 + id)
+    @Index(name = "idx_record_runner_date", columnList = "runnerId, recordDate DESC, id DESC"),
+    // 러너 통계의 최고 페이스 / 최장 거리 기록이 삭제되었을 때 다음 기록 찾기
+    @Index(name = "idx_record_runner_pace", columnList = "runnerId, avgPace"),
+    @Index(name = "idx_record_runner_distance", columnList = "runnerId, distance")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -40,9 +46,23 @@ public class RunningRecord {
     @Column(columnDefinition = "LONGTEXT")
     private String routePolyline;
     
+    // 이전 형식 GPS 데이터 (JSON) - 바이너리로 옮긴 후 비워짐, 바이너리로 옮길 수 없는 데이터만 남음
     @Column(columnDefinition = "LONGTEXT")
     private String gpsData;
     
+    // GPS JSON을 바이너리로 손실 없이 옮길 수 없어 JSON으로 남긴 기록 (시작 시 이전 대상에서 제외)
+    @Column
+    private Boolean gpsJsonKept;
+    
+    // GPS 트랙 (GpsTrackCodec 열 단위 압축 바이너리)
+    @Lob
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] gpsTrack;
+    
+    // km 구간 기록 (JSON, 저장 시 GPS 트랙에서 계산) - GPS 트랙이 있는데 null이면 아직 분석되지 않은 기록
+    @Column(columnDefinition = "LONGTEXT")
+    private String splits;
+    
     @Column
     private String notes;
     
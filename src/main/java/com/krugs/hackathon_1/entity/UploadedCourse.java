@@ -8,7 +8,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "uploaded_courses")
+@Table(name = "uploaded_courses", indexes = {
+    // 키셋 페이지네이션 (정렬 키 + id)
+    @Index(name = "idx_course_runner_created", columnList = "runnerId, createdAt DESC, id DESC"),
+    @Index(name = "idx_course_theme_likes", columnList = "theme, likeCount DESC, id DESC"),
+    @Index(name = "idx_course_difficulty_likes", columnList = "difficultyLevel, likeCount DESC, id DESC"),
+    @Index(name = "idx_course_likes", columnList = "likeCount DESC, id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -43,14 +49,51 @@ public class UploadedCourse {
     @Column
     private String description;
     
-    // ✅ 경로 데이터 (JSON 형식으로 저장)
+    // 이전 형식 경로 데이터 (JSON) - 바이너리로 이전 후 비워짐
     @Column(columnDefinition = "LONGTEXT")
     private String coordinatesJson;
     
-    // ✅ 고도 데이터 (JSON 형식으로 저장)
+    // 이전 형식 고도 데이터 (JSON) - 바이너리로 이전 후 비워짐
     @Column(columnDefinition = "LONGTEXT")
     private String elevationDataJson;
     
+    // 좌표/고도 JSON을 바이너리로 손실 없이 옮길 수 없어 JSON으로 남긴 코스 (시작 시 이전 대상에서 제외)
+    @Column
+    private Boolean geometryJsonKept;
+    
+    // ✅ 경로 데이터 (GeometryCodec 차분 varint 바이너리)
+    @Lob
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] coordinatesData;
+    
+    // ✅ 고도 데이터 (GeometryCodec 0.1m 양자화 바이너리)
+    @Lob
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] elevationData;
+    
+    // 경로 MinHash 서명 (RouteSimilarity, 비슷한 코스 검색용)
+    @Column(length = 256)
+    private byte[] routeSignature;
+    
+    // 시작점 / 좌표 범위 (주변 코스 검색용, 좌표에서 계산)
+    @Column
+    private Double startLat;
+    
+    @Column
+    private Double startLng;
+    
+    @Column
+    private Double minLat;
+    
+    @Column
+    private Double minLng;
+    
+    @Column
+    private Double maxLat;
+    
+    @Column
+    private Double maxLng;
+    
     @Column
     private Integer likeCount;
     
@@ -0,0 +1,24 @@
+package com.krugs.hackathon_1.repository;
+
+import com.krugs.hackathon_1.entity.CourseLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CourseLikeRepository extends JpaRepository<CourseLike, Long> {
+    
+    boolean existsByCourseIdAndRunnerId(Long courseId, Long runnerId);
+    
+    @Modifying
+    @Query("DELETE FROM CourseLike l WHERE l.courseId = :courseId AND l.runnerId = :runnerId")
+    int deleteLike(@Param("courseId") Long courseId, @Param("runnerId") Long runnerId);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CourseLike l WHERE l.courseId = :courseId")
+    int deleteByCourse(@Param("courseId") Long courseId);
+}
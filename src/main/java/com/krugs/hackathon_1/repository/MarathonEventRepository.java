@@ -1,17 +1,45 @@
 package com.krugs.hackathon_1.repository;
 
 import com.krugs.hackathon_1.entity.MarathonEvent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MarathonEventRepository extends JpaRepository<MarathonEvent, Long> {
     
+    // 목록 버전 (이벤트 수, 최근 수정 시각) - 목록 ETag용
+    interface ListVersionView {
+        long getCount();
+        LocalDateTime getLastModified();
+    }
+    
     List<MarathonEvent> findByOrganizerIdOrderByCreatedAtDesc(Long organizerId);
     
     List<MarathonEvent> findByStatusOrderByCreatedAtDesc(String status);
     
     List<MarathonEvent> findByThemeOrderByCreatedAtDesc(String theme);
+    
+    // 키셋 페이지 (생성 시각 최신순, 커서 다음 행부터)
+    @Query("SELECT m FROM MarathonEvent m " +
+           "WHERE m.createdAt <= :createdAt AND (m.createdAt < :createdAt OR m.id < :id) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MarathonEvent> findPage(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Limit limit
+    );
+    
+    // 조건부 GET 판정용 수정 시각 (updatedAt 도입 전 행은 생성 시각)
+    @Query("SELECT COALESCE(m.updatedAt, m.createdAt) FROM MarathonEvent m WHERE m.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+    
+    @Query("SELECT COUNT(m) AS count, MAX(COALESCE(m.updatedAt, m.createdAt)) AS lastModified FROM MarathonEvent m")
+    ListVersionView findListVersion();
 }
 
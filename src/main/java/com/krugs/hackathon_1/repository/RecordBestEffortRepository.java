@@ -0,0 +1,29 @@
+package com.krugs.hackathon_1.repository;
+
+import com.krugs.hackathon_1.entity.RecordBestEffort;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface RecordBestEffortRepository extends JpaRepository<RecordBestEffort, Long> {
+    
+    List<RecordBestEffort> findByRecordIdOrderByDistanceMeters(Long recordId);
+    
+    // 러너의 목표 거리별 가장 빠른 기록 (같은 시간이면 먼저 저장된 기록)
+    @Query("SELECT e FROM RecordBestEffort e WHERE e.runnerId = :runnerId AND e.distanceMeters = :distanceMeters " +
+           "ORDER BY e.seconds, e.recordId")
+    List<RecordBestEffort> findFastest(
+        @Param("runnerId") Long runnerId,
+        @Param("distanceMeters") int distanceMeters,
+        Limit limit
+    );
+    
+    @Modifying
+    @Query("DELETE FROM RecordBestEffort e WHERE e.recordId = :recordId")
+    int deleteByRecord(@Param("recordId") Long recordId);
+}
@@ -0,0 +1,47 @@
+package com.krugs.hackathon_1.repository;
+
+import com.krugs.hackathon_1.entity.RunnerBestEffort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RunnerBestEffortRepository extends JpaRepository<RunnerBestEffort, Long> {
+    
+    List<RunnerBestEffort> findByRunnerIdOrderByDistanceMeters(Long runnerId);
+    
+    List<RunnerBestEffort> findByRunnerIdAndRecordId(Long runnerId, Long recordId);
+    
+    // 더 빠를 때만 교체
+    @Modifying
+    @Query("UPDATE RunnerBestEffort b SET b.seconds = :seconds, b.recordId = :recordId, b.recordDate = :recordDate, " +
+           "b.version = b.version + 1 " +
+           "WHERE b.runnerId = :runnerId AND b.distanceMeters = :distanceMeters " +
+           "AND (b.seconds IS NULL OR b.seconds > :seconds)")
+    int offer(
+        @Param("runnerId") Long runnerId,
+        @Param("distanceMeters") int distanceMeters,
+        @Param("seconds") double seconds,
+        @Param("recordId") Long recordId,
+        @Param("recordDate") LocalDateTime recordDate
+    );
+    
+    // 삭제되는 기록이 최고 기록인 행을 먼저 잠금 (다음 기록을 찾는 동안 동시 저장의 교체가 끼어들지 않도록)
+    @Modifying
+    @Query("UPDATE RunnerBestEffort b SET b.version = b.version + 1 WHERE b.runnerId = :runnerId AND b.recordId = :recordId")
+    int lockByRecord(@Param("runnerId") Long runnerId, @Param("recordId") Long recordId);
+    
+    @Modifying
+    @Query("UPDATE RunnerBestEffort b SET b.seconds = :seconds, b.recordId = :recordId, b.recordDate = :recordDate, " +
+           "b.version = b.version + 1 WHERE b.id = :id")
+    int replace(
+        @Param("id") Long id,
+        @Param("seconds") Double seconds,
+        @Param("recordId") Long recordId,
+        @Param("recordDate") LocalDateTime recordDate
+    );
+}
@@ -0,0 +1,85 @@
+package com.krugs.hackathon_1.repository;
+
+import com.krugs.hackathon_1.entity.RunnerDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RunnerDailyStatsRepository extends JpaRepository<RunnerDailyStats, Long> {
+    
+    /**
+     * 기간 합계 (연/월 단위 GROUP BY 결과, 월 단위가 아니면 month는 null)
+     */
+    interface PeriodView {
+        Integer getYear();
+        Integer getMonth();
+        Long getRecords();
+        Double getDistance();
+        Long getSeconds();
+        Long getCalories();
+    }
+    
+    boolean existsByRunnerIdAndRunDate(Long runnerId, LocalDate runDate);
+    
+    // 날짜 범위 (러너 + 날짜 유니크 인덱스 범위 조회 - 기록 수와 무관)
+    @Query("SELECT d FROM RunnerDailyStats d WHERE d.runnerId = :runnerId " +
+           "AND d.runDate BETWEEN :from AND :to AND d.records > 0 ORDER BY d.runDate")
+    List<RunnerDailyStats> findRange(
+        @Param("runnerId") Long runnerId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+    
+    @Query("SELECT YEAR(d.runDate) AS year, MONTH(d.runDate) AS month, SUM(d.records) AS records, " +
+           "SUM(d.distance) AS distance, SUM(d.seconds) AS seconds, SUM(d.calories) AS calories " +
+           "FROM RunnerDailyStats d WHERE d.runnerId = :runnerId AND d.records > 0 " +
+           "GROUP BY YEAR(d.runDate), MONTH(d.runDate) ORDER BY YEAR(d.runDate) DESC, MONTH(d.runDate) DESC")
+    List<PeriodView> findMonthly(@Param("runnerId") Long runnerId);
+    
+    @Query("SELECT YEAR(d.runDate) AS year, SUM(d.records) AS records, " +
+           "SUM(d.distance) AS distance, SUM(d.seconds) AS seconds, SUM(d.calories) AS calories " +
+           "FROM RunnerDailyStats d WHERE d.runnerId = :runnerId AND d.records > 0 " +
+           "GROUP BY YEAR(d.runDate) ORDER BY YEAR(d.runDate) DESC")
+    List<PeriodView> findYearly(@Param("runnerId") Long runnerId);
+    
+    // 검증 작업용
+    List<RunnerDailyStats> findByRunnerIdIn(Collection<Long> runnerIds);
+    
+    @Modifying
+    @Query("DELETE FROM RunnerDailyStats d WHERE d.runnerId = :runnerId")
+    int deleteByRunner(@Param("runnerId") Long runnerId);
+    
+    // 일 합계 원자적 증감 (삭제는 음수로 호출)
+    @Modifying
+    @Query("UPDATE RunnerDailyStats d SET d.records = d.records + :records, d.distance = d.distance + :distance, " +
+           "d.seconds = d.seconds + :seconds, d.calories = d.calories + :calories, d.version = d.version + 1 " +
+           "WHERE d.runnerId = :runnerId AND d.runDate = :runDate")
+    int addTotals(
+        @Param("runnerId") Long runnerId,
+        @Param("runDate") LocalDate runDate,
+        @Param("records") long records,
+        @Param("distance") double distance,
+        @Param("seconds") long seconds,
+        @Param("calories") long calories
+    );
+    
+    // 검증 결과로 값 교체 - 읽은 뒤 다른 갱신이 있었으면(version 불일치) 0행
+    @Modifying
+    @Query("UPDATE RunnerDailyStats d SET d.records = :records, d.distance = :distance, " +
+           "d.seconds = :seconds, d.calories = :calories, d.version = d.version + 1 " +
+           "WHERE d.id = :id AND d.version = :version")
+    int overwrite(
+        @Param("id") Long id,
+        @Param("version") Long version,
+        @Param("records") long records,
+        @Param("distance") double distance,
+        @Param("seconds") long seconds,
+        @Param("calories") long calories
+    );
+}
@@ -0,0 +1,86 @@
+package com.krugs.hackathon_1.repository;
+
+import com.krugs.hackathon_1.dto.RunnerStatsDTO;
+import com.krugs.hackathon_1.entity.RunnerStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RunnerStatsRepository extends JpaRepository<RunnerStats, Long> {
+    
+    String SNAPSHOT_SELECT = "SELECT new com.krugs.hackathon_1.dto.RunnerStatsDTO(" +
+            "s.runnerId, s.totalRecords, s.totalDistance, s.totalSeconds, s.totalCalories, " +
+            "s.bestPace, s.bestPaceRecordId, s.longestDistance, s.longestRecordId, s.version) " +
+            "FROM RunnerStats s ";
+    
+    @Query(SNAPSHOT_SELECT + "WHERE s.runnerId = :runnerId")
+    Optional<RunnerStatsDTO> findSnapshot(@Param("runnerId") Long runnerId);
+    
+    // 검증 작업용 (러너 id 순 키셋)
+    @Query(SNAPSHOT_SELECT + "WHERE s.runnerId > :afterId ORDER BY s.runnerId")
+    List<RunnerStatsDTO> findSnapshots(@Param("afterId") Long afterId, Limit limit);
+    
+    // 합계 원자적 증감 (삭제는 음수로 호출)
+    @Modifying
+    @Query("UPDATE RunnerStats s SET s.totalRecords = s.totalRecords + :records, " +
+           "s.totalDistance = s.totalDistance + :distance, s.totalSeconds = s.totalSeconds + :seconds, " +
+           "s.totalCalories = s.totalCalories + :calories, s.version = s.version + 1, s.updatedAt = :now " +
+           "WHERE s.runnerId = :runnerId")
+    int addTotals(
+        @Param("runnerId") Long runnerId,
+        @Param("records") long records,
+        @Param("distance") double distance,
+        @Param("seconds") long seconds,
+        @Param("calories") long calories,
+        @Param("now") LocalDateTime now
+    );
+    
+    // 더 빠른 페이스일 때만 교체
+    @Modifying
+    @Query("UPDATE RunnerStats s SET s.bestPace = :pace, s.bestPaceRecordId = :recordId " +
+           "WHERE s.runnerId = :runnerId AND (s.bestPace IS NULL OR s.bestPace > :pace)")
+    int offerBestPace(@Param("runnerId") Long runnerId, @Param("pace") Float pace, @Param("recordId") Long recordId);
+    
+    // 더 긴 거리일 때만 교체
+    @Modifying
+    @Query("UPDATE RunnerStats s SET s.longestDistance = :distance, s.longestRecordId = :recordId " +
+           "WHERE s.runnerId = :runnerId AND (s.longestDistance IS NULL OR s.longestDistance < :distance)")
+    int offerLongest(@Param("runnerId") Long runnerId, @Param("distance") Float distance, @Param("recordId") Long recordId);
+    
+    @Modifying
+    @Query("UPDATE RunnerStats s SET s.bestPace = :pace, s.bestPaceRecordId = :recordId WHERE s.runnerId = :runnerId")
+    int setBestPace(@Param("runnerId") Long runnerId, @Param("pace") Float pace, @Param("recordId") Long recordId);
+    
+    @Modifying
+    @Query("UPDATE RunnerStats s SET s.longestDistance = :distance, s.longestRecordId = :recordId WHERE s.runnerId = :runnerId")
+    int setLongest(@Param("runnerId") Long runnerId, @Param("distance") Float distance, @Param("recordId") Long recordId);
+    
+    // 검증 결과로 전체 값 교체 - 읽은 뒤 다른 갱신이 있었으면(version 불일치) 0행
+    @Modifying
+    @Query("UPDATE RunnerStats s SET s.totalRecords = :records, s.totalDistance = :distance, " +
+           "s.totalSeconds = :seconds, s.totalCalories = :calories, " +
+           "s.bestPace = :bestPace, s.bestPaceRecordId = :bestPaceRecordId, " +
+           "s.longestDistance = :longestDistance, s.longestRecordId = :longestRecordId, " +
+           "s.version = s.version + 1, s.updatedAt = :now " +
+           "WHERE s.runnerId = :runnerId AND s.version = :version")
+    int overwrite(
+        @Param("runnerId") Long runnerId,
+        @Param("version") Long version,
+        @Param("records") long records,
+        @Param("distance") double distance,
+        @Param("seconds") long seconds,
+        @Param("calories") long calories,
+        @Param("bestPace") Float bestPace,
+        @Param("bestPaceRecordId") Long bestPaceRecordId,
+        @Param("longestDistance") Float longestDistance,
+        @Param("longestRecordId") Long longestRecordId,
+        @Param("now") LocalDateTime now
+    );
+}
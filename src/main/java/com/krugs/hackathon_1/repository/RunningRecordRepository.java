@@ -1,16 +1,63 @@
 package com.krugs.hackathon_1.repository;
 
+import com.krugs.hackathon_1.dto.RunnerStatsDTO;
 import com.krugs.hackathon_1.entity.RunningRecord;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RunningRecordRepository extends JpaRepository<RunningRecord, Long> {
     
+    /**
+     * 러너/날짜별 기록 합계 (일 단위 통계 초기 적재/검증용)
+     */
+    interface DailyTotalsView {
+        Long getRunnerId();
+        LocalDate getRunDate();
+        Long getRecords();
+        Double getDistance();
+        Long getSeconds();
+        Long getCalories();
+    }
+    
+    /**
+     * 기록의 러너와 구간 기록 (GPS 컬럼은 읽지 않음)
+     */
+    interface SplitsView {
+        Long getRunnerId();
+        String getSplits();
+    }
+    
+    /**
+     * 바이너리로 옮길 GPS JSON (이전 대상 조회용)
+     */
+    interface LegacyGpsView {
+        Long getId();
+        String getGpsData();
+    }
+    
     List<RunningRecord> findByRunnerIdOrderByRecordDateDesc(Long runnerId);
     
+    // 키셋 페이지 (기록 날짜 최신순, 커서 다음 행부터)
+    @Query("SELECT r FROM RunningRecord r WHERE r.runnerId = :runnerId " +
+           "AND r.recordDate <= :recordDate AND (r.recordDate < :recordDate OR r.id < :id) " +
+           "ORDER BY r.recordDate DESC, r.id DESC")
+    List<RunningRecord> findPageByRunnerId(
+        @Param("runnerId") Long runnerId,
+        @Param("recordDate") LocalDateTime recordDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+    
     List<RunningRecord> findByRunnerIdAndRecordDateBetweenOrderByRecordDateDesc(
         Long runnerId,
         LocalDateTime startDate,
@@ -18,5 +65,66 @@ public interface RunningRecordRepository extends JpaRepository<RunningRecord, Lo
     );
     
     List<RunningRecord> findByCourseIdOrderByRecordDateDesc(Long courseId);
+    
+    @Query("SELECT r.runnerId AS runnerId, CAST(r.recordDate AS LocalDate) AS runDate, COUNT(r) AS records, " +
+           "SUM(r.distance) AS distance, SUM(r.durationSeconds) AS seconds, " +
+           "SUM(COALESCE(r.caloriesBurned, 0)) AS calories " +
+           "FROM RunningRecord r WHERE r.runnerId IN :runnerIds " +
+           "GROUP BY r.runnerId, CAST(r.recordDate AS LocalDate)")
+    List<DailyTotalsView> findDailyTotals(@Param("runnerIds") Collection<Long> runnerIds);
+    
+    @Modifying
+    @Query("DELETE FROM RunningRecord r WHERE r.id = :id")
+    int deleteRecord(@Param("id") Long id);
+    
+    // GPS 데이터가 아직 JSON 컬럼에만 있는 기록 (이전 대상, 옮길 수 없다고 표시된 기록 제외)
+    @Query("SELECT r.id AS id, r.gpsData AS gpsData FROM RunningRecord r " +
+           "WHERE r.id > :afterId AND r.gpsData IS NOT NULL AND r.gpsTrack IS NULL AND r.gpsJsonKept IS NULL ORDER BY r.id")
+    List<LegacyGpsView> findLegacyGps(@Param("afterId") Long afterId, Limit limit);
+    
+    // JSON → 바이너리 이전 (그 사이 삭제되었거나 이미 옮겨진 기록은 0)
+    @Modifying
+    @Query("UPDATE RunningRecord r SET r.gpsTrack = :gpsTrack, r.gpsData = NULL WHERE r.id = :id AND r.gpsTrack IS NULL")
+    int migrateGps(@Param("id") Long id, @Param("gpsTrack") byte[] gpsTrack);
+    
+    // 바이너리로 옮길 수 없는 GPS JSON 표시 (다음 시작 때 다시 읽지 않도록)
+    @Modifying
+    @Query("UPDATE RunningRecord r SET r.gpsJsonKept = true WHERE r.id = :id AND r.gpsTrack IS NULL")
+    int keepGpsJson(@Param("id") Long id);
+    
+    @Query("SELECT r.runnerId AS runnerId, r.splits AS splits FROM RunningRecord r WHERE r.id = :id")
+    Optional<SplitsView> findSplits(@Param("id") Long id);
+    
+    // GPS 트랙은 있지만 구간/최고 기록이 아직 계산되지 않은 기록 (분석 대상)
+    @Query("SELECT r.id FROM RunningRecord r WHERE r.id > :afterId AND r.gpsTrack IS NOT NULL AND r.splits IS NULL ORDER BY r.id")
+    List<Long> findUnanalyzed(@Param("afterId") Long afterId, Limit limit);
+    
+    // 분석 결과 저장 (그 사이 삭제되었거나 이미 분석된 기록은 0)
+    @Modifying
+    @Query("UPDATE RunningRecord r SET r.splits = :splits WHERE r.id = :id AND r.splits IS NULL")
+    int setSplits(@Param("id") Long id, @Param("splits") String splits);
+    
+    // 러너별 합계 (GPS/폴리라인 컬럼은 읽지 않음) - 최고 페이스는 최소 거리 이상 기록만
+    @Query("SELECT new com.krugs.hackathon_1.dto.RunnerStatsDTO$Totals(r.runnerId, COUNT(r), " +
+           "SUM(r.distance), SUM(r.durationSeconds), SUM(COALESCE(r.caloriesBurned, 0)), " +
+           "MIN(CASE WHEN r.avgPace > 0 AND r.distance >= :minDistance THEN r.avgPace END), MAX(r.distance)) " +
+           "FROM RunningRecord r WHERE r.runnerId IN :runnerIds GROUP BY r.runnerId")
+    List<RunnerStatsDTO.Totals> findRunnerTotals(
+        @Param("runnerIds") Collection<Long> runnerIds,
+        @Param("minDistance") float minDistance
+    );
+    
+    @Query("SELECT new com.krugs.hackathon_1.dto.RunnerStatsDTO$Best(r.id, r.avgPace) FROM RunningRecord r " +
+           "WHERE r.runnerId = :runnerId AND r.avgPace > 0 AND r.distance >= :minDistance " +
+           "ORDER BY r.avgPace, r.id")
+    List<RunnerStatsDTO.Best> findBestPace(
+        @Param("runnerId") Long runnerId,
+        @Param("minDistance") float minDistance,
+        Limit limit
+    );
+    
+    @Query("SELECT new com.krugs.hackathon_1.dto.RunnerStatsDTO$Best(r.id, r.distance) FROM RunningRecord r " +
+           "WHERE r.runnerId = :runnerId ORDER BY r.distance DESC, r.id")
+    List<RunnerStatsDTO.Best> findLongest(@Param("runnerId") Long runnerId, Limit limit);
 }
 
@@ -1,28 +1,152 @@
 package com.krugs.hackathon_1.repository;
 
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
 import com.krugs.hackathon_1.entity.UploadedCourse;
+import com.krugs.hackathon_1.util.CourseTextIndex;
+import com.krugs.hackathon_1.util.GeoGridIndex;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UploadedCourseRepository extends JpaRepository<UploadedCourse, Long> {
     
-    List<UploadedCourse> findByRunnerIdOrderByCreatedAtDesc(Long runnerId);
+    // 목록 조회용 요약 (좌표/고도/폴리라인 LOB 컬럼 제외)
+    String SUMMARY_SELECT = "SELECT new com.krugs.hackathon_1.dto.CourseSummaryDTO(" +
+           "c.id, c.runnerId, c.courseName, c.theme, c.distance, c.difficultyLevel, c.description, " +
+           "c.likeCount, c.viewCount, " +
+           "CASE WHEN c.coordinatesData IS NOT NULL OR c.coordinatesJson IS NOT NULL THEN true ELSE false END, " +
+           "c.createdAt) FROM UploadedCourse c ";
     
-    List<UploadedCourse> findByThemeOrderByLikeCountDesc(String theme);
+    /**
+     * 코스 경로 컬럼만 읽는 프로젝션
+     */
+    interface GeometryView {
+        Long getId();
+        String getCourseName();
+        String getRoutePolyline();
+        byte[] getCoordinatesData();
+        String getCoordinatesJson();
+        byte[] getElevationData();
+        String getElevationDataJson();
+    }
     
-    List<UploadedCourse> findByDifficultyLevelOrderByCreatedAtDesc(String difficultyLevel);
+    // 조건부 GET 판정용 버전 (수정 시각 + 좋아요 수는 수정 시각 없이 바뀜)
+    interface VersionView {
+        LocalDateTime getUpdatedAt();
+        Integer getLikeCount();
+    }
     
-    @Query("SELECT c FROM UploadedCourse c WHERE " +
+    interface SignatureView {
+        Long getId();
+        byte[] getRouteSignature();
+    }
+    
+    interface CoordinatesView {
+        Long getId();
+        byte[] getCoordinatesData();
+    }
+    
+    // 키셋 페이지 조건: (정렬 키, id)가 커서보다 뒤인 행
+    // 선행 범위 조건(<=)으로 인덱스를 탐색하고, 첫 페이지는 최댓값 커서로 조회
+    @Query(SUMMARY_SELECT + "WHERE c.runnerId = :runnerId " +
+           "AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseSummaryDTO> findSummariesByRunnerId(
+        @Param("runnerId") Long runnerId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Limit limit
+    );
+    
+    @Query(SUMMARY_SELECT + "WHERE c.theme = :theme " +
+           "AND c.likeCount <= :likeCount AND (c.likeCount < :likeCount OR c.id < :id) " +
+           "ORDER BY c.likeCount DESC, c.id DESC")
+    List<CourseSummaryDTO> findSummariesByTheme(
+        @Param("theme") String theme,
+        @Param("likeCount") Integer likeCount,
+        @Param("id") Long id,
+        Limit limit
+    );
+    
+    @Query(SUMMARY_SELECT + "WHERE " +
            "(:theme IS NULL OR c.theme = :theme) AND " +
            "(:difficultyLevel IS NULL OR c.difficultyLevel = :difficultyLevel) " +
-           "ORDER BY c.likeCount DESC")
-    List<UploadedCourse> searchCourses(
+           "AND c.likeCount <= :likeCount AND (c.likeCount < :likeCount OR c.id < :id) " +
+           "ORDER BY c.likeCount DESC, c.id DESC")
+    List<CourseSummaryDTO> searchSummaries(
         @Param("theme") String theme,
-        @Param("difficultyLevel") String difficultyLevel
+        @Param("difficultyLevel") String difficultyLevel,
+        @Param("likeCount") Integer likeCount,
+        @Param("id") Long id,
+        Limit limit
     );
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<CourseSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    // 공간 인덱스 적재용 (id 순 키셋)
+    @Query("SELECT new com.krugs.hackathon_1.util.GeoGridIndex$Item(" +
+           "c.id, c.startLat, c.startLng, c.minLat, c.minLng, c.maxLat, c.maxLng, c.theme, c.difficultyLevel) " +
+           "FROM UploadedCourse c WHERE c.id > :afterId AND c.startLat IS NOT NULL AND c.startLng IS NOT NULL " +
+           "ORDER BY c.id")
+    List<GeoGridIndex.Item> findLocations(@Param("afterId") Long afterId, Limit limit);
+    
+    // 전문 검색 인덱스 적재용 (id 순 키셋)
+    @Query("SELECT new com.krugs.hackathon_1.util.CourseTextIndex$Document(" +
+           "c.id, c.courseName, c.description, c.theme, c.difficultyLevel) " +
+           "FROM UploadedCourse c WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseTextIndex.Document> findTextDocuments(@Param("afterId") Long afterId, Limit limit);
+    
+    // 유사도 인덱스 적재용 (id 순 키셋)
+    @Query("SELECT c.id AS id, c.routeSignature AS routeSignature FROM UploadedCourse c " +
+           "WHERE c.id > :afterId AND c.routeSignature IS NOT NULL ORDER BY c.id")
+    List<SignatureView> findSignatures(@Param("afterId") Long afterId, Limit limit);
+    
+    @Query("SELECT c.id AS id, c.coordinatesData AS coordinatesData FROM UploadedCourse c WHERE c.id IN :ids")
+    List<CoordinatesView> findCoordinatesByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :id")
+    Optional<CourseSummaryDTO> findSummaryById(@Param("id") Long id);
+    
+    Optional<GeometryView> findGeometryById(Long id);
+    
+    @Query("SELECT COALESCE(c.updatedAt, c.createdAt) AS updatedAt, c.likeCount AS likeCount " +
+           "FROM UploadedCourse c WHERE c.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+    
+    // 좋아요 수 원자적 증감 (엔티티를 읽지 않고 SQL에서 바로 계산)
+    @Modifying
+    @Query("UPDATE UploadedCourse c SET c.likeCount = COALESCE(c.likeCount, 0) + :delta WHERE c.id = :id")
+    int addLikeCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    // 좌표/고도가 아직 JSON 컬럼에 남아 있거나 시작점/경로 서명이 계산되지 않은 코스 (이전 대상)
+    // 서명을 만들 수 없는 코스(좌표 2개 미만)는 빈 서명으로, 손실 없이 옮길 수 없는 JSON은 geometryJsonKept로 표시되어 다시 선택되지 않음
+    @Query("SELECT c FROM UploadedCourse c WHERE c.id > :afterId AND " +
+           "(((c.coordinatesJson IS NOT NULL OR c.elevationDataJson IS NOT NULL) AND c.geometryJsonKept IS NULL) " +
+           "OR (c.routeSignature IS NULL AND c.coordinatesData IS NOT NULL)) " +
+           "ORDER BY c.id")
+    List<UploadedCourse> findLegacyGeometry(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // 이전 결과 저장 - 엔티티 저장이 아니므로 @PreUpdate(updatedAt)가 실행되지 않아 ETag/Last-Modified 유지
+    @Modifying
+    @Query("UPDATE UploadedCourse c SET c.coordinatesData = :#{#course.coordinatesData}, " +
+           "c.elevationData = :#{#course.elevationData}, " +
+           "c.coordinatesJson = :#{#course.coordinatesJson}, c.elevationDataJson = :#{#course.elevationDataJson}, " +
+           "c.geometryJsonKept = :#{#course.geometryJsonKept}, " +
+           "c.routeSignature = :#{#course.routeSignature}, " +
+           "c.startLat = :#{#course.startLat}, c.startLng = :#{#course.startLng}, " +
+           "c.minLat = :#{#course.minLat}, c.minLng = :#{#course.minLng}, " +
+           "c.maxLat = :#{#course.maxLat}, c.maxLng = :#{#course.maxLng} " +
+           "WHERE c.id = :#{#course.id}")
+    int migrateGeometry(@Param("course") UploadedCourse course);
 }
 
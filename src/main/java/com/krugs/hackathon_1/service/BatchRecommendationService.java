@@ -0,0 +1,238 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.BatchItemResult;
+import com.krugs.hackathon_1.dto.MarathonEventDTO;
+import com.krugs.hackathon_1.dto.RecommendationSpec;
+import com.krugs.hackathon_1.dto.RouteData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 여러 이벤트의 추천 코스를 한 번에 생성
+ * - 같은 조건(정규화 기준)의 항목은 한 번만 생성
+ * - 배치당 동시 실행 수를 제한하여 병렬 실행 (전체 소요 시간 ≈ 가장 느린 항목)
+ * - 항목별 타임아웃, 완료되는 순서대로 결과 전달
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchRecommendationService {
+
+    @Value("${recommendation.batch.max-items:20}")
+    private int maxItems;
+
+    @Value("${recommendation.batch.max-parallel:4}")
+    private int maxParallel;
+
+    @Value("${recommendation.batch.item-timeout-seconds:45}")
+    private long itemTimeoutSeconds;
+
+    private final CourseRecommendationService courseRecommendationService;
+    private final CourseRecommendationCache recommendationCache;
+    private final MarathonEventService marathonEventService;
+
+    /**
+     * 일괄 추천 실행 - 항목이 끝날 때마다 onItem 호출, 전체 결과는 요청 순서대로 반환
+     */
+    public CompletableFuture<List<BatchItemResult>> recommend(List<RecommendationSpec> specs,
+                                                              Consumer<BatchItemResult> onItem) {
+        if (specs == null || specs.isEmpty()) {
+            throw new RuntimeException("추천 항목이 비어 있습니다.");
+        }
+        if (specs.size() > maxItems) {
+            throw new RuntimeException("한 번에 최대 " + maxItems + "개까지 요청할 수 있습니다.");
+        }
+
+        // 조건이 같은 항목끼리 묶기 (잘못된 항목은 바로 실패 처리)
+        Map<Object, Group> groups = new LinkedHashMap<>();
+        List<BatchItemResult> invalid = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            RecommendationSpec spec;
+            try {
+                spec = resolve(specs.get(i));
+            } catch (RuntimeException e) {
+                invalid.add(BatchItemResult.builder()
+                        .indexes(List.of(i))
+                        .spec(specs.get(i))
+                        .status(BatchItemResult.STATUS_ERROR)
+                        .error(e.getMessage())
+                        .elapsedMillis(0L)
+                        .build());
+                continue;
+            }
+            Object key = List.of(
+                    recommendationCache.keyOf(spec.getTheme(), spec.getDistance(), spec.getStartLocation(),
+                            spec.getEndLocation(), spec.getDifficulty()),
+                    spec.getEngine());
+            groups.computeIfAbsent(key, k -> new Group(spec)).indexes.add(i);
+        }
+
+        log.info("Batch recommendation: {} items, {} unique, {} invalid", specs.size(), groups.size(), invalid.size());
+
+        List<BatchItemResult> results = Collections.synchronizedList(new ArrayList<>());
+        for (BatchItemResult result : invalid) {
+            results.add(result);
+            onItem.accept(result);
+        }
+
+        List<Group> pending = new ArrayList<>(groups.values());
+        CompletableFuture<List<BatchItemResult>> done = new CompletableFuture<>();
+        if (pending.isEmpty()) {
+            done.complete(sorted(results));
+            return done;
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(pending.size());
+        Runnable[] lane = new Runnable[1];
+        lane[0] = () -> {
+            int index = next.getAndIncrement();
+            if (index >= pending.size()) {
+                return;
+            }
+            Group group = pending.get(index);
+            run(group).whenComplete((result, error) -> {
+                results.add(result);
+                try {
+                    onItem.accept(result);
+                } catch (RuntimeException e) {
+                    log.warn("Batch item callback failed: {}", e.getMessage());
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    done.complete(sorted(results));
+                } else {
+                    lane[0].run();
+                }
+            });
+        };
+        for (int i = 0; i < Math.min(maxParallel, pending.size()); i++) {
+            lane[0].run();
+        }
+        return done;
+    }
+
+    /**
+     * 항목 하나 실행 - 예외 없이 항상 결과 객체로 완료
+     */
+    private CompletableFuture<BatchItemResult> run(Group group) {
+        long started = System.nanoTime();
+        RecommendationSpec spec = group.spec;
+        CompletableFuture<BatchItemResult> result;
+        try {
+            result = courseRecommendationService
+                    .generateOptimalRoutesAsync(spec.getTheme(), spec.getDistance(), spec.getStartLocation(),
+                            spec.getEndLocation(), spec.getDifficulty(), spec.getEngine())
+                    .orTimeout(itemTimeoutSeconds, TimeUnit.SECONDS)
+                    .thenApply(routes -> group.result(BatchItemResult.STATUS_OK, routes, null, started));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                return group.result(BatchItemResult.STATUS_TIMEOUT, null,
+                        "경로 생성 시간 초과 (" + itemTimeoutSeconds + "초)", started);
+            }
+            if (cause instanceof RecommendationRejectedException) {
+                return group.result(BatchItemResult.STATUS_REJECTED, null, cause.getMessage(), started);
+            }
+            return group.result(BatchItemResult.STATUS_ERROR, null, cause.getMessage(), started);
+        });
+    }
+
+    /**
+     * eventId가 있으면 이벤트 정보로 빈 조건을 채우고, 필수 조건 확인
+     */
+    private RecommendationSpec resolve(RecommendationSpec spec) {
+        if (spec == null) {
+            throw new RuntimeException("추천 항목이 비어 있습니다.");
+        }
+        RecommendationSpec resolved = RecommendationSpec.builder()
+                .eventId(spec.getEventId())
+                .theme(spec.getTheme())
+                .distance(spec.getDistance())
+                .startLocation(spec.getStartLocation())
+                .endLocation(spec.getEndLocation())
+                .difficulty(spec.getDifficulty())
+                .engine(spec.getEngine())
+                .build();
+
+        if (spec.getEventId() != null) {
+            MarathonEventDTO event = marathonEventService.getMarathon(spec.getEventId());
+            if (isBlank(resolved.getTheme())) {
+                resolved.setTheme(event.getTheme());
+            }
+            if (resolved.getDistance() == null) {
+                resolved.setDistance(event.getDesiredDistance());
+            }
+            if (isBlank(resolved.getStartLocation())) {
+                resolved.setStartLocation(event.getStartLocation());
+            }
+            if (isBlank(resolved.getEndLocation())) {
+                resolved.setEndLocation(event.getEndLocation());
+            }
+        }
+
+        if (isBlank(resolved.getTheme()) || isBlank(resolved.getStartLocation())) {
+            throw new RuntimeException("테마와 출발지는 필수입니다.");
+        }
+        if (resolved.getDistance() == null || resolved.getDistance() <= 0) {
+            throw new RuntimeException("거리는 0보다 커야 합니다.");
+        }
+        if (isBlank(resolved.getEndLocation())) {
+            resolved.setEndLocation(resolved.getStartLocation());
+        }
+        if (isBlank(resolved.getDifficulty())) {
+            resolved.setDifficulty("intermediate");
+        }
+        if (isBlank(resolved.getEngine())) {
+            resolved.setEngine(CourseRecommendationService.ENGINE_GEMINI);
+        }
+        return resolved;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static List<BatchItemResult> sorted(List<BatchItemResult> results) {
+        synchronized (results) {
+            List<BatchItemResult> copy = new ArrayList<>(results);
+            copy.sort(Comparator.comparingInt(r -> r.getIndexes().get(0)));
+            return copy;
+        }
+    }
+
+    /**
+     * 같은 조건으로 묶인 요청 항목들
+     */
+    private static final class Group {
+        private final RecommendationSpec spec;
+        private final List<Integer> indexes = new ArrayList<>();
+
+        private Group(RecommendationSpec spec) {
+            this.spec = spec;
+        }
+
+        private BatchItemResult result(String status, List<RouteData> routes, String error, long started) {
+            return BatchItemResult.builder()
+                    .indexes(List.copyOf(indexes))
+                    .spec(spec)
+                    .status(status)
+                    .routes(routes)
+                    .error(error)
+                    .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                    .build();
+        }
+    }
+}
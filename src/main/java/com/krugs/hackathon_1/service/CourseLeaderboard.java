@@ -0,0 +1,211 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import com.krugs.hackathon_1.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 테마별 인기 코스 순위표 (메모리)
+ * - 테마마다 (좋아요 수 desc, id desc) 순서의 ConcurrentSkipListSet에 상위 capacity개 보관
+ * - 처음 조회할 때 DB에서 적재, 이후 좋아요/업로드/삭제 시 증분 반영
+ * - 보관 범위 밖의 코스가 순위에 들 수 있는 변경(상위 코스의 좋아요 감소, 삭제)이면 다음 조회 때 다시 적재
+ * - 읽기는 잠금 없이 순회, 쓰기는 테마 단위로 직렬화
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseLeaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt(Entry::likes).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::courseId).reversed());
+
+    private static final int LOCK_STRIPES = 64;
+
+    @Value("${course.leaderboard.capacity:200}")
+    private int capacity;
+
+    private final UploadedCourseRepository courseRepository;
+
+    private final ConcurrentHashMap<String, Board> boards = new ConcurrentHashMap<>();
+    private final Object[] courseLocks = createLocks();
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder reloadsScheduled = new LongAdder();
+
+    /**
+     * 테마별 상위 limit개 - capacity보다 많이 요청하면 null (호출 측에서 DB 조회)
+     */
+    public List<CourseSummaryDTO> top(String theme, int limit) {
+        if (theme == null || limit > capacity) {
+            fallbacks.increment();
+            return null;
+        }
+        reads.increment();
+        Board board = board(theme);
+        List<CourseSummaryDTO> result = new ArrayList<>(Math.min(limit, capacity));
+        for (Entry entry : board.entries) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry.summary());
+        }
+        return result;
+    }
+
+    /**
+     * 코스의 현재 상태를 DB에서 다시 읽어 순위표에 반영
+     * 같은 코스의 갱신은 직렬화하므로, 마지막 변경 이후의 갱신이 항상 최신 값을 남김
+     * @return 코스 요약 (삭제된 코스면 null)
+     */
+    public CourseSummaryDTO refresh(Long courseId) {
+        synchronized (courseLocks[(int) Math.floorMod(courseId, (long) LOCK_STRIPES)]) {
+            CourseSummaryDTO summary = courseRepository.findSummaryById(courseId).orElse(null);
+            if (summary != null) {
+                update(summary);
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * 코스 삭제 반영
+     */
+    public void remove(Long courseId, String theme) {
+        Board board = theme != null ? boards.get(theme) : null;
+        if (board == null) {
+            return;
+        }
+        synchronized (board) {
+            Entry previous = board.byCourse.remove(courseId);
+            if (previous != null) {
+                board.entries.remove(previous);
+                if (board.truncated) {
+                    markStale(board);
+                }
+            }
+        }
+    }
+
+    /**
+     * 테마 순위표 폐기 (코스 정보 수정 등) - 다음 조회 때 다시 적재
+     */
+    public void invalidate(String theme) {
+        if (theme != null && boards.remove(theme) != null) {
+            reloadsScheduled.increment();
+        }
+    }
+
+    /**
+     * 순위표 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("themes", boards.size());
+        stats.put("entries", boards.values().stream().mapToInt(board -> board.entries.size()).sum());
+        stats.put("reads", reads.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("loads", loads.sum());
+        stats.put("updates", updates.sum());
+        stats.put("reloadsScheduled", reloadsScheduled.sum());
+        return stats;
+    }
+
+    private void update(CourseSummaryDTO summary) {
+        Board board = summary.theme() != null ? boards.get(summary.theme()) : null;
+        if (board == null) {
+            return;
+        }
+        synchronized (board) {
+            if (board.stale) {
+                return;
+            }
+            updates.increment();
+            Entry updated = new Entry(summary.likeCount() != null ? summary.likeCount() : 0, summary.id(), summary);
+            Entry previous = board.byCourse.remove(summary.id());
+            if (previous != null) {
+                board.entries.remove(previous);
+            }
+
+            if (board.truncated && !board.entries.isEmpty() && ORDER.compare(updated, board.entries.last()) > 0) {
+                // 보관 범위 밖으로 밀려남 - 원래 안에 있던 코스면 밖의 코스가 대신 들어와야 하므로 다시 적재
+                if (previous != null) {
+                    markStale(board);
+                }
+                return;
+            }
+            board.entries.add(updated);
+            board.byCourse.put(updated.courseId(), updated);
+            if (board.entries.size() > capacity) {
+                Entry last = board.entries.pollLast();
+                board.byCourse.remove(last.courseId());
+                board.truncated = true;
+            }
+        }
+    }
+
+    private Board board(String theme) {
+        Board board = boards.get(theme);
+        if (board != null && !board.stale) {
+            return board;
+        }
+        return boards.compute(theme, (key, current) -> current != null && !current.stale ? current : load(key));
+    }
+
+    private Board load(String theme) {
+        PageCursor first = PageCursor.FIRST;
+        List<CourseSummaryDTO> rows = courseRepository.findSummariesByTheme(
+                theme, first.keyAsInt(), first.id(), Limit.of(capacity + 1));
+        Board board = new Board();
+        for (CourseSummaryDTO summary : rows.subList(0, Math.min(rows.size(), capacity))) {
+            Entry entry = new Entry(summary.likeCount() != null ? summary.likeCount() : 0, summary.id(), summary);
+            board.entries.add(entry);
+            board.byCourse.put(entry.courseId(), entry);
+        }
+        board.truncated = rows.size() > capacity;
+        loads.increment();
+        log.debug("Leaderboard loaded for theme '{}': {} entries", theme, board.entries.size());
+        return board;
+    }
+
+    private void markStale(Board board) {
+        board.stale = true;
+        reloadsScheduled.increment();
+    }
+
+    private static Object[] createLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private record Entry(int likes, long courseId, CourseSummaryDTO summary) {
+    }
+
+    /**
+     * 테마 하나의 순위표
+     */
+    private static final class Board {
+        private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+        private final Map<Long, Entry> byCourse = new ConcurrentHashMap<>();
+        // 테마의 코스가 capacity보다 많아 일부만 보관 중
+        private boolean truncated;
+        private volatile boolean stale;
+    }
+}
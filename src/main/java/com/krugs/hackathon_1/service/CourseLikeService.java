@@ -0,0 +1,103 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.entity.CourseLike;
+import com.krugs.hackathon_1.repository.CourseLikeRepository;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 코스 좋아요/취소
+ * - (코스, 사용자) 유니크 제약으로 중복 좋아요 방지, 같은 요청을 반복해도 결과는 같음
+ * - 좋아요 수는 SQL에서 원자적으로 증감
+ * - 반영 후 순위표 갱신
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseLikeService {
+
+    private final CourseLikeRepository likeRepository;
+    private final UploadedCourseRepository courseRepository;
+    private final CourseLeaderboard leaderboard;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 좋아요
+     */
+    public Map<String, Object> like(Long courseId, Long runnerId) {
+        return apply(courseId, runnerId, true);
+    }
+
+    /**
+     * 좋아요 취소
+     */
+    public Map<String, Object> unlike(Long courseId, Long runnerId) {
+        return apply(courseId, runnerId, false);
+    }
+
+    /**
+     * 사용자가 좋아요한 코스인지 확인
+     */
+    public boolean isLiked(Long courseId, Long runnerId) {
+        return likeRepository.existsByCourseIdAndRunnerId(courseId, runnerId);
+    }
+
+    private Map<String, Object> apply(Long courseId, Long runnerId, boolean like) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("코스를 찾을 수 없습니다.");
+        }
+
+        boolean changed;
+        try {
+            changed = Boolean.TRUE.equals(transactionTemplate.execute(status -> like
+                    ? insertLike(courseId, runnerId)
+                    : deleteLike(courseId, runnerId)));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 사용자의 동시 요청 - 먼저 들어온 요청이 이미 저장함
+            changed = false;
+        }
+
+        CourseSummaryDTO summary = leaderboard.refresh(courseId);
+        if (summary == null) {
+            throw new RuntimeException("코스를 찾을 수 없습니다.");
+        }
+        if (changed) {
+            log.info("Course {} {} by runner {} (likes: {})", courseId, like ? "liked" : "unliked", runnerId, summary.likeCount());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("courseId", courseId);
+        result.put("liked", like);
+        result.put("changed", changed);
+        result.put("likeCount", summary.likeCount());
+        return result;
+    }
+
+    private boolean insertLike(Long courseId, Long runnerId) {
+        if (likeRepository.existsByCourseIdAndRunnerId(courseId, runnerId)) {
+            return false;
+        }
+        likeRepository.saveAndFlush(CourseLike.builder()
+                .courseId(courseId)
+                .runnerId(runnerId)
+                .build());
+        courseRepository.addLikeCount(courseId, 1);
+        return true;
+    }
+
+    private boolean deleteLike(Long courseId, Long runnerId) {
+        if (likeRepository.deleteLike(courseId, runnerId) == 0) {
+            return false;
+        }
+        courseRepository.addLikeCount(courseId, -1);
+        return true;
+    }
+}
@@ -0,0 +1,255 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.RouteData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 추천 코스 캐시
+ * - 정규화된 요청(테마, 거리 구간, 지역, 목적지, 난이도) 단위로 결과 보관
+ * - 크기/TTL 기반 만료
+ * - 동일 요청이 동시에 들어오면 진행 중인 Gemini 호출 하나를 공유 (single-flight)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseRecommendationCache {
+
+    @Value("${recommendation.cache.max-size:500}")
+    private int maxSize;
+
+    @Value("${recommendation.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${recommendation.cache.distance-bucket-km:0.5}")
+    private double distanceBucketKm;
+
+    private final RegionDataService regionDataService;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 캐시 키 - 같은 키의 요청은 같은 추천 결과를 공유
+     */
+    public record Key(String theme, double distanceKm, String region, String endLocation, String difficulty) {
+    }
+
+    /**
+     * 요청 파라미터를 정규화하여 캐시 키 생성
+     */
+    public Key keyOf(String theme, Float distance, String startLocation, String endLocation, String difficulty) {
+        String region = regionDataService.getRegionByStartLocation(normalize(startLocation)).getRegionName();
+        return new Key(
+                normalize(theme),
+                bucket(distance),
+                region,
+                normalize(endLocation),
+                normalizeDifficulty(difficulty));
+    }
+
+    /**
+     * 캐시에서 조회하고, 없으면 loader로 생성
+     * 동일 키로 진행 중인 생성 작업이 있으면 그 결과를 함께 기다린다
+     */
+    public CompletableFuture<List<RouteData>> getOrLoad(Key key, Supplier<CompletableFuture<List<RouteData>>> loader) {
+        long now = System.nanoTime();
+        Entry fresh = new Entry(now);
+        Entry current = entries.compute(key, (k, existing) ->
+                (existing == null || existing.isExpired(now)) ? fresh : existing);
+
+        if (current != fresh) {
+            if (current.future.isDone()) {
+                hits.increment();
+            } else {
+                coalesced.increment();
+            }
+            return current.future;
+        }
+
+        misses.increment();
+        evictIfNeeded();
+
+        CompletableFuture<List<RouteData>> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+
+        loaded.whenComplete((routes, error) -> {
+            if (error != null) {
+                // 실패한 결과는 캐시하지 않음 - 다음 요청에서 다시 시도
+                entries.remove(key, fresh);
+                fresh.future.completeExceptionally(unwrap(error));
+            } else {
+                fresh.expiresAt = System.nanoTime() + TimeUnit.MINUTES.toNanos(ttlMinutes);
+                fresh.future.complete(List.copyOf(routes));
+            }
+        });
+        return fresh.future;
+    }
+
+    /**
+     * 동기 호출용 - CompletionException을 원래 예외로 풀어서 던짐
+     */
+    public List<RouteData> getOrLoadSync(Key key, Supplier<CompletableFuture<List<RouteData>>> loader) {
+        try {
+            return getOrLoad(key, loader).join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 완료된 캐시 항목 조회 (없거나 진행 중이면 null)
+     */
+    public List<RouteData> getIfPresent(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.future.isDone() || entry.future.isCompletedExceptionally()
+                || entry.isExpired(System.nanoTime())) {
+            return null;
+        }
+        hits.increment();
+        return entry.future.join();
+    }
+
+    /**
+     * 다른 경로(스트리밍 등)로 생성된 결과를 캐시에 저장
+     */
+    public void put(Key key, List<RouteData> routes) {
+        Entry entry = new Entry(System.nanoTime());
+        entry.expiresAt = entry.createdAt + TimeUnit.MINUTES.toNanos(ttlMinutes);
+        entry.future.complete(List.copyOf(routes));
+        entries.merge(key, entry, (existing, fresh) -> existing.future.isDone() ? fresh : existing);
+        evictIfNeeded();
+    }
+
+    /**
+     * 캐시 전체 비우기 (지역 데이터가 교체되면 이전 데이터 기반 추천도 버림)
+     */
+    @EventListener(RegionDataReloadedEvent.class)
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 캐시 통계 (hit/miss/coalesced)
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long coalescedCount = coalesced.sum();
+        long total = hitCount + missCount + coalescedCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlMinutes", ttlMinutes);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("coalesced", coalescedCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", total == 0 ? 0.0 : Math.round((hitCount + coalescedCount) * 1000.0 / total) / 1000.0);
+        return stats;
+    }
+
+    /**
+     * 최대 크기 초과 시 만료된 항목 → 오래된 항목 순으로 제거
+     * 진행 중인 항목은 제거하지 않음
+     */
+    private void evictIfNeeded() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> {
+            if (e.getValue().future.isDone() && e.getValue().isExpired(now)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+
+        int overflow = entries.size() - maxSize;
+        if (overflow <= 0) {
+            return;
+        }
+
+        entries.entrySet().stream()
+                .filter(e -> e.getValue().future.isDone())
+                .sorted(Comparator.comparingLong(e -> e.getValue().createdAt))
+                .limit(overflow)
+                .forEach(e -> {
+                    if (entries.remove(e.getKey(), e.getValue())) {
+                        evictions.increment();
+                    }
+                });
+    }
+
+    private double bucket(Float distance) {
+        if (distance == null || distance <= 0) {
+            return 0.0;
+        }
+        return Math.round(distance / distanceBucketKm) * distanceBucketKm;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeDifficulty(String difficulty) {
+        String value = normalize(difficulty);
+        return switch (value) {
+            case "초급", "beginner" -> "beginner";
+            case "고급", "advanced" -> "advanced";
+            case "", "중급", "intermediate" -> "intermediate";
+            default -> value;
+        };
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static final class Entry {
+        private final long createdAt;
+        private final CompletableFuture<List<RouteData>> future = new CompletableFuture<>();
+        private volatile long expiresAt;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        private boolean isExpired(long now) {
+            return future.isDone() && now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.dto.CursorPage;
+import com.krugs.hackathon_1.entity.UploadedCourse;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import com.krugs.hackathon_1.util.CourseTextIndex;
+import com.krugs.hackathon_1.util.PageCursor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 코스 이름/설명 전문 검색
+ * - 시작 시 모든 코스의 이름/설명을 CourseTextIndex에 적재 (id 순 10000건 단위)
+ * - 업로드/수정/삭제 시 UploadedCourseService가 증분 반영
+ * - 인덱스에서 점수순 id를 고른 뒤 해당 코스 요약만 DB에서 조회 (LIKE 검색 없음)
+ * - 페이지 커서는 (점수, id) - 점수는 float 비트값을 정렬 키로 사용
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseSearchService {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    @Value("${course.search.k1:1.2}")
+    private double k1;
+
+    @Value("${course.search.b:0.75}")
+    private double b;
+
+    @Value("${course.search.name-weight:2.0}")
+    private double nameWeight;
+
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    private final UploadedCourseRepository courseRepository;
+
+    private CourseTextIndex index;
+    private volatile long loadMillis;
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+
+    @PostConstruct
+    void load() {
+        long started = System.currentTimeMillis();
+        index = new CourseTextIndex(k1, b, nameWeight);
+        long lastId = 0;
+        List<CourseTextIndex.Document> batch;
+        do {
+            batch = courseRepository.findTextDocuments(lastId, Limit.of(LOAD_BATCH_SIZE));
+            if (!batch.isEmpty()) {
+                index.putAll(batch);
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loadMillis = System.currentTimeMillis() - started;
+        log.info("Course text index loaded: {} courses, {} terms, {} ms",
+                index.size(), index.termCount(), loadMillis);
+    }
+
+    /**
+     * 코스 추가/갱신 반영
+     */
+    public void put(UploadedCourse course) {
+        if (course.getId() == null) {
+            return;
+        }
+        index.put(new CourseTextIndex.Document(course.getId(), course.getCourseName(), course.getDescription(),
+                course.getTheme(), course.getDifficultyLevel()));
+        updates.increment();
+    }
+
+    /**
+     * 코스 제거 반영
+     */
+    public void remove(Long courseId) {
+        if (index.remove(courseId)) {
+            updates.increment();
+        }
+    }
+
+    /**
+     * 검색어와 관련도 높은 순 코스 (테마/난이도 필터, 키셋 페이지)
+     */
+    public CursorPage<CourseSummaryDTO> search(String query, String theme, String difficultyLevel,
+                                               String cursor, Integer size) {
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new RuntimeException("검색어는 " + MAX_QUERY_LENGTH + "자 이하여야 합니다.");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.pageSize(size, defaultPageSize, maxPageSize);
+        CourseTextIndex.Hit afterHit = PageCursor.FIRST.equals(after)
+                ? null
+                : new CourseTextIndex.Hit(after.id(), Float.intBitsToFloat(after.keyAsInt()));
+
+        long started = System.nanoTime();
+        List<CourseTextIndex.Hit> hits = index.search(query, theme, difficultyLevel, afterHit, pageSize + 1);
+        queryNanos.add(System.nanoTime() - started);
+        queries.increment();
+
+        CursorPage<CourseTextIndex.Hit> page = CursorPage.of(hits, pageSize,
+                hit -> PageCursor.of(Float.floatToIntBits(hit.score()), hit.id()));
+        return new CursorPage<>(toSummaries(page.items()), page.nextCursor());
+    }
+
+    /**
+     * 인덱스 통계
+     */
+    public Map<String, Object> stats() {
+        long count = queries.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("courses", index.size());
+        stats.put("terms", index.termCount());
+        stats.put("loadMillis", loadMillis);
+        stats.put("queries", count);
+        stats.put("updates", updates.sum());
+        stats.put("avgQueryMillis", count == 0 ? 0 : queryNanos.sum() / 1e6 / count);
+        return stats;
+    }
+
+    private List<CourseSummaryDTO> toSummaries(List<CourseTextIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CourseSummaryDTO> summaries = courseRepository
+                .findSummariesByIds(hits.stream().map(CourseTextIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(CourseSummaryDTO::id, Function.identity()));
+        List<CourseSummaryDTO> results = new ArrayList<>(hits.size());
+        for (CourseTextIndex.Hit hit : hits) {
+            // 인덱스 반영 직전에 삭제된 코스는 제외
+            CourseSummaryDTO summary = summaries.get(hit.id());
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,236 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.dto.SimilarCourseDTO;
+import com.krugs.hackathon_1.entity.UploadedCourse;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import com.krugs.hackathon_1.util.GeometryCodec;
+import com.krugs.hackathon_1.util.RouteSimilarity;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 비슷한 코스 검색 / 중복 코스 감지
+ * - 코스별 MinHash 서명(업로드 시 계산해 DB에 저장)을 시작 시 메모리에 적재, LSH 밴드 버킷으로 후보 선별
+ * - 서명 일치 비율이 min-jaccard 이상인 후보 중 상위 몇 개만 좌표를 읽어 Fréchet 거리로 검증
+ * - Fréchet 거리가 duplicate-frechet-m 이하면 중복 코스로 봄
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseSimilarityService {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    @Value("${course.similarity.min-jaccard:0.3}")
+    private double minJaccard;
+
+    @Value("${course.similarity.max-verify:30}")
+    private int maxVerify;
+
+    @Value("${course.similarity.max-frechet-m:1000}")
+    private double maxFrechetMeters;
+
+    @Value("${course.similarity.duplicate-frechet-m:100}")
+    private double duplicateFrechetMeters;
+
+    @Value("${course.similarity.warn-on-upload:true}")
+    private boolean warnOnUpload;
+
+    private final UploadedCourseRepository courseRepository;
+
+    private final ConcurrentHashMap<Long, int[]> signatures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    private volatile long loadMillis;
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder candidates = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+
+    @PostConstruct
+    void load() {
+        long started = System.currentTimeMillis();
+        long lastId = 0;
+        List<UploadedCourseRepository.SignatureView> batch;
+        do {
+            batch = courseRepository.findSignatures(lastId, Limit.of(LOAD_BATCH_SIZE));
+            for (UploadedCourseRepository.SignatureView row : batch) {
+                lastId = row.getId();
+                index(row.getId(), RouteSimilarity.fromBytes(row.getRouteSignature()));
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loadMillis = System.currentTimeMillis() - started;
+        log.info("Course similarity index loaded: {} courses, {} buckets, {} ms",
+                signatures.size(), buckets.size(), loadMillis);
+    }
+
+    /**
+     * 코스 추가 반영 (서명이 없는 코스는 무시)
+     */
+    public void put(UploadedCourse course) {
+        if (course.getId() != null) {
+            index(course.getId(), RouteSimilarity.fromBytes(course.getRouteSignature()));
+        }
+    }
+
+    /**
+     * 코스 제거 반영
+     */
+    public void remove(Long courseId) {
+        int[] signature = signatures.remove(courseId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < RouteSimilarity.BANDS; band++) {
+            buckets.computeIfPresent(RouteSimilarity.bandKey(signature, band), (key, ids) -> {
+                ids.remove(courseId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * 경로가 비슷한 코스 (Fréchet 거리 가까운 순)
+     */
+    public List<SimilarCourseDTO> findSimilar(Long courseId, Integer limit) {
+        int size = limit != null ? Math.max(1, Math.min(limit, maxVerify)) : 10;
+        return search(courseId, maxFrechetMeters, size);
+    }
+
+    /**
+     * 중복으로 보이는 코스 (업로드 직후 경고용, 비활성화 시 빈 목록)
+     */
+    public List<SimilarCourseDTO> findDuplicates(Long courseId) {
+        if (!warnOnUpload) {
+            return List.of();
+        }
+        return search(courseId, duplicateFrechetMeters, 5);
+    }
+
+    /**
+     * 검색 통계
+     */
+    public Map<String, Object> stats() {
+        long count = queries.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("courses", signatures.size());
+        stats.put("buckets", buckets.size());
+        stats.put("loadMillis", loadMillis);
+        stats.put("queries", count);
+        stats.put("avgCandidates", count == 0 ? 0 : candidates.sum() / (double) count);
+        stats.put("avgVerified", count == 0 ? 0 : verified.sum() / (double) count);
+        stats.put("avgQueryMillis", count == 0 ? 0 : queryNanos.sum() / 1e6 / count);
+        return stats;
+    }
+
+    private List<SimilarCourseDTO> search(Long courseId, double maxDistance, int limit) {
+        UploadedCourseRepository.GeometryView view = courseRepository.findGeometryById(courseId)
+                .orElseThrow(() -> new RuntimeException("코스를 찾을 수 없습니다."));
+        int[] signature = signatures.get(courseId);
+        if (signature == null || view.getCoordinatesData() == null) {
+            return List.of();
+        }
+        GeoPath path = GeometryCodec.decodePath(view.getCoordinatesData());
+
+        long started = System.nanoTime();
+        queries.increment();
+
+        // 1단계: 밴드 버킷이 하나라도 겹치는 코스 중 서명 일치 비율이 높은 순으로 maxVerify개
+        Set<Long> seen = new HashSet<>();
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>();
+        for (int band = 0; band < RouteSimilarity.BANDS; band++) {
+            Set<Long> ids = buckets.get(RouteSimilarity.bandKey(signature, band));
+            if (ids == null) {
+                continue;
+            }
+            for (Long id : ids) {
+                if (id.equals(courseId) || !seen.add(id)) {
+                    continue;
+                }
+                int[] other = signatures.get(id);
+                double jaccard = other != null ? RouteSimilarity.estimateJaccard(signature, other) : 0;
+                if (jaccard >= minJaccard) {
+                    ranked.add(Map.entry(id, jaccard));
+                }
+            }
+        }
+        candidates.add(seen.size());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        if (ranked.size() > maxVerify) {
+            ranked = ranked.subList(0, maxVerify);
+        }
+        if (ranked.isEmpty()) {
+            queryNanos.add(System.nanoTime() - started);
+            return List.of();
+        }
+
+        // 2단계: 후보 좌표를 읽어 Fréchet 거리로 검증
+        List<Long> ids = ranked.stream().map(Map.Entry::getKey).toList();
+        Map<Long, Double> jaccards = ranked.stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        List<double[]> matches = new ArrayList<>();
+        for (UploadedCourseRepository.CoordinatesView row : courseRepository.findCoordinatesByIds(ids)) {
+            if (row.getCoordinatesData() == null) {
+                continue;
+            }
+            GeoPath other = GeometryCodec.decodePath(row.getCoordinatesData());
+            if (other.size() < 2) {
+                continue;
+            }
+            verified.increment();
+            double distance = RouteSimilarity.frechetMeters(path, other);
+            if (distance <= maxDistance) {
+                matches.add(new double[]{distance, row.getId()});
+            }
+        }
+        matches.sort(Comparator.<double[]>comparingDouble(m -> m[0]).thenComparingDouble(m -> m[1]));
+        if (matches.size() > limit) {
+            matches = matches.subList(0, limit);
+        }
+
+        Map<Long, CourseSummaryDTO> summaries = courseRepository
+                .findSummariesByIds(matches.stream().map(m -> (long) m[1]).toList())
+                .stream()
+                .collect(Collectors.toMap(CourseSummaryDTO::id, Function.identity()));
+        List<SimilarCourseDTO> results = new ArrayList<>(matches.size());
+        for (double[] match : matches) {
+            long id = (long) match[1];
+            CourseSummaryDTO summary = summaries.get(id);
+            if (summary != null) {
+                results.add(new SimilarCourseDTO(summary,
+                        Math.round(jaccards.get(id) * 100) / 100.0,
+                        Math.round(match[0] * 10) / 10.0));
+            }
+        }
+        queryNanos.add(System.nanoTime() - started);
+        return results;
+    }
+
+    private void index(Long courseId, int[] signature) {
+        if (signature == null) {
+            return;
+        }
+        remove(courseId);
+        signatures.put(courseId, signature);
+        // 추가를 compute 안에서 해야 remove()가 빈 버킷을 지우는 것과 겹쳐도 맵에서 빠진 버킷에 추가되지 않음
+        for (int band = 0; band < RouteSimilarity.BANDS; band++) {
+            buckets.compute(RouteSimilarity.bandKey(signature, band), (key, ids) -> {
+                Set<Long> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                bucket.add(courseId);
+                return bucket;
+            });
+        }
+    }
+}
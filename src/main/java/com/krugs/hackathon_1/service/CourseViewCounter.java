@@ -0,0 +1,174 @@
+package com.krugs.hackathon_1.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 코스 조회수 쓰기 지연 버퍼
+ * - 조회 시에는 코스별 카운터만 증가 (DB 쓰기 없음)
+ * - 주기적으로 누적분을 UPDATE ... SET view_count = view_count + ? 배치 하나로 반영
+ * - 종료 시 남은 누적분 반영
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseViewCounter {
+
+    private static final String FLUSH_SQL =
+            "UPDATE uploaded_courses SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, Counter> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushedViews = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private volatile long lastFlushMillis;
+    private volatile long lastFlushedAt;
+
+    /**
+     * 조회 1회 기록
+     */
+    public void record(Long courseId) {
+        // 반영 중 닫힌(맵에서 빠지는) 카운터를 얻었으면 새 카운터로 다시 시도
+        while (!pending.computeIfAbsent(courseId, id -> new Counter()).add(1)) {
+            Thread.onSpinWait();
+        }
+        recorded.increment();
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수
+     */
+    public long pending(Long courseId) {
+        Counter counter = pending.get(courseId);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * 누적 조회수를 DB에 반영 (주기 실행, 종료 시에도 호출)
+     * 실패하면 누적분을 버퍼에 되돌려 다음 주기에 다시 시도
+     */
+    @Scheduled(fixedDelayString = "${course.view-counter.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        long started = System.currentTimeMillis();
+        oldestPendingAt.set(0);
+
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, Counter> entry : pending.entrySet()) {
+            long count = entry.getValue().drain();
+            if (count > 0) {
+                deltas.put(entry.getKey(), count);
+            } else if (entry.getValue().close()) {
+                // 한 주기 동안 조회가 없던 코스는 맵에서 제거 (닫힌 카운터는 더 이상 증가하지 않음)
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((courseId, count) -> batch.add(new Object[]{count, courseId}));
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            deltas.forEach((courseId, count) -> {
+                while (!pending.computeIfAbsent(courseId, id -> new Counter()).add(count)) {
+                    Thread.onSpinWait();
+                }
+            });
+            oldestPendingAt.compareAndSet(0, started);
+            log.warn("View count flush failed ({} courses), will retry: {}", deltas.size(), e.getMessage());
+            return;
+        }
+
+        long total = deltas.values().stream().mapToLong(Long::longValue).sum();
+        flushedViews.add(total);
+        flushes.increment();
+        lastBatchSize = batch.size();
+        maxBatchSize = Math.max(maxBatchSize, batch.size());
+        lastFlushedAt = System.currentTimeMillis();
+        lastFlushMillis = lastFlushedAt - started;
+        log.debug("Flushed {} views for {} courses in {}ms", total, batch.size(), lastFlushMillis);
+    }
+
+    /**
+     * 버퍼 통계 (반영 지연, 배치 크기)
+     */
+    public Map<String, Object> stats() {
+        long oldest = oldestPendingAt.get();
+        long pendingViews = pending.values().stream().mapToLong(Counter::get).sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingCourses", pending.size());
+        stats.put("pendingViews", pendingViews);
+        stats.put("flushLagMillis", oldest == 0 ? 0 : System.currentTimeMillis() - oldest);
+        stats.put("recorded", recorded.sum());
+        stats.put("flushedViews", flushedViews.sum());
+        stats.put("flushes", flushes.sum());
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("maxBatchSize", maxBatchSize);
+        stats.put("lastFlushMillis", lastFlushMillis);
+        stats.put("lastFlushedAt", lastFlushedAt);
+        return stats;
+    }
+
+    /**
+     * 코스별 누적 조회수 - 닫힌 상태(CLOSED)에서는 증가하지 않아 맵에서 뺀 뒤 늦게 들어온 조회가 사라지지 않음
+     */
+    private static final class Counter {
+        private static final long CLOSED = -1;
+
+        private final AtomicLong count = new AtomicLong();
+
+        boolean add(long delta) {
+            long current;
+            do {
+                current = count.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+            } while (!count.compareAndSet(current, current + delta));
+            return true;
+        }
+
+        long get() {
+            return Math.max(count.get(), 0);
+        }
+
+        // 반영할 누적분을 꺼내고 0으로 (flush에서만 호출)
+        long drain() {
+            long current;
+            do {
+                current = count.get();
+                if (current <= 0) {
+                    return 0;
+                }
+            } while (!count.compareAndSet(current, 0));
+            return current;
+        }
+
+        // 0일 때만 닫음 (flush에서만 호출)
+        boolean close() {
+            return count.compareAndSet(0, CLOSED);
+        }
+    }
+}
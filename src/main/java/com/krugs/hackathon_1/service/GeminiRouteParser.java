@@ -0,0 +1,134 @@
+package com.krugs.hackathon_1.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.dto.RouteData;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gemini 코스 응답 JSON을 Jackson 스트리밍(JsonParser)으로 읽어 바로 RouteData로 변환
+ * - Map/List 중간 트리를 만들지 않고, 좌표는 GeoPath(double[])로 직접 적재
+ * - 응답 앞의 코드 블록(```json)이나 인사말은 첫 '{' 위치부터 읽어서 무시 (문자열 복사 없음)
+ * - 루트 객체가 끝나면 더 읽지 않으므로 뒤쪽 코드 블록 닫기(```)도 무시
+ */
+@Component
+public class GeminiRouteParser {
+
+    private final JsonFactory jsonFactory;
+
+    public GeminiRouteParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * 전체 응답에서 routes 배열의 코스를 최대 maxRoutes개 파싱
+     */
+    public List<RouteData> parseResponse(String response, int maxRoutes) throws IOException {
+        int start = response.indexOf('{');
+        if (start < 0) {
+            throw new IOException("JSON 객체를 찾을 수 없습니다.");
+        }
+
+        StringReader reader = new StringReader(response);
+        reader.skip(start);
+
+        List<RouteData> routes = new ArrayList<>(maxRoutes);
+        try (JsonParser p = jsonFactory.createParser(reader)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON 객체가 아닙니다.");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("routes".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        if (routes.size() < maxRoutes) {
+                            routes.add(readRoute(p, routes.size() + 1));
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * 단일 코스 JSON 객체 파싱 (스트리밍 응답에서 분리된 객체용)
+     */
+    public RouteData parseRoute(CharSequence routeJson, int rank) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(routeJson.toString())) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("코스 JSON 객체가 아닙니다.");
+            }
+            return readRoute(p, rank);
+        }
+    }
+
+    /**
+     * 현재 토큰이 START_OBJECT인 상태에서 코스 객체 하나를 읽음
+     */
+    private RouteData readRoute(JsonParser p, int rank) throws IOException {
+        RouteData.RouteDataBuilder route = RouteData.builder()
+                .coordinates(GeoPath.empty())
+                .landmarks(List.of())
+                .elevationGain(0)
+                .safetyScore(7)
+                .rank(rank);
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            // 값 필드에 객체/배열이 오면 하위 구조를 통째로 건너뛰고 필드는 비워 둠 (이후 필드가 밀려 읽히지 않도록)
+            if (!value.isScalarValue() && !"coordinates".equals(field) && !"landmarks".equals(field)) {
+                p.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "name" -> route.name(p.getValueAsString());
+                case "description" -> route.description(p.getValueAsString());
+                case "distance" -> route.distance((float) p.getValueAsDouble());
+                case "startPointLat" -> route.startPointLat(p.getValueAsDouble());
+                case "startPointLng" -> route.startPointLng(p.getValueAsDouble());
+                case "coordinates" -> route.coordinates(GeoPath.read(p));
+                case "landmarks" -> route.landmarks(readStrings(p));
+                case "elevationGain" -> route.elevationGain((int) Math.round(p.getValueAsDouble()));
+                case "safetyScore" -> route.safetyScore((int) Math.round(p.getValueAsDouble(7)));
+                case "estimatedTime" -> route.estimatedTime(p.getValueAsString());
+                default -> p.skipChildren();
+            }
+        }
+        return route.build();
+    }
+
+    private List<String> readStrings(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token.isScalarValue()) {
+                values.add(p.getValueAsString());
+            } else {
+                p.skipChildren();
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,89 @@
+package com.krugs.hackathon_1.service;
+
+import com.google.genai.Client;
+import com.google.genai.ResponseStream;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.Part;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * Gemini API 호출 전담 서비스
+ * - 요청마다 Client를 새로 만들지 않고 하나의 Client를 재사용
+ */
+@Service
+@Slf4j
+public class GeminiService {
+
+    @Value("${gemini.api.key}")
+    private String geminiApiKey;
+
+    @Value("${gemini.model:gemini-2.0-flash}")
+    private String model;
+
+    private volatile Client client;
+
+    /**
+     * 프롬프트로 텍스트 생성 (블로킹 호출 - 추천 실행기 스레드에서 사용)
+     */
+    public String generate(String prompt) {
+        log.info("Gemini API 호출 중... (프롬프트 {}자)", prompt.length());
+
+        Content content = Content.fromParts(Part.fromText(prompt));
+        GenerateContentResponse response = client().models.generateContent(model, content, null);
+
+        String result = response.text();
+        log.info("Gemini API 응답 받음 ({}자)", result != null ? result.length() : 0);
+        return result;
+    }
+
+    /**
+     * 스트리밍 생성 - 응답 조각이 도착할 때마다 onChunk 호출 (블로킹, 전체 응답 길이 반환)
+     * 호출 스레드가 인터럽트되면 다음 조각에서 스트림을 닫고 InterruptedException
+     */
+    public int generateStream(String prompt, Consumer<String> onChunk) throws Exception {
+        log.info("Gemini 스트리밍 호출 중... (프롬프트 {}자)", prompt.length());
+
+        Content content = Content.fromParts(Part.fromText(prompt));
+        int length = 0;
+        try (ResponseStream<GenerateContentResponse> stream =
+                     client().models.generateContentStream(model, content, null)) {
+            for (GenerateContentResponse chunk : stream) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Gemini 스트리밍 취소");
+                }
+                String text = chunk.text();
+                if (text != null && !text.isEmpty()) {
+                    length += text.length();
+                    onChunk.accept(text);
+                }
+            }
+        }
+
+        log.info("Gemini 스트리밍 응답 완료 ({}자)", length);
+        return length;
+    }
+
+    /**
+     * 공유 Client (최초 사용 시 한 번만 생성)
+     */
+    private Client client() {
+        Client current = client;
+        if (current == null) {
+            synchronized (this) {
+                current = client;
+                if (current == null) {
+                    current = new Client.Builder()
+                            .apiKey(geminiApiKey)
+                            .build();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,18 @@
+package com.krugs.hackathon_1.service;
+
+/**
+ * 실시간 기록 버퍼가 가득 차서 포인트 묶음을 받지 않은 경우 (HTTP 429, 같은 seq로 재전송)
+ */
+public class LiveTrackingRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public LiveTrackingRejectedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
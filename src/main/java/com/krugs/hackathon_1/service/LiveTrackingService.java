@@ -0,0 +1,437 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.LivePointBatch;
+import com.krugs.hackathon_1.dto.RunningRecordDTO;
+import com.krugs.hackathon_1.util.GpsTrackCodec;
+import com.krugs.hackathon_1.util.TrackBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실시간 달리기 기록 (세션 → GPS 포인트 묶음 추가 → 종료 시 RunningRecord 저장)
+ * - 요청 스레드는 seq 확인 후 묶음을 세션 대기열에 넣고 바로 응답 (202)
+ * - 작업 스레드가 세션 단위로 대기열을 비우며 추가 전용 버퍼(TrackBuffer)에 기록, 한 세션은 한 번에 한 스레드만 처리
+ * - seq가 이미 받은 번호면 중복으로 무시, 건너뛴 번호면 거절하고 기대 번호를 알려줌
+ * - 처리 대기 포인트가 전체/세션 한도를 넘으면 LiveTrackingRejectedException (429, 같은 seq로 재전송)
+ * - 오래 입력이 없는 세션은 폐기, 종료된 세션은 잠시 보관하여 종료 요청 재시도에 같은 기록을 돌려줌
+ * - 종료(shutdown) 시 작업 스레드가 대기열을 마저 비운 뒤 멈춤, 이후 묶음은 요청 스레드에서 바로 반영
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveTrackingService {
+
+    @Value("${live.tracking.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${live.tracking.max-batch-points:600}")
+    private int maxBatchPoints;
+
+    @Value("${live.tracking.max-session-points:200000}")
+    private int maxSessionPoints;
+
+    @Value("${live.tracking.max-pending-batches:8}")
+    private int maxPendingBatches;
+
+    @Value("${live.tracking.max-pending-points:1000000}")
+    private long maxPendingPoints;
+
+    @Value("${live.tracking.workers:2}")
+    private int workers;
+
+    @Value("${live.tracking.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+
+    @Value("${live.tracking.finished-retention-minutes:10}")
+    private long finishedRetentionMinutes;
+
+    private final RunningRecordService recordService;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong pendingPoints = new AtomicLong();
+    private ExecutorService workerPool;
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder points = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder outOfOrder = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * 포인트 묶음 처리 결과
+     * accepted=false, duplicate=false면 seq를 건너뛴 것 - expectedSeq부터 다시 보내야 함
+     */
+    public record Ack(boolean accepted, boolean duplicate, long lastSeq, long expectedSeq,
+                      int bufferedPoints, int pendingBatches) {
+    }
+
+    private enum State { OPEN, CLOSED }
+
+    @PostConstruct
+    void init() {
+        workerPool = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("live-tracking-", 0).daemon().factory());
+        log.info("Live tracking ready. workers: {}, max sessions: {}, max pending points: {}",
+                workers, maxSessions, maxPendingPoints);
+    }
+
+    /**
+     * 세션 시작
+     */
+    public Map<String, Object> open(Long runnerId, Long courseId) {
+        if (sessions.size() >= maxSessions) {
+            rejected.increment();
+            throw new LiveTrackingRejectedException("진행 중인 실시간 기록이 많아 잠시 후 다시 시도해주세요.", 30);
+        }
+        Session session = new Session(UUID.randomUUID().toString(), runnerId, courseId);
+        sessions.put(session.id, session);
+        opened.increment();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sessionId", session.id);
+        result.put("nextSeq", 1);
+        result.put("maxBatchPoints", maxBatchPoints);
+        return result;
+    }
+
+    /**
+     * 포인트 묶음 추가 - 검증 후 대기열에 넣고 바로 반환 (버퍼 기록은 작업 스레드에서)
+     */
+    public Ack append(String sessionId, Long runnerId, LivePointBatch batch) {
+        List<LivePointBatch.Point> batchPoints = validate(batch);
+        Session session = session(sessionId, runnerId);
+        int count = batchPoints.size();
+        boolean schedule = false;
+        Ack ack;
+
+        // 서버 전체 대기열이 찬 경우는 세션 잠금 없이 거절 (재시도 요청이 작업 스레드의 세션 잠금을 막지 않도록)
+        if (pendingPoints.get() + count > maxPendingPoints) {
+            rejected.increment();
+            throw busy();
+        }
+        synchronized (session) {
+            if (session.state != State.OPEN) {
+                throw new RuntimeException("이미 종료된 기록 세션입니다.");
+            }
+            session.lastActivity = System.currentTimeMillis();
+            if (batch.seq() <= session.lastSeq) {
+                duplicates.increment();
+                return session.ack(false, true);
+            }
+            if (batch.seq() != session.lastSeq + 1) {
+                outOfOrder.increment();
+                return session.ack(false, false);
+            }
+            if (session.buffer.size() + session.queuedPoints + count > maxSessionPoints) {
+                throw new RuntimeException("기록 세션의 최대 포인트 수(" + maxSessionPoints + ")를 넘었습니다.");
+            }
+            if (session.queue.size() >= maxPendingBatches) {
+                rejected.increment();
+                throw new LiveTrackingRejectedException("처리 대기 중인 포인트가 많습니다. 같은 seq로 다시 보내주세요.", 1);
+            }
+            if (pendingPoints.addAndGet(count) > maxPendingPoints) {
+                pendingPoints.addAndGet(-count);
+                rejected.increment();
+                throw busy();
+            }
+            session.lastSeq = batch.seq();
+            session.queue.add(batchPoints);
+            session.queuedPoints += count;
+            if (session.firstReceivedAt == 0) {
+                session.firstReceivedAt = session.lastActivity;
+            }
+            session.lastReceivedAt = session.lastActivity;
+            if (!session.draining) {
+                session.draining = true;
+                schedule = true;
+            }
+            ack = session.ack(true, false);
+        }
+
+        batches.increment();
+        points.add(count);
+        if (schedule) {
+            try {
+                workerPool.execute(() -> drain(session));
+            } catch (RejectedExecutionException e) {
+                // 작업 스레드 종료 중 - 대기열에 남기지 않도록 직접 반영
+                drain(session);
+            }
+        }
+        return ack;
+    }
+
+    /**
+     * 세션 상태 (받은 seq, 버퍼 포인트 수, 누적 거리)
+     */
+    public Map<String, Object> status(String sessionId, Long runnerId) {
+        Session session = session(sessionId, runnerId);
+        Map<String, Object> status = new LinkedHashMap<>();
+        synchronized (session) {
+            status.put("sessionId", session.id);
+            status.put("state", session.result != null ? "FINISHED" : session.state.name());
+            status.put("lastSeq", session.lastSeq);
+            status.put("bufferedPoints", session.buffer != null ? session.buffer.size() : 0);
+            status.put("pendingBatches", session.queue.size());
+            status.put("distanceKm", session.buffer != null ? round(session.buffer.distanceKm()) : null);
+            status.put("elapsedSeconds", (System.currentTimeMillis() - session.openedAt) / 1000);
+            status.put("recordId", session.result != null ? session.result.getId() : null);
+        }
+        return status;
+    }
+
+    /**
+     * 세션 종료 - 남은 대기열을 반영한 뒤 RunningRecord로 저장
+     * 같은 세션을 다시 종료하면 처음 저장한 기록을 그대로 반환
+     */
+    public RunningRecordDTO finish(String sessionId, Long runnerId, String notes) {
+        Session session = session(sessionId, runnerId);
+        synchronized (session.finishLock) {
+            if (session.result != null) {
+                return session.result;
+            }
+            synchronized (session) {
+                session.state = State.CLOSED;
+                drainQueued(session);
+                if (session.buffer.size() < 2) {
+                    session.state = State.OPEN;
+                    throw new RuntimeException("GPS 포인트가 2개 이상 있어야 기록을 저장할 수 있습니다.");
+                }
+            }
+
+            // CLOSED 이후에는 버퍼에 쓰는 스레드가 없음
+            TrackBuffer buffer = session.buffer;
+            long startMillis = buffer.firstTime() != TrackBuffer.NO_TIME ? buffer.firstTime() : session.firstReceivedAt;
+            long endMillis = buffer.lastTime() != TrackBuffer.NO_TIME && buffer.lastTime() > startMillis
+                    ? buffer.lastTime() : session.lastReceivedAt;
+            RunningRecordDTO dto = RunningRecordDTO.builder()
+                    .courseId(session.courseId)
+                    .distance((float) (Math.round(buffer.distanceKm() * 100) / 100.0))
+                    .durationSeconds((int) Math.max(1, (endMillis - startMillis) / 1000))
+                    .notes(notes)
+                    .recordDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(startMillis), ZoneId.systemDefault()))
+                    .build();
+            RunningRecordDTO saved = recordService.save(dto, GpsTrackCodec.encode(buffer), null, session.runnerId);
+
+            synchronized (session) {
+                session.result = saved;
+                session.buffer = null;
+                session.lastActivity = System.currentTimeMillis();
+            }
+            finished.increment();
+            log.info("Live session {} finished. Record: {}, points: {}, distance: {}km",
+                    session.id, saved.getId(), buffer.size(), saved.getDistance());
+            return saved;
+        }
+    }
+
+    /**
+     * 세션 폐기 (저장하지 않음)
+     */
+    public void discard(String sessionId, Long runnerId) {
+        Session session = session(sessionId, runnerId);
+        close(session);
+        sessions.remove(sessionId, session);
+    }
+
+    /**
+     * 입력이 끊긴 세션 폐기, 보관 시간이 지난 종료 세션 제거
+     */
+    @Scheduled(fixedDelayString = "${live.tracking.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        long idleLimit = TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+        long retention = TimeUnit.MINUTES.toMillis(finishedRetentionMinutes);
+        for (Session session : sessions.values()) {
+            boolean done = session.result != null;
+            if (now - session.lastActivity > (done ? retention : idleLimit)) {
+                if (!done) {
+                    close(session);
+                    expired.increment();
+                    log.info("Live session {} expired after {} min idle (runner {})", session.id, idleTimeoutMinutes, session.runnerId);
+                }
+                sessions.remove(session.id, session);
+            }
+        }
+    }
+
+    /**
+     * 실시간 기록 통계 (세션 수, 처리 대기 포인트, 중복/거절 수, 버퍼 메모리)
+     */
+    public Map<String, Object> stats() {
+        int active = 0;
+        long bufferedPoints = 0;
+        long bufferBytes = 0;
+        for (Session session : sessions.values()) {
+            synchronized (session) {
+                if (session.buffer != null) {
+                    active++;
+                    bufferedPoints += session.buffer.size();
+                    bufferBytes += session.buffer.capacityBytes();
+                }
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("activeSessions", active);
+        stats.put("bufferedPoints", bufferedPoints);
+        stats.put("bufferBytes", bufferBytes);
+        stats.put("pendingPoints", pendingPoints.get());
+        stats.put("maxPendingPoints", maxPendingPoints);
+        stats.put("opened", opened.sum());
+        stats.put("batches", batches.sum());
+        stats.put("points", points.sum());
+        stats.put("duplicates", duplicates.sum());
+        stats.put("outOfOrder", outOfOrder.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("finished", finished.sum());
+        stats.put("expired", expired.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workerPool.shutdown();
+        if (!workerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Live tracking workers did not drain in time. pending points: {}", pendingPoints.get());
+            workerPool.shutdownNow();
+        }
+    }
+
+    private List<LivePointBatch.Point> validate(LivePointBatch batch) {
+        if (batch == null || batch.seq() == null || batch.seq() < 1) {
+            throw new RuntimeException("seq는 1 이상이어야 합니다.");
+        }
+        List<LivePointBatch.Point> batchPoints = batch.points() != null ? batch.points() : List.of();
+        if (batchPoints.size() > maxBatchPoints) {
+            throw new RuntimeException("한 번에 보낼 수 있는 포인트는 " + maxBatchPoints + "개까지입니다.");
+        }
+        for (LivePointBatch.Point point : batchPoints) {
+            if (point == null || point.lat() == null || point.lng() == null
+                    || point.lat() < -90 || point.lat() > 90 || point.lng() < -180 || point.lng() > 180) {
+                throw new RuntimeException("위도/경도가 올바르지 않은 포인트가 있습니다.");
+            }
+        }
+        return batchPoints;
+    }
+
+    private static LiveTrackingRejectedException busy() {
+        return new LiveTrackingRejectedException("서버가 바빠 포인트를 받지 못했습니다. 같은 seq로 다시 보내주세요.", 2);
+    }
+
+    private Session session(String sessionId, Long runnerId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            throw new RuntimeException("기록 세션을 찾을 수 없습니다.");
+        }
+        if (!session.runnerId.equals(runnerId)) {
+            throw new RuntimeException("본인의 기록 세션만 사용할 수 있습니다.");
+        }
+        return session;
+    }
+
+    /**
+     * 작업 스레드 - 대기열이 빌 때까지 한 묶음씩 버퍼에 반영
+     */
+    private void drain(Session session) {
+        while (true) {
+            int count;
+            synchronized (session) {
+                List<LivePointBatch.Point> batch = session.queue.poll();
+                if (batch == null || session.buffer == null) {
+                    session.draining = false;
+                    return;
+                }
+                count = appendAll(session, batch);
+            }
+            pendingPoints.addAndGet(-count);
+        }
+    }
+
+    /**
+     * 남은 대기열 전부 반영 (세션 잠금 안에서 호출)
+     */
+    private void drainQueued(Session session) {
+        List<LivePointBatch.Point> batch;
+        while ((batch = session.queue.poll()) != null) {
+            pendingPoints.addAndGet(-appendAll(session, batch));
+        }
+    }
+
+    private int appendAll(Session session, List<LivePointBatch.Point> batch) {
+        TrackBuffer buffer = session.buffer;
+        for (LivePointBatch.Point point : batch) {
+            buffer.append(point.lat(), point.lng(),
+                    point.ele() != null ? point.ele() : Double.NaN,
+                    point.time() != null ? point.time().toEpochMilli() : TrackBuffer.NO_TIME,
+                    point.hr() != null ? point.hr() : 0);
+        }
+        session.queuedPoints -= batch.size();
+        return batch.size();
+    }
+
+    private void close(Session session) {
+        synchronized (session) {
+            session.state = State.CLOSED;
+            pendingPoints.addAndGet(-session.queuedPoints);
+            session.queue.clear();
+            session.queuedPoints = 0;
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * 기록 세션 - 상태는 세션 객체 잠금으로 보호, 종료 처리는 finishLock으로 한 번만
+     */
+    private static final class Session {
+        final String id;
+        final Long runnerId;
+        final Long courseId;
+        final long openedAt = System.currentTimeMillis();
+        final Object finishLock = new Object();
+        final ArrayDeque<List<LivePointBatch.Point>> queue = new ArrayDeque<>();
+
+        TrackBuffer buffer = new TrackBuffer(256);
+        State state = State.OPEN;
+        long lastSeq;
+        int queuedPoints;
+        boolean draining;
+        long firstReceivedAt;
+        long lastReceivedAt;
+        volatile RunningRecordDTO result;
+        volatile long lastActivity = openedAt;
+
+        Session(String id, Long runnerId, Long courseId) {
+            this.id = id;
+            this.runnerId = runnerId;
+            this.courseId = courseId;
+        }
+
+        Ack ack(boolean accepted, boolean duplicate) {
+            return new Ack(accepted, duplicate, lastSeq, lastSeq + 1,
+                    (buffer != null ? buffer.size() : 0) + queuedPoints, queue.size());
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.AttractionColumns;
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.dto.RegionInfo;
+import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Gemini 없이 서버 내부에서 추천 코스를 만드는 결정적(deterministic) 경로 생성기
+ * - RegionDataService의 관광지 데이터와 대원 거리(haversine) 사용
+ * - 거리 제약 오리엔티어링: 목표 거리 안에서 (점수 / 추가 거리)가 가장 좋은 관광지를 최소 비용 위치에 삽입
+ * - 순환 코스는 2-opt로 순서를 다듬고, 목표 거리에 못 미치면 가장 긴 구간에 우회 지점을 추가
+ * 같은 입력이면 항상 같은 결과를 수 밀리초 안에 반환
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocalRouteEngine {
+
+    private static final String[] VARIANT_NAMES = {"명소 순례", "테마 집중", "여유 순환"};
+    private static final double[] VARIANT_BUDGET = {0.95, 0.95, 0.7};
+    private static final int MAX_CANDIDATES = 40;
+    private static final double SAME_PLACE_KM = 0.05;
+    private static final double DISTANCE_TOLERANCE = 0.03;
+    private static final double DENSIFY_STEP_KM = 0.5;
+
+    private final RegionDataService regionDataService;
+
+    /**
+     * 추천 코스 3개 생성 (Gemini 응답과 같은 RouteData 형태)
+     */
+    public List<RouteData> generateRoutes(
+            String theme,
+            Float distance,
+            String startLocation,
+            String endLocation,
+            String difficulty) {
+
+        long started = System.nanoTime();
+        double targetKm = (distance != null && distance > 0) ? distance : 10.0;
+        String safeTheme = theme != null ? theme.trim() : "";
+
+        RegionInfo region = regionDataService.getRegionByStartLocation(startLocation);
+        Waypoint start = new Waypoint(region.getRegionName(), region.getCenterLat(), region.getCenterLng(), 0, false);
+        Waypoint end = resolveEnd(region, startLocation, endLocation);
+        Waypoint finish = end != null ? end : start;
+
+        List<Waypoint> candidates = collectCandidates(safeTheme, start, finish, targetKm);
+
+        List<RouteData> routes = new ArrayList<>(VARIANT_NAMES.length);
+        for (int variant = 0; variant < VARIANT_NAMES.length; variant++) {
+            routes.add(buildRoute(variant, safeTheme, difficulty, region, start, end, candidates, targetKm));
+        }
+
+        log.info("Local engine generated {} routes in {}µs (region: {}, {}km, candidates: {})",
+                routes.size(), (System.nanoTime() - started) / 1_000, region.getRegionName(),
+                targetKm, candidates.size());
+        return routes;
+    }
+
+    /**
+     * 목적지가 출발 지역과 다른 지역이면 선형 코스, 아니면 순환 코스(null)
+     */
+    private Waypoint resolveEnd(RegionInfo startRegion, String startLocation, String endLocation) {
+        if (endLocation == null || endLocation.isBlank() || endLocation.trim().equals(startLocation)) {
+            return null;
+        }
+        RegionInfo endRegion = regionDataService.getRegionByStartLocation(endLocation.trim());
+        if (endRegion.getRegionName().equals(startRegion.getRegionName())) {
+            return null;
+        }
+        return new Waypoint(endRegion.getRegionName(), endRegion.getCenterLat(), endRegion.getCenterLng(), 0, false);
+    }
+
+    /**
+     * 목표 거리 안에 도달 가능한 관광지 후보 (점수 높은 순, 가까운 순)
+     */
+    private List<Waypoint> collectCandidates(String theme, Waypoint start, Waypoint finish, double targetKm) {
+        List<Waypoint> candidates = new ArrayList<>();
+        for (RegionInfo region : regionDataService.getAllRegions()) {
+            boolean regionMatches = !theme.isEmpty() && region.getThemes() != null
+                    && region.getThemes().stream().anyMatch(t -> t.contains(theme) || theme.contains(t));
+
+            // 매핑된 데이터셋 버퍼에서 바로 읽음 (관광지 객체를 만들지 않음)
+            AttractionColumns attractions = AttractionColumns.of(region.getAttractions());
+            for (int i = 0; i < attractions.size(); i++) {
+                double lat = attractions.latitude(i);
+                double lng = attractions.longitude(i);
+                double viaKm = GeoUtils.haversineKm(start.lat, start.lng, lat, lng)
+                        + GeoUtils.haversineKm(lat, lng, finish.lat, finish.lng);
+                if (viaKm > targetKm) {
+                    continue;
+                }
+
+                String category = Objects.requireNonNullElse(attractions.category(i), "");
+                boolean themeMatches = !theme.isEmpty() && !category.isEmpty()
+                        && (category.contains(theme) || theme.contains(category));
+                double score = 1.0 + (themeMatches ? 1.5 : 0.0) + (regionMatches ? 0.5 : 0.0);
+
+                candidates.add(new Waypoint(attractions.name(i), lat, lng, score, themeMatches));
+            }
+        }
+
+        candidates.sort(Comparator
+                .comparingDouble((Waypoint w) -> -w.score)
+                .thenComparingDouble(w -> GeoUtils.haversineKm(start.lat, start.lng, w.lat, w.lng))
+                .thenComparing(w -> w.name));
+        return candidates.size() > MAX_CANDIDATES ? candidates.subList(0, MAX_CANDIDATES) : candidates;
+    }
+
+    private RouteData buildRoute(
+            int variant,
+            String theme,
+            String difficulty,
+            RegionInfo region,
+            Waypoint start,
+            Waypoint end,
+            List<Waypoint> candidates,
+            double targetKm) {
+
+        boolean loop = end == null;
+        List<Waypoint> startLandmarks = new ArrayList<>();
+        List<Waypoint> pool = new ArrayList<>();
+        for (Waypoint candidate : candidates) {
+            if (isSamePlace(candidate, start) || (!loop && isSamePlace(candidate, end))) {
+                startLandmarks.add(candidate);
+            } else if (variant != 1 || candidate.themeMatch) {
+                pool.add(candidate);
+            }
+        }
+        // 테마 집중 코스인데 테마 관광지가 없으면 전체 후보 사용
+        if (variant == 1 && pool.isEmpty()) {
+            for (Waypoint candidate : candidates) {
+                if (!startLandmarks.contains(candidate)) {
+                    pool.add(candidate);
+                }
+            }
+        }
+
+        List<Waypoint> path = new ArrayList<>();
+        path.add(start);
+        path.add(loop ? start : end);
+        insertAttractions(path, pool, targetKm * VARIANT_BUDGET[variant], variant == 1);
+        if (loop) {
+            twoOpt(path);
+        }
+
+        List<double[]> points = new ArrayList<>(path.size() + 4);
+        for (Waypoint waypoint : path) {
+            points.add(new double[]{waypoint.lat, waypoint.lng});
+        }
+        padToTarget(points, targetKm, variant);
+
+        double lengthKm = length(points);
+        GeoPath coordinates = densify(points, Math.max(DENSIFY_STEP_KM, targetKm / 60.0));
+
+        List<String> landmarks = new ArrayList<>();
+        startLandmarks.forEach(w -> landmarks.add(w.name));
+        for (int i = 1; i < path.size() - 1; i++) {
+            landmarks.add(path.get(i).name);
+        }
+        if (region.getSpecialties() != null && !region.getSpecialties().isEmpty()) {
+            landmarks.add(region.getSpecialties().get(variant % region.getSpecialties().size()));
+        }
+
+        String level = normalizeDifficulty(difficulty);
+        String via = path.size() > 2
+                ? String.join(" → ", path.subList(1, path.size() - 1).stream().map(w -> w.name).toList())
+                : "주변 도로";
+
+        return RouteData.builder()
+                .name(region.getRegionName() + " " + VARIANT_NAMES[variant] + " 코스")
+                .description(String.format("%s에서 출발해 %s을(를) 지나는 %s %s 코스 (%s)",
+                        region.getRegionName(), via,
+                        theme.isEmpty() ? "관광" : theme,
+                        loop ? "순환" : "선형",
+                        region.getDescription()))
+                .distance(Math.round(lengthKm * 10) / 10.0f)
+                .startPointLat(start.lat)
+                .startPointLng(start.lng)
+                .coordinates(coordinates)
+                .landmarks(landmarks)
+                .elevationGain(estimateElevationGain(level, lengthKm))
+                .safetyScore(estimateSafetyScore(level))
+                .estimatedTime(estimateTime(level, lengthKm))
+                .rank(variant + 1)
+                .build();
+    }
+
+    /**
+     * 거리 제약 삽입 휴리스틱 - (점수 / 추가 거리)가 가장 큰 관광지를 가장 싼 위치에 반복 삽입
+     */
+    private void insertAttractions(List<Waypoint> path, List<Waypoint> pool, double budgetKm, boolean favorScore) {
+        List<Waypoint> remaining = new ArrayList<>(pool);
+        double currentKm = pathLength(path);
+
+        while (!remaining.isEmpty()) {
+            Waypoint best = null;
+            int bestIndex = -1;
+            double bestAdded = 0;
+            double bestRatio = Double.NEGATIVE_INFINITY;
+
+            for (Waypoint candidate : remaining) {
+                for (int i = 0; i < path.size() - 1; i++) {
+                    Waypoint a = path.get(i);
+                    Waypoint b = path.get(i + 1);
+                    double added = distance(a, candidate) + distance(candidate, b) - distance(a, b);
+                    if (currentKm + added > budgetKm) {
+                        continue;
+                    }
+                    double weight = favorScore ? candidate.score * candidate.score : candidate.score;
+                    double ratio = weight / (added + 0.05);
+                    if (ratio > bestRatio) {
+                        bestRatio = ratio;
+                        best = candidate;
+                        bestIndex = i + 1;
+                        bestAdded = added;
+                    }
+                }
+            }
+
+            if (best == null) {
+                break;
+            }
+            path.add(bestIndex, best);
+            remaining.remove(best);
+            currentKm += bestAdded;
+        }
+    }
+
+    /**
+     * 2-opt - 순환 코스에서 교차하는 구간을 뒤집어 총 거리 단축 (양 끝 출발점 고정)
+     */
+    private void twoOpt(List<Waypoint> path) {
+        boolean improved = true;
+        for (int pass = 0; improved && pass < 50; pass++) {
+            improved = false;
+            for (int i = 1; i < path.size() - 2; i++) {
+                for (int j = i + 1; j < path.size() - 1; j++) {
+                    Waypoint a = path.get(i - 1);
+                    Waypoint b = path.get(i);
+                    Waypoint c = path.get(j);
+                    Waypoint d = path.get(j + 1);
+                    double delta = distance(a, c) + distance(b, d) - distance(a, b) - distance(c, d);
+                    if (delta < -1e-9) {
+                        Collections.reverse(path.subList(i, j + 1));
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 목표 거리에 못 미치면 가장 긴 구간 중간에 수직 방향 우회 지점 추가
+     * 출발점만 있는 순환 코스는 정삼각형 루프로 시작
+     */
+    private void padToTarget(List<double[]> points, double targetKm, int variant) {
+        for (int iteration = 0; iteration < 5; iteration++) {
+            double deficit = targetKm - length(points);
+            if (deficit <= targetKm * DISTANCE_TOLERANCE) {
+                return;
+            }
+
+            int longest = 0;
+            double longestKm = -1;
+            for (int i = 0; i < points.size() - 1; i++) {
+                double legKm = legLength(points.get(i), points.get(i + 1));
+                if (legKm > longestKm) {
+                    longestKm = legKm;
+                    longest = i;
+                }
+            }
+
+            double[] a = points.get(longest);
+            double[] b = points.get(longest + 1);
+
+            if (longestKm < 0.01) {
+                double bearing = 30.0 + 120.0 * variant;
+                double side = deficit / 3.0;
+                points.add(longest + 1, GeoUtils.destination(a[0], a[1], bearing, side));
+                points.add(longest + 2, GeoUtils.destination(a[0], a[1], bearing + 60.0, side));
+                continue;
+            }
+
+            double half = longestKm / 2.0;
+            double offset = Math.sqrt(Math.pow((longestKm + deficit) / 2.0, 2) - half * half);
+            double side = (variant % 2 == 0) ? 90.0 : -90.0;
+            double bearing = GeoUtils.bearingDeg(a[0], a[1], b[0], b[1]) + side;
+            double[] middle = {(a[0] + b[0]) / 2.0, (a[1] + b[1]) / 2.0};
+            points.add(longest + 1, GeoUtils.destination(middle[0], middle[1], bearing, offset));
+        }
+    }
+
+    /**
+     * 구간마다 stepKm 간격으로 중간 좌표를 채워 지도에 그릴 좌표 목록 생성
+     */
+    private GeoPath densify(List<double[]> points, double stepKm) {
+        GeoPath.Builder coordinates = GeoPath.builder();
+        for (int i = 0; i < points.size() - 1; i++) {
+            double[] a = points.get(i);
+            double[] b = points.get(i + 1);
+            int segments = Math.max(1, (int) Math.ceil(legLength(a, b) / stepKm));
+            for (int s = 0; s < segments; s++) {
+                double t = (double) s / segments;
+                coordinates.add(round6(a[0] + (b[0] - a[0]) * t), round6(a[1] + (b[1] - a[1]) * t));
+            }
+        }
+        double[] last = points.get(points.size() - 1);
+        coordinates.add(round6(last[0]), round6(last[1]));
+        return coordinates.build();
+    }
+
+    private static String normalizeDifficulty(String difficulty) {
+        if (difficulty == null) {
+            return "intermediate";
+        }
+        return switch (difficulty.trim().toLowerCase(Locale.ROOT)) {
+            case "beginner", "초급" -> "beginner";
+            case "advanced", "고급" -> "advanced";
+            default -> "intermediate";
+        };
+    }
+
+    private static int estimateElevationGain(String difficulty, double lengthKm) {
+        double metersPerKm = switch (difficulty) {
+            case "beginner" -> 6.0;
+            case "advanced" -> 32.0;
+            default -> 18.0;
+        };
+        return (int) Math.round(metersPerKm * lengthKm);
+    }
+
+    private static int estimateSafetyScore(String difficulty) {
+        return switch (difficulty) {
+            case "beginner" -> 9;
+            case "advanced" -> 7;
+            default -> 8;
+        };
+    }
+
+    /**
+     * 난이도별 평균 페이스로 예상 소요 시간 (H:MM)
+     */
+    private static String estimateTime(String difficulty, double lengthKm) {
+        int secondsPerKm = switch (difficulty) {
+            case "beginner" -> 420;
+            case "advanced" -> 330;
+            default -> 360;
+        };
+        long minutes = Math.round(lengthKm * secondsPerKm / 60.0);
+        return String.format("%d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static boolean isSamePlace(Waypoint a, Waypoint b) {
+        return distance(a, b) < SAME_PLACE_KM;
+    }
+
+    private static double distance(Waypoint a, Waypoint b) {
+        return GeoUtils.haversineKm(a.lat, a.lng, b.lat, b.lng);
+    }
+
+    private static double pathLength(List<Waypoint> path) {
+        double total = 0;
+        for (int i = 0; i < path.size() - 1; i++) {
+            total += distance(path.get(i), path.get(i + 1));
+        }
+        return total;
+    }
+
+    private static double legLength(double[] a, double[] b) {
+        return GeoUtils.haversineKm(a[0], a[1], b[0], b[1]);
+    }
+
+    private static double length(List<double[]> points) {
+        double total = 0;
+        for (int i = 0; i < points.size() - 1; i++) {
+            total += legLength(points.get(i), points.get(i + 1));
+        }
+        return total;
+    }
+
+    private static double round6(double value) {
+        return Math.round(value * 1_000_000d) / 1_000_000d;
+    }
+
+    private record Waypoint(String name, double lat, double lng, double score, boolean themeMatch) {
+    }
+}
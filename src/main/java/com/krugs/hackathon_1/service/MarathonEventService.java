@@ -1,13 +1,19 @@
 package com.krugs.hackathon_1.service;
 
+import com.krugs.hackathon_1.dto.CursorPage;
 import com.krugs.hackathon_1.dto.MarathonEventDTO;
 import com.krugs.hackathon_1.entity.MarathonEvent;
 import com.krugs.hackathon_1.repository.MarathonEventRepository;
+import com.krugs.hackathon_1.util.PageCursor;
+import com.krugs.hackathon_1.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,6 +21,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MarathonEventService {
     
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+    
     private final MarathonEventRepository marathonRepository;
     
     /**
@@ -50,11 +64,32 @@ public class MarathonEventService {
     }
     
     /**
-     * 모든 마라톤 이벤트 조회
+     * 마라톤 이벤트 조회 (최신순 키셋 페이지)
+     */
+    public CursorPage<MarathonEventDTO> getMarathons(String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.pageSize(size, defaultPageSize, maxPageSize);
+        List<MarathonEvent> marathons = marathonRepository.findPage(after.keyAsDateTime(), after.id(), Limit.of(pageSize + 1));
+        return CursorPage.of(marathons, pageSize, m -> PageCursor.of(m.getCreatedAt(), m.getId()))
+            .map(this::convertToDTO);
+    }
+    
+    /**
+     * 이벤트 목록 버전 (이벤트 수 + 최근 수정 시각, 생성/수정/삭제 시 바뀜) - 엔티티를 읽지 않음
+     * 삭제는 최근 수정 시각을 바꾸지 않으므로 Last-Modified 없이 ETag로만 판정
+     */
+    public ResourceVersion getMarathonsVersion() {
+        MarathonEventRepository.ListVersionView version = marathonRepository.findListVersion();
+        LocalDateTime lastModified = version.getLastModified() != null ? version.getLastModified() : EPOCH;
+        return ResourceVersion.of(lastModified, "events", version.getCount()).weak().etagOnly();
+    }
+    
+    /**
+     * 이벤트 버전 (없는 이벤트면 empty) - 엔티티를 읽지 않음
      */
-    public List<MarathonEventDTO> getAllMarathons() {
-        List<MarathonEvent> marathons = marathonRepository.findAll();
-        return marathons.stream().map(this::convertToDTO).collect(Collectors.toList());
+    public Optional<ResourceVersion> getMarathonVersion(Long id) {
+        return marathonRepository.findLastModifiedById(id)
+            .map(lastModified -> ResourceVersion.of(lastModified, "event", id));
     }
     
     /**
@@ -127,6 +162,7 @@ public class MarathonEventService {
             .endLng(marathon.getEndLng())
             .status(marathon.getStatus())
             .createdAt(marathon.getCreatedAt())
+            .updatedAt(marathon.getUpdatedAt())
             .build();
     }
 }
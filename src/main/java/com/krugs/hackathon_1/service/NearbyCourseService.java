@@ -0,0 +1,176 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.dto.NearbyCourseDTO;
+import com.krugs.hackathon_1.entity.UploadedCourse;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import com.krugs.hackathon_1.util.GeoGridIndex;
+import com.krugs.hackathon_1.util.PageCursor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주변 코스 검색
+ * - 시작 시 모든 코스의 시작점/범위를 GeoGridIndex에 적재 (id 순 10000건 단위)
+ * - 업로드/수정/삭제 시 UploadedCourseService가 증분 반영
+ * - 인덱스에서 거리순 id를 고른 뒤 해당 코스 요약만 DB에서 조회
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NearbyCourseService {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    @Value("${course.spatial.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    @Value("${course.spatial.max-radius-km:50}")
+    private double maxRadiusKm;
+
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    private final UploadedCourseRepository courseRepository;
+
+    private GeoGridIndex index;
+    private volatile long loadMillis;
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+
+    @PostConstruct
+    void load() {
+        long started = System.currentTimeMillis();
+        index = new GeoGridIndex(cellDegrees);
+        long lastId = 0;
+        List<GeoGridIndex.Item> batch;
+        do {
+            batch = courseRepository.findLocations(lastId, Limit.of(LOAD_BATCH_SIZE));
+            if (!batch.isEmpty()) {
+                index.putAll(batch);
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loadMillis = System.currentTimeMillis() - started;
+        log.info("Course spatial index loaded: {} courses in {} cells, {} ms",
+                index.size(), index.cellCount(), loadMillis);
+    }
+
+    /**
+     * 코스 추가/갱신 반영 (시작점이 없는 코스는 무시)
+     */
+    public void put(UploadedCourse course) {
+        if (course.getId() == null || course.getStartLat() == null || course.getStartLng() == null) {
+            return;
+        }
+        index.put(new GeoGridIndex.Item(course.getId(), course.getStartLat(), course.getStartLng(),
+                course.getMinLat(), course.getMinLng(), course.getMaxLat(), course.getMaxLng(),
+                course.getTheme(), course.getDifficultyLevel()));
+        updates.increment();
+    }
+
+    /**
+     * 코스 제거 반영 (등록 당시 시작점 기준)
+     */
+    public void remove(UploadedCourse course) {
+        if (course.getId() == null || course.getStartLat() == null || course.getStartLng() == null) {
+            return;
+        }
+        index.remove(course.getId(), course.getStartLat(), course.getStartLng());
+        updates.increment();
+    }
+
+    /**
+     * 기준점 반경 안에서 시작하는 코스 (가까운 순, 테마/난이도 필터)
+     */
+    public List<NearbyCourseDTO> nearby(double lat, double lng, Double radiusKm,
+                                        String theme, String difficulty, Integer limit) {
+        validateLatLng(lat, lng);
+        double radius = radiusKm != null ? radiusKm : 5;
+        if (radius <= 0 || radius > maxRadiusKm) {
+            throw new RuntimeException("검색 반경은 0보다 크고 " + maxRadiusKm + "km 이하여야 합니다.");
+        }
+        queries.increment();
+        return toResults(index.nearby(lat, lng, radius, blankToNull(theme), blankToNull(difficulty),
+                PageCursor.pageSize(limit, defaultPageSize, maxPageSize)));
+    }
+
+    /**
+     * 지도 영역과 겹치는 코스 (영역 중심에서 가까운 순, 테마/난이도 필터)
+     */
+    public List<NearbyCourseDTO> within(double minLat, double minLng, double maxLat, double maxLng,
+                                        String theme, String difficulty, Integer limit) {
+        validateLatLng(minLat, minLng);
+        validateLatLng(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new RuntimeException("검색 영역이 올바르지 않습니다.");
+        }
+        // 경도 폭은 적도에 가장 가까운 (가장 넓은) 위도 기준 (GeoGridIndex와 같이 극지방은 cos 0.01 하한)
+        // → 위도만 좁고 경도로 긴 영역도 거부되어 조회하는 격자 칸 수가 제한됨
+        double widestLat = minLat <= 0 && maxLat >= 0 ? 0 : Math.min(Math.abs(minLat), Math.abs(maxLat));
+        double heightKm = (maxLat - minLat) * 111.195;
+        double widthKm = (maxLng - minLng) * 111.195 * Math.max(0.01, Math.cos(Math.toRadians(widestLat)));
+        if (heightKm > maxRadiusKm * 2 || widthKm > maxRadiusKm * 2) {
+            throw new RuntimeException("검색 영역이 너무 넓습니다.");
+        }
+        queries.increment();
+        return toResults(index.within(minLat, minLng, maxLat, maxLng,
+                blankToNull(theme), blankToNull(difficulty), PageCursor.pageSize(limit, defaultPageSize, maxPageSize)));
+    }
+
+    /**
+     * 인덱스 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("courses", index.size());
+        stats.put("cells", index.cellCount());
+        stats.put("oversizedCourses", index.oversizedCount());
+        stats.put("cellDegrees", cellDegrees);
+        stats.put("loadMillis", loadMillis);
+        stats.put("queries", queries.sum());
+        stats.put("updates", updates.sum());
+        return stats;
+    }
+
+    private List<NearbyCourseDTO> toResults(List<GeoGridIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CourseSummaryDTO> summaries = courseRepository
+                .findSummariesByIds(hits.stream().map(GeoGridIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(CourseSummaryDTO::id, Function.identity()));
+        List<NearbyCourseDTO> results = new ArrayList<>(hits.size());
+        for (GeoGridIndex.Hit hit : hits) {
+            // 인덱스 반영 직전에 삭제된 코스는 제외
+            CourseSummaryDTO summary = summaries.get(hit.id());
+            if (summary != null) {
+                results.add(new NearbyCourseDTO(summary, Math.round(hit.distanceKm() * 1000) / 1000.0));
+            }
+        }
+        return results;
+    }
+
+    private static void validateLatLng(double lat, double lng) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180 || Double.isNaN(lat) || Double.isNaN(lng)) {
+            throw new RuntimeException("위도/경도 값이 올바르지 않습니다.");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,142 @@
+package com.krugs.hackathon_1.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 추천 코스 생성 전용 실행기
+ * - 가상 스레드 기반이라 Gemini 응답을 기다리는 동안 Tomcat 워커를 점유하지 않음
+ * - 동시 실행 수 제한 + 제한된 대기열, 대기열이 가득 차면 즉시 거절
+ * - 호출 단위 타임아웃 (결과는 바로 실패시키지만, 인터럽트를 무시하는 호출은 끝날 때까지 슬롯/허가를 계속 차지)
+ */
+@Component
+@Slf4j
+public class RecommendationExecutor {
+
+    @Value("${recommendation.executor.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${recommendation.executor.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${recommendation.executor.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "recommendation-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 실행 중 + 대기 중 작업 수 - 작업 스레드가 실제로 끝날 때 감소
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrency, true);
+        // 정상 완료로 취소된 타임아웃 작업은 대기열에서 바로 제거
+        timer.setRemoveOnCancelPolicy(true);
+        log.info("Recommendation executor ready. concurrency: {}, queue: {}, timeout: {}s",
+                maxConcurrency, queueCapacity, timeoutSeconds);
+    }
+
+    /**
+     * 작업 제출 - 실행 중 + 대기 중 작업이 한도를 넘으면 RecommendationRejectedException으로 즉시 실패
+     * 돌려준 결과를 cancel하면 작업 스레드를 인터럽트 (스트리밍 호출은 다음 조각에서 중단)
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        if (pending.incrementAndGet() > maxConcurrency + queueCapacity) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new RecommendationRejectedException("추천 요청이 많아 잠시 후 다시 시도해주세요."));
+        }
+        submitted.increment();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> worker;
+        try {
+            worker = executor.submit(() -> run(task, result));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        ScheduledFuture<?> timeout = timer.schedule(() -> {
+            RuntimeException error = new RuntimeException(
+                    "경로 생성 시간 초과 (" + timeoutSeconds + "초)", new TimeoutException());
+            if (result.completeExceptionally(error)) {
+                timedOut.increment();
+                worker.cancel(true);
+            }
+        }, timeoutSeconds, TimeUnit.SECONDS);
+        result.whenComplete((value, error) -> {
+            timeout.cancel(false);
+            if (result.isCancelled()) {
+                worker.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private <T> void run(Callable<T> task, CompletableFuture<T> result) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            pending.decrementAndGet();
+            return;
+        }
+
+        try {
+            // 대기 중에 타임아웃된 작업은 실행하지 않음
+            if (!result.isDone()) {
+                result.complete(task.call());
+            }
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        } finally {
+            permits.release();
+            // 타임아웃 후에도 호출이 실제로 끝날 때까지는 한도에 포함
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * 실행기 상태 (실행 중/대기 중/거절/타임아웃)
+     */
+    public Map<String, Object> stats() {
+        int active = maxConcurrency - permits.availablePermits();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrency", maxConcurrency);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("active", active);
+        stats.put("queued", Math.max(0, pending.get() - active));
+        stats.put("submitted", submitted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+}
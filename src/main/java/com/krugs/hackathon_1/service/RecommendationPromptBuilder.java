@@ -0,0 +1,374 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.Attraction;
+import com.krugs.hackathon_1.dto.RegionInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gemini 프롬프트 조립기
+ * - 고정 템플릿은 시작 시 한 번만 리터럴/슬롯 조각으로 분해 (요청마다 String.format 파싱 없음)
+ * - 지역별 조각(지역 정보, 관광지 목록, 특산물)은 RegionInfo 단위로 렌더링 결과를 캐시
+ * - 프롬프트 크기(문자 수, 추정 토큰 수)를 기록하고, 예산을 넘으면 관광지 목록을 줄여서 맞춤
+ */
+@Component
+@Slf4j
+public class RecommendationPromptBuilder {
+
+    private static final String TEMPLATE = """
+            당신은 대전·충청남도 지역의 최적 관광 마라톤 코스 설계 전문가입니다.
+            
+            다음 조건에 맞는 최적의 관광 마라톤 코스를 3가지 설계해주세요:
+            
+            **필수 조건:**
+            - 테마: ${theme}
+            - 거리: ${distance} km
+            - 출발지: ${startLocation} (좌표: ${centerLat}, ${centerLng})
+            - 목적지: ${endLocation}
+            - 난이도: ${difficulty}
+            - 지역: ${regionName}
+            
+            **지역 정보:**
+            지역명: ${regionName}
+            지역 중심: ${centerLat}, ${centerLng}
+            지역 설명: ${regionDescription}
+            
+            **주요 관광지:**
+            ${attractions}
+            **지역 특산물:**
+            ${specialties}
+            
+            **설계 기준:**
+            1. 경로 설계:
+               - 거리에 맞춰 ${minPoints}~${maxPoints}개 포인트 생성
+               - 시작점 좌표 (${centerLat}, ${centerLng})에서 시작하여 관광지들을 거쳐 순환 또는 선형 코스
+               - 실제 도로망을 고려한 자연스러운 경로
+               - ✅ 반드시 startPointLat, startPointLng 필드를 추가하여 시작점 좌표 포함
+            
+            2. 테마별 특화:
+               - 주요 관광지 통과 또는 근접 (반드시 포함)
+               - 지역 특산물과 관련 체험지 연결
+               - 사진 명소와 쉼터 포함
+            
+            3. 난이도별 고도 변화:
+               - 초급: 고도 변화 80m 미만 (평탄한 해변/온천 코스)
+               - 중급: 고도 변화 150~250m (도시+산악 혼합)
+               - 고급: 고도 변화 300m 이상 (산악 위주)
+            
+            4. 코스 제약:
+               - 5~7km마다 휴식/편의점 위치 배치
+               - 조명 좋은 도시/국도 우선
+               - 안전한 보행로 고려
+            
+            **응답 형식 (JSON만 응답):**
+            {
+              "routes": [
+                {
+                  "name": "코스 이름",
+                  "description": "코스 설명 (테마와 특산물 포함)",
+                  "distance": 10.5,
+                  "startPointLat": 36.3742,
+                  "startPointLng": 127.3515,
+                  "coordinates": [
+                    [위도, 경도],
+                    [위도, 경도],
+                    ...
+                  ],
+                  "landmarks": ["관광지1", "관광지2", "특산물"],
+                  "elevationGain": 65,
+                  "safetyScore": 8,
+                  "estimatedTime": "1:40"
+                },
+                {
+                  "name": "코스 이름",
+                  "description": "코스 설명",
+                  "distance": 12.0,
+                  "startPointLat": 36.3742,
+                  "startPointLng": 127.3515,
+                  "coordinates": [...],
+                  "landmarks": [...],
+                  "elevationGain": 145,
+                  "safetyScore": 8,
+                  "estimatedTime": "1:55"
+                },
+                {
+                  "name": "코스 이름",
+                  "description": "코스 설명",
+                  "distance": 15.0,
+                  "startPointLat": 36.3742,
+                  "startPointLng": 127.3515,
+                  "coordinates": [...],
+                  "landmarks": [...],
+                  "elevationGain": 240,
+                  "safetyScore": 8,
+                  "estimatedTime": "2:20"
+                }
+              ]
+            }
+            
+            **중요 지시사항:**
+            - 오직 JSON 형식만 응답하세요
+            - 마크다운 코드 블록(```) 사용 금지
+            - 설명이나 인사말 절대 금지
+            - 각 coordinates 배열은 [위도, 경도] 형태
+            - 거리와 고도는 실제 지형에 맞게 제시하세요
+            - 반드시 3개의 서로 다른 코스를 제시하세요
+            - ✅ 각 코스에 startPointLat, startPointLng 필드를 포함하세요 (시작점 좌표)
+            """;
+
+    @Value("${recommendation.prompt.max-chars:6000}")
+    private int maxChars;
+
+    private final List<Object> segments = compile(TEMPLATE);
+    private final Map<RegionInfo, RegionFragment> fragmentCache = new ConcurrentHashMap<>();
+
+    private final LongAdder prompts = new LongAdder();
+    private final LongAdder totalChars = new LongAdder();
+    private final LongAdder totalTokens = new LongAdder();
+    private final LongAdder trimmedPrompts = new LongAdder();
+    private final LongAdder trimmedAttractions = new LongAdder();
+    private volatile int lastChars;
+    private volatile int lastTokens;
+
+    private enum Slot {
+        THEME, DISTANCE, START_LOCATION, END_LOCATION, DIFFICULTY,
+        REGION_NAME, CENTER_LAT, CENTER_LNG, REGION_DESCRIPTION,
+        ATTRACTIONS, SPECIALTIES, MIN_POINTS, MAX_POINTS
+    }
+
+    /**
+     * 지역 단위로 미리 렌더링한 프롬프트 조각
+     */
+    private record RegionFragment(
+            String regionName,
+            String centerLat,
+            String centerLng,
+            String description,
+            List<String> attractionLines,
+            List<String> attractionCategories,
+            String specialties) {
+    }
+
+    /**
+     * 요청 조건으로 프롬프트 생성 (예산 초과 시 관광지 목록 축소)
+     */
+    public String build(String theme, Float distance, String startLocation, String endLocation,
+                        String difficulty, RegionInfo region) {
+        RegionFragment fragment = fragmentCache.computeIfAbsent(region, RecommendationPromptBuilder::renderFragment);
+
+        Map<Slot, String> values = new EnumMap<>(Slot.class);
+        values.put(Slot.THEME, String.valueOf(theme));
+        values.put(Slot.DISTANCE, String.format(Locale.ROOT, "%.2f", distance));
+        values.put(Slot.START_LOCATION, String.valueOf(startLocation));
+        values.put(Slot.END_LOCATION, String.valueOf(endLocation));
+        values.put(Slot.DIFFICULTY, String.valueOf(difficulty));
+        values.put(Slot.REGION_NAME, fragment.regionName());
+        values.put(Slot.CENTER_LAT, fragment.centerLat());
+        values.put(Slot.CENTER_LNG, fragment.centerLng());
+        values.put(Slot.REGION_DESCRIPTION, fragment.description());
+        values.put(Slot.SPECIALTIES, fragment.specialties());
+        values.put(Slot.MIN_POINTS, Integer.toString((int) (distance * 1.5)));
+        values.put(Slot.MAX_POINTS, Integer.toString((int) (distance * 2.5)));
+
+        String attractions = selectAttractions(fragment, theme, values);
+        values.put(Slot.ATTRACTIONS, attractions);
+
+        String prompt = render(values);
+
+        int chars = prompt.length();
+        int tokens = estimateTokens(prompt);
+        prompts.increment();
+        totalChars.add(chars);
+        totalTokens.add(tokens);
+        lastChars = chars;
+        lastTokens = tokens;
+        log.info("Prompt built. region: {}, chars: {}, estimated tokens: {}", fragment.regionName(), chars, tokens);
+
+        return prompt;
+    }
+
+    /**
+     * 추정 토큰 수 - ASCII는 약 4자당 1토큰, 한글 등 그 외 문자는 약 1.5자당 1토큰으로 근사
+     */
+    public static int estimateTokens(CharSequence text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (int) Math.ceil(ascii / 4.0 + other / 1.5);
+    }
+
+    /**
+     * 지역 데이터가 바뀌었을 때 캐시된 조각 제거
+     */
+    @EventListener(RegionDataReloadedEvent.class)
+    public void clearCache() {
+        fragmentCache.clear();
+    }
+
+    /**
+     * 프롬프트 크기 통계
+     */
+    public Map<String, Object> stats() {
+        long count = prompts.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxChars", maxChars);
+        stats.put("prompts", count);
+        stats.put("avgChars", count == 0 ? 0 : totalChars.sum() / count);
+        stats.put("avgEstimatedTokens", count == 0 ? 0 : totalTokens.sum() / count);
+        stats.put("lastChars", lastChars);
+        stats.put("lastEstimatedTokens", lastTokens);
+        stats.put("trimmedPrompts", trimmedPrompts.sum());
+        stats.put("trimmedAttractions", trimmedAttractions.sum());
+        stats.put("cachedRegions", fragmentCache.size());
+        return stats;
+    }
+
+    /**
+     * 예산 안에 들어가는 만큼 관광지 목록 선택 (테마 일치 관광지 우선, 최소 1개 유지)
+     */
+    private String selectAttractions(RegionFragment fragment, String theme, Map<Slot, String> values) {
+        List<String> lines = fragment.attractionLines();
+        int fixedChars = 0;
+        for (Object segment : segments) {
+            if (segment instanceof String literal) {
+                fixedChars += literal.length();
+            } else if (segment != Slot.ATTRACTIONS) {
+                fixedChars += values.get((Slot) segment).length();
+            }
+        }
+
+        int totalLines = 0;
+        for (String line : lines) {
+            totalLines += line.length();
+        }
+        if (fixedChars + totalLines <= maxChars || lines.size() <= 1) {
+            return String.join("", lines);
+        }
+
+        // 테마와 카테고리가 일치하는 관광지를 먼저 배치
+        List<Integer> order = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            order.add(i);
+        }
+        String safeTheme = theme != null ? theme : "";
+        order.sort(Comparator.comparingInt(i -> matchesTheme(fragment.attractionCategories().get(i), safeTheme) ? 0 : 1));
+
+        int budget = maxChars - fixedChars;
+        StringBuilder selected = new StringBuilder();
+        int included = 0;
+        for (int index : order) {
+            String line = lines.get(index);
+            if (included > 0 && selected.length() + line.length() > budget) {
+                continue;
+            }
+            selected.append(line);
+            included++;
+        }
+
+        trimmedPrompts.increment();
+        trimmedAttractions.add(lines.size() - included);
+        log.info("Prompt over budget ({} chars), attractions trimmed {} → {}",
+                maxChars, lines.size(), included);
+        return selected.toString();
+    }
+
+    private static boolean matchesTheme(String category, String theme) {
+        return !theme.isEmpty() && !category.isEmpty() && (category.contains(theme) || theme.contains(category));
+    }
+
+    private String render(Map<Slot, String> values) {
+        int capacity = 0;
+        for (Object segment : segments) {
+            capacity += segment instanceof String literal ? literal.length() : values.get((Slot) segment).length();
+        }
+        StringBuilder prompt = new StringBuilder(capacity);
+        for (Object segment : segments) {
+            if (segment instanceof String literal) {
+                prompt.append(literal);
+            } else {
+                prompt.append(values.get((Slot) segment));
+            }
+        }
+        return prompt.toString();
+    }
+
+    private static RegionFragment renderFragment(RegionInfo region) {
+        List<String> lines = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        if (region.getAttractions() != null) {
+            for (Attraction attraction : region.getAttractions()) {
+                lines.add(String.format(Locale.ROOT, "- %s: %.4f, %.4f (%s)\n",
+                        attraction.getName(),
+                        attraction.getLatitude(),
+                        attraction.getLongitude(),
+                        attraction.getCategory()));
+                categories.add(attraction.getCategory() != null ? attraction.getCategory() : "");
+            }
+        }
+        String specialties = region.getSpecialties() != null ? String.join(", ", region.getSpecialties()) : "";
+
+        return new RegionFragment(
+                region.getRegionName(),
+                String.format(Locale.ROOT, "%.4f", region.getCenterLat()),
+                String.format(Locale.ROOT, "%.4f", region.getCenterLng()),
+                String.valueOf(region.getDescription()),
+                List.copyOf(lines),
+                List.copyOf(categories),
+                specialties);
+    }
+
+    /**
+     * 템플릿을 리터럴 문자열과 슬롯으로 분해 (${name} 형식)
+     */
+    private static List<Object> compile(String template) {
+        Map<String, Slot> slots = Map.ofEntries(
+                Map.entry("theme", Slot.THEME),
+                Map.entry("distance", Slot.DISTANCE),
+                Map.entry("startLocation", Slot.START_LOCATION),
+                Map.entry("endLocation", Slot.END_LOCATION),
+                Map.entry("difficulty", Slot.DIFFICULTY),
+                Map.entry("regionName", Slot.REGION_NAME),
+                Map.entry("centerLat", Slot.CENTER_LAT),
+                Map.entry("centerLng", Slot.CENTER_LNG),
+                Map.entry("regionDescription", Slot.REGION_DESCRIPTION),
+                Map.entry("attractions", Slot.ATTRACTIONS),
+                Map.entry("specialties", Slot.SPECIALTIES),
+                Map.entry("minPoints", Slot.MIN_POINTS),
+                Map.entry("maxPoints", Slot.MAX_POINTS));
+
+        List<Object> compiled = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = template.indexOf("${", position);
+            if (start < 0) {
+                break;
+            }
+            int end = template.indexOf('}', start);
+            Slot slot = slots.get(template.substring(start + 2, end));
+            if (slot == null) {
+                throw new IllegalStateException("알 수 없는 프롬프트 슬롯: " + template.substring(start, end + 1));
+            }
+            if (start > position) {
+                compiled.add(template.substring(position, start));
+            }
+            compiled.add(slot);
+            position = end + 1;
+        }
+        if (position < template.length()) {
+            compiled.add(template.substring(position));
+        }
+        return List.copyOf(compiled);
+    }
+}
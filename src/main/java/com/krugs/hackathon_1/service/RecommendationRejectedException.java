@@ -0,0 +1,11 @@
+package com.krugs.hackathon_1.service;
+
+/**
+ * 추천 실행 대기열이 가득 차서 요청을 즉시 거절한 경우 (HTTP 503)
+ */
+public class RecommendationRejectedException extends RuntimeException {
+
+    public RecommendationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.krugs.hackathon_1.service;
+
+/**
+ * 지역 데이터셋이 새 스냅샷으로 교체되었을 때 발행
+ */
+public record RegionDataReloadedEvent(int regions, int attractions) {
+}
@@ -0,0 +1,257 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.dto.RegionInfo;
+import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gemini가 생성한 코스의 기하 검증/보정
+ * - 잘못된 좌표와 지역 밖으로 튀는 좌표 제거
+ * - 실제 경로 길이(haversine) 계산 → 요청 거리와 차이가 크면 표시, 지나치게 크면 제외
+ * - Douglas-Peucker 단순화로 좌표 수 축소
+ * - 비어 있는 시작점(startPointLat/Lng)을 첫 좌표로 채움
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RouteGeometryProcessor {
+
+    private static final double METERS_PER_DEG_LAT = 110_540.0;
+    private static final double METERS_PER_DEG_LNG = 111_320.0;
+
+    @Value("${route.geometry.simplify-tolerance-m:10}")
+    private double simplifyToleranceMeters;
+
+    @Value("${route.geometry.distance-flag-ratio:0.15}")
+    private double distanceFlagRatio;
+
+    @Value("${route.geometry.distance-reject-ratio:0.5}")
+    private double distanceRejectRatio;
+
+    @Value("${route.geometry.region-margin-km:10}")
+    private double regionMarginKm;
+
+    @Value("${route.geometry.spike-min-km:2}")
+    private double spikeMinKm;
+
+    @Value("${route.geometry.max-elevation-per-km:60}")
+    private int maxElevationPerKm;
+
+    private final RegionDataService regionDataService;
+
+    private final LongAdder routesProcessed = new LongAdder();
+    private final LongAdder routesRejected = new LongAdder();
+    private final LongAdder routesFlagged = new LongAdder();
+    private final LongAdder outliersRemoved = new LongAdder();
+    private final LongAdder pointsBefore = new LongAdder();
+    private final LongAdder pointsAfter = new LongAdder();
+
+    /**
+     * 코스 목록 검증/보정 - 제외된 코스를 빼고 순위를 다시 매김
+     * 남는 코스가 없으면 예외 (호출 측에서 내부 생성기로 대체)
+     */
+    public List<RouteData> process(List<RouteData> routes, Float requestedDistance, String startLocation) {
+        RegionInfo region = regionDataService.getRegionByStartLocation(startLocation);
+        List<RouteData> accepted = new ArrayList<>(routes.size());
+        for (RouteData route : routes) {
+            RouteData processed = process(route, requestedDistance, region);
+            if (processed != null) {
+                processed.setRank(accepted.size() + 1);
+                accepted.add(processed);
+            }
+        }
+        if (accepted.isEmpty() && !routes.isEmpty()) {
+            throw new RuntimeException("요청 거리와 맞는 유효한 경로가 없습니다.");
+        }
+        return accepted;
+    }
+
+    /**
+     * 단일 코스 검증/보정 (제외 대상이면 null)
+     */
+    public RouteData process(RouteData route, Float requestedDistance, RegionInfo region) {
+        routesProcessed.increment();
+        GeoPath original = route.getCoordinates() != null ? route.getCoordinates() : GeoPath.empty();
+
+        GeoPath cleaned = stripOutliers(original, region, requestedDistance);
+        outliersRemoved.add(original.size() - cleaned.size());
+        if (cleaned.size() < 2) {
+            routesRejected.increment();
+            log.warn("Route '{}' rejected: not enough valid coordinates ({} → {})",
+                    route.getName(), original.size(), cleaned.size());
+            return null;
+        }
+
+        double lengthKm = GeoUtils.pathLengthKm(cleaned);
+        boolean flagged = false;
+        if (requestedDistance != null && requestedDistance > 0) {
+            double deviation = Math.abs(lengthKm - requestedDistance) / requestedDistance;
+            if (deviation > distanceRejectRatio) {
+                routesRejected.increment();
+                log.warn("Route '{}' rejected: measured {}km, requested {}km, claimed {}km",
+                        route.getName(), String.format("%.2f", lengthKm), requestedDistance, route.getDistance());
+                return null;
+            }
+            flagged = deviation > distanceFlagRatio;
+        }
+        if (flagged) {
+            routesFlagged.increment();
+        }
+
+        GeoPath simplified = simplify(cleaned, simplifyToleranceMeters);
+        // 통과한 코스만 집계 (제외된 코스가 감소율을 부풀리지 않도록)
+        pointsBefore.add(original.size());
+        pointsAfter.add(simplified.size());
+
+        route.setClaimedDistance(route.getDistance());
+        route.setDistance(Math.round(lengthKm * 10) / 10.0f);
+        route.setDistanceMismatch(flagged);
+        route.setCoordinates(simplified);
+        if (!isValid(route.getStartPointLat(), route.getStartPointLng())) {
+            route.setStartPointLat(simplified.lat(0));
+            route.setStartPointLng(simplified.lng(0));
+        }
+        // 고도 데이터가 없으므로 상승 고도는 거리 대비 상한만 적용
+        if (route.getElevationGain() != null) {
+            int maxGain = (int) Math.ceil(lengthKm * maxElevationPerKm);
+            route.setElevationGain(Math.max(0, Math.min(route.getElevationGain(), maxGain)));
+        }
+        return route;
+    }
+
+    /**
+     * 검증/단순화 통계 (좌표 수 전후 - 응답 크기는 좌표 수에 비례하므로 요청 경로에서 따로 직렬화하지 않음)
+     */
+    public Map<String, Object> stats() {
+        long before = pointsBefore.sum();
+        long after = pointsAfter.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("simplifyToleranceMeters", simplifyToleranceMeters);
+        stats.put("routesProcessed", routesProcessed.sum());
+        stats.put("routesRejected", routesRejected.sum());
+        stats.put("routesFlagged", routesFlagged.sum());
+        stats.put("outliersRemoved", outliersRemoved.sum());
+        stats.put("pointsBefore", before);
+        stats.put("pointsAfter", after);
+        stats.put("pointReduction", before == 0 ? 0.0 : Math.round((before - after) * 1000.0 / before) / 1000.0);
+        return stats;
+    }
+
+    /**
+     * 잘못된 좌표, 지역 중심에서 (요청 거리 + 여유) 밖의 좌표, 앞뒤 구간보다 크게 튀는 좌표 제거
+     */
+    GeoPath stripOutliers(GeoPath path, RegionInfo region, Float requestedDistance) {
+        double radiusKm = (requestedDistance != null && requestedDistance > 0 ? requestedDistance : 10.0) + regionMarginKm;
+        GeoPath.Builder inRegion = GeoPath.builder(path.size());
+        for (int i = 0; i < path.size(); i++) {
+            double lat = path.lat(i);
+            double lng = path.lng(i);
+            if (!isValid(lat, lng)) {
+                continue;
+            }
+            if (region != null && GeoUtils.haversineKm(region.getCenterLat(), region.getCenterLng(), lat, lng) > radiusKm) {
+                continue;
+            }
+            inRegion.add(lat, lng);
+        }
+        GeoPath candidates = inRegion.build();
+        if (candidates.size() < 3) {
+            return candidates;
+        }
+
+        // 이전 점 → 현재 점 → 다음 점 왕복이 직접 연결보다 훨씬 긴 경우 튀는 점으로 판단
+        GeoPath.Builder result = GeoPath.builder(candidates.size());
+        result.add(candidates.lat(0), candidates.lng(0));
+        int previous = 0;
+        for (int i = 1; i < candidates.size() - 1; i++) {
+            double in = GeoUtils.haversineKm(candidates.lat(previous), candidates.lng(previous), candidates.lat(i), candidates.lng(i));
+            double out = GeoUtils.haversineKm(candidates.lat(i), candidates.lng(i), candidates.lat(i + 1), candidates.lng(i + 1));
+            double direct = GeoUtils.haversineKm(candidates.lat(previous), candidates.lng(previous),
+                    candidates.lat(i + 1), candidates.lng(i + 1));
+            boolean spike = in > spikeMinKm && out > spikeMinKm && in + out > 3 * Math.max(direct, 0.1);
+            if (!spike) {
+                result.add(candidates.lat(i), candidates.lng(i));
+                previous = i;
+            }
+        }
+        int last = candidates.size() - 1;
+        result.add(candidates.lat(last), candidates.lng(last));
+        return result.build();
+    }
+
+    /**
+     * Douglas-Peucker 단순화 - 시작점 기준 평면 근사(미터)로 선분과의 거리 계산, 재귀 대신 스택 사용
+     */
+    static GeoPath simplify(GeoPath path, double toleranceMeters) {
+        int n = path.size();
+        if (n <= 2 || toleranceMeters <= 0) {
+            return path;
+        }
+        double cosLat = Math.cos(Math.toRadians(path.lat(0)));
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (path.lng(i) - path.lng(0)) * METERS_PER_DEG_LNG * cosLat;
+            y[i] = (path.lat(i) - path.lat(0)) * METERS_PER_DEG_LAT;
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        double toleranceSquared = toleranceMeters * toleranceMeters;
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, n - 1});
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int from = range[0];
+            int to = range[1];
+            double maxDistance = -1;
+            int farthest = -1;
+            for (int i = from + 1; i < to; i++) {
+                double d = segmentDistanceSquared(x[i], y[i], x[from], y[from], x[to], y[to]);
+                if (d > maxDistance) {
+                    maxDistance = d;
+                    farthest = i;
+                }
+            }
+            if (farthest >= 0 && maxDistance > toleranceSquared) {
+                keep[farthest] = true;
+                stack.push(new int[]{from, farthest});
+                stack.push(new int[]{farthest, to});
+            }
+        }
+
+        GeoPath.Builder builder = GeoPath.builder(n);
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                builder.add(path.lat(i), path.lng(i));
+            }
+        }
+        return builder.build();
+    }
+
+    private static double segmentDistanceSquared(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+        double cx = ax + t * dx - px;
+        double cy = ay + t * dy - py;
+        return cx * cx + cy * cy;
+    }
+
+    private static boolean isValid(Double lat, Double lng) {
+        return lat != null && lng != null
+                && Double.isFinite(lat) && Double.isFinite(lng)
+                && Math.abs(lat) <= 90 && Math.abs(lng) <= 180
+                && !(lat == 0 && lng == 0);
+    }
+}
@@ -0,0 +1,280 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.entity.RunnerDailyStats;
+import com.krugs.hackathon_1.entity.RunningRecord;
+import com.krugs.hackathon_1.repository.RunnerDailyStatsRepository;
+import com.krugs.hackathon_1.repository.RunningRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * 러너별 일 단위 기록 합계 (runner_daily_stats)
+ * - 기록 저장/삭제 트랜잭션 안에서 해당 날짜 행을 SQL로 원자적 증감
+ * - 날짜 행은 저장 트랜잭션 전에 따로 생성 (동시 생성은 유니크 제약으로 하나만 저장)
+ * - 주/월/연 통계와 히트맵은 날짜 범위 조회 또는 일 합계의 GROUP BY로 계산 → 기록 수와 무관
+ * - 러너 통계 행을 처음 만들 때 기존 기록에서 일괄 생성, 정기 검증 때 기록 테이블과 대조
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunnerRollupService {
+
+    public static final int MAX_WEEKS = 104;
+    public static final int MAX_HEATMAP_DAYS = 366;
+
+    // 검증 시 한 번에 메모리에 올리는 러너 수 (러너당 최대 수천 일)
+    private static final int VERIFY_CHUNK_SIZE = 50;
+
+    private final RunnerDailyStatsRepository dailyRepository;
+    private final RunningRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 기록 날짜의 일 합계 행이 없으면 생성 (기록 저장 트랜잭션보다 먼저 호출)
+     */
+    public void ensureDay(Long runnerId, LocalDate day) {
+        if (dailyRepository.existsByRunnerIdAndRunDate(runnerId, day)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> dailyRepository.saveAndFlush(RunnerDailyStats.builder()
+                    .runnerId(runnerId)
+                    .runDate(day)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 생성함
+        }
+    }
+
+    /**
+     * 기존 기록으로 러너의 일 합계 행 생성 (러너 통계 행 생성과 같은 트랜잭션)
+     * 통계 행 없이 남아 있던 날짜 행은 지우고 다시 만듦
+     */
+    public void backfill(Long runnerId) {
+        dailyRepository.deleteByRunner(runnerId);
+        List<RunnerDailyStats> days = recordRepository.findDailyTotals(List.of(runnerId)).stream()
+                .map(totals -> RunnerDailyStats.builder()
+                        .runnerId(runnerId)
+                        .runDate(totals.getRunDate())
+                        .records(totals.getRecords())
+                        .distance(totals.getDistance())
+                        .seconds(totals.getSeconds())
+                        .calories(totals.getCalories())
+                        .build())
+                .toList();
+        dailyRepository.saveAll(days);
+    }
+
+    /**
+     * 기록 추가 반영 (기록 저장과 같은 트랜잭션에서 호출)
+     */
+    public void recordAdded(RunningRecord record) {
+        dailyRepository.addTotals(record.getRunnerId(), record.getRecordDate().toLocalDate(),
+                1, record.getDistance(), record.getDurationSeconds(), calories(record));
+    }
+
+    /**
+     * 기록 삭제 반영 (기록 삭제와 같은 트랜잭션에서 호출)
+     */
+    public void recordRemoved(RunningRecord record) {
+        dailyRepository.addTotals(record.getRunnerId(), record.getRecordDate().toLocalDate(),
+                -1, -record.getDistance(), -record.getDurationSeconds(), -calories(record));
+    }
+
+    /**
+     * 최근 weeks주의 주간 합계 (월요일 시작, 기록이 없는 주 포함, 오래된 주부터)
+     */
+    public List<Map<String, Object>> getWeekly(Long runnerId, int weeks) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new RuntimeException("주 수는 1~" + MAX_WEEKS + " 사이여야 합니다.");
+        }
+        LocalDate thisWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate from = thisWeek.minusWeeks(weeks - 1L);
+
+        long[] records = new long[weeks];
+        double[] distance = new double[weeks];
+        long[] seconds = new long[weeks];
+        long[] calories = new long[weeks];
+        for (RunnerDailyStats day : dailyRepository.findRange(runnerId, from, thisWeek.plusDays(6))) {
+            int week = (int) (ChronoUnit.DAYS.between(from, day.getRunDate()) / 7);
+            records[week] += day.getRecords();
+            distance[week] += day.getDistance();
+            seconds[week] += day.getSeconds();
+            calories[week] += day.getCalories();
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(weeks);
+        for (int week = 0; week < weeks; week++) {
+            Map<String, Object> entry = volume(records[week], distance[week], seconds[week], calories[week]);
+            entry.put("weekStart", from.plusWeeks(week).toString());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * 월별 거리 ("yyyy-MM" → km, 최근 월부터)
+     */
+    public Map<String, Object> getMonthlyDistance(Long runnerId) {
+        Map<String, Object> monthly = new LinkedHashMap<>();
+        for (RunnerDailyStatsRepository.PeriodView month : dailyRepository.findMonthly(runnerId)) {
+            monthly.put(String.format("%04d-%02d", month.getYear(), month.getMonth()), round(month.getDistance()));
+        }
+        return monthly;
+    }
+
+    /**
+     * 연도별 합계 (최근 연도부터)
+     */
+    public List<Map<String, Object>> getYearly(Long runnerId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (RunnerDailyStatsRepository.PeriodView year : dailyRepository.findYearly(runnerId)) {
+            Map<String, Object> entry = volume(year.getRecords(), year.getDistance(), year.getSeconds(), year.getCalories());
+            entry.put("year", year.getYear());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * 최근 days일 활동 히트맵 (기록이 있는 날만, level은 최대 거리 대비 1~4단계)
+     */
+    public Map<String, Object> getHeatmap(Long runnerId, int days) {
+        if (days < 1 || days > MAX_HEATMAP_DAYS) {
+            throw new RuntimeException("일 수는 1~" + MAX_HEATMAP_DAYS + " 사이여야 합니다.");
+        }
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(days - 1L);
+        List<RunnerDailyStats> active = dailyRepository.findRange(runnerId, from, to);
+
+        double maxDistance = 0;
+        for (RunnerDailyStats day : active) {
+            maxDistance = Math.max(maxDistance, day.getDistance());
+        }
+        List<Map<String, Object>> cells = new ArrayList<>(active.size());
+        for (RunnerDailyStats day : active) {
+            Map<String, Object> cell = new LinkedHashMap<>();
+            cell.put("date", day.getRunDate().toString());
+            cell.put("records", day.getRecords());
+            cell.put("distance", round(day.getDistance()));
+            cell.put("level", maxDistance > 0 ? Math.max(1, (int) Math.ceil(4 * day.getDistance() / maxDistance)) : 1);
+            cells.add(cell);
+        }
+
+        Map<String, Object> heatmap = new LinkedHashMap<>();
+        heatmap.put("from", from.toString());
+        heatmap.put("to", to.toString());
+        heatmap.put("activeDays", cells.size());
+        heatmap.put("maxDistance", round(maxDistance));
+        heatmap.put("days", cells);
+        return heatmap;
+    }
+
+    /**
+     * 러너들의 일 합계를 기록 테이블의 날짜별 GROUP BY와 대조하여 어긋난 날을 바로잡음
+     * 일 합계를 먼저 읽고 기록을 집계하므로, 그 사이 저장/삭제된 날은 version이 달라 건너뜀
+     * @return 어긋난 날 수, 바로잡은 날 수
+     */
+    public int[] verify(List<Long> runnerIds) {
+        int[] result = new int[2];
+        for (int start = 0; start < runnerIds.size(); start += VERIFY_CHUNK_SIZE) {
+            int[] chunk = verifyChunk(runnerIds.subList(start, Math.min(start + VERIFY_CHUNK_SIZE, runnerIds.size())));
+            result[0] += chunk[0];
+            result[1] += chunk[1];
+        }
+        return result;
+    }
+
+    private int[] verifyChunk(List<Long> runnerIds) {
+        Map<String, RunnerDailyStats> stored = new HashMap<>();
+        for (RunnerDailyStats day : dailyRepository.findByRunnerIdIn(runnerIds)) {
+            stored.put(key(day.getRunnerId(), day.getRunDate()), day);
+        }
+        int mismatched = 0;
+        int corrected = 0;
+        for (RunningRecordRepository.DailyTotalsView actual : recordRepository.findDailyTotals(runnerIds)) {
+            RunnerDailyStats day = stored.remove(key(actual.getRunnerId(), actual.getRunDate()));
+            if (day != null && matches(day, actual.getRecords(), actual.getDistance(), actual.getSeconds(), actual.getCalories())) {
+                continue;
+            }
+            mismatched++;
+            log.warn("Runner daily stats mismatch. Runner: {}, day: {}", actual.getRunnerId(), actual.getRunDate());
+            if (day == null ? insert(actual) : overwrite(day, actual.getRecords(), actual.getDistance(),
+                    actual.getSeconds(), actual.getCalories())) {
+                corrected++;
+            }
+        }
+        // 남은 행은 기록이 없는 날 - 합계가 0이어야 함
+        for (RunnerDailyStats day : stored.values()) {
+            if (matches(day, 0, 0, 0, 0)) {
+                continue;
+            }
+            mismatched++;
+            log.warn("Runner daily stats mismatch. Runner: {}, day: {}", day.getRunnerId(), day.getRunDate());
+            if (overwrite(day, 0, 0, 0, 0)) {
+                corrected++;
+            }
+        }
+        return new int[] {mismatched, corrected};
+    }
+
+    private boolean insert(RunningRecordRepository.DailyTotalsView actual) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> dailyRepository.saveAndFlush(RunnerDailyStats.builder()
+                    .runnerId(actual.getRunnerId())
+                    .runDate(actual.getRunDate())
+                    .records(actual.getRecords())
+                    .distance(actual.getDistance())
+                    .seconds(actual.getSeconds())
+                    .calories(actual.getCalories())
+                    .build()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 대조 중 저장 요청이 날짜 행을 만듦 - 다음 검증 때 다시 확인
+            return false;
+        }
+    }
+
+    private boolean overwrite(RunnerDailyStats day, long records, double distance, long seconds, long calories) {
+        Integer updated = transactionTemplate.execute(status ->
+                dailyRepository.overwrite(day.getId(), day.getVersion(), records, distance, seconds, calories));
+        return updated != null && updated > 0;
+    }
+
+    private static boolean matches(RunnerDailyStats day, long records, double distance, long seconds, long calories) {
+        return day.getRecords() == records
+                && Math.abs(day.getDistance() - distance) < 0.001
+                && day.getSeconds() == seconds
+                && day.getCalories() == calories;
+    }
+
+    private static String key(Long runnerId, LocalDate day) {
+        return runnerId + ":" + day;
+    }
+
+    private static Map<String, Object> volume(long records, double distance, long seconds, long calories) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("records", records);
+        entry.put("distance", round(distance));
+        entry.put("totalTime", seconds);
+        entry.put("totalCalories", calories);
+        return entry;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static long calories(RunningRecord record) {
+        return record.getCaloriesBurned() != null ? record.getCaloriesBurned() : 0;
+    }
+}
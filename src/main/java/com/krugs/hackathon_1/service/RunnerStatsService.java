@@ -0,0 +1,300 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.RunnerStatsDTO;
+import com.krugs.hackathon_1.entity.RunnerStats;
+import com.krugs.hackathon_1.entity.RunningRecord;
+import com.krugs.hackathon_1.repository.RunnerStatsRepository;
+import com.krugs.hackathon_1.repository.RunningRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 러너별 누적 통계 (runner_stats 테이블 + 메모리 캐시)
+ * - 기록 저장/삭제 트랜잭션 안에서 합계를 SQL로 원자적 증감, 최고 페이스/최장 거리는 더 좋을 때만 교체
+ * - 최고 페이스/최장 거리 기록이 삭제되면 인덱스로 다음 기록 하나만 조회
+ * - 통계 행이 없는 러너는 처음 쓰거나 읽을 때 기존 기록의 GROUP BY 합계로 생성 (일 합계 행도 함께)
+ * - 커밋 후 행을 다시 읽어 캐시에 반영 (version이 더 큰 값만 교체 → 늦게 도착한 이전 값이 덮어쓰지 않음)
+ * - 주기적으로 기록 테이블과 대조하여 어긋난 행(일 합계 포함)을 바로잡음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunnerStatsService {
+
+    private static final int REBUILD_BATCH_SIZE = 1_000;
+
+    @Value("${runner.stats.best-pace-min-distance-km:1.0}")
+    private float bestPaceMinDistanceKm;
+
+    @Value("${runner.stats.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private final RunnerStatsRepository statsRepository;
+    private final RunningRecordRepository recordRepository;
+    private final RunnerRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, RunnerStatsDTO> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder initialized = new LongAdder();
+
+    /**
+     * 러너 통계 (캐시 → runner_stats 행 → 없으면 기존 기록으로 생성)
+     */
+    public RunnerStatsDTO get(Long runnerId) {
+        RunnerStatsDTO cached = cache.get(runnerId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        ensure(runnerId);
+        RunnerStatsDTO loaded = refresh(runnerId);
+        if (loaded == null) {
+            throw new RuntimeException("러너 통계를 불러올 수 없습니다.");
+        }
+        return loaded;
+    }
+
+    /**
+     * 통계 행이 없으면 기존 기록 합계로 생성 (기록 저장/삭제 트랜잭션보다 먼저 호출)
+     * 동시에 생성하면 기본 키 충돌로 하나만 저장됨
+     */
+    public void ensure(Long runnerId) {
+        if (cache.containsKey(runnerId) || statsRepository.existsById(runnerId)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                statsRepository.saveAndFlush(initialStats(runnerId));
+                rollupService.backfill(runnerId);
+            });
+            initialized.increment();
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 생성함
+        }
+    }
+
+    /**
+     * 기록 추가 반영 (기록 저장과 같은 트랜잭션에서 호출)
+     */
+    public void recordAdded(RunningRecord record) {
+        Long runnerId = record.getRunnerId();
+        if (statsRepository.addTotals(runnerId, 1, record.getDistance(), record.getDurationSeconds(),
+                calories(record), LocalDateTime.now()) == 0) {
+            // 행이 없으면 다음 조회 때 기록 합계로 생성됨
+            return;
+        }
+        if (qualifiesForBestPace(record)) {
+            statsRepository.offerBestPace(runnerId, record.getAvgPace(), record.getId());
+        }
+        statsRepository.offerLongest(runnerId, record.getDistance(), record.getId());
+    }
+
+    /**
+     * 기록 삭제 반영 (기록 삭제와 같은 트랜잭션에서 호출)
+     * 합계 갱신으로 행이 잠긴 뒤 최고 기록을 확인하므로 같은 러너의 동시 저장과 섞이지 않음
+     */
+    public void recordRemoved(RunningRecord record) {
+        Long runnerId = record.getRunnerId();
+        if (statsRepository.addTotals(runnerId, -1, -record.getDistance(), -record.getDurationSeconds(),
+                -calories(record), LocalDateTime.now()) == 0) {
+            return;
+        }
+        RunnerStatsDTO stats = statsRepository.findSnapshot(runnerId).orElseThrow();
+        if (record.getId().equals(stats.bestPaceRecordId())) {
+            RunnerStatsDTO.Best best = bestPace(runnerId, record.getId());
+            statsRepository.setBestPace(runnerId, best.value(), best.recordId());
+        }
+        if (record.getId().equals(stats.longestRecordId())) {
+            RunnerStatsDTO.Best longest = longest(runnerId, record.getId());
+            statsRepository.setLongest(runnerId, longest.value(), longest.recordId());
+        }
+    }
+
+    /**
+     * 커밋된 행을 다시 읽어 캐시 반영
+     * @return 최신 통계 (행이 없으면 null)
+     */
+    public RunnerStatsDTO refresh(Long runnerId) {
+        RunnerStatsDTO loaded = statsRepository.findSnapshot(runnerId).orElse(null);
+        if (loaded == null) {
+            cache.remove(runnerId);
+            return null;
+        }
+        evictIfNeeded();
+        return cache.merge(runnerId, loaded,
+                (current, fresh) -> fresh.version() >= current.version() ? fresh : current);
+    }
+
+    /**
+     * 정기 검증 (기본 매일 04:30)
+     */
+    @Scheduled(cron = "${runner.stats.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Runner stats rebuild skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 모든 통계 행을 기록 테이블의 GROUP BY 합계와 대조하고 어긋난 행을 바로잡음
+     * 대조 중 다른 저장/삭제로 version이 바뀐 행은 건너뜀 (다음 검증 때 다시 확인)
+     */
+    public Map<String, Object> rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new RuntimeException("통계 검증이 이미 진행 중입니다.");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            int checked = 0;
+            int mismatched = 0;
+            int corrected = 0;
+            int dailyMismatched = 0;
+            int dailyCorrected = 0;
+            long lastId = 0;
+            List<RunnerStatsDTO> batch;
+            do {
+                batch = statsRepository.findSnapshots(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Long, RunnerStatsDTO.Totals> totals = recordRepository
+                        .findRunnerTotals(batch.stream().map(RunnerStatsDTO::runnerId).toList(), bestPaceMinDistanceKm)
+                        .stream()
+                        .collect(Collectors.toMap(RunnerStatsDTO.Totals::runnerId, Function.identity()));
+                for (RunnerStatsDTO stats : batch) {
+                    checked++;
+                    RunnerStatsDTO.Totals actual = totals.getOrDefault(stats.runnerId(),
+                            RunnerStatsDTO.Totals.empty(stats.runnerId()));
+                    if (stats.matches(actual)) {
+                        continue;
+                    }
+                    mismatched++;
+                    log.warn("Runner stats mismatch. Runner: {}, stored: {}, actual: {}", stats.runnerId(), stats, actual);
+                    if (overwrite(stats, actual)) {
+                        corrected++;
+                        refresh(stats.runnerId());
+                    }
+                }
+                int[] daily = rollupService.verify(batch.stream().map(RunnerStatsDTO::runnerId).toList());
+                dailyMismatched += daily[0];
+                dailyCorrected += daily[1];
+                lastId = batch.get(batch.size() - 1).runnerId();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            long millis = System.currentTimeMillis() - started;
+            log.info("Runner stats verified: {} runners, {} mismatched, {} corrected, {} daily mismatched, {} daily corrected, {} ms",
+                    checked, mismatched, corrected, dailyMismatched, dailyCorrected, millis);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("checked", checked);
+            result.put("mismatched", mismatched);
+            result.put("corrected", corrected);
+            result.put("skipped", mismatched - corrected);
+            result.put("dailyMismatched", dailyMismatched);
+            result.put("dailyCorrected", dailyCorrected);
+            result.put("millis", millis);
+            result.put("cacheSize", cache.size());
+            result.put("cacheHits", hits.sum());
+            result.put("cacheMisses", misses.sum());
+            result.put("initialized", initialized.sum());
+            return result;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private boolean overwrite(RunnerStatsDTO stats, RunnerStatsDTO.Totals actual) {
+        Integer updated = transactionTemplate.execute(status -> {
+            RunnerStatsDTO.Best best = bestPace(stats.runnerId(), null);
+            RunnerStatsDTO.Best longest = longest(stats.runnerId(), null);
+            return statsRepository.overwrite(stats.runnerId(), stats.version(),
+                    actual.records(), actual.distance(), actual.seconds(), actual.calories(),
+                    best.value(), best.recordId(), longest.value(), longest.recordId(), LocalDateTime.now());
+        });
+        return updated != null && updated > 0;
+    }
+
+    private RunnerStats initialStats(Long runnerId) {
+        RunnerStatsDTO.Totals totals = recordRepository
+                .findRunnerTotals(List.of(runnerId), bestPaceMinDistanceKm)
+                .stream().findFirst()
+                .orElse(RunnerStatsDTO.Totals.empty(runnerId));
+        RunnerStatsDTO.Best best = bestPace(runnerId, null);
+        RunnerStatsDTO.Best longest = longest(runnerId, null);
+        return RunnerStats.builder()
+                .runnerId(runnerId)
+                .totalRecords(totals.records())
+                .totalDistance(totals.distance())
+                .totalSeconds(totals.seconds())
+                .totalCalories(totals.calories())
+                .bestPace(best.value())
+                .bestPaceRecordId(best.recordId())
+                .longestDistance(longest.value())
+                .longestRecordId(longest.recordId())
+                .build();
+    }
+
+    /**
+     * 최고 페이스 기록 (excludeId는 같은 트랜잭션에서 삭제 중인 기록)
+     */
+    private RunnerStatsDTO.Best bestPace(Long runnerId, Long excludeId) {
+        return first(recordRepository.findBestPace(runnerId, bestPaceMinDistanceKm, Limit.of(2)), excludeId);
+    }
+
+    private RunnerStatsDTO.Best longest(Long runnerId, Long excludeId) {
+        return first(recordRepository.findLongest(runnerId, Limit.of(2)), excludeId);
+    }
+
+    private static RunnerStatsDTO.Best first(List<RunnerStatsDTO.Best> candidates, Long excludeId) {
+        for (RunnerStatsDTO.Best candidate : candidates) {
+            if (!candidate.recordId().equals(excludeId)) {
+                return candidate;
+            }
+        }
+        return new RunnerStatsDTO.Best(null, null);
+    }
+
+    private boolean qualifiesForBestPace(RunningRecord record) {
+        return record.getAvgPace() != null && record.getAvgPace() > 0 && record.getDistance() >= bestPaceMinDistanceKm;
+    }
+
+    private static long calories(RunningRecord record) {
+        return record.getCaloriesBurned() != null ? record.getCaloriesBurned() : 0;
+    }
+
+    /**
+     * 캐시가 가득 차면 임의의 10%를 비움 (다음 조회 때 행에서 다시 읽음)
+     */
+    private void evictIfNeeded() {
+        if (cache.size() < cacheMaxSize) {
+            return;
+        }
+        int toRemove = Math.max(1, cacheMaxSize / 10);
+        Iterator<Long> keys = cache.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
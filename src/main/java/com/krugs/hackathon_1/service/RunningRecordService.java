@@ -1,14 +1,34 @@
 package com.krugs.hackathon_1.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.CursorPage;
+import com.krugs.hackathon_1.dto.RunnerStatsDTO;
 import com.krugs.hackathon_1.dto.RunningRecordDTO;
 import com.krugs.hackathon_1.entity.RunningRecord;
 import com.krugs.hackathon_1.repository.RunningRecordRepository;
+import com.krugs.hackathon_1.util.GpsTrackCodec;
+import com.krugs.hackathon_1.util.GpxWriter;
+import com.krugs.hackathon_1.util.PageCursor;
+import com.krugs.hackathon_1.util.TrackAnalyzer;
+import com.krugs.hackathon_1.util.TrackBuffer;
+import com.krugs.hackathon_1.util.TrackFileReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,42 +37,38 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RunningRecordService {
     
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+    
+    @Value("${track.import.max-points:200000}")
+    private int maxImportPoints;
+    
     private final RunningRecordRepository recordRepository;
     private final ObjectMapper objectMapper;
+    private final RunnerStatsService runnerStatsService;
+    private final RunnerRollupService rollupService;
+    private final TrackAnalysisService analysisService;
+    private final TransactionTemplate transactionTemplate;
     
     /**
      * 달리기 기록 저장
      */
     public RunningRecordDTO saveRecord(RunningRecordDTO dto, Long runnerId) {
         try {
+            byte[] gpsTrack = null;
             String gpsJson = null;
             if (dto.getGpsData() != null) {
-                gpsJson = objectMapper.writeValueAsString(dto.getGpsData());
+                TrackBuffer track = GpsTrackCodec.toTrack(dto.getGpsData());
+                if (track != null) {
+                    gpsTrack = GpsTrackCodec.encode(track);
+                } else {
+                    gpsJson = objectMapper.writeValueAsString(dto.getGpsData());
+                }
             }
-            
-            Float avgPace = calculateAvgPace(dto.getDistance().doubleValue(), dto.getDurationSeconds().doubleValue());
-            Integer calories = dto.getCaloriesBurned() != null ? 
-                dto.getCaloriesBurned() : calculateCalories(dto.getDistance());
-            
-            RunningRecord record = RunningRecord.builder()
-                .runnerId(runnerId)
-                .courseId(dto.getCourseId())
-                .distance(dto.getDistance())
-                .durationSeconds(dto.getDurationSeconds())
-                .avgPace(avgPace)
-                .caloriesBurned(calories)
-                .routePolyline(dto.getRoutePolyline())
-                .gpsData(gpsJson)
-                .notes(dto.getNotes())
-                .recordDate(dto.getRecordDate() != null ? dto.getRecordDate() : LocalDateTime.now())
-                .build();
-            
-            RunningRecord saved = recordRepository.save(record);
-            log.info("Running record saved. ID: {}, Runner: {}, Distance: {}km", 
-                     saved.getId(), runnerId, dto.getDistance());
-            
-            return convertToDTO(saved);
-            
+            return save(dto, gpsTrack, gpsJson, runnerId);
         } catch (Exception e) {
             log.error("Error saving running record", e);
             throw new RuntimeException("기록 저장 실패: " + e.getMessage());
@@ -60,11 +76,208 @@ public class RunningRecordService {
     }
     
     /**
-     * 사용자의 모든 기록 조회
+     * GPX/TCX 파일에서 기록 가져오기
+     * 파일을 스트리밍으로 읽으며 GPS 포인트를 열 단위 버퍼(TrackBuffer)에 쌓고, 거리/시간은 누적 계산
+     * (포인트 목록 객체를 만들지 않음)
      */
-    public List<RunningRecordDTO> getUserRecords(Long runnerId) {
-        List<RunningRecord> records = recordRepository.findByRunnerIdOrderByRecordDateDesc(runnerId);
-        return records.stream().map(this::convertToDTO).collect(Collectors.toList());
+    public RunningRecordDTO importRecord(InputStream in, Long runnerId, Long courseId, String notes) {
+        TrackBuffer track = new TrackBuffer(1024);
+        try {
+            TrackFileReader.read(in, maxImportPoints, point -> track.append(point.lat(), point.lng(), point.elevation(),
+                point.time() != null ? point.time().toEpochMilli() : TrackBuffer.NO_TIME,
+                point.heartRate() != null ? point.heartRate() : 0));
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+        
+        if (track.size() < 2) {
+            throw new RuntimeException("GPS 포인트가 2개 이상 있는 파일이어야 합니다.");
+        }
+        if (track.firstTime() == TrackBuffer.NO_TIME || track.lastTime() <= track.firstTime()) {
+            throw new RuntimeException("시간 정보가 있는 기록 파일이어야 합니다.");
+        }
+        
+        RunningRecordDTO dto = RunningRecordDTO.builder()
+            .courseId(courseId)
+            .distance((float) (Math.round(track.distanceKm() * 100) / 100.0))
+            .durationSeconds((int) ((track.lastTime() - track.firstTime()) / 1000))
+            .notes(notes)
+            .recordDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(track.firstTime()), ZoneId.systemDefault()))
+            .build();
+        try {
+            RunningRecordDTO saved = save(dto, GpsTrackCodec.encode(track), null, runnerId);
+            log.info("Running record imported. ID: {}, points: {}", saved.getId(), track.size());
+            return saved;
+        } catch (Exception e) {
+            log.error("Error saving imported running record", e);
+            throw new RuntimeException("기록 저장 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 기록 GPS 경로를 GPX로 내보내기
+     * 기록이 없으면 바로 예외, 있으면 바이너리 트랙을 커서로 읽으며 (이전 형식은 JSON을 토큰 단위로 읽으며) 응답 출력 스트림에 씀
+     */
+    public StreamingResponseBody exportGpx(Long recordId) {
+        RunningRecord record = recordRepository.findById(recordId)
+            .orElseThrow(() -> new RuntimeException("기록을 찾을 수 없습니다."));
+        String name = record.getRecordDate() != null ? "Run " + record.getRecordDate().toLocalDate() : null;
+        byte[] gpsTrack = record.getGpsTrack();
+        if (gpsTrack != null) {
+            return out -> {
+                try (GpxWriter gpx = new GpxWriter(out, name)) {
+                    GpsTrackCodec.Cursor cursor = GpsTrackCodec.cursor(gpsTrack);
+                    while (cursor.next()) {
+                        gpx.point(cursor.lat(), cursor.lng(), cursor.elevation(),
+                            cursor.time() != TrackBuffer.NO_TIME ? Instant.ofEpochMilli(cursor.time()) : null,
+                            cursor.heartRate() > 0 ? cursor.heartRate() : null);
+                    }
+                }
+            };
+        }
+        if (record.getGpsData() == null || record.getGpsData().isBlank()) {
+            throw new RuntimeException("GPS 데이터가 없는 기록입니다.");
+        }
+        String gpsData = record.getGpsData();
+        
+        return out -> {
+            try (GpxWriter gpx = new GpxWriter(out, name);
+                 JsonParser parser = objectMapper.getFactory().createParser(gpsData)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    return;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    writeGpsPoint(parser, gpx);
+                }
+            }
+        };
+    }
+    
+    /**
+     * GPS JSON 객체 하나를 읽어 GPX 포인트로 출력 (lat/lng 또는 latitude/longitude, 시각은 ISO 문자열 또는 epoch ms)
+     */
+    private void writeGpsPoint(JsonParser parser, GpxWriter gpx) throws IOException {
+        double lat = Double.NaN;
+        double lng = Double.NaN;
+        double elevation = Double.NaN;
+        Instant time = null;
+        Integer heartRate = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "lat", "latitude" -> lat = parser.getValueAsDouble(Double.NaN);
+                case "lng", "lon", "longitude" -> lng = parser.getValueAsDouble(Double.NaN);
+                case "ele", "elevation", "altitude" -> elevation = parser.getValueAsDouble(Double.NaN);
+                case "time", "timestamp" -> time = value == JsonToken.VALUE_STRING
+                    ? parseInstant(parser.getText()) : Instant.ofEpochMilli(parser.getValueAsLong());
+                case "hr", "heartRate" -> heartRate = parser.getValueAsInt();
+                default -> {
+                }
+            }
+        }
+        if (!Double.isNaN(lat) && !Double.isNaN(lng)) {
+            gpx.point(lat, lng, elevation, time, heartRate);
+        }
+    }
+    
+    private static Instant parseInstant(String text) {
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * 이전 형식(JSON) GPS 데이터를 바이너리 컬럼으로 옮기고 JSON 컬럼은 비움
+     * 손실 없이 옮길 수 없는 데이터(읽을 수 없는 JSON 포함)는 JSON 그대로 두고 이전 대상에서 제외하도록 표시
+     * @return 옮겨졌으면 true (JSON으로 남긴 데이터나 그 사이 삭제된 기록은 false)
+     */
+    public boolean migrateGps(Long recordId, String gpsJson) {
+        TrackBuffer track;
+        try {
+            List<Map<String, Object>> points = gpsJson.isBlank() ? List.of() : objectMapper.readValue(gpsJson,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
+            track = GpsTrackCodec.toTrack(points);
+        } catch (JsonProcessingException e) {
+            track = null;
+        }
+        if (track == null) {
+            transactionTemplate.executeWithoutResult(status -> recordRepository.keepGpsJson(recordId));
+            return false;
+        }
+        byte[] gpsTrack = GpsTrackCodec.encode(track);
+        Integer updated = transactionTemplate.execute(status -> recordRepository.migrateGps(recordId, gpsTrack));
+        return updated != null && updated > 0;
+    }
+    
+    /**
+     * 기록 저장 (GPS 데이터는 바이너리 트랙, 바이너리로 표현할 수 없으면 JSON 문자열로 전달)
+     * 바이너리 트랙은 저장 전에 분석하여 km 구간 기록을 함께 저장
+     * 기록 INSERT와 러너 통계/일 합계 증감, 최고 기록 저장은 한 트랜잭션, 커밋 후 통계 캐시 갱신
+     * (실시간 기록 종료 시 LiveTrackingService도 사용)
+     */
+    RunningRecordDTO save(RunningRecordDTO dto, byte[] gpsTrack, String gpsJson, Long runnerId) {
+        Float avgPace = calculateAvgPace(dto.getDistance().doubleValue(), dto.getDurationSeconds().doubleValue());
+        Integer calories = dto.getCaloriesBurned() != null ? 
+            dto.getCaloriesBurned() : calculateCalories(dto.getDistance());
+        
+        RunningRecord record = RunningRecord.builder()
+            .runnerId(runnerId)
+            .courseId(dto.getCourseId())
+            .distance(dto.getDistance())
+            .durationSeconds(dto.getDurationSeconds())
+            .avgPace(avgPace)
+            .caloriesBurned(calories)
+            .routePolyline(dto.getRoutePolyline())
+            .gpsData(gpsJson)
+            .gpsJsonKept(gpsJson != null ? Boolean.TRUE : null)
+            .gpsTrack(gpsTrack)
+            .notes(dto.getNotes())
+            .recordDate(dto.getRecordDate() != null ? dto.getRecordDate() : LocalDateTime.now())
+            .build();
+        TrackAnalyzer.Result analysis = gpsTrack != null ? analysisService.analyze(gpsTrack) : null;
+        if (analysis != null) {
+            record.setSplits(analysisService.splitsJson(analysis));
+            analysisService.ensure(runnerId);
+        }
+        
+        runnerStatsService.ensure(runnerId);
+        rollupService.ensureDay(runnerId, record.getRecordDate().toLocalDate());
+        RunningRecord saved = transactionTemplate.execute(status -> {
+            RunningRecord inserted = recordRepository.save(record);
+            runnerStatsService.recordAdded(inserted);
+            rollupService.recordAdded(inserted);
+            if (analysis != null) {
+                analysisService.recordAdded(inserted, analysis);
+            }
+            return inserted;
+        });
+        runnerStatsService.refresh(runnerId);
+        log.info("Running record saved. ID: {}, Runner: {}, Distance: {}km", 
+                 saved.getId(), runnerId, dto.getDistance());
+        
+        return convertToDTO(saved);
+    }
+    
+    /**
+     * 사용자의 기록 조회 (최신순 키셋 페이지)
+     */
+    public CursorPage<RunningRecordDTO> getUserRecords(Long runnerId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.pageSize(size, defaultPageSize, maxPageSize);
+        List<RunningRecordDTO> records = recordRepository
+            .findPageByRunnerId(runnerId, after.keyAsDateTime(), after.id(), Limit.of(pageSize + 1))
+            .stream().map(this::convertToDTO).collect(Collectors.toList());
+        return CursorPage.of(records, pageSize, r -> PageCursor.of(r.getRecordDate(), r.getId()));
     }
     
     /**
@@ -77,14 +290,14 @@ public class RunningRecordService {
     }
     
     /**
-     * 사용자 통계 조회
+     * 사용자 통계 조회 (runner_stats 누적값 - 기록 수와 무관하게 한 행 조회, 캐시 적중 시 DB 조회 없음)
      */
     public Map<String, Object> getUserStats(Long runnerId) {
-        List<RunningRecord> allRecords = recordRepository.findByRunnerIdOrderByRecordDateDesc(runnerId);
+        RunnerStatsDTO summary = runnerStatsService.get(runnerId);
         
         Map<String, Object> stats = new HashMap<>();
         
-        if (allRecords.isEmpty()) {
+        if (summary.totalRecords() == 0) {
             stats.put("totalRecords", 0);
             stats.put("totalDistance", 0.0);
             stats.put("totalTime", 0);
@@ -94,52 +307,68 @@ public class RunningRecordService {
             return stats;
         }
         
-        double totalDistance = allRecords.stream()
-            .mapToDouble(RunningRecord::getDistance)
-            .sum();
-        
-        long totalTime = allRecords.stream()
-            .mapToLong(RunningRecord::getDurationSeconds)
-            .sum();
-        
-        int totalCalories = allRecords.stream()
-            .mapToInt(r -> r.getCaloriesBurned() != null ? r.getCaloriesBurned() : 0)
-            .sum();
-        
+        double totalDistance = summary.totalDistance();
+        long totalTime = summary.totalSeconds();
         float avgPace = calculateAvgPace(totalDistance, (double)totalTime);
         
-        stats.put("totalRecords", allRecords.size());
+        stats.put("totalRecords", summary.totalRecords());
         stats.put("totalDistance", Math.round(totalDistance * 100.0) / 100.0);
         stats.put("totalTime", totalTime);
-        stats.put("totalCalories", totalCalories);
+        stats.put("totalCalories", summary.totalCalories());
         stats.put("avgPace", Math.round(avgPace * 100.0) / 100.0);
-        stats.put("avgDistance", Math.round((totalDistance / allRecords.size()) * 100.0) / 100.0);
+        stats.put("avgDistance", Math.round((totalDistance / summary.totalRecords()) * 100.0) / 100.0);
+        stats.put("bestPace", summary.bestPace());
+        stats.put("bestPaceRecordId", summary.bestPaceRecordId());
+        stats.put("longestDistance", summary.longestDistance());
+        stats.put("longestRecordId", summary.longestRecordId());
         
         return stats;
     }
     
     /**
-     * 월별 통계
+     * 월별 통계 (일 합계를 월 단위로 GROUP BY - 기록 수와 무관)
      */
     public Map<String, Object> getMonthlyStats(Long runnerId) {
-        List<RunningRecord> records = recordRepository.findByRunnerIdOrderByRecordDateDesc(runnerId);
-        
-        Map<String, Object> monthlyStats = new LinkedHashMap<>();
-        
-        records.stream()
-            .collect(Collectors.groupingBy(
-                r -> YearMonth.from(r.getRecordDate()),
-                Collectors.summingDouble(RunningRecord::getDistance)
-            ))
-            .entrySet()
-            .stream()
-            .sorted((a, b) -> b.getKey().compareTo(a.getKey()))
-            .forEach(entry -> monthlyStats.put(
-                entry.getKey().toString(),
-                Math.round(entry.getValue() * 100.0) / 100.0
-            ));
-        
-        return monthlyStats;
+        runnerStatsService.ensure(runnerId);
+        return rollupService.getMonthlyDistance(runnerId);
+    }
+    
+    /**
+     * 주간 통계 (최근 weeks주, 월요일 시작)
+     */
+    public List<Map<String, Object>> getWeeklyStats(Long runnerId, int weeks) {
+        runnerStatsService.ensure(runnerId);
+        return rollupService.getWeekly(runnerId, weeks);
+    }
+    
+    /**
+     * 연도별 통계
+     */
+    public List<Map<String, Object>> getYearlyStats(Long runnerId) {
+        runnerStatsService.ensure(runnerId);
+        return rollupService.getYearly(runnerId);
+    }
+    
+    /**
+     * 최근 days일 활동 히트맵
+     */
+    public Map<String, Object> getHeatmap(Long runnerId, int days) {
+        runnerStatsService.ensure(runnerId);
+        return rollupService.getHeatmap(runnerId, days);
+    }
+    
+    /**
+     * 기록의 km 구간 기록과 목표 거리별 최고 기록
+     */
+    public Map<String, Object> getSplits(Long recordId) {
+        return analysisService.getAnalysis(recordId);
+    }
+    
+    /**
+     * 목표 거리별 개인 최고 기록
+     */
+    public List<Map<String, Object>> getPersonalRecords(Long runnerId) {
+        return analysisService.getPersonalRecords(runnerId);
     }
     
     /**
@@ -162,7 +391,16 @@ public class RunningRecordService {
             throw new RuntimeException("본인의 기록만 삭제할 수 있습니다.");
         }
         
-        recordRepository.deleteById(recordId);
+        runnerStatsService.ensure(runnerId);
+        // 같은 기록을 동시에 삭제하면 한 요청만 1행을 지우고 통계를 차감
+        transactionTemplate.executeWithoutResult(status -> {
+            if (recordRepository.deleteRecord(recordId) > 0) {
+                runnerStatsService.recordRemoved(record);
+                rollupService.recordRemoved(record);
+                analysisService.recordRemoved(record);
+            }
+        });
+        runnerStatsService.refresh(runnerId);
         log.info("Running record deleted. ID: {}", recordId);
     }
     
@@ -206,4 +444,3 @@ public class RunningRecordService {
             .build();
     }
 }
-
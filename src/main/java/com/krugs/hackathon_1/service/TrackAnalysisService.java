@@ -0,0 +1,239 @@
+package com.krugs.hackathon_1.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.entity.RecordBestEffort;
+import com.krugs.hackathon_1.entity.RunnerBestEffort;
+import com.krugs.hackathon_1.entity.RunningRecord;
+import com.krugs.hackathon_1.repository.RecordBestEffortRepository;
+import com.krugs.hackathon_1.repository.RunnerBestEffortRepository;
+import com.krugs.hackathon_1.repository.RunningRecordRepository;
+import com.krugs.hackathon_1.util.GpsTrackCodec;
+import com.krugs.hackathon_1.util.TrackAnalyzer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * GPS 트랙 분석 결과 (km 구간 기록, 목표 거리별 최고 기록)와 러너별 개인 최고 기록 (runner_best_efforts)
+ * - 기록 저장 시 트랙을 한 번 순회하여 구간 기록은 기록 행에 JSON으로, 최고 기록은 record_best_efforts에 저장
+ * - 개인 최고 기록은 기록 저장 트랜잭션 안에서 더 빠를 때만 SQL로 교체 → 조회 시 이전 트랙을 다시 읽지 않음
+ * - 개인 최고 기록인 기록이 삭제되면 record_best_efforts 인덱스에서 다음 기록 하나만 조회
+ * - 목표 거리를 바꾸면 이후 분석되는 기록부터 새 거리가 계산됨
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrackAnalysisService {
+
+    @Value("${record.analytics.split-meters:1000}")
+    private int splitMeters;
+
+    @Value("${record.analytics.best-effort-distances:1000,5000,10000,21097,42195}")
+    private int[] bestEffortDistances;
+
+    private final RunningRecordRepository recordRepository;
+    private final RecordBestEffortRepository effortRepository;
+    private final RunnerBestEffortRepository bestRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 바이너리 GPS 트랙 분석
+     */
+    public TrackAnalyzer.Result analyze(byte[] gpsTrack) {
+        return TrackAnalyzer.analyze(GpsTrackCodec.cursor(gpsTrack), splitMeters, bestEffortDistances);
+    }
+
+    /**
+     * 구간 기록 → 기록 행에 저장할 JSON
+     */
+    public String splitsJson(TrackAnalyzer.Result result) {
+        try {
+            return objectMapper.writeValueAsString(result.splits());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("구간 기록 변환 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 목표 거리별 개인 최고 기록 행이 없으면 기록별 최고 기록에서 생성 (기록 저장/분석 트랜잭션보다 먼저 호출)
+     * 동시에 생성하면 유니크 제약으로 하나만 저장됨
+     */
+    public void ensure(Long runnerId) {
+        Set<Integer> existing = new HashSet<>();
+        for (RunnerBestEffort best : bestRepository.findByRunnerIdOrderByDistanceMeters(runnerId)) {
+            existing.add(best.getDistanceMeters());
+        }
+        for (int distance : bestEffortDistances) {
+            if (existing.contains(distance)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    RecordBestEffort fastest = fastest(runnerId, distance);
+                    bestRepository.saveAndFlush(RunnerBestEffort.builder()
+                            .runnerId(runnerId)
+                            .distanceMeters(distance)
+                            .seconds(fastest != null ? fastest.getSeconds() : null)
+                            .recordId(fastest != null ? fastest.getRecordId() : null)
+                            .recordDate(fastest != null ? fastest.getRecordDate() : null)
+                            .build());
+                });
+            } catch (DataIntegrityViolationException e) {
+                // 다른 요청이 먼저 생성함
+            }
+        }
+    }
+
+    /**
+     * 기록의 최고 기록 저장 및 개인 최고 기록 교체 (기록 저장과 같은 트랜잭션에서 호출)
+     */
+    public void recordAdded(RunningRecord record, TrackAnalyzer.Result result) {
+        List<RecordBestEffort> efforts = new ArrayList<>(result.efforts().size());
+        for (TrackAnalyzer.Effort effort : result.efforts()) {
+            efforts.add(RecordBestEffort.builder()
+                    .recordId(record.getId())
+                    .runnerId(record.getRunnerId())
+                    .distanceMeters(effort.distanceMeters())
+                    .seconds(effort.seconds())
+                    .startSeconds(effort.startSeconds())
+                    .recordDate(record.getRecordDate())
+                    .build());
+        }
+        effortRepository.saveAll(efforts);
+        for (RecordBestEffort effort : efforts) {
+            bestRepository.offer(record.getRunnerId(), effort.getDistanceMeters(), effort.getSeconds(),
+                    record.getId(), record.getRecordDate());
+        }
+    }
+
+    /**
+     * 기록 삭제 반영 (기록 삭제와 같은 트랜잭션에서 호출)
+     * 이 기록이 개인 최고 기록인 행을 잠근 뒤 남은 기록 중 가장 빠른 기록으로 교체
+     */
+    public void recordRemoved(RunningRecord record) {
+        if (effortRepository.deleteByRecord(record.getId()) == 0
+                || bestRepository.lockByRecord(record.getRunnerId(), record.getId()) == 0) {
+            return;
+        }
+        for (RunnerBestEffort best : bestRepository.findByRunnerIdAndRecordId(record.getRunnerId(), record.getId())) {
+            RecordBestEffort next = fastest(record.getRunnerId(), best.getDistanceMeters());
+            bestRepository.replace(best.getId(),
+                    next != null ? next.getSeconds() : null,
+                    next != null ? next.getRecordId() : null,
+                    next != null ? next.getRecordDate() : null);
+        }
+    }
+
+    /**
+     * 구간/최고 기록이 계산되지 않은 기존 기록 분석 (GPS 데이터 이전 후 시작 시 실행)
+     * @return 분석 결과를 저장했으면 true (그 사이 삭제/분석된 기록은 false)
+     */
+    public boolean backfill(Long recordId) {
+        RunningRecord record = recordRepository.findById(recordId).orElse(null);
+        if (record == null || record.getGpsTrack() == null || record.getSplits() != null) {
+            return false;
+        }
+        TrackAnalyzer.Result result = analyze(record.getGpsTrack());
+        String splits = splitsJson(result);
+        ensure(record.getRunnerId());
+        Boolean saved = transactionTemplate.execute(status -> {
+            if (recordRepository.setSplits(recordId, splits) == 0) {
+                return false;
+            }
+            recordAdded(record, result);
+            return true;
+        });
+        return Boolean.TRUE.equals(saved);
+    }
+
+    /**
+     * 기록의 km 구간 기록과 목표 거리별 최고 기록 (개인 최고 기록 여부 포함)
+     */
+    public Map<String, Object> getAnalysis(Long recordId) {
+        RunningRecordRepository.SplitsView view = recordRepository.findSplits(recordId)
+                .orElseThrow(() -> new RuntimeException("기록을 찾을 수 없습니다."));
+        if (view.getSplits() == null) {
+            throw new RuntimeException("GPS 트랙이 없거나 아직 분석되지 않은 기록입니다.");
+        }
+        List<TrackAnalyzer.Split> splits;
+        try {
+            splits = objectMapper.readValue(view.getSplits(),
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, TrackAnalyzer.Split.class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("구간 기록을 읽을 수 없습니다.");
+        }
+
+        List<Map<String, Object>> splitList = new ArrayList<>(splits.size());
+        for (int i = 0; i < splits.size(); i++) {
+            TrackAnalyzer.Split split = splits.get(i);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("split", i + 1);
+            entry.put("distance", split.distanceMeters());
+            entry.put("seconds", split.seconds());
+            entry.put("pace", pace(split.seconds(), split.distanceMeters()));
+            splitList.add(entry);
+        }
+
+        Set<Integer> personalRecords = new HashSet<>();
+        for (RunnerBestEffort best : bestRepository.findByRunnerIdAndRecordId(view.getRunnerId(), recordId)) {
+            personalRecords.add(best.getDistanceMeters());
+        }
+        List<Map<String, Object>> effortList = new ArrayList<>();
+        for (RecordBestEffort effort : effortRepository.findByRecordIdOrderByDistanceMeters(recordId)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("distance", effort.getDistanceMeters());
+            entry.put("seconds", effort.getSeconds());
+            entry.put("pace", pace(effort.getSeconds(), effort.getDistanceMeters()));
+            entry.put("startSeconds", effort.getStartSeconds());
+            entry.put("personalRecord", personalRecords.contains(effort.getDistanceMeters()));
+            effortList.add(entry);
+        }
+
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        analysis.put("recordId", recordId);
+        analysis.put("splits", splitList);
+        analysis.put("bestEfforts", effortList);
+        return analysis;
+    }
+
+    /**
+     * 러너의 목표 거리별 개인 최고 기록 (달성한 거리만, 짧은 거리부터)
+     */
+    public List<Map<String, Object>> getPersonalRecords(Long runnerId) {
+        ensure(runnerId);
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (RunnerBestEffort best : bestRepository.findByRunnerIdOrderByDistanceMeters(runnerId)) {
+            if (best.getSeconds() == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("distance", best.getDistanceMeters());
+            entry.put("seconds", best.getSeconds());
+            entry.put("pace", pace(best.getSeconds(), best.getDistanceMeters()));
+            entry.put("recordId", best.getRecordId());
+            entry.put("recordDate", best.getRecordDate());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private RecordBestEffort fastest(Long runnerId, int distanceMeters) {
+        List<RecordBestEffort> fastest = effortRepository.findFastest(runnerId, distanceMeters, Limit.of(1));
+        return fastest.isEmpty() ? null : fastest.get(0);
+    }
+
+    /**
+     * 페이스 (분/km, 기록의 avgPace와 같은 단위)
+     */
+    private static double pace(double seconds, double meters) {
+        return meters > 0 ? Math.round(seconds / 60.0 / (meters / 1000.0) * 100.0) / 100.0 : 0;
+    }
+}
@@ -1,22 +1,56 @@
 package com.krugs.hackathon_1.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.CourseGeometryDTO;
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.dto.CursorPage;
+import com.krugs.hackathon_1.dto.GeoPath;
 import com.krugs.hackathon_1.dto.UploadedCourseDTO;
 import com.krugs.hackathon_1.entity.UploadedCourse;
+import com.krugs.hackathon_1.repository.CourseLikeRepository;
 import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import com.krugs.hackathon_1.util.GeoUtils;
+import com.krugs.hackathon_1.util.GeometryCodec;
+import com.krugs.hackathon_1.util.GpxWriter;
+import com.krugs.hackathon_1.util.PageCursor;
+import com.krugs.hackathon_1.util.ResourceVersion;
+import com.krugs.hackathon_1.util.RouteSimilarity;
+import com.krugs.hackathon_1.util.TrackFileReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UploadedCourseService {
     
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+    
+    @Value("${track.import.max-points:200000}")
+    private int maxImportPoints;
+    
     private final UploadedCourseRepository courseRepository;
+    private final CourseViewCounter viewCounter;
+    private final CourseLeaderboard leaderboard;
+    private final CourseLikeRepository likeRepository;
+    private final NearbyCourseService nearbyCourseService;
+    private final CourseSimilarityService similarityService;
+    private final CourseSearchService searchService;
     private final ObjectMapper objectMapper;
     
     /**
@@ -24,18 +58,20 @@ public class UploadedCourseService {
      */
     public UploadedCourseDTO uploadCourse(UploadedCourseDTO dto, Long runnerId) {
         try {
-            // ✅ 좌표 데이터를 JSON으로 변환하여 저장
-            String coordinatesJson = "";
-            String elevationDataJson = "";
+            // ✅ 좌표/고도 데이터를 바이너리로 변환하여 저장
+            byte[] coordinatesData = null;
+            byte[] elevationData = null;
+            GeoPath path = null;
             
             if (dto.getCoordinates() != null && !dto.getCoordinates().isEmpty()) {
-                coordinatesJson = objectMapper.writeValueAsString(dto.getCoordinates());
-                log.info("Coordinates saved: {} items", dto.getCoordinates().size());
+                path = GeometryCodec.toPath(dto.getCoordinates());
+                coordinatesData = GeometryCodec.encode(path);
+                log.info("Coordinates saved: {} items, {} bytes", dto.getCoordinates().size(), coordinatesData.length);
             }
             
             if (dto.getElevationData() != null && !dto.getElevationData().isEmpty()) {
-                elevationDataJson = objectMapper.writeValueAsString(dto.getElevationData());
-                log.info("Elevation data saved: {} items", dto.getElevationData().size());
+                elevationData = GeometryCodec.encodeElevations(dto.getElevationData());
+                log.info("Elevation data saved: {} items, {} bytes", dto.getElevationData().size(), elevationData.length);
             }
             
             UploadedCourse course = UploadedCourse.builder()
@@ -47,15 +83,11 @@ public class UploadedCourseService {
                 .routePolyline(dto.getRoutePolyline())
                 .gpxFileUrl(dto.getGpxFileUrl())
                 .description(dto.getDescription())
-                .coordinatesJson(coordinatesJson)
-                .elevationDataJson(elevationDataJson)
+                .coordinatesData(coordinatesData)
+                .elevationData(elevationData)
                 .build();
             
-            UploadedCourse saved = courseRepository.save(course);
-            log.info("Course uploaded. ID: {}, Runner: {}, Name: {}", 
-                     saved.getId(), runnerId, dto.getCourseName());
-            
-            return convertToDTO(saved);
+            return convertToDTO(saveNewCourse(course, path));
             
         } catch (Exception e) {
             log.error("Error uploading course", e);
@@ -64,35 +96,152 @@ public class UploadedCourseService {
     }
     
     /**
-     * 사용자의 코스 조회
+     * GPX/TCX 파일에서 코스 가져오기
+     * 파일을 스트리밍으로 읽으며 좌표/고도를 기본형 배열에 모아 바로 바이너리로 저장 (JSON 목록을 만들지 않음)
+     * 응답도 좌표 없는 요약으로 반환
+     */
+    public CourseSummaryDTO importCourse(InputStream in, Long runnerId, String courseName,
+                                         String theme, String difficultyLevel, String description) {
+        TrackCollector track = new TrackCollector();
+        TrackFileReader.Summary summary;
+        try {
+            summary = TrackFileReader.read(in, maxImportPoints, track);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+        if (track.path.size() < 2) {
+            throw new RuntimeException("경로 좌표가 2개 이상 있는 파일이어야 합니다.");
+        }
+        
+        GeoPath path = track.path.build();
+        String name = courseName != null && !courseName.isBlank() ? courseName
+            : summary.name() != null ? summary.name() : "가져온 코스";
+        UploadedCourse course = UploadedCourse.builder()
+            .runnerId(runnerId)
+            .courseName(name)
+            .theme(theme)
+            .distance((float) (Math.round(track.distanceKm * 100) / 100.0))
+            .difficultyLevel(difficultyLevel != null && !difficultyLevel.isBlank() ? difficultyLevel : "중급")
+            .description(description)
+            .coordinatesData(GeometryCodec.encode(path))
+            .elevationData(track.hasElevation ? GeometryCodec.encodeElevations(track.elevations, path.size()) : null)
+            .build();
+        
+        UploadedCourse saved = saveNewCourse(course, path);
+        log.info("Course imported from {}. ID: {}, points: {}, {} bytes", summary.format(), saved.getId(),
+                 path.size(), saved.getCoordinatesData().length);
+        return getCourseSummary(saved.getId());
+    }
+    
+    /**
+     * 코스 경로를 GPX로 내보내기
+     * 코스가 없으면 바로 예외, 있으면 응답 출력 스트림에 좌표를 하나씩 쓰는 본문 반환
+     */
+    public StreamingResponseBody exportGpx(Long courseId) {
+        UploadedCourseRepository.GeometryView view = courseRepository.findGeometryById(courseId)
+            .orElseThrow(() -> new RuntimeException("코스를 찾을 수 없습니다."));
+        GeoPath path;
+        List<Double> elevations = null;
+        try {
+            if (view.getCoordinatesData() != null) {
+                path = GeometryCodec.decodePath(view.getCoordinatesData());
+            } else if (view.getCoordinatesJson() != null && !view.getCoordinatesJson().isEmpty()) {
+                path = GeometryCodec.toPath(readLegacyCoordinates(view.getCoordinatesJson()));
+            } else {
+                throw new RuntimeException("경로 좌표가 없는 코스입니다.");
+            }
+            if (view.getElevationData() != null) {
+                elevations = GeometryCodec.decodeElevations(view.getElevationData());
+            } else if (view.getElevationDataJson() != null && !view.getElevationDataJson().isEmpty()) {
+                elevations = readLegacyElevations(view.getElevationDataJson());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error reading course geometry. ID: {}", courseId, e);
+            throw new RuntimeException("코스 경로를 읽을 수 없습니다.");
+        }
+        
+        List<Double> elevationData = elevations;
+        return out -> {
+            try (GpxWriter gpx = new GpxWriter(out, view.getCourseName())) {
+                for (int i = 0; i < path.size(); i++) {
+                    Double elevation = elevationData != null && i < elevationData.size() ? elevationData.get(i) : null;
+                    gpx.point(path.lat(i), path.lng(i), elevation != null ? elevation : Double.NaN, null, null);
+                }
+            }
+        };
+    }
+    
+    /**
+     * 코스 요약 조회
      */
-    public List<UploadedCourseDTO> getUserCourses(Long runnerId) {
-        List<UploadedCourse> courses = courseRepository.findByRunnerIdOrderByCreatedAtDesc(runnerId);
-        return courses.stream().map(this::convertToDTO).collect(Collectors.toList());
+    public CourseSummaryDTO getCourseSummary(Long courseId) {
+        return courseRepository.findSummaryById(courseId)
+            .orElseThrow(() -> new RuntimeException("코스를 찾을 수 없습니다."));
     }
     
     /**
-     * 테마별 코스 조회 (인기순)
+     * 새 코스 저장 - 시작점/범위, 경로 서명을 채우고 순위표/주변 코스/유사도/검색 인덱스에 반영
      */
-    public List<UploadedCourseDTO> getCoursesByTheme(String theme) {
-        List<UploadedCourse> courses = courseRepository.findByThemeOrderByLikeCountDesc(theme);
-        return courses.stream().map(this::convertToDTO).collect(Collectors.toList());
+    private UploadedCourse saveNewCourse(UploadedCourse course, GeoPath path) {
+        applyBounds(course, path);
+        applySignature(course, path);
+        
+        UploadedCourse saved = courseRepository.save(course);
+        log.info("Course uploaded. ID: {}, Runner: {}, Name: {}", 
+                 saved.getId(), saved.getRunnerId(), saved.getCourseName());
+        leaderboard.refresh(saved.getId());
+        nearbyCourseService.put(saved);
+        similarityService.put(saved);
+        searchService.put(saved);
+        return saved;
     }
     
     /**
-     * 난이도별 코스 조회
+     * 사용자의 코스 조회 (요약, 최신순 키셋 페이지)
      */
-    public List<UploadedCourseDTO> getCoursesByDifficulty(String difficultyLevel) {
-        List<UploadedCourse> courses = courseRepository.findByDifficultyLevelOrderByCreatedAtDesc(difficultyLevel);
-        return courses.stream().map(this::convertToDTO).collect(Collectors.toList());
+    public CursorPage<CourseSummaryDTO> getUserCourses(Long runnerId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.pageSize(size, defaultPageSize, maxPageSize);
+        List<CourseSummaryDTO> rows = courseRepository.findSummariesByRunnerId(
+            runnerId, after.keyAsDateTime(), after.id(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, c -> PageCursor.of(c.createdAt(), c.id()));
     }
     
     /**
-     * 코스 검색 (테마 + 난이도 필터)
+     * 테마별 코스 조회 (인기순 키셋 페이지, 요약)
      */
-    public List<UploadedCourseDTO> searchCourses(String theme, String difficultyLevel) {
-        List<UploadedCourse> courses = courseRepository.searchCourses(theme, difficultyLevel);
-        return courses.stream().map(this::convertToDTO).collect(Collectors.toList());
+    public CursorPage<CourseSummaryDTO> getCoursesByTheme(String theme, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.pageSize(size, defaultPageSize, maxPageSize);
+        List<CourseSummaryDTO> rows = courseRepository.findSummariesByTheme(
+            theme, after.keyAsInt(), after.id(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, CourseSummaryDTO::likeCursor);
+    }
+    
+    /**
+     * 난이도별 코스 조회 (인기순 키셋 페이지, 요약)
+     */
+    public CursorPage<CourseSummaryDTO> getCoursesByDifficulty(String difficultyLevel, String cursor, Integer size) {
+        return searchCourses(null, difficultyLevel, null, cursor, size);
+    }
+    
+    /**
+     * 코스 검색 (테마 + 난이도 필터, 요약)
+     * 검색어가 있으면 이름/설명 관련도순, 없으면 인기순 키셋 페이지
+     */
+    public CursorPage<CourseSummaryDTO> searchCourses(String theme, String difficultyLevel, String query,
+                                                      String cursor, Integer size) {
+        if (query != null && !query.isBlank()) {
+            return searchService.search(query.trim(), theme, difficultyLevel, cursor, size);
+        }
+        if (theme != null && difficultyLevel == null) {
+            return getCoursesByTheme(theme, cursor, size);
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.pageSize(size, defaultPageSize, maxPageSize);
+        List<CourseSummaryDTO> rows = courseRepository.searchSummaries(
+            theme, difficultyLevel, after.keyAsInt(), after.id(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, CourseSummaryDTO::likeCursor);
     }
     
     /**
@@ -102,11 +251,29 @@ public class UploadedCourseService {
         UploadedCourse course = courseRepository.findById(courseId)
             .orElseThrow(() -> new RuntimeException("코스를 찾을 수 없습니다."));
         
-        // 조회수 증가
-        course.setViewCount((course.getViewCount() != null ? course.getViewCount() : 0) + 1);
-        courseRepository.save(course);
-        
-        return convertToDTO(course);
+        // 조회수는 버퍼에만 기록 (주기적으로 일괄 반영), 응답에는 미반영분 포함
+        viewCounter.record(courseId);
+        UploadedCourseDTO dto = convertToDTO(course);
+        dto.setViewCount((int) ((course.getViewCount() != null ? course.getViewCount() : 0) + viewCounter.pending(courseId)));
+        return dto;
+    }
+    
+    /**
+     * 코스 상세 버전 (없는 코스면 empty) - 엔티티를 읽지 않음
+     * 좋아요 수는 수정 시각을 바꾸지 않으므로 ETag에 포함하고 Last-Modified는 쓰지 않음, 조회수는 무시(약한 ETag)
+     */
+    public Optional<ResourceVersion> getCourseVersion(Long courseId) {
+        return courseRepository.findVersionById(courseId)
+            .map(v -> ResourceVersion.of(v.getUpdatedAt(), "course", courseId,
+                v.getLikeCount() != null ? v.getLikeCount() : 0).weak().etagOnly());
+    }
+    
+    /**
+     * 코스 경로 버전 (없는 코스면 empty) - 경로는 코스 수정 시에만 바뀜
+     */
+    public Optional<ResourceVersion> getGeometryVersion(Long courseId) {
+        return courseRepository.findVersionById(courseId)
+            .map(v -> ResourceVersion.of(v.getUpdatedAt(), "geometry", courseId));
     }
     
     /**
@@ -120,6 +287,7 @@ public class UploadedCourseService {
             throw new RuntimeException("본인의 코스만 수정할 수 있습니다.");
         }
         
+        String previousTheme = course.getTheme();
         if (dto.getCourseName() != null) {
             course.setCourseName(dto.getCourseName());
         }
@@ -135,6 +303,10 @@ public class UploadedCourseService {
         
         UploadedCourse updated = courseRepository.save(course);
         log.info("Course updated. ID: {}", courseId);
+        leaderboard.invalidate(previousTheme);
+        leaderboard.invalidate(updated.getTheme());
+        nearbyCourseService.put(updated);
+        searchService.put(updated);
         
         return convertToDTO(updated);
     }
@@ -150,40 +322,182 @@ public class UploadedCourseService {
             throw new RuntimeException("본인의 코스만 삭제할 수 있습니다.");
         }
         
+        likeRepository.deleteByCourse(courseId);
         courseRepository.deleteById(courseId);
+        leaderboard.remove(courseId, course.getTheme());
+        nearbyCourseService.remove(course);
+        similarityService.remove(courseId);
+        searchService.remove(courseId);
         log.info("Course deleted. ID: {}", courseId);
     }
     
     /**
-     * 인기 코스 상위 5개 (테마별)
+     * 인기 코스 상위 N개 (테마별, 요약) - 메모리 순위표에서 조회, 보관 범위를 넘으면 인덱스 순서대로 N개만 조회
+     */
+    public List<CourseSummaryDTO> getTopCoursesByTheme(String theme, int limit) {
+        List<CourseSummaryDTO> top = leaderboard.top(theme, limit);
+        if (top != null) {
+            return top;
+        }
+        PageCursor first = PageCursor.FIRST;
+        return courseRepository.findSummariesByTheme(
+            theme, first.keyAsInt(), first.id(), Limit.of(PageCursor.pageSize(limit, limit, maxPageSize)));
+    }
+    
+    /**
+     * 코스 경로 조회 (좌표, 고도, 폴리라인)
+     */
+    public CourseGeometryDTO getCourseGeometry(Long courseId) {
+        UploadedCourseRepository.GeometryView view = courseRepository.findGeometryById(courseId)
+            .orElseThrow(() -> new RuntimeException("코스를 찾을 수 없습니다."));
+        try {
+            List<Map<String, Double>> coordinates = null;
+            if (view.getCoordinatesData() != null) {
+                coordinates = GeometryCodec.decodeCoordinates(view.getCoordinatesData());
+            } else if (view.getCoordinatesJson() != null && !view.getCoordinatesJson().isEmpty()) {
+                coordinates = readLegacyCoordinates(view.getCoordinatesJson());
+            }
+            
+            List<Double> elevationData = null;
+            if (view.getElevationData() != null) {
+                elevationData = GeometryCodec.decodeElevations(view.getElevationData());
+            } else if (view.getElevationDataJson() != null && !view.getElevationDataJson().isEmpty()) {
+                elevationData = readLegacyElevations(view.getElevationDataJson());
+            }
+            
+            return new CourseGeometryDTO(view.getId(), view.getRoutePolyline(), coordinates, elevationData);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error reading course geometry. ID: {}", courseId, e);
+            throw new RuntimeException("코스 경로를 읽을 수 없습니다.");
+        }
+    }
+    
+    /**
+     * 이전 형식(JSON) 좌표/고도를 바이너리 컬럼으로 옮기고 JSON 컬럼은 비움
+     * 역변환 결과가 JSON과 다르면(빠지는 항목, 추가 키, 양자화 오차 초과) JSON을 그대로 두고 geometryJsonKept로 표시
+     * @return 옮겨진 데이터가 있으면 true
+     */
+    public boolean migrateGeometry(UploadedCourse course) {
+        boolean changed = false;
+        GeoPath keptPath = null;
+        boolean kept = Boolean.TRUE.equals(course.getGeometryJsonKept());
+        if (course.getCoordinatesJson() != null && !kept) {
+            if (course.getCoordinatesData() == null && !course.getCoordinatesJson().isEmpty()) {
+                List<Map<String, Double>> coordinates = readLegacyCoordinatesOrNull(course.getCoordinatesJson());
+                if (coordinates != null && GeometryCodec.coordinatesRoundTrip(coordinates)) {
+                    course.setCoordinatesData(GeometryCodec.encodeCoordinates(coordinates));
+                    course.setCoordinatesJson(null);
+                } else {
+                    // 서명/범위는 읽을 수 있는 좌표로 계산 (읽기 시에는 JSON 사용)
+                    keptPath = coordinates != null ? GeometryCodec.toPath(coordinates) : GeoPath.empty();
+                    course.setGeometryJsonKept(true);
+                }
+            } else {
+                course.setCoordinatesJson(null);
+            }
+            changed = true;
+        }
+        if (course.getElevationDataJson() != null && !kept) {
+            if (course.getElevationData() == null && !course.getElevationDataJson().isEmpty()) {
+                List<Double> elevations = readLegacyElevationsOrNull(course.getElevationDataJson());
+                if (elevations != null && GeometryCodec.elevationsRoundTrip(elevations)) {
+                    course.setElevationData(GeometryCodec.encodeElevations(elevations));
+                    course.setElevationDataJson(null);
+                } else {
+                    course.setGeometryJsonKept(true);
+                }
+            } else {
+                course.setElevationDataJson(null);
+            }
+            changed = true;
+        }
+        if (course.getRouteSignature() == null && (course.getCoordinatesData() != null || keptPath != null)) {
+            GeoPath path = keptPath != null ? keptPath : GeometryCodec.decodePath(course.getCoordinatesData());
+            applyBounds(course, path);
+            applySignature(course, path);
+            changed = true;
+        }
+        return changed;
+    }
+    
+    /**
+     * 좌표에서 경로 MinHash 서명을 계산하여 저장 (비슷한 코스 검색용)
+     * 좌표가 2개 미만이면 빈 서명으로 표시 → 유사도 인덱스에는 들어가지 않고 이전 대상에서도 빠짐
+     */
+    private void applySignature(UploadedCourse course, GeoPath path) {
+        int[] signature = RouteSimilarity.signature(path);
+        course.setRouteSignature(signature != null ? RouteSimilarity.toBytes(signature) : new byte[0]);
+    }
+    
+    /**
+     * 좌표에서 시작점과 범위(bbox)를 계산하여 저장 (주변 코스 검색용, 좌표가 없으면 그대로 둠)
      */
-    public List<UploadedCourseDTO> getTopCoursesByTheme(String theme, int limit) {
-        List<UploadedCourse> courses = courseRepository.findByThemeOrderByLikeCountDesc(theme);
-        return courses.stream()
-            .limit(limit)
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    private void applyBounds(UploadedCourse course, GeoPath path) {
+        if (path == null || path.isEmpty()) {
+            return;
+        }
+        double minLat = path.lat(0), maxLat = minLat;
+        double minLng = path.lng(0), maxLng = minLng;
+        for (int i = 1; i < path.size(); i++) {
+            minLat = Math.min(minLat, path.lat(i));
+            maxLat = Math.max(maxLat, path.lat(i));
+            minLng = Math.min(minLng, path.lng(i));
+            maxLng = Math.max(maxLng, path.lng(i));
+        }
+        course.setStartLat(path.lat(0));
+        course.setStartLng(path.lng(0));
+        course.setMinLat(minLat);
+        course.setMinLng(minLng);
+        course.setMaxLat(maxLat);
+        course.setMaxLng(maxLng);
+    }
+    
+    private List<Map<String, Double>> readLegacyCoordinates(String json) throws IOException {
+        return objectMapper.readValue(json,
+            objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
+    }
+    
+    private List<Double> readLegacyElevations(String json) throws IOException {
+        return objectMapper.readValue(json,
+            objectMapper.getTypeFactory().constructCollectionType(List.class, Double.class));
+    }
+    
+    // 이전 시 JSON을 읽을 수 없으면 null (JSON 그대로 유지)
+    private List<Map<String, Double>> readLegacyCoordinatesOrNull(String json) {
+        try {
+            return readLegacyCoordinates(json);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    private List<Double> readLegacyElevationsOrNull(String json) {
+        try {
+            return readLegacyElevations(json);
+        } catch (IOException e) {
+            return null;
+        }
     }
     
     /**
-     * Entity를 DTO로 변환 (JSON 데이터 역변환 포함)
+     * Entity를 DTO로 변환 (바이너리 좌표/고도 역변환, 아직 이전되지 않은 행은 JSON에서 읽음)
      */
     private UploadedCourseDTO convertToDTO(UploadedCourse course) {
         try {
             // ✅ 좌표 데이터 역변환
             List<Map<String, Double>> coordinates = null;
-            if (course.getCoordinatesJson() != null && !course.getCoordinatesJson().isEmpty()) {
-                coordinates = objectMapper.readValue(course.getCoordinatesJson(), 
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
-                log.info("Coordinates loaded: {} items", coordinates.size());
+            if (course.getCoordinatesData() != null) {
+                coordinates = GeometryCodec.decodeCoordinates(course.getCoordinatesData());
+            } else if (course.getCoordinatesJson() != null && !course.getCoordinatesJson().isEmpty()) {
+                coordinates = readLegacyCoordinates(course.getCoordinatesJson());
             }
             
             // ✅ 고도 데이터 역변환
             List<Double> elevationData = null;
-            if (course.getElevationDataJson() != null && !course.getElevationDataJson().isEmpty()) {
-                elevationData = objectMapper.readValue(course.getElevationDataJson(), 
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, Double.class));
-                log.info("Elevation data loaded: {} items", elevationData.size());
+            if (course.getElevationData() != null) {
+                elevationData = GeometryCodec.decodeElevations(course.getElevationData());
+            } else if (course.getElevationDataJson() != null && !course.getElevationDataJson().isEmpty()) {
+                elevationData = readLegacyElevations(course.getElevationDataJson());
             }
             
             return UploadedCourseDTO.builder()
@@ -221,5 +535,32 @@ public class UploadedCourseService {
                 .build();
         }
     }
+    
+    /**
+     * 트랙 파일 포인트 수집 (좌표는 GeoPath 빌더, 고도는 double 배열, 거리는 누적 계산)
+     */
+    private static final class TrackCollector implements Consumer<TrackFileReader.TrackPoint> {
+        private final GeoPath.Builder path = GeoPath.builder();
+        private double[] elevations = new double[1024];
+        private boolean hasElevation;
+        private double distanceKm;
+        private double lastLat;
+        private double lastLng;
+        
+        @Override
+        public void accept(TrackFileReader.TrackPoint point) {
+            int index = path.size();
+            if (index > 0) {
+                distanceKm += GeoUtils.haversineKm(lastLat, lastLng, point.lat(), point.lng());
+            }
+            path.add(point.lat(), point.lng());
+            if (index == elevations.length) {
+                elevations = Arrays.copyOf(elevations, elevations.length * 2);
+            }
+            elevations[index] = point.elevation();
+            hasElevation |= point.hasElevation();
+            lastLat = point.lat();
+            lastLng = point.lng();
+        }
+    }
 }
-
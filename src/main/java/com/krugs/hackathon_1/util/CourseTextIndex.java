@@ -0,0 +1,473 @@
+package com.krugs.hackathon_1.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 코스 이름/설명 전문 검색 역색인 (BM25)
+ * - 토큰: 한글은 음절 bigram ("갑천변" → 갑천, 천변, 한 글자 단어는 그대로), 영문/숫자는 단어 단위 소문자
+ * - 문서마다 내부 슬롯 번호를 붙이고 열 단위 배열(id, 길이, 테마/난이도 코드)로 보관, 삭제된 슬롯은 재사용
+ * - 토큰별 포스팅은 (슬롯, 가중 빈도) 배열
+ * - 점수: 이름 토큰은 nameWeight배로 센 가중 빈도로 BM25 계산 (BM25F 단순형)
+ * - 한 글자 질의("산", "강")는 그 음절이 들어간 bigram 포스팅을 합쳐 하나의 토큰으로 계산
+ * - 점수 누적용 슬롯 크기 배열은 풀에서 빌려 쓰고, 반납 시 사용한 칸만 0으로 되돌림 (검색마다 새로 할당하지 않음)
+ * - 추가/삭제는 쓰기 잠금, 검색은 읽기 잠금
+ */
+public final class CourseTextIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // 테마/난이도 코드: 값 없음(필터 없음), 인덱스에 없는 값
+    private static final short NONE = -1;
+    private static final short UNKNOWN = -2;
+    // 풀에 남겨 두는 점수 버퍼 수 (동시 검색이 더 많으면 초과분은 새로 할당 후 버림)
+    private static final int MAX_POOLED_BUFFERS = 8;
+
+    private final double k1;
+    private final double b;
+    private final double nameWeight;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Character, Set<String>> bigramsBySyllable = new HashMap<>();
+    private final Map<String, Short> codes = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ConcurrentLinkedQueue<float[]> bufferPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private float[] lengths = new float[INITIAL_CAPACITY];
+    private short[] themes = new short[INITIAL_CAPACITY];
+    private short[] difficulties = new short[INITIAL_CAPACITY];
+    private String[][] terms = new String[INITIAL_CAPACITY][];
+    private int slotCount;
+    private double totalLength;
+
+    public CourseTextIndex(double k1, double b, double nameWeight) {
+        if (k1 < 0 || b < 0 || b > 1 || nameWeight <= 0) {
+            throw new IllegalArgumentException("BM25 파라미터가 올바르지 않습니다.");
+        }
+        this.k1 = k1;
+        this.b = b;
+        this.nameWeight = nameWeight;
+    }
+
+    /**
+     * 색인 문서 (JPQL 생성자 조회로 바로 적재)
+     */
+    public record Document(long id, String name, String description, String theme, String difficulty) {
+    }
+
+    /**
+     * 검색 결과 (코스 id, BM25 점수)
+     */
+    public record Hit(long id, float score) {
+    }
+
+    /**
+     * 토큰별 포스팅 - 순서는 의미 없으므로 삭제는 마지막 항목과 자리 바꿈
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        private void add(int slot, float frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        private void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 코스 추가/갱신 (같은 id는 교체)
+     */
+    public void put(Document document) {
+        putAll(List.of(document));
+    }
+
+    /**
+     * 여러 코스를 한 번에 추가 (잠금 한 번)
+     */
+    public void putAll(Collection<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                removeLocked(document.id());
+                addLocked(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 코스 제거
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질의 토큰 중 하나라도 포함한 코스를 (점수 desc, id desc) 순으로 limit개
+     * after가 있으면 그 결과 다음부터 (키셋 페이지), theme/difficulty가 있으면 일치하는 코스만
+     */
+    public List<Hit> search(String query, String theme, String difficulty, Hit after, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int documents = slotsById.size();
+            short themeCode = codeOf(theme);
+            short difficultyCode = codeOf(difficulty);
+            if (documents == 0 || themeCode == UNKNOWN || difficultyCode == UNKNOWN) {
+                return List.of();
+            }
+            Scorer scorer = new Scorer(documents, themeCode, difficultyCode);
+            try {
+                for (String term : queryTerms) {
+                    if (isSingleSyllable(term)) {
+                        scorer.addExpanded(term.charAt(0));
+                    } else {
+                        Postings list = postings.get(term);
+                        if (list != null) {
+                            scorer.add(list.slots, list.frequencies, list.size, list.size);
+                        }
+                    }
+                }
+                return scorer.top(after, limit);
+            } finally {
+                releaseBuffer(scorer.scores, scorer.touched, scorer.touchedCount);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질의 하나의 점수 누적 (읽기 잠금 안에서만 사용)
+     */
+    private final class Scorer {
+        private final int documents;
+        private final short themeCode;
+        private final short difficultyCode;
+        private final double averageLength;
+        private final float[] scores = borrowBuffer();
+        private int[] touched = new int[Math.min(slotCount, INITIAL_CAPACITY)];
+        private int touchedCount;
+
+        private Scorer(int documents, short themeCode, short difficultyCode) {
+            this.documents = documents;
+            this.themeCode = themeCode;
+            this.difficultyCode = difficultyCode;
+            this.averageLength = totalLength / documents;
+        }
+
+        /**
+         * 토큰 하나의 포스팅 반영 (documentFrequency: 토큰이 들어간 전체 코스 수, 필터와 무관)
+         */
+        private void add(int[] slots, float[] frequencies, int size, int documentFrequency) {
+            double idf = Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            double base = k1 * (1 - b);
+            double perLength = k1 * b / averageLength;
+            for (int i = 0; i < size; i++) {
+                int slot = slots[i];
+                if ((themeCode != NONE && themes[slot] != themeCode)
+                        || (difficultyCode != NONE && difficulties[slot] != difficultyCode)) {
+                    continue;
+                }
+                double frequency = frequencies[i];
+                if (scores[slot] == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, Math.min(slotCount, touchedCount * 2));
+                    }
+                    touched[touchedCount++] = slot;
+                }
+                scores[slot] += (float) (idf * frequency * (k1 + 1)
+                        / (frequency + base + perLength * lengths[slot]));
+            }
+        }
+
+        /**
+         * 한 글자 토큰 - 그 글자 단어와 그 음절을 포함한 bigram의 빈도를 코스별로 합쳐 하나의 토큰으로 반영
+         */
+        private void addExpanded(char syllable) {
+            List<Postings> lists = new ArrayList<>();
+            Postings single = postings.get(String.valueOf(syllable));
+            if (single != null) {
+                lists.add(single);
+            }
+            for (String bigram : bigramsBySyllable.getOrDefault(syllable, Set.of())) {
+                lists.add(postings.get(bigram));
+            }
+            if (lists.isEmpty()) {
+                return;
+            }
+            float[] merged = borrowBuffer();
+            int[] slots = new int[Math.min(slotCount, INITIAL_CAPACITY)];
+            int size = 0;
+            float[] frequencies;
+            try {
+                for (Postings list : lists) {
+                    for (int i = 0; i < list.size; i++) {
+                        int slot = list.slots[i];
+                        if (merged[slot] == 0) {
+                            if (size == slots.length) {
+                                slots = Arrays.copyOf(slots, Math.min(slotCount, size * 2));
+                            }
+                            slots[size++] = slot;
+                        }
+                        merged[slot] += list.frequencies[i];
+                    }
+                }
+                frequencies = new float[size];
+                for (int i = 0; i < size; i++) {
+                    frequencies[i] = merged[slots[i]];
+                }
+            } finally {
+                releaseBuffer(merged, slots, size);
+            }
+            add(slots, frequencies, size, size);
+        }
+
+        /**
+         * 점수 상위 limit개 (크기 limit의 최소 힙, 힙에 들어갈 때만 결과 객체 생성)
+         */
+        private List<Hit> top(Hit after, int limit) {
+            Comparator<Hit> order = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id);
+            PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, order);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                float score = scores[slot];
+                long id = ids[slot];
+                if (after != null && compare(score, id, after) >= 0) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(new Hit(id, score));
+                } else if (compare(score, id, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(new Hit(id, score));
+                }
+            }
+            List<Hit> results = new ArrayList<>(heap);
+            results.sort(order.reversed());
+            return results;
+        }
+    }
+
+    /**
+     * 슬롯 수 이상 크기의 0으로 채워진 버퍼 (읽기 잠금 안에서 호출, 슬롯이 늘어 작아진 버퍼는 버림)
+     */
+    private float[] borrowBuffer() {
+        float[] buffer;
+        while ((buffer = bufferPool.poll()) != null) {
+            pooledBuffers.decrementAndGet();
+            if (buffer.length >= slotCount) {
+                return buffer;
+            }
+        }
+        return new float[ids.length];
+    }
+
+    /**
+     * 사용한 칸만 0으로 되돌려 풀에 반납
+     */
+    private void releaseBuffer(float[] buffer, int[] used, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer[used[i]] = 0;
+        }
+        if (pooledBuffers.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            bufferPool.offer(buffer);
+        } else {
+            pooledBuffers.decrementAndGet();
+        }
+    }
+
+    private static int compare(float score, long id, Hit other) {
+        int byScore = Float.compare(score, other.score());
+        return byScore != 0 ? byScore : Long.compare(id, other.id());
+    }
+
+    private short codeOf(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Short code = codes.get(value);
+        return code != null ? code : UNKNOWN;
+    }
+
+    private short codeFor(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(value, key -> (short) codes.size());
+    }
+
+    private void addLocked(Document document) {
+        Map<String, Float> frequencies = new HashMap<>();
+        for (String term : tokenize(document.name())) {
+            frequencies.merge(term, (float) nameWeight, Float::sum);
+        }
+        for (String term : tokenize(document.description())) {
+            frequencies.merge(term, 1f, Float::sum);
+        }
+        float length = 0;
+        for (float frequency : frequencies.values()) {
+            length += frequency;
+        }
+
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        if (slot == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            themes = Arrays.copyOf(themes, capacity);
+            difficulties = Arrays.copyOf(difficulties, capacity);
+            terms = Arrays.copyOf(terms, capacity);
+        }
+        ids[slot] = document.id();
+        lengths[slot] = length;
+        themes[slot] = codeFor(document.theme());
+        difficulties[slot] = codeFor(document.difficulty());
+        terms[slot] = frequencies.keySet().toArray(new String[0]);
+        slotsById.put(document.id(), slot);
+        totalLength += length;
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, this::newTerm).add(slot, frequency));
+    }
+
+    private boolean removeLocked(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        for (String term : terms[slot]) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(term);
+                forEachSyllable(term, (syllable, bigram) -> {
+                    Set<String> bigrams = bigramsBySyllable.get(syllable);
+                    if (bigrams != null && bigrams.remove(bigram) && bigrams.isEmpty()) {
+                        bigramsBySyllable.remove(syllable);
+                    }
+                });
+            }
+        }
+        totalLength -= lengths[slot];
+        terms[slot] = null;
+        freeSlots.push(slot);
+        return true;
+    }
+
+    private Postings newTerm(String term) {
+        forEachSyllable(term, (syllable, bigram) ->
+                bigramsBySyllable.computeIfAbsent(syllable, key -> new HashSet<>()).add(bigram));
+        return new Postings();
+    }
+
+    /**
+     * 한글 bigram 토큰이면 두 음절 각각에 대해 호출
+     */
+    private static void forEachSyllable(String term, BiConsumer<Character, String> action) {
+        if (term.length() == 2 && isHangul(term.charAt(0)) && isHangul(term.charAt(1))) {
+            action.accept(term.charAt(0), term);
+            if (term.charAt(1) != term.charAt(0)) {
+                action.accept(term.charAt(1), term);
+            }
+        }
+    }
+
+    private static boolean isSingleSyllable(String term) {
+        return term.length() == 1 && isHangul(term.charAt(0));
+    }
+
+    /**
+     * 검색 토큰 분리 - 한글 연속 구간은 음절 bigram, 영문/숫자 연속 구간은 단어 하나
+     * 기호/공백은 구분자 ("벚꽃길/갑천" → 벚꽃, 꽃길, 갑천)
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(text.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    tokens.add(String.valueOf(c));
+                } else {
+                    for (int j = start; j + 1 < i; j++) {
+                        tokens.add(text.substring(j, j + 2));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isHangul(text.charAt(i))) {
+                    i++;
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= 0xAC00 && c <= 0xD7A3;
+    }
+}
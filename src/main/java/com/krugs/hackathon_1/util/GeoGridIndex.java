@@ -0,0 +1,468 @@
+package com.krugs.hackathon_1.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 코스 시작점 격자 공간 인덱스
+ * - 위경도를 cellDegrees 크기의 격자로 나누고, 칸마다 코스를 열 단위 배열(id, 시작점, 범위, 테마/난이도 코드)로 보관
+ * - 칸은 불변 객체로 교체(copy-on-write)하므로 조회는 잠금 없이 수행, 추가/제거는 직렬화
+ * - 반경 조회: 원을 덮는 칸을 가까운 순으로 훑어 거리순 상위 N개 (N개가 차면 더 먼 칸은 건너뜀)
+ * - 범위 조회: 코스 범위(bbox)가 화면 영역과 겹치는 코스 (가장 긴 코스 범위만큼 넓혀서 훑음, 영역 중심에서 가까운 칸부터)
+ *   범위가 MAX_GRID_SPAN_DEGREES보다 긴 코스(잘못 찍힌 0,0 좌표 등)는 따로 모아 전부 확인 → 넓히는 폭은 상한 이하
+ *   가장 긴 코스가 제거/축소되면 넓히는 폭을 다시 계산
+ * 좌표는 float(약 1m 정밀도)로 보관
+ */
+public final class GeoGridIndex {
+
+    private static final double KM_PER_DEG_LAT = 111.195;
+    // 테마/난이도 코드: 값 없음(필터 없음), 인덱스에 없는 값
+    private static final short NONE = -1;
+    private static final short UNKNOWN = -2;
+    // 격자 조회 시 넓히는 폭의 상한 (약 22km) - 이보다 긴 범위의 코스는 oversized에 따로 보관
+    static final float MAX_GRID_SPAN_DEGREES = 0.2f;
+
+    private final double cellDegrees;
+    private final ConcurrentHashMap<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Short> codes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCode = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ConcurrentHashMap<Long, Oversized> oversized = new ConcurrentHashMap<>();
+    private volatile float maxSpanLat;
+    private volatile float maxSpanLng;
+    // 가장 긴 범위의 코스가 제거/교체되어 넓히는 폭을 다시 계산해야 함 (쓰기 잠금 안에서만 사용)
+    private boolean spanDirty;
+
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("격자 크기는 0보다 커야 합니다.");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * 조회 결과 (코스 id, 기준점에서 시작점까지 거리 km)
+     */
+    public record Hit(long id, double distanceKm) {
+    }
+
+    /**
+     * 인덱스 항목 (범위가 없으면 시작점으로 대체)
+     */
+    public record Item(long id, double lat, double lng,
+                       Double minLat, Double minLng, Double maxLat, Double maxLng,
+                       String theme, String difficulty) {
+    }
+
+    /**
+     * 여러 코스를 한 번에 적재 (칸별로 모아서 한 번씩 생성)
+     */
+    public synchronized void putAll(Collection<Item> items) {
+        Map<Long, List<Item>> byCell = new HashMap<>();
+        for (Item item : items) {
+            byCell.computeIfAbsent(cellKey(item.lat(), item.lng()), key -> new ArrayList<>()).add(item);
+        }
+        byCell.forEach((key, list) -> cells.compute(key, (k, cell) -> {
+            Cell current = cell != null ? cell : Cell.EMPTY;
+            Cell updated = current.withAll(list, this);
+            size.addAndGet(updated.ids.length - current.ids.length);
+            return updated;
+        }));
+        recomputeSpanIfDirty();
+    }
+
+    /**
+     * 코스 추가/갱신 (같은 칸에 있는 같은 id는 교체)
+     * 시작점이 바뀐 경우 호출 측에서 이전 위치로 remove 후 호출
+     */
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    /**
+     * 코스 제거 (등록 당시 시작점 필요)
+     */
+    public synchronized boolean remove(long id, double lat, double lng) {
+        boolean[] removed = new boolean[1];
+        cells.computeIfPresent(cellKey(lat, lng), (key, cell) -> {
+            Cell updated = cell.without(id, this);
+            removed[0] = updated != cell;
+            if (removed[0]) {
+                size.decrementAndGet();
+            }
+            return updated.ids.length == 0 ? null : updated;
+        });
+        if (removed[0]) {
+            oversized.remove(id);
+        }
+        recomputeSpanIfDirty();
+        return removed[0];
+    }
+
+    /**
+     * 기준점 반경 radiusKm 안에서 시작하는 코스, 가까운 순으로 최대 limit개
+     * theme/difficulty가 null이면 필터 없음
+     */
+    public List<Hit> nearby(double lat, double lng, double radiusKm, String theme, String difficulty, int limit) {
+        short themeCode = codeFilter(theme);
+        short difficultyCode = codeFilter(difficulty);
+        if (themeCode == UNKNOWN || difficultyCode == UNKNOWN || limit <= 0) {
+            return List.of();
+        }
+        double dLat = radiusKm / KM_PER_DEG_LAT;
+        double dLng = radiusKm / (KM_PER_DEG_LAT * Math.max(0.01, Math.cos(Math.toRadians(lat))));
+
+        List<CellVisit> visits = cellsByDistance(lat, lng, lat - dLat, lng - dLng, lat + dLat, lng + dLng, radiusKm);
+        TopHits top = new TopHits(limit);
+        for (CellVisit visit : visits) {
+            if (top.isFull() && visit.minKm() > top.worst()) {
+                break;
+            }
+            Cell cell = visit.cell();
+            for (int i = 0; i < cell.ids.length; i++) {
+                if (!matches(cell, i, themeCode, difficultyCode)
+                        || Math.abs(cell.lat[i] - lat) > dLat || Math.abs(cell.lng[i] - lng) > dLng) {
+                    continue;
+                }
+                double distance = GeoUtils.haversineKm(lat, lng, cell.lat[i], cell.lng[i]);
+                if (distance <= radiusKm) {
+                    top.offer(cell.ids[i], distance);
+                }
+            }
+        }
+        return top.sorted();
+    }
+
+    /**
+     * 코스 범위가 주어진 영역과 겹치는 코스, 영역 중심에서 시작점이 가까운 순으로 최대 limit개
+     */
+    public List<Hit> within(double minLat, double minLng, double maxLat, double maxLng,
+                            String theme, String difficulty, int limit) {
+        short themeCode = codeFilter(theme);
+        short difficultyCode = codeFilter(difficulty);
+        if (themeCode == UNKNOWN || difficultyCode == UNKNOWN || limit <= 0) {
+            return List.of();
+        }
+        double centerLat = (minLat + maxLat) / 2;
+        double centerLng = (minLng + maxLng) / 2;
+
+        List<CellVisit> visits = cellsByDistance(centerLat, centerLng, minLat - maxSpanLat, minLng - maxSpanLng,
+                maxLat + maxSpanLat, maxLng + maxSpanLng, Double.MAX_VALUE);
+
+        TopHits top = new TopHits(limit);
+        for (Oversized item : oversized.values()) {
+            if ((themeCode == NONE || item.theme() == themeCode)
+                    && (difficultyCode == NONE || item.difficulty() == difficultyCode)
+                    && item.maxLat() >= minLat && item.minLat() <= maxLat
+                    && item.maxLng() >= minLng && item.minLng() <= maxLng) {
+                top.offer(item.id(), GeoUtils.haversineKm(centerLat, centerLng, item.lat(), item.lng()));
+            }
+        }
+        for (CellVisit visit : visits) {
+            if (top.isFull() && visit.minKm() > top.worst()) {
+                break;
+            }
+            Cell cell = visit.cell();
+            for (int i = 0; i < cell.ids.length; i++) {
+                if (!matches(cell, i, themeCode, difficultyCode) || cell.isOversized(i)
+                        || cell.maxLat[i] < minLat || cell.minLat[i] > maxLat
+                        || cell.maxLng[i] < minLng || cell.minLng[i] > maxLng) {
+                    continue;
+                }
+                top.offer(cell.ids[i], GeoUtils.haversineKm(centerLat, centerLng, cell.lat[i], cell.lng[i]));
+            }
+        }
+        return top.sorted();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int cellCount() {
+        return cells.size();
+    }
+
+    /**
+     * 범위가 길어 격자 밖에서 따로 확인하는 코스 수
+     */
+    public int oversizedCount() {
+        return oversized.size();
+    }
+
+    private short codeFilter(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Short code = codes.get(value);
+        return code != null ? code : UNKNOWN;
+    }
+
+    private short codeOf(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(value, key -> {
+            int code = nextCode.getAndIncrement();
+            if (code >= Short.MAX_VALUE) {
+                throw new IllegalStateException("테마/난이도 종류가 너무 많습니다.");
+            }
+            return (short) code;
+        });
+    }
+
+    private static boolean matches(Cell cell, int i, short themeCode, short difficultyCode) {
+        return (themeCode == NONE || cell.theme[i] == themeCode)
+                && (difficultyCode == NONE || cell.difficulty[i] == difficultyCode);
+    }
+
+    /**
+     * 영역을 덮는 칸을 기준점에서 가까운 순으로 정렬 (maxKm보다 먼 칸 제외)
+     * 호출 측은 상위 N개가 찼고 다음 칸까지의 최소 거리가 N번째보다 멀면 중단 - 밀집 지역에서 몇 칸만 훑음
+     */
+    private List<CellVisit> cellsByDistance(double lat, double lng, double minLat, double minLng,
+                                            double maxLat, double maxLng, double maxKm) {
+        double kmPerDegLng = KM_PER_DEG_LAT * Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        List<CellVisit> visits = new ArrayList<>();
+        int fromLat = cellIndex(minLat);
+        int toLat = cellIndex(maxLat);
+        int fromLng = cellIndex(minLng);
+        int toLng = cellIndex(maxLng);
+        for (int la = fromLat; la <= toLat; la++) {
+            for (int ln = fromLng; ln <= toLng; ln++) {
+                Cell cell = cells.get(key(la, ln));
+                if (cell == null) {
+                    continue;
+                }
+                double gapLat = Math.max(0, Math.max(la * cellDegrees - lat, lat - (la + 1) * cellDegrees));
+                double gapLng = Math.max(0, Math.max(ln * cellDegrees - lng, lng - (ln + 1) * cellDegrees));
+                // 평면 근사 오차를 감안해 1% 여유
+                double minKm = Math.hypot(gapLat * KM_PER_DEG_LAT, gapLng * kmPerDegLng) * 0.99;
+                if (minKm <= maxKm) {
+                    visits.add(new CellVisit(cell, minKm));
+                }
+            }
+        }
+        visits.sort(Comparator.comparingDouble(CellVisit::minKm));
+        return visits;
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private long cellKey(double lat, double lng) {
+        return key(cellIndex(lat), cellIndex(lng));
+    }
+
+    private static long key(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | (lngIndex & 0xFFFFFFFFL);
+    }
+
+    private void updateSpan(float spanLat, float spanLng) {
+        if (spanLat > maxSpanLat) {
+            maxSpanLat = spanLat;
+        }
+        if (spanLng > maxSpanLng) {
+            maxSpanLng = spanLng;
+        }
+    }
+
+    /**
+     * 빠지는 항목이 가장 긴 범위였으면 넓히는 폭을 다시 계산하도록 표시
+     */
+    private void retired(float spanLat, float spanLng) {
+        if (spanLat >= maxSpanLat || spanLng >= maxSpanLng) {
+            spanDirty = true;
+        }
+    }
+
+    /**
+     * 격자에 남은 코스의 최대 범위로 넓히는 폭을 다시 계산 (전체 순회, 가장 긴 코스가 빠질 때만)
+     */
+    private void recomputeSpanIfDirty() {
+        if (!spanDirty) {
+            return;
+        }
+        spanDirty = false;
+        float spanLat = 0;
+        float spanLng = 0;
+        for (Cell cell : cells.values()) {
+            for (int i = 0; i < cell.ids.length; i++) {
+                if (!cell.isOversized(i)) {
+                    spanLat = Math.max(spanLat, cell.maxLat[i] - cell.minLat[i]);
+                    spanLng = Math.max(spanLng, cell.maxLng[i] - cell.minLng[i]);
+                }
+            }
+        }
+        maxSpanLat = spanLat;
+        maxSpanLng = spanLng;
+    }
+
+    private record CellVisit(Cell cell, double minKm) {
+    }
+
+    /**
+     * 범위가 긴 코스 (범위 조회 시 전부 확인)
+     */
+    private record Oversized(long id, float lat, float lng, float minLat, float minLng, float maxLat, float maxLng,
+                             short theme, short difficulty) {
+    }
+
+    /**
+     * 거리순 상위 N개 (최대 힙)
+     */
+    private static final class TopHits {
+        private final int limit;
+        private final PriorityQueue<Hit> heap;
+
+        private TopHits(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024) + 1,
+                    Comparator.comparingDouble(Hit::distanceKm).reversed());
+        }
+
+        private boolean isFull() {
+            return heap.size() >= limit;
+        }
+
+        private double worst() {
+            return heap.peek().distanceKm();
+        }
+
+        private void offer(long id, double distance) {
+            if (heap.size() < limit) {
+                heap.add(new Hit(id, distance));
+            } else if (distance < heap.peek().distanceKm()) {
+                heap.poll();
+                heap.add(new Hit(id, distance));
+            }
+        }
+
+        private List<Hit> sorted() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id));
+            return hits;
+        }
+    }
+
+    /**
+     * 격자 한 칸 (불변, 열 단위 배열)
+     */
+    private static final class Cell {
+        private static final Cell EMPTY = new Cell(0);
+
+        private final long[] ids;
+        private final float[] lat;
+        private final float[] lng;
+        private final float[] minLat;
+        private final float[] minLng;
+        private final float[] maxLat;
+        private final float[] maxLng;
+        private final short[] theme;
+        private final short[] difficulty;
+
+        private Cell(int n) {
+            ids = new long[n];
+            lat = new float[n];
+            lng = new float[n];
+            minLat = new float[n];
+            minLng = new float[n];
+            maxLat = new float[n];
+            maxLng = new float[n];
+            theme = new short[n];
+            difficulty = new short[n];
+        }
+
+        private Cell withAll(List<Item> items, GeoGridIndex index) {
+            // 같은 id는 새 항목으로 교체
+            Set<Long> replaced = new HashSet<>();
+            for (Item item : items) {
+                replaced.add(item.id());
+            }
+            int kept = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (!replaced.contains(ids[i])) {
+                    kept++;
+                } else if (!isOversized(i)) {
+                    index.retired(maxLat[i] - minLat[i], maxLng[i] - minLng[i]);
+                }
+            }
+            Map<Long, Item> latest = new LinkedHashMap<>();
+            for (Item item : items) {
+                latest.put(item.id(), item);
+            }
+
+            Cell cell = new Cell(kept + latest.size());
+            int j = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (!replaced.contains(ids[i])) {
+                    cell.copyFrom(this, i, j++);
+                }
+            }
+            for (Item item : latest.values()) {
+                cell.set(j++, item, index);
+            }
+            return cell;
+        }
+
+        private Cell without(long id, GeoGridIndex index) {
+            int position = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    position = i;
+                    break;
+                }
+            }
+            if (position < 0) {
+                return this;
+            }
+            if (!isOversized(position)) {
+                index.retired(maxLat[position] - minLat[position], maxLng[position] - minLng[position]);
+            }
+            Cell cell = new Cell(ids.length - 1);
+            for (int i = 0, j = 0; i < ids.length; i++) {
+                if (i != position) {
+                    cell.copyFrom(this, i, j++);
+                }
+            }
+            return cell;
+        }
+
+        private void copyFrom(Cell source, int from, int to) {
+            ids[to] = source.ids[from];
+            lat[to] = source.lat[from];
+            lng[to] = source.lng[from];
+            minLat[to] = source.minLat[from];
+            minLng[to] = source.minLng[from];
+            maxLat[to] = source.maxLat[from];
+            maxLng[to] = source.maxLng[from];
+            theme[to] = source.theme[from];
+            difficulty[to] = source.difficulty[from];
+        }
+
+        private void set(int i, Item item, GeoGridIndex index) {
+            ids[i] = item.id();
+            lat[i] = (float) item.lat();
+            lng[i] = (float) item.lng();
+            minLat[i] = (float) (item.minLat() != null ? item.minLat() : item.lat());
+            minLng[i] = (float) (item.minLng() != null ? item.minLng() : item.lng());
+            maxLat[i] = (float) (item.maxLat() != null ? item.maxLat() : item.lat());
+            maxLng[i] = (float) (item.maxLng() != null ? item.maxLng() : item.lng());
+            theme[i] = index.codeOf(item.theme());
+            difficulty[i] = index.codeOf(item.difficulty());
+            if (isOversized(i)) {
+                index.oversized.put(ids[i], new Oversized(ids[i], lat[i], lng[i], minLat[i], minLng[i],
+                        maxLat[i], maxLng[i], theme[i], difficulty[i]));
+            } else {
+                index.oversized.remove(ids[i]);
+                index.updateSpan(maxLat[i] - minLat[i], maxLng[i] - minLng[i]);
+            }
+        }
+
+        private boolean isOversized(int i) {
+            return maxLat[i] - minLat[i] > MAX_GRID_SPAN_DEGREES || maxLng[i] - minLng[i] > MAX_GRID_SPAN_DEGREES;
+        }
+    }
+}
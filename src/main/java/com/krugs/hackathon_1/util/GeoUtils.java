@@ -0,0 +1,67 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+
+/**
+ * 위경도 기반 거리/방위 계산 유틸 (구면 근사, 지구 반지름 6371km)
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 지점 사이의 대원 거리 (km)
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * 좌표 순서대로 이은 경로의 총 길이 (km)
+     */
+    public static double pathLengthKm(GeoPath path) {
+        double total = 0;
+        for (int i = 1; i < path.size(); i++) {
+            total += haversineKm(path.lat(i - 1), path.lng(i - 1), path.lat(i), path.lng(i));
+        }
+        return total;
+    }
+
+    /**
+     * 시작점에서 목표점까지의 초기 방위각 (도, 0 = 북쪽, 시계 방향)
+     */
+    public static double bearingDeg(double lat1, double lng1, double lat2, double lng2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double y = Math.sin(dLng) * Math.cos(phi2);
+        double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(dLng);
+        return (Math.toDegrees(Math.atan2(y, x)) + 360.0) % 360.0;
+    }
+
+    /**
+     * 시작점에서 방위각/거리만큼 이동한 지점 {위도, 경도}
+     */
+    public static double[] destination(double lat, double lng, double bearingDeg, double distanceKm) {
+        double delta = distanceKm / EARTH_RADIUS_KM;
+        double theta = Math.toRadians(bearingDeg);
+        double phi1 = Math.toRadians(lat);
+        double lambda1 = Math.toRadians(lng);
+
+        double phi2 = Math.asin(Math.sin(phi1) * Math.cos(delta)
+                + Math.cos(phi1) * Math.sin(delta) * Math.cos(theta));
+        double lambda2 = lambda1 + Math.atan2(
+                Math.sin(theta) * Math.sin(delta) * Math.cos(phi1),
+                Math.cos(delta) - Math.sin(phi1) * Math.sin(phi2));
+
+        return new double[]{Math.toDegrees(phi2), Math.toDegrees(lambda2)};
+    }
+}
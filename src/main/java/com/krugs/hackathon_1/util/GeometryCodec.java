@@ -0,0 +1,357 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+
+import java.util.*;
+
+/**
+ * 코스 좌표/고도 바이너리 코덱
+ *
+ * 좌표: [형식 1바이트][소수 자릿수 1바이트][개수 varint] + (위도, 경도) 고정 소수점 정수의 차분을 zigzag varint로 저장
+ *       1e-6도(약 0.1m) 정밀도에서 인접 좌표 차분은 대부분 2~3바이트 → 좌표당 약 3~5바이트 (JSON 약 37바이트)
+ * 고도: [형식 1바이트][개수 varint][null 비트맵 여부 1바이트] + 0.1m 단위로 양자화한 값의 차분 zigzag varint
+ */
+public final class GeometryCodec {
+
+    private static final byte COORDINATES_FORMAT = 1;
+    private static final byte ELEVATIONS_FORMAT = 2;
+    private static final int DEFAULT_PRECISION = 6;
+    private static final double ELEVATION_SCALE = 10.0;
+
+    private GeometryCodec() {
+    }
+
+    /**
+     * GeoPath → 바이너리
+     */
+    public static byte[] encode(GeoPath path) {
+        int n = path.size();
+        Writer out = new Writer(3 + n * 6);
+        double scale = Math.pow(10, DEFAULT_PRECISION);
+        out.writeByte(COORDINATES_FORMAT);
+        out.writeByte(DEFAULT_PRECISION);
+        out.writeVarint(n);
+        long previousLat = 0;
+        long previousLng = 0;
+        for (int i = 0; i < n; i++) {
+            long lat = Math.round(path.lat(i) * scale);
+            long lng = Math.round(path.lng(i) * scale);
+            out.writeSignedVarint(lat - previousLat);
+            out.writeSignedVarint(lng - previousLng);
+            previousLat = lat;
+            previousLng = lng;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * [{lat, lng}, ...] → 바이너리 (lat/lng 또는 latitude/longitude 키, 값이 없는 항목은 건너뜀)
+     */
+    public static byte[] encodeCoordinates(List<? extends Map<String, ?>> coordinates) {
+        return encode(toPath(coordinates));
+    }
+
+    /**
+     * [{lat, lng}, ...] → GeoPath (값이 없는 항목은 건너뜀)
+     */
+    public static GeoPath toPath(List<? extends Map<String, ?>> coordinates) {
+        GeoPath.Builder builder = GeoPath.builder(coordinates.size());
+        for (Map<String, ?> point : coordinates) {
+            if (point == null) {
+                continue;
+            }
+            // 기존 JSON 데이터는 정수 좌표가 Integer로 읽힐 수 있으므로 Number로 처리
+            Object lat = point.containsKey("lat") ? point.get("lat") : point.get("latitude");
+            Object lng = point.containsKey("lng") ? point.get("lng") : point.get("longitude");
+            if (lat instanceof Number latValue && lng instanceof Number lngValue) {
+                builder.add(latValue.doubleValue(), lngValue.doubleValue());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 이전 형식 좌표를 바이너리로 옮겨도 같은 좌표가 나오는지 확인
+     * 모든 항목이 lat/lng(또는 latitude/longitude) 숫자 두 개만 가지고, 역변환 값이 양자화 오차(0.5e-6도) 안이어야 함
+     */
+    public static boolean coordinatesRoundTrip(List<? extends Map<String, ?>> coordinates) {
+        GeoPath decoded = decodePath(encode(toPath(coordinates)));
+        if (decoded.size() != coordinates.size()) {
+            return false;
+        }
+        double tolerance = 0.5 / Math.pow(10, DEFAULT_PRECISION) + 1e-12;
+        for (int i = 0; i < decoded.size(); i++) {
+            Map<String, ?> point = coordinates.get(i);
+            if (point.size() != 2) {
+                return false;
+            }
+            Object lat = point.containsKey("lat") ? point.get("lat") : point.get("latitude");
+            Object lng = point.containsKey("lng") ? point.get("lng") : point.get("longitude");
+            if (!(lat instanceof Number latValue && lng instanceof Number lngValue)
+                    || Math.abs(latValue.doubleValue() - decoded.lat(i)) > tolerance
+                    || Math.abs(lngValue.doubleValue() - decoded.lng(i)) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 바이너리 → GeoPath
+     */
+    public static GeoPath decodePath(byte[] data) {
+        Reader in = new Reader(data);
+        if (in.readByte() != COORDINATES_FORMAT) {
+            throw new IllegalArgumentException("좌표 데이터 형식이 아닙니다.");
+        }
+        double scale = Math.pow(10, in.readByte());
+        int n = (int) in.readVarint();
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        long lat = 0;
+        long lng = 0;
+        for (int i = 0; i < n; i++) {
+            lat += in.readSignedVarint();
+            lng += in.readSignedVarint();
+            lats[i] = lat / scale;
+            lngs[i] = lng / scale;
+        }
+        return GeoPath.of(lats, lngs);
+    }
+
+    /**
+     * 바이너리 → [{lat, lng}, ...] (API 응답 형식)
+     */
+    public static List<Map<String, Double>> decodeCoordinates(byte[] data) {
+        GeoPath path = decodePath(data);
+        List<Map<String, Double>> coordinates = new ArrayList<>(path.size());
+        for (int i = 0; i < path.size(); i++) {
+            Map<String, Double> point = new LinkedHashMap<>(4);
+            point.put("lat", path.lat(i));
+            point.put("lng", path.lng(i));
+            coordinates.add(point);
+        }
+        return coordinates;
+    }
+
+    /**
+     * 고도 목록 → 바이너리 (0.1m 단위 양자화, null 허용)
+     */
+    public static byte[] encodeElevations(List<Double> elevations) {
+        double[] values = new double[elevations.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double elevation = elevations.get(i);
+            values[i] = elevation != null ? elevation : Double.NaN;
+        }
+        return encodeElevations(values, values.length);
+    }
+
+    /**
+     * 고도 배열 앞 count개 → 바이너리 (NaN은 값 없음)
+     */
+    public static byte[] encodeElevations(double[] elevations, int count) {
+        boolean hasNulls = false;
+        for (int i = 0; i < count && !hasNulls; i++) {
+            hasNulls = Double.isNaN(elevations[i]);
+        }
+        Writer out = new Writer(4 + count * 2);
+        out.writeByte(ELEVATIONS_FORMAT);
+        out.writeVarint(count);
+        out.writeByte(hasNulls ? 1 : 0);
+        if (hasNulls) {
+            byte[] bitmap = new byte[(count + 7) / 8];
+            for (int i = 0; i < count; i++) {
+                if (!Double.isNaN(elevations[i])) {
+                    bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            out.writeBytes(bitmap);
+        }
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            if (Double.isNaN(elevations[i])) {
+                continue;
+            }
+            long quantized = Math.round(elevations[i] * ELEVATION_SCALE);
+            out.writeSignedVarint(quantized - previous);
+            previous = quantized;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 이전 형식 고도를 바이너리로 옮겨도 같은 값이 나오는지 확인 (개수, null 위치, 0.1m 양자화 오차 안)
+     */
+    public static boolean elevationsRoundTrip(List<Double> elevations) {
+        List<Double> decoded = decodeElevations(encodeElevations(elevations));
+        if (decoded.size() != elevations.size()) {
+            return false;
+        }
+        double tolerance = 0.5 / ELEVATION_SCALE + 1e-9;
+        for (int i = 0; i < decoded.size(); i++) {
+            Double original = elevations.get(i);
+            Double value = decoded.get(i);
+            if (original == null || value == null
+                    ? original != value
+                    : !Double.isFinite(original) || Math.abs(original - value) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 바이너리 → 고도 목록
+     */
+    public static List<Double> decodeElevations(byte[] data) {
+        Reader in = new Reader(data);
+        if (in.readByte() != ELEVATIONS_FORMAT) {
+            throw new IllegalArgumentException("고도 데이터 형식이 아닙니다.");
+        }
+        int n = (int) in.readVarint();
+        boolean hasNulls = in.readByte() != 0;
+        byte[] bitmap = hasNulls ? in.readBytes((n + 7) / 8) : null;
+        List<Double> elevations = new ArrayList<>(n);
+        long value = 0;
+        for (int i = 0; i < n; i++) {
+            if (bitmap != null && (bitmap[i >> 3] & (1 << (i & 7))) == 0) {
+                elevations.add(null);
+                continue;
+            }
+            value += in.readSignedVarint();
+            elevations.add(value / ELEVATION_SCALE);
+        }
+        return elevations;
+    }
+
+    /**
+     * 바이트 배열 출력 버퍼 (GpsTrackCodec과 공유)
+     */
+    static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        Writer(int capacity) {
+            buffer = new byte[Math.max(capacity, 16)];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        /**
+         * 다른 버퍼의 내용을 이어 씀
+         */
+        void writeBytes(Writer other) {
+            writeBytes(other.buffer, 0, other.size);
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * 바이트 배열 입력 커서 (from~to 구간만 읽음, GpsTrackCodec과 공유)
+     */
+    static final class Reader {
+        private final byte[] data;
+        private final int limit;
+        private int position;
+
+        Reader(byte[] data) {
+            this(data, 0, data.length);
+        }
+
+        Reader(byte[] data, int from, int to) {
+            if (from < 0 || to > data.length || from > to) {
+                throw new IllegalArgumentException("데이터가 잘렸습니다.");
+            }
+            this.data = data;
+            this.position = from;
+            this.limit = to;
+        }
+
+        byte[] data() {
+            return data;
+        }
+
+        int position() {
+            return position;
+        }
+
+        void skip(int length) {
+            if (length < 0 || position + length > limit) {
+                throw new IllegalArgumentException("데이터가 잘렸습니다.");
+            }
+            position += length;
+        }
+
+        byte readByte() {
+            if (position >= limit) {
+                throw new IllegalArgumentException("데이터가 잘렸습니다.");
+            }
+            return data[position++];
+        }
+
+        byte[] readBytes(int length) {
+            if (length < 0 || position + length > limit) {
+                throw new IllegalArgumentException("데이터가 잘렸습니다.");
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 varint");
+        }
+
+        long readSignedVarint() {
+            long raw = readVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+    }
+}
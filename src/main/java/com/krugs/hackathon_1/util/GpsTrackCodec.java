@@ -0,0 +1,485 @@
+package com.krugs.hackathon_1.util;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 달리기 기록 GPS 트랙 바이너리 코덱 (열 단위 저장 + Deflate 압축)
+ *
+ * 외부: [형식 1바이트][압축 1바이트 (0 없음, 1 Deflate)][본문 길이 varint] + 본문
+ * 본문: [개수 varint][시각/고도/심박 열 모드 각 1바이트 (0 없음, 1 전부 있음, 2 일부 - 열 앞에 비트맵)]
+ *       + 위도, 경도, 시각, 고도, 심박 열 각각 [길이 varint][내용] (값이 있는 포인트만, zigzag varint)
+ * - 위경도: 1e-7도 고정 소수점 값의 차분 (1Hz 기록에서 대부분 2바이트)
+ * - 시각: epoch ms 첫 값, 첫 차분, 이후는 차분의 차분 (간격이 일정하면 0 → 1바이트)
+ * - 고도: 0.1m 단위로 양자화한 값의 차분, 심박: bpm 차분
+ * 같은 종류의 값이 모여 있어 Deflate가 잘 압축함 → 1Hz 기록 포인트당 약 4바이트 (JSON 약 90바이트, GpsTrackCodecBenchmark)
+ */
+public final class GpsTrackCodec {
+
+    private static final byte FORMAT = 3;
+    private static final byte UNCOMPRESSED = 0;
+    private static final byte DEFLATE = 1;
+
+    private static final byte ABSENT = 0;
+    private static final byte ALL = 1;
+    private static final byte PARTIAL = 2;
+
+    private static final double E7 = 1e7;
+    private static final double ELEVATION_SCALE = 10.0;
+    // 이보다 작은 본문은 압축하지 않음
+    private static final int MIN_COMPRESS_SIZE = 64;
+    // Deflate 최대 압축률 (손상된 길이 값으로 큰 배열을 만들지 않도록)
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    private GpsTrackCodec() {
+    }
+
+    /**
+     * 트랙 버퍼 → 바이너리
+     */
+    public static byte[] encode(TrackBuffer track) {
+        int n = track.size();
+        byte timeMode = timeMode(track);
+        byte elevationMode = elevationMode(track);
+        byte heartRateMode = heartRateMode(track);
+
+        GeometryCodec.Writer lats = new GeometryCodec.Writer(n * 2);
+        GeometryCodec.Writer lngs = new GeometryCodec.Writer(n * 2);
+        long previousLat = 0;
+        long previousLng = 0;
+        for (int i = 0; i < n; i++) {
+            lats.writeSignedVarint(track.latE7(i) - previousLat);
+            lngs.writeSignedVarint(track.lngE7(i) - previousLng);
+            previousLat = track.latE7(i);
+            previousLng = track.lngE7(i);
+        }
+
+        GeometryCodec.Writer times = new GeometryCodec.Writer(timeMode == ABSENT ? 0 : n + 16);
+        if (timeMode == PARTIAL) {
+            byte[] bitmap = new byte[(n + 7) / 8];
+            for (int i = 0; i < n; i++) {
+                if (track.time(i) != TrackBuffer.NO_TIME) {
+                    bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            times.writeBytes(bitmap);
+        }
+        if (timeMode != ABSENT) {
+            int count = 0;
+            long previousTime = 0;
+            long previousDelta = 0;
+            for (int i = 0; i < n; i++) {
+                long time = track.time(i);
+                if (time == TrackBuffer.NO_TIME) {
+                    continue;
+                }
+                if (count == 0) {
+                    times.writeSignedVarint(time);
+                } else {
+                    long delta = time - previousTime;
+                    times.writeSignedVarint(count == 1 ? delta : delta - previousDelta);
+                    previousDelta = delta;
+                }
+                previousTime = time;
+                count++;
+            }
+        }
+
+        GeometryCodec.Writer elevations = new GeometryCodec.Writer(elevationMode == ABSENT ? 0 : n + 16);
+        if (elevationMode == PARTIAL) {
+            byte[] bitmap = new byte[(n + 7) / 8];
+            for (int i = 0; i < n; i++) {
+                if (!Double.isNaN(track.elevation(i))) {
+                    bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            elevations.writeBytes(bitmap);
+        }
+        if (elevationMode != ABSENT) {
+            long previous = 0;
+            for (int i = 0; i < n; i++) {
+                if (Double.isNaN(track.elevation(i))) {
+                    continue;
+                }
+                long quantized = Math.round(track.elevation(i) * ELEVATION_SCALE);
+                elevations.writeSignedVarint(quantized - previous);
+                previous = quantized;
+            }
+        }
+
+        GeometryCodec.Writer heartRates = new GeometryCodec.Writer(heartRateMode == ABSENT ? 0 : n + 16);
+        if (heartRateMode == PARTIAL) {
+            byte[] bitmap = new byte[(n + 7) / 8];
+            for (int i = 0; i < n; i++) {
+                if (track.heartRate(i) > 0) {
+                    bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            heartRates.writeBytes(bitmap);
+        }
+        if (heartRateMode != ABSENT) {
+            long previous = 0;
+            for (int i = 0; i < n; i++) {
+                if (track.heartRate(i) <= 0) {
+                    continue;
+                }
+                heartRates.writeSignedVarint(track.heartRate(i) - previous);
+                previous = track.heartRate(i);
+            }
+        }
+
+        GeometryCodec.Writer body = new GeometryCodec.Writer(16 + lats.size() + lngs.size()
+                + times.size() + elevations.size() + heartRates.size());
+        body.writeVarint(n);
+        body.writeByte(timeMode);
+        body.writeByte(elevationMode);
+        body.writeByte(heartRateMode);
+        for (GeometryCodec.Writer column : List.of(lats, lngs, times, elevations, heartRates)) {
+            body.writeVarint(column.size());
+            body.writeBytes(column);
+        }
+        return compress(body.toByteArray());
+    }
+
+    /**
+     * [{lat, lng, ele, time, hr}, ...] → 트랙 버퍼 (시각은 UTC ISO 문자열(...Z) 또는 epoch ms 정수)
+     * 바이너리에서 다시 읽은 값이 원래 값과 정확히 같은 포인트만 허용
+     * - 위경도는 1e-7도, 고도는 0.1m 단위로 떨어지는 값, 시각은 ms 단위, 심박은 1 이상 정수
+     * - 별칭 키(latitude, timestamp 등), null 값, 오프셋이 붙은 시각, 그 밖의 필드, 좌표가 없거나 범위를 벗어난 포인트는 null
+     * (손실 없이 옮길 수 없음 → 호출 측에서 JSON으로 보관)
+     */
+    public static TrackBuffer toTrack(List<? extends Map<String, ?>> points) {
+        TrackBuffer track = new TrackBuffer(points.size());
+        for (Map<String, ?> point : points) {
+            if (point == null) {
+                return null;
+            }
+            double lat = Double.NaN;
+            double lng = Double.NaN;
+            double elevation = Double.NaN;
+            long time = TrackBuffer.NO_TIME;
+            int heartRate = 0;
+            for (Map.Entry<String, ?> field : point.entrySet()) {
+                Object value = field.getValue();
+                if (value == null) {
+                    return null;
+                }
+                switch (field.getKey()) {
+                    case "lat" -> lat = fixedPoint(number(value));
+                    case "lng" -> lng = fixedPoint(number(value));
+                    case "ele" -> {
+                        elevation = number(value);
+                        if (Math.round((double) (float) elevation * ELEVATION_SCALE) / ELEVATION_SCALE != elevation) {
+                            return null;
+                        }
+                    }
+                    case "time" -> {
+                        time = time(value);
+                        if (time == TrackBuffer.NO_TIME) {
+                            return null;
+                        }
+                    }
+                    case "hr" -> {
+                        double bpm = number(value);
+                        if (!(bpm >= 1 && bpm <= Short.MAX_VALUE) || bpm != Math.rint(bpm)) {
+                            return null;
+                        }
+                        heartRate = (int) bpm;
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            if (!(Math.abs(lat) <= 90) || !(Math.abs(lng) <= 180)) {
+                return null;
+            }
+            track.append(lat, lng, elevation, time, heartRate);
+        }
+        return track;
+    }
+
+    /**
+     * 바이너리를 그대로 읽는 커서 (포인트 객체/맵을 만들지 않음, 압축된 경우 해제 버퍼 하나만 할당)
+     */
+    public static Cursor cursor(byte[] data) {
+        GeometryCodec.Reader in = new GeometryCodec.Reader(data);
+        if (in.readByte() != FORMAT) {
+            throw new IllegalArgumentException("GPS 트랙 데이터 형식이 아닙니다.");
+        }
+        byte compression = in.readByte();
+        long length = in.readVarint();
+        int remaining = data.length - in.position();
+        if (compression == UNCOMPRESSED) {
+            if (length != remaining) {
+                throw new IllegalArgumentException("데이터가 잘렸습니다.");
+            }
+            return new Cursor(data, in.position(), data.length);
+        }
+        if (compression != DEFLATE) {
+            throw new IllegalArgumentException("지원하지 않는 압축 형식입니다.");
+        }
+        if (length < 0 || length > (long) remaining * MAX_DEFLATE_RATIO) {
+            throw new IllegalArgumentException("데이터가 잘렸습니다.");
+        }
+        byte[] body = new byte[(int) length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, in.position(), remaining);
+            int inflated = inflater.inflate(body);
+            if (inflated != body.length || !inflater.finished()) {
+                throw new IllegalArgumentException("데이터가 잘렸습니다.");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("압축 데이터가 손상되었습니다.");
+        } finally {
+            inflater.end();
+        }
+        return new Cursor(body, 0, body.length);
+    }
+
+    private static byte[] compress(byte[] body) {
+        if (body.length >= MIN_COMPRESS_SIZE) {
+            // 열 단위 varint는 이미 작아서 압축 수준을 높여도 1~2%만 줄고 인코딩은 3배 느려짐
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(body);
+                deflater.finish();
+                byte[] compressed = new byte[body.length];
+                int length = deflater.deflate(compressed);
+                if (deflater.finished() && length < body.length) {
+                    return envelope(DEFLATE, body.length, compressed, length);
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        return envelope(UNCOMPRESSED, body.length, body, body.length);
+    }
+
+    private static byte[] envelope(byte compression, int bodyLength, byte[] payload, int payloadLength) {
+        GeometryCodec.Writer out = new GeometryCodec.Writer(payloadLength + 8);
+        out.writeByte(FORMAT);
+        out.writeByte(compression);
+        out.writeVarint(bodyLength);
+        out.writeBytes(payload, 0, payloadLength);
+        return out.toByteArray();
+    }
+
+    private static byte timeMode(TrackBuffer track) {
+        int present = 0;
+        for (int i = 0; i < track.size(); i++) {
+            if (track.time(i) != TrackBuffer.NO_TIME) {
+                present++;
+            }
+        }
+        return mode(present, track.size());
+    }
+
+    private static byte elevationMode(TrackBuffer track) {
+        int present = 0;
+        for (int i = 0; i < track.size(); i++) {
+            if (!Double.isNaN(track.elevation(i))) {
+                present++;
+            }
+        }
+        return mode(present, track.size());
+    }
+
+    private static byte heartRateMode(TrackBuffer track) {
+        int present = 0;
+        for (int i = 0; i < track.size(); i++) {
+            if (track.heartRate(i) > 0) {
+                present++;
+            }
+        }
+        return mode(present, track.size());
+    }
+
+    private static byte mode(int present, int size) {
+        return present == 0 ? ABSENT : present == size ? ALL : PARTIAL;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * 1e-7도 고정 소수점으로 정확히 표현되는 값만 그대로, 아니면 NaN
+     */
+    private static double fixedPoint(double degrees) {
+        return Math.round(degrees * E7) / E7 == degrees ? degrees : Double.NaN;
+    }
+
+    /**
+     * epoch ms 정수 또는 ms 정밀도의 UTC ISO 문자열만 허용 (오프셋 표기는 원래 시간대가 사라지므로 제외)
+     */
+    private static long time(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String text && text.endsWith("Z")) {
+            try {
+                Instant instant = Instant.parse(text);
+                return instant.getNano() % 1_000_000 == 0 ? instant.toEpochMilli() : TrackBuffer.NO_TIME;
+            } catch (DateTimeParseException | ArithmeticException e) {
+                return TrackBuffer.NO_TIME;
+            }
+        }
+        return TrackBuffer.NO_TIME;
+    }
+
+    /**
+     * 트랙 포인트 순회 커서 - next()로 다음 포인트로 이동한 뒤 값 조회
+     * 열마다 읽는 위치를 따로 두고 같은 바이트 배열에서 차분을 누적
+     */
+    public static final class Cursor {
+        private final byte[] body;
+        private final int size;
+        private final byte timeMode;
+        private final byte elevationMode;
+        private final byte heartRateMode;
+        private final GeometryCodec.Reader lats;
+        private final GeometryCodec.Reader lngs;
+        private final GeometryCodec.Reader times;
+        private final GeometryCodec.Reader elevations;
+        private final GeometryCodec.Reader heartRates;
+        private final int timeBitmap;
+        private final int elevationBitmap;
+        private final int heartRateBitmap;
+
+        private int index = -1;
+        private long lat;
+        private long lng;
+        private int timeCount;
+        private long time;
+        private long timeDelta;
+        private long elevation;
+        private long heartRate;
+        private boolean hasTime;
+        private boolean hasElevation;
+        private boolean hasHeartRate;
+
+        private Cursor(byte[] body, int from, int to) {
+            this.body = body;
+            GeometryCodec.Reader in = new GeometryCodec.Reader(body, from, to);
+            long count = in.readVarint();
+            if (count < 0 || count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("잘못된 포인트 수");
+            }
+            size = (int) count;
+            timeMode = in.readByte();
+            elevationMode = in.readByte();
+            heartRateMode = in.readByte();
+            lats = column(in);
+            lngs = column(in);
+            times = column(in);
+            elevations = column(in);
+            heartRates = column(in);
+            timeBitmap = bitmap(times, timeMode);
+            elevationBitmap = bitmap(elevations, elevationMode);
+            heartRateBitmap = bitmap(heartRates, heartRateMode);
+        }
+
+        private static GeometryCodec.Reader column(GeometryCodec.Reader in) {
+            long length = in.readVarint();
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("데이터가 잘렸습니다.");
+            }
+            int start = in.position();
+            in.skip((int) length);
+            return new GeometryCodec.Reader(in.data(), start, start + (int) length);
+        }
+
+        /**
+         * 일부만 값이 있는 열이면 비트맵 시작 위치를 돌려주고 열 커서를 비트맵 뒤로 옮김
+         */
+        private int bitmap(GeometryCodec.Reader column, byte mode) {
+            if (mode != PARTIAL) {
+                return -1;
+            }
+            int start = column.position();
+            column.skip((size + 7) / 8);
+            return start;
+        }
+
+        /**
+         * 다음 포인트로 이동 (더 없으면 false)
+         */
+        public boolean next() {
+            if (index + 1 >= size) {
+                return false;
+            }
+            index++;
+            lat += lats.readSignedVarint();
+            lng += lngs.readSignedVarint();
+
+            hasTime = present(timeMode, timeBitmap);
+            if (hasTime) {
+                long value = times.readSignedVarint();
+                if (timeCount == 0) {
+                    time = value;
+                } else {
+                    timeDelta = timeCount == 1 ? value : timeDelta + value;
+                    time += timeDelta;
+                }
+                timeCount++;
+            }
+            hasElevation = present(elevationMode, elevationBitmap);
+            if (hasElevation) {
+                elevation += elevations.readSignedVarint();
+            }
+            hasHeartRate = present(heartRateMode, heartRateBitmap);
+            if (hasHeartRate) {
+                heartRate += heartRates.readSignedVarint();
+            }
+            return true;
+        }
+
+        private boolean present(byte mode, int bitmap) {
+            return mode == ALL || (mode == PARTIAL && (body[bitmap + (index >> 3)] & (1 << (index & 7))) != 0);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public double lat() {
+            return lat / E7;
+        }
+
+        public double lng() {
+            return lng / E7;
+        }
+
+        /**
+         * 고도 (m, 없으면 NaN)
+         */
+        public double elevation() {
+            return hasElevation ? elevation / ELEVATION_SCALE : Double.NaN;
+        }
+
+        /**
+         * 시각 (epoch ms, 없으면 TrackBuffer.NO_TIME)
+         */
+        public long time() {
+            return hasTime ? time : TrackBuffer.NO_TIME;
+        }
+
+        /**
+         * 심박 (bpm, 없으면 0)
+         */
+        public int heartRate() {
+            return hasHeartRate ? (int) heartRate : 0;
+        }
+    }
+}
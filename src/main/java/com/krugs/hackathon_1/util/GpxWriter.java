@@ -0,0 +1,94 @@
+package com.krugs.hackathon_1.util;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * GPX 1.1 스트리밍 출력 (StAX)
+ * 트랙 하나, 세그먼트 하나로 포인트를 받는 즉시 출력 스트림에 씀 - 문서 전체를 메모리에 만들지 않음
+ */
+public final class GpxWriter implements AutoCloseable {
+
+    private static final String GPX_NS = "http://www.topografix.com/GPX/1/1";
+    private static final String TPX_NS = "http://www.garmin.com/xmlschemas/TrackPointExtension/v1";
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+
+    private final XMLStreamWriter writer;
+    private int points;
+
+    public GpxWriter(OutputStream out, String name) {
+        try {
+            writer = FACTORY.createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("gpx");
+            writer.writeDefaultNamespace(GPX_NS);
+            writer.writeNamespace("gpxtpx", TPX_NS);
+            writer.writeAttribute("version", "1.1");
+            writer.writeAttribute("creator", "hackathon_1");
+            writer.writeStartElement("trk");
+            if (name != null && !name.isBlank()) {
+                writeText("name", name);
+            }
+            writer.writeStartElement("trkseg");
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("GPX 출력 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 트랙 포인트 출력 (고도 NaN, 시각/심박 null이면 생략)
+     */
+    public void point(double lat, double lng, double elevation, Instant time, Integer heartRate) {
+        try {
+            writer.writeStartElement("trkpt");
+            writer.writeAttribute("lat", Double.toString(lat));
+            writer.writeAttribute("lon", Double.toString(lng));
+            if (!Double.isNaN(elevation)) {
+                writeText("ele", Double.toString(elevation));
+            }
+            if (time != null) {
+                writeText("time", time.toString());
+            }
+            if (heartRate != null) {
+                writer.writeStartElement("extensions");
+                writer.writeStartElement("gpxtpx", "TrackPointExtension", TPX_NS);
+                writer.writeStartElement("gpxtpx", "hr", TPX_NS);
+                writer.writeCharacters(heartRate.toString());
+                writer.writeEndElement();
+                writer.writeEndElement();
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            points++;
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("GPX 출력 실패: " + e.getMessage(), e);
+        }
+    }
+
+    public int points() {
+        return points;
+    }
+
+    /**
+     * 문서를 닫고 버퍼를 비움 (출력 스트림 자체는 닫지 않음)
+     */
+    @Override
+    public void close() {
+        try {
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("GPX 출력 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeText(String element, String text) throws XMLStreamException {
+        writer.writeStartElement(element);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+}
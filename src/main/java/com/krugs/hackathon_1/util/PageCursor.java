@@ -0,0 +1,84 @@
+package com.krugs.hackathon_1.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션 커서 (정렬 키 + id)
+ * 클라이언트에는 "v1:정렬키:id"를 base64url로 감싼 불투명 문자열로 전달
+ * 날짜 정렬 키는 UTC 기준 epoch 마이크로초 (DB TIMESTAMP(6) 정밀도와 동일)
+ */
+public record PageCursor(long key, long id) {
+
+    private static final String VERSION = "v1";
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /** 첫 페이지 조회용 커서 (모든 행보다 뒤) */
+    public static final PageCursor FIRST = new PageCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    public static PageCursor of(long key, Long id) {
+        return new PageCursor(key, id);
+    }
+
+    public static PageCursor of(LocalDateTime key, Long id) {
+        return new PageCursor(toMicros(key), id);
+    }
+
+    /**
+     * 커서 문자열 해석 (비어 있으면 첫 페이지)
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new PageCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("잘못된 페이지 커서입니다.");
+        }
+    }
+
+    /**
+     * 요청 페이지 크기를 1..max 범위로 제한 (없으면 기본값)
+     */
+    public static int pageSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+        return Math.max(1, Math.min(requested, maxSize));
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 정렬 키를 정수로 해석 (좋아요 수 등)
+     */
+    public int keyAsInt() {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, key));
+    }
+
+    /**
+     * 정렬 키를 날짜로 해석
+     */
+    public LocalDateTime keyAsDateTime() {
+        if (key >= toMicros(MAX_DATE_TIME)) {
+            return MAX_DATE_TIME;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, 1_000_000L),
+                (int) Math.floorMod(key, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1000;
+    }
+}
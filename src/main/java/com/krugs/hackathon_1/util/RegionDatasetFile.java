@@ -0,0 +1,308 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.Attraction;
+import com.krugs.hackathon_1.dto.AttractionColumns;
+import com.krugs.hackathon_1.dto.RegionInfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * 지역/관광지 데이터셋 바이너리 파일 (메모리 매핑으로 읽음)
+ *
+ * 구조 (big-endian)
+ * - 헤더 32바이트: 매직, 버전, 원본 CRC32, 지역 수, 관광지 수, 문자열 참조 수, 문자열 수
+ * - 지역 레코드 48바이트: 이름, 설명, 중심 위도/경도, 관광지 시작/개수, 특산물 시작/개수, 테마 시작/개수
+ * - 관광지 레코드 28바이트: 이름, 카테고리, 설명, 위도, 경도
+ * - 문자열 참조 배열 (특산물/테마 목록)
+ * - 문자열 테이블: 오프셋 배열 + UTF-8 바이트 (중복 문자열은 한 번만 저장)
+ *
+ * 관광지 목록은 매핑된 버퍼를 직접 읽는 읽기 전용 리스트로 제공하여 힙에 복사본을 만들지 않음
+ * (AttractionColumns로 읽으면 관광지 객체도 만들지 않음, get()은 API 응답 등 드문 경로용)
+ * 매핑 중인 파일은 덮어쓰지 않음 - 새 데이터셋은 새 파일 이름으로 쓰고 매핑을 바꿈 (Windows는 매핑된 파일 교체 불가)
+ */
+public final class RegionDatasetFile {
+
+    private static final int MAGIC = 0x4B52474E; // "KRGN"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int REGION_BYTES = 48;
+    private static final int ATTRACTION_BYTES = 28;
+    private static final int NO_STRING = -1;
+
+    private final ByteBuffer buffer;
+    private final long sourceCrc;
+    private final int regionCount;
+    private final int attractionCount;
+    private final int regionsOffset;
+    private final int attractionsOffset;
+    private final int refsOffset;
+    private final int stringOffsetsOffset;
+    private final int stringDataOffset;
+    private final String[] strings;
+    private final List<RegionInfo> regions;
+
+    private RegionDatasetFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("지역 데이터 파일 형식이 아닙니다.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("지원하지 않는 지역 데이터 파일 버전: " + buffer.getInt(4));
+        }
+        sourceCrc = buffer.getLong(8);
+        regionCount = buffer.getInt(16);
+        attractionCount = buffer.getInt(20);
+        int refCount = buffer.getInt(24);
+        int stringCount = buffer.getInt(28);
+
+        regionsOffset = HEADER_BYTES;
+        attractionsOffset = regionsOffset + regionCount * REGION_BYTES;
+        refsOffset = attractionsOffset + attractionCount * ATTRACTION_BYTES;
+        stringOffsetsOffset = refsOffset + refCount * 4;
+        stringDataOffset = stringOffsetsOffset + (stringCount + 1) * 4;
+        if (stringDataOffset > buffer.capacity()
+                || stringDataOffset + buffer.getInt(stringOffsetsOffset + stringCount * 4) > buffer.capacity()) {
+            throw new IllegalStateException("지역 데이터 파일이 손상되었습니다.");
+        }
+        strings = new String[stringCount];
+        regions = List.copyOf(readRegions());
+    }
+
+    /**
+     * 바이너리 파일을 읽기 전용으로 매핑
+     */
+    public static RegionDatasetFile map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new RegionDatasetFile(mapped);
+        }
+    }
+
+    /**
+     * 메모리 버퍼에서 읽기 (테스트/벤치마크용)
+     */
+    public static RegionDatasetFile wrap(byte[] bytes) {
+        return new RegionDatasetFile(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+    }
+
+    /**
+     * 지역 목록을 새 바이너리 파일로 저장 - 임시 파일에 쓴 뒤 이름을 바꿔서 읽는 쪽이 반쯤 쓰인 파일을 보지 않도록 함
+     * target은 아직 없는 새 파일 이름이어야 함 (매핑 중일 수 있는 기존 파일을 교체하지 않도록)
+     */
+    public static void write(Collection<RegionInfo> regions, long sourceCrc, Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, encode(regions, sourceCrc));
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 지역 목록을 바이너리 형식으로 인코딩
+     */
+    public static byte[] encode(Collection<RegionInfo> regions, long sourceCrc) {
+        Map<String, Integer> stringIds = new LinkedHashMap<>();
+        List<Integer> refs = new ArrayList<>();
+        int attractionCount = 0;
+        for (RegionInfo region : regions) {
+            attractionCount += region.getAttractions() != null ? region.getAttractions().size() : 0;
+        }
+
+        ByteBuffer records = ByteBuffer.allocate(regions.size() * REGION_BYTES + attractionCount * ATTRACTION_BYTES);
+        ByteBuffer attractionRecords = records.duplicate().position(regions.size() * REGION_BYTES);
+        int attractionIndex = 0;
+        for (RegionInfo region : regions) {
+            List<Attraction> attractions = region.getAttractions() != null ? region.getAttractions() : List.of();
+            List<String> specialties = region.getSpecialties() != null ? region.getSpecialties() : List.of();
+            List<String> themes = region.getThemes() != null ? region.getThemes() : List.of();
+
+            records.putInt(stringId(stringIds, region.getRegionName()));
+            records.putInt(stringId(stringIds, region.getDescription()));
+            records.putDouble(region.getCenterLat());
+            records.putDouble(region.getCenterLng());
+            records.putInt(attractionIndex).putInt(attractions.size());
+            records.putInt(refs.size()).putInt(specialties.size());
+            specialties.forEach(s -> refs.add(stringId(stringIds, s)));
+            records.putInt(refs.size()).putInt(themes.size());
+            themes.forEach(t -> refs.add(stringId(stringIds, t)));
+
+            for (Attraction attraction : attractions) {
+                attractionRecords.putInt(stringId(stringIds, attraction.getName()));
+                attractionRecords.putInt(stringId(stringIds, attraction.getCategory()));
+                attractionRecords.putInt(stringId(stringIds, attraction.getDescription()));
+                attractionRecords.putDouble(attraction.getLatitude());
+                attractionRecords.putDouble(attraction.getLongitude());
+            }
+            attractionIndex += attractions.size();
+        }
+
+        List<byte[]> encodedStrings = new ArrayList<>(stringIds.size());
+        int stringBytes = 0;
+        for (String value : stringIds.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encodedStrings.add(bytes);
+            stringBytes += bytes.length;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + records.capacity() + refs.size() * 4
+                + (encodedStrings.size() + 1) * 4 + stringBytes);
+        out.putInt(MAGIC).putInt(VERSION).putLong(sourceCrc)
+                .putInt(regions.size()).putInt(attractionCount).putInt(refs.size()).putInt(encodedStrings.size());
+        out.put(records.array());
+        refs.forEach(out::putInt);
+        int offset = 0;
+        for (byte[] bytes : encodedStrings) {
+            out.putInt(offset);
+            offset += bytes.length;
+        }
+        out.putInt(offset);
+        encodedStrings.forEach(out::put);
+        return out.array();
+    }
+
+    /**
+     * 바이너리를 만든 원본 데이터셋의 CRC32 (원본 변경 여부 확인용)
+     */
+    public long sourceCrc() {
+        return sourceCrc;
+    }
+
+    public List<RegionInfo> regions() {
+        return regions;
+    }
+
+    public int attractionCount() {
+        return attractionCount;
+    }
+
+    public int byteSize() {
+        return buffer.capacity();
+    }
+
+    private List<RegionInfo> readRegions() {
+        List<RegionInfo> result = new ArrayList<>(regionCount);
+        for (int i = 0; i < regionCount; i++) {
+            int base = regionsOffset + i * REGION_BYTES;
+            result.add(RegionInfo.builder()
+                    .regionName(string(buffer.getInt(base)))
+                    .description(string(buffer.getInt(base + 4)))
+                    .centerLat(buffer.getDouble(base + 8))
+                    .centerLng(buffer.getDouble(base + 16))
+                    .attractions(new AttractionList(buffer.getInt(base + 24), buffer.getInt(base + 28)))
+                    .specialties(stringList(buffer.getInt(base + 32), buffer.getInt(base + 36)))
+                    .themes(stringList(buffer.getInt(base + 40), buffer.getInt(base + 44)))
+                    .build());
+        }
+        return result;
+    }
+
+    private List<String> stringList(int start, int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = string(buffer.getInt(refsOffset + (start + i) * 4));
+        }
+        return List.of(values);
+    }
+
+    /**
+     * 문자열 테이블 조회 - 처음 접근할 때 디코딩하여 보관 (같은 값은 같은 객체를 공유)
+     */
+    private String string(int id) {
+        if (id == NO_STRING) {
+            return null;
+        }
+        String value = strings[id];
+        if (value == null) {
+            int start = buffer.getInt(stringOffsetsOffset + id * 4);
+            int end = buffer.getInt(stringOffsetsOffset + (id + 1) * 4);
+            byte[] bytes = new byte[end - start];
+            buffer.get(stringDataOffset + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    private static int stringId(Map<String, Integer> stringIds, String value) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        return stringIds.computeIfAbsent(value, v -> stringIds.size());
+    }
+
+    /**
+     * 매핑된 관광지 레코드를 그대로 읽는 읽기 전용 리스트
+     * 열 단위 접근(name/category/latitude/longitude)은 버퍼에서 바로 읽어 객체를 만들지 않음
+     */
+    private final class AttractionList extends AbstractList<Attraction> implements RandomAccess, AttractionColumns {
+        private final int start;
+        private final int size;
+
+        private AttractionList(int start, int size) {
+            this.start = start;
+            this.size = size;
+        }
+
+        @Override
+        public Attraction get(int index) {
+            int base = base(index);
+            return Attraction.builder()
+                    .name(string(buffer.getInt(base)))
+                    .category(string(buffer.getInt(base + 4)))
+                    .description(string(buffer.getInt(base + 8)))
+                    .latitude(buffer.getDouble(base + 12))
+                    .longitude(buffer.getDouble(base + 20))
+                    .build();
+        }
+
+        @Override
+        public String name(int index) {
+            return string(buffer.getInt(base(index)));
+        }
+
+        @Override
+        public String category(int index) {
+            return string(buffer.getInt(base(index) + 4));
+        }
+
+        @Override
+        public double latitude(int index) {
+            return buffer.getDouble(base(index) + 12);
+        }
+
+        @Override
+        public double longitude(int index) {
+            return buffer.getDouble(base(index) + 20);
+        }
+
+        private int base(int index) {
+            Objects.checkIndex(index, size);
+            return attractionsOffset + (start + index) * ATTRACTION_BYTES;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.AttractionColumns;
+import com.krugs.hackathon_1.dto.RegionInfo;
+
+import java.util.*;
+
+/**
+ * 지역명/관광지명 검색 인덱스
+ * - 이름을 자모 단위로 분해하여 트라이에 저장 (입력 중인 "천ㅇ", "처" 같은 미완성 글자도 접두어로 일치)
+ * - 정확 일치 → 접두어(자동완성) → 입력 안에 포함된 이름("천안역", "충남 공주시") → 오타 허용(자모 편집 거리) 순으로 점수 부여
+ * - 생성 후에는 변경하지 않으므로 여러 스레드에서 동시에 조회 가능
+ */
+public final class RegionNameIndex {
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    private static final String JONGSEONG = "\0ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    private static final double SCORE_EXACT = 1.0;
+    private static final double SCORE_PREFIX = 0.6;
+    private static final double SCORE_CONTAINED = 0.55;
+    private static final double SCORE_FUZZY = 0.5;
+    private static final double ATTRACTION_PENALTY = 0.05;
+    private static final int MAX_PREFIX_VISITS = 256;
+
+    private final Node root = new Node();
+    private final int size;
+    private int maxDepth;
+
+    /**
+     * 검색 대상 종류
+     */
+    public enum Type {
+        REGION, ATTRACTION
+    }
+
+    /**
+     * 검색 후보 - 일치한 이름과 해당 지역, 점수(0~1)
+     */
+    public record Candidate(String name, RegionInfo region, Type type, double lat, double lng, double score) {
+    }
+
+    private record Entry(String name, RegionInfo region, Type type, double lat, double lng, int order, int length) {
+    }
+
+    private RegionNameIndex(Collection<RegionInfo> regions) {
+        int order = 0;
+        for (RegionInfo region : regions) {
+            add(region.getRegionName(), region, Type.REGION, region.getCenterLat(), region.getCenterLng(), order++);
+            // "대전 유성" → "대전", "유성" 단어 단위로도 검색되도록 등록
+            String[] words = region.getRegionName().trim().split("\\s+");
+            if (words.length > 1) {
+                for (String word : words) {
+                    add(word, region, Type.REGION, region.getCenterLat(), region.getCenterLng(), order++);
+                }
+            }
+            AttractionColumns attractions = AttractionColumns.of(region.getAttractions());
+            for (int i = 0; i < attractions.size(); i++) {
+                add(attractions.name(i), region, Type.ATTRACTION,
+                        attractions.latitude(i), attractions.longitude(i), order++);
+            }
+        }
+        this.size = order;
+    }
+
+    public static RegionNameIndex build(Collection<RegionInfo> regions) {
+        return new RegionNameIndex(regions);
+    }
+
+    /**
+     * 등록된 이름 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 입력과 가장 잘 맞는 지역 (일치하는 이름이 없으면 null)
+     */
+    public RegionInfo resolve(String query) {
+        List<Candidate> candidates = search(query, 1);
+        return candidates.isEmpty() ? null : candidates.get(0).region();
+    }
+
+    /**
+     * 점수 순 후보 목록 (같은 이름/지역은 가장 높은 점수만 유지)
+     */
+    public List<Candidate> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String jamo = decompose(normalized);
+        Map<Entry, Double> scores = new HashMap<>();
+
+        collectPrefix(jamo, scores);
+        collectContained(normalized, scores);
+        collectFuzzy(jamo, scores);
+
+        List<Map.Entry<Entry, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Entry, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                .thenComparingInt(e -> e.getKey().order()));
+
+        List<Candidate> results = new ArrayList<>(Math.min(limit, ranked.size()));
+        Set<String> seen = new HashSet<>();
+        for (Map.Entry<Entry, Double> e : ranked) {
+            Entry entry = e.getKey();
+            if (!seen.add(entry.name() + '\0' + entry.region().getRegionName())) {
+                continue;
+            }
+            results.add(new Candidate(entry.name(), entry.region(), entry.type(), entry.lat(), entry.lng(),
+                    Math.round(e.getValue() * 1000.0) / 1000.0));
+            if (results.size() >= limit) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 입력으로 시작하는 이름 - 완전히 일치하면 최고점, 나머지는 남은 길이가 짧을수록 높은 점수
+     */
+    private void collectPrefix(String jamo, Map<Entry, Double> scores) {
+        Node node = root.walk(jamo, 0, jamo.length());
+        if (node == null) {
+            return;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        int visits = 0;
+        while (!stack.isEmpty() && visits++ < MAX_PREFIX_VISITS) {
+            Node current = stack.pop();
+            for (Entry entry : current.entries) {
+                double score = current == node
+                        ? SCORE_EXACT
+                        : SCORE_PREFIX + 0.3 * jamo.length() / entry.length();
+                offer(scores, entry, score);
+            }
+            for (int i = 0; i < current.childCount; i++) {
+                stack.push(current.children[i]);
+            }
+        }
+    }
+
+    /**
+     * 입력 안에 포함된 이름 ("천안역" → 천안, "충남 공주시 금강" → 공주, 금강)
+     * 음절 경계에서 시작하는 위치마다 트라이를 따라가며 끝까지 일치한 이름을 수집
+     */
+    private void collectContained(String normalized, Map<Entry, Double> scores) {
+        String jamo = decompose(normalized);
+        int queryLength = jamo.length();
+        int offset = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            Node node = root;
+            for (int j = offset; j < queryLength && node != null; j++) {
+                node = node.child(jamo.charAt(j));
+                // 입력 전체와 같은 이름은 접두어 검색에서 이미 최고점 처리
+                if (node != null && !node.entries.isEmpty() && (offset > 0 || j + 1 < queryLength)) {
+                    double coverage = (double) (j + 1 - offset) / queryLength;
+                    double base = offset == 0 ? SCORE_CONTAINED + 0.05 : SCORE_CONTAINED;
+                    for (Entry entry : node.entries) {
+                        offer(scores, entry, base + 0.3 * coverage);
+                    }
+                }
+            }
+            offset += jamoLength(normalized.charAt(i));
+        }
+    }
+
+    /**
+     * 오타 허용 검색 - 자모 편집 거리 기반, 트라이를 따라가며 거리 하한이 허용치를 넘는 가지는 잘라냄
+     */
+    private void collectFuzzy(String jamo, Map<Entry, Double> scores) {
+        int maxDistance = jamo.length() <= 3 ? 0 : jamo.length() <= 10 ? 1 : 2;
+        if (maxDistance == 0) {
+            return;
+        }
+        // 깊이별 편집 거리 행을 미리 할당해 두고 재사용
+        int[][] rows = new int[maxDepth + 1][jamo.length() + 1];
+        for (int i = 0; i <= jamo.length(); i++) {
+            rows[0][i] = i;
+        }
+        fuzzy(root, 0, jamo, rows, maxDistance, scores);
+    }
+
+    private void fuzzy(Node node, int depth, String jamo, int[][] rows, int maxDistance,
+                       Map<Entry, Double> scores) {
+        int columns = jamo.length() + 1;
+        int[] previousRow = rows[depth];
+        for (int c = 0; c < node.childCount; c++) {
+            char key = node.keys[c];
+            Node child = node.children[c];
+            int[] row = rows[depth + 1];
+            row[0] = previousRow[0] + 1;
+            int rowMin = row[0];
+            for (int i = 1; i < columns; i++) {
+                int insert = row[i - 1] + 1;
+                int delete = previousRow[i] + 1;
+                int replace = previousRow[i - 1] + (jamo.charAt(i - 1) == key ? 0 : 1);
+                row[i] = Math.min(insert, Math.min(delete, replace));
+                rowMin = Math.min(rowMin, row[i]);
+            }
+
+            int distance = row[columns - 1];
+            if (distance <= maxDistance && distance > 0) {
+                for (Entry entry : child.entries) {
+                    double similarity = 1.0 - (double) distance / Math.max(columns - 1, entry.length());
+                    offer(scores, entry, SCORE_FUZZY * similarity + 0.1);
+                }
+            }
+            if (rowMin <= maxDistance && depth + 1 < maxDepth) {
+                fuzzy(child, depth + 1, jamo, rows, maxDistance, scores);
+            }
+        }
+    }
+
+    private static void offer(Map<Entry, Double> scores, Entry entry, double score) {
+        double adjusted = entry.type() == Type.ATTRACTION ? score - ATTRACTION_PENALTY : score;
+        scores.merge(entry, adjusted, Math::max);
+    }
+
+    private void add(String name, RegionInfo region, Type type, double lat, double lng, int order) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String jamo = decompose(normalized);
+        Node node = root;
+        for (int i = 0; i < jamo.length(); i++) {
+            node = node.getOrCreate(jamo.charAt(i));
+        }
+        node.entries.add(new Entry(name.trim(), region, type, lat, lng, order, jamo.length()));
+        maxDepth = Math.max(maxDepth, jamo.length());
+    }
+
+    /**
+     * 공백/기호 제거, 소문자 변환
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 한글 음절을 호환 자모로 분해 ("천안" → "ㅊㅓㄴㅇㅏㄴ"), 그 외 문자는 그대로
+     */
+    static String decompose(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                int index = c - 0xAC00;
+                sb.append(CHOSEONG.charAt(index / 588));
+                sb.append(JUNGSEONG.charAt((index % 588) / 28));
+                int jong = index % 28;
+                if (jong != 0) {
+                    sb.append(JONGSEONG.charAt(jong));
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int jamoLength(char c) {
+        if (c >= 0xAC00 && c <= 0xD7A3) {
+            return (c - 0xAC00) % 28 == 0 ? 2 : 3;
+        }
+        return 1;
+    }
+
+    /**
+     * 트라이 노드 - 자식 수가 적으므로 배열 선형 탐색
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        private final List<Entry> entries = new ArrayList<>(1);
+
+        private Node child(char key) {
+            for (int i = 0; i < childCount; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrCreate(char key) {
+            Node existing = child(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            Node created = new Node();
+            keys[childCount] = key;
+            children[childCount] = created;
+            childCount++;
+            return created;
+        }
+
+        private Node walk(String text, int from, int to) {
+            Node node = this;
+            for (int i = from; i < to && node != null; i++) {
+                node = node.child(text.charAt(i));
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.krugs.hackathon_1.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.StringJoiner;
+
+/**
+ * 조건부 GET 검증자 (ETag, Last-Modified)
+ * 응답 본문을 해시하지 않고 리소스 종류/id/수정 시각 같은 버전 정보로 만듦 → 304 판정에 엔티티 조회/직렬화가 필요 없음
+ * ETag 형식: "종류-값...-수정시각(epoch 마이크로초, 36진수)"
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    /**
+     * 버전 정보로 만든 검증자 (modifiedAt은 시스템 시간대 기준 LocalDateTime)
+     */
+    public static ResourceVersion of(LocalDateTime modifiedAt, Object... parts) {
+        return of(modifiedAt.atZone(ZoneId.systemDefault()).toInstant(), parts);
+    }
+
+    public static ResourceVersion of(Instant modifiedAt, Object... parts) {
+        StringJoiner tag = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            tag.add(String.valueOf(part));
+        }
+        long micros = modifiedAt.getEpochSecond() * 1_000_000L + modifiedAt.getNano() / 1_000;
+        tag.add(Long.toString(micros, 36));
+        return new ResourceVersion(tag.toString(), modifiedAt.toEpochMilli());
+    }
+
+    /**
+     * 약한 ETag (W/) - 조회수처럼 버전에 넣지 않은 값이 달라도 같은 응답으로 봄
+     */
+    public ResourceVersion weak() {
+        return etag.startsWith("W/") ? this : new ResourceVersion("W/" + etag, lastModified);
+    }
+
+    /**
+     * Last-Modified 없이 ETag로만 판정 (수정 시각에 반영되지 않는 변경이 있는 리소스)
+     */
+    public ResourceVersion etagOnly() {
+        return new ResourceVersion(etag, -1);
+    }
+
+    /**
+     * If-None-Match / If-Modified-Since 확인 - true면 304가 설정되었으므로 본문 없이 반환
+     * 캐시는 매번 재검증하도록 Cache-Control: no-cache 지정 (Spring Security 기본값 no-store 대신)
+     */
+    public boolean notModified(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+}
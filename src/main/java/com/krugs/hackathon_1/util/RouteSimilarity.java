@@ -0,0 +1,204 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 코스 경로 유사도 계산
+ * - 서명: 경로가 지나는 격자 칸(약 150m) 집합의 MinHash (해시 64개) → 두 서명의 일치 비율 ≈ 칸 집합의 Jaccard 유사도
+ * - LSH: 서명을 2개씩 32개 밴드로 나눈 키 - 밴드 하나라도 같으면 후보
+ * - 검증: 최대 150점으로 줄인 두 경로의 이산 Fréchet 거리 (m, 역방향 주행도 같은 코스로 봄)
+ */
+public final class RouteSimilarity {
+
+    public static final int HASHES = 64;
+    public static final int BANDS = 32;
+    private static final int ROWS = HASHES / BANDS;
+
+    private static final double CELL_DEGREES = 0.0015;
+    // 보간하는 구간 길이 상한 (약 5km, 칸 67개) - 더 긴 구간은 GPS 끊김/잘못된 좌표로 보고 양 끝 칸만 사용
+    private static final double MAX_INTERPOLATED_DEGREES = 0.05;
+    private static final int MAX_FRECHET_POINTS = 150;
+    private static final double METERS_PER_DEG_LAT = 111_195.0;
+    private static final long[] SEEDS = createSeeds();
+
+    private RouteSimilarity() {
+    }
+
+    /**
+     * 경로 MinHash 서명 (좌표가 2개 미만이면 null)
+     */
+    public static int[] signature(GeoPath path) {
+        if (path == null || path.size() < 2) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long cell : cells(path)) {
+            for (int i = 0; i < HASHES; i++) {
+                int hash = (int) mix(cell ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 서명 일치 비율 (Jaccard 유사도 추정값, 0~1)
+     */
+    public static double estimateJaccard(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return same / (double) HASHES;
+    }
+
+    /**
+     * LSH 밴드 키 (밴드 번호 포함)
+     */
+    public static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return mix(key);
+    }
+
+    /**
+     * 두 경로의 이산 Fréchet 거리 (m) - 정방향/역방향 중 작은 값
+     */
+    public static double frechetMeters(GeoPath a, GeoPath b) {
+        double[][] pa = project(a, a.lat(0));
+        double[][] pb = project(b, a.lat(0));
+        return Math.min(frechet(pa, pb, false), frechet(pa, pb, true));
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 바이트 → 서명 (길이가 맞지 않으면 null)
+     */
+    public static int[] fromBytes(byte[] data) {
+        if (data == null || data.length != HASHES * Integer.BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int[] signature = new int[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    /**
+     * 경로가 지나는 격자 칸 (좌표 간격이 넓으면 칸 크기의 절반 간격으로 보간, MAX_INTERPOLATED_DEGREES보다 긴 구간은 보간하지 않음)
+     */
+    private static Set<Long> cells(GeoPath path) {
+        Set<Long> cells = new HashSet<>();
+        double step = CELL_DEGREES / 2;
+        for (int i = 0; i < path.size(); i++) {
+            double lat = path.lat(i);
+            double lng = path.lng(i);
+            if (i > 0) {
+                double prevLat = path.lat(i - 1);
+                double prevLng = path.lng(i - 1);
+                double delta = Math.max(Math.abs(lat - prevLat), Math.abs(lng - prevLng));
+                // NaN/무한대도 여기서 걸러짐
+                int steps = delta <= MAX_INTERPOLATED_DEGREES ? (int) Math.ceil(delta / step) : 0;
+                for (int s = 1; s < steps; s++) {
+                    double t = s / (double) steps;
+                    cells.add(cellKey(prevLat + (lat - prevLat) * t, prevLng + (lng - prevLng) * t));
+                }
+            }
+            cells.add(cellKey(lat, lng));
+        }
+        return cells;
+    }
+
+    private static long cellKey(double lat, double lng) {
+        long latIndex = (long) Math.floor(lat / CELL_DEGREES);
+        long lngIndex = (long) Math.floor(lng / CELL_DEGREES);
+        return (latIndex << 32) | (lngIndex & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 기준 위도의 평면 근사(m)로 투영, 최대 MAX_FRECHET_POINTS개로 균등 추출
+     */
+    private static double[][] project(GeoPath path, double originLat) {
+        int n = Math.min(path.size(), MAX_FRECHET_POINTS);
+        double metersPerDegLng = METERS_PER_DEG_LAT * Math.cos(Math.toRadians(originLat));
+        double[][] points = new double[n][2];
+        for (int i = 0; i < n; i++) {
+            int source = n == path.size() ? i : (int) Math.round(i * (path.size() - 1) / (double) (n - 1));
+            points[i][0] = path.lat(source) * METERS_PER_DEG_LAT;
+            points[i][1] = path.lng(source) * metersPerDegLng;
+        }
+        return points;
+    }
+
+    /**
+     * 이산 Fréchet 거리 (행 두 개만 유지하는 동적 계획법)
+     */
+    private static double frechet(double[][] a, double[][] b, boolean reverseB) {
+        int m = b.length;
+        double[] previous = new double[m];
+        double[] current = new double[m];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < m; j++) {
+                double[] q = b[reverseB ? m - 1 - j : j];
+                double dx = a[i][0] - q[0];
+                double dy = a[i][1] - q[1];
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                double reach;
+                if (i == 0 && j == 0) {
+                    reach = distance;
+                } else if (i == 0) {
+                    reach = Math.max(current[j - 1], distance);
+                } else if (j == 0) {
+                    reach = Math.max(previous[0], distance);
+                } else {
+                    reach = Math.max(Math.min(Math.min(previous[j], previous[j - 1]), current[j - 1]), distance);
+                }
+                current[j] = reach;
+            }
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m - 1];
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static long[] createSeeds() {
+        long[] seeds = new long[HASHES];
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            seeds[i] = seed;
+        }
+        return seeds;
+    }
+}
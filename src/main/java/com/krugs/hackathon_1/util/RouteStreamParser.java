@@ -0,0 +1,151 @@
+package com.krugs.hackathon_1.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Gemini 스트리밍 응답을 조각 단위로 받아 "routes" 배열의 각 코스 JSON 객체를
+ * 완성되는 즉시 넘겨주는 증분 파서
+ * - 코드 블록(```)이나 앞쪽 인사말 등 첫 '{' 이전 텍스트는 무시
+ * - 문자열 내부의 괄호/이스케이프를 고려하여 깊이를 추적
+ */
+public class RouteStreamParser {
+
+    private final Consumer<String> onRouteJson;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int position = 0;          // buffer 내 다음에 검사할 위치
+    private int depth = 0;             // 현재 괄호 깊이 ({, [)
+    private boolean inString = false;
+    private boolean escaped = false;
+    private int stringStart = -1;
+    private boolean expectRoutesArray = false;
+    private int routesDepth = -1;      // routes 배열 내부 깊이
+    private int objectStart = -1;      // 현재 코스 객체 시작 위치
+    private boolean finished = false;
+    private int emitted = 0;
+
+    public RouteStreamParser(Consumer<String> onRouteJson) {
+        this.onRouteJson = onRouteJson;
+    }
+
+    /**
+     * 응답 조각 추가 - 완성된 코스 객체가 있으면 콜백 호출
+     */
+    public void feed(CharSequence chunk) {
+        if (finished || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        buffer.append(chunk);
+
+        for (; position < buffer.length() && !finished; position++) {
+            char c = buffer.charAt(position);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    onStringEnd();
+                }
+                continue;
+            }
+
+            // 루트 객체 시작 전의 텍스트(코드 블록, 인사말)는 건너뜀
+            if (depth == 0 && c != '{') {
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    stringStart = position + 1;
+                }
+                case '{' -> {
+                    expectRoutesArray = false;
+                    if (routesDepth >= 0 && depth == routesDepth) {
+                        objectStart = position;
+                    }
+                    depth++;
+                }
+                case '[' -> {
+                    depth++;
+                    if (expectRoutesArray && depth == 2) {
+                        routesDepth = depth;
+                    }
+                    expectRoutesArray = false;
+                }
+                case '}' -> {
+                    expectRoutesArray = false;
+                    depth--;
+                    if (objectStart >= 0 && depth == routesDepth) {
+                        onRouteJson.accept(buffer.substring(objectStart, position + 1));
+                        emitted++;
+                        objectStart = -1;
+                    }
+                    if (depth == 0) {
+                        finished = true;
+                    }
+                }
+                case ']' -> {
+                    expectRoutesArray = false;
+                    if (routesDepth >= 0 && depth == routesDepth) {
+                        routesDepth = -1;
+                    }
+                    depth--;
+                }
+                case ':' -> {
+                    // "routes" 키와 배열 사이 구분자 - 상태 유지
+                }
+                default -> {
+                    if (!Character.isWhitespace(c)) {
+                        expectRoutesArray = false;
+                    }
+                }
+            }
+        }
+
+        compact();
+    }
+
+    /**
+     * 지금까지 완성되어 전달된 코스 수
+     */
+    public int getEmittedCount() {
+        return emitted;
+    }
+
+    /**
+     * 루트 JSON 객체가 끝까지 수신되었는지 여부
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private void onStringEnd() {
+        // 루트 객체 바로 아래의 "routes" 키 다음에 오는 배열을 코스 목록으로 인식
+        if (depth == 1 && routesDepth < 0 && position - stringStart == 6
+                && "routes".contentEquals(buffer.subSequence(stringStart, position))) {
+            expectRoutesArray = true;
+        }
+    }
+
+    /**
+     * 이미 처리한 앞부분을 버려 버퍼가 응답 전체 크기로 커지지 않도록 유지
+     */
+    private void compact() {
+        int keepFrom = objectStart >= 0 ? objectStart : (inString ? stringStart - 1 : position);
+        if (keepFrom <= 0) {
+            return;
+        }
+        buffer.delete(0, keepFrom);
+        position -= keepFrom;
+        if (objectStart >= 0) {
+            objectStart -= keepFrom;
+        }
+        if (stringStart >= 0) {
+            stringStart -= keepFrom;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.krugs.hackathon_1.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GPS 트랙 분석 - 누적 거리를 쌓으며 구간(기본 1km) 기록과 목표 거리별 최고 기록을 한 번의 순회로 계산
+ * - 시각이 없거나 이전 포인트보다 늦지 않은 포인트는 건너뜀
+ * - 순간 속도가 MAX_SPEED_MPS를 넘는 구간(GPS 튐)은 거리에 넣지 않음
+ * - 최고 기록: 목표 거리마다 시작 포인터를 두고, 끝 포인트가 나아갈 때 시작 포인터도 앞으로만 이동 (투 포인터)
+ *   시작 지점은 끝 포인트에서 정확히 목표 거리만큼 떨어진 위치로 보간 → 목표 k개에 O(n·k)
+ * - 구간 경계와 최고 기록 시작 지점의 시각은 인접 포인트 사이 선형 보간
+ */
+public final class TrackAnalyzer {
+
+    // 43 km/h - 사람이 달릴 수 없는 속도의 구간은 GPS 오차로 봄
+    private static final double MAX_SPEED_MPS = 12.0;
+    // 마지막 구간이 이보다 짧으면 구간 기록에 넣지 않음
+    private static final double MIN_LAST_SPLIT_METERS = 1.0;
+
+    private TrackAnalyzer() {
+    }
+
+    /**
+     * 구간 기록 (거리 m, 소요 초) - 마지막 구간은 남은 거리만큼
+     */
+    public record Split(double distanceMeters, double seconds) {
+    }
+
+    /**
+     * 목표 거리 최고 기록 (소요 초, 기록 시작 후 몇 초 지점에서 시작했는지)
+     */
+    public record Effort(int distanceMeters, double seconds, double startSeconds) {
+    }
+
+    /**
+     * 분석 결과 (GPS 누적 거리 m, 경과 초, 구간 기록, 달성한 목표 거리의 최고 기록 - 짧은 거리부터)
+     */
+    public record Result(double distanceMeters, double elapsedSeconds, List<Split> splits, List<Effort> efforts) {
+    }
+
+    /**
+     * 트랙 분석 (splitMeters 간격 구간 기록, targetMeters 목표 거리별 최고 기록)
+     */
+    public static Result analyze(GpsTrackCodec.Cursor cursor, double splitMeters, int[] targetMeters) {
+        int capacity = Math.max(cursor.size(), 1);
+        double[] distances = new double[capacity];
+        double[] seconds = new double[capacity];
+        int n = 0;
+        long startTime = 0;
+        double previousLat = 0;
+        double previousLng = 0;
+
+        List<Split> splits = new ArrayList<>();
+        double nextSplit = splitMeters;
+        double splitStartSeconds = 0;
+
+        int[] starts = new int[targetMeters.length];
+        double[] bestSeconds = new double[targetMeters.length];
+        double[] bestStartSeconds = new double[targetMeters.length];
+        Arrays.fill(bestSeconds, Double.POSITIVE_INFINITY);
+
+        while (cursor.next()) {
+            long time = cursor.time();
+            if (time == TrackBuffer.NO_TIME) {
+                continue;
+            }
+            if (n == 0) {
+                startTime = time;
+                previousLat = cursor.lat();
+                previousLng = cursor.lng();
+                n = 1;
+                continue;
+            }
+            double elapsed = (time - startTime) / 1000.0;
+            if (elapsed <= seconds[n - 1]) {
+                continue;
+            }
+            double segment = GeoUtils.haversineKm(previousLat, previousLng, cursor.lat(), cursor.lng()) * 1000;
+            previousLat = cursor.lat();
+            previousLng = cursor.lng();
+            if (segment > MAX_SPEED_MPS * (elapsed - seconds[n - 1])) {
+                segment = 0;
+            }
+            int end = n++;
+            distances[end] = distances[end - 1] + segment;
+            seconds[end] = elapsed;
+
+            while (distances[end] >= nextSplit) {
+                double crossed = interpolate(distances, seconds, end - 1, nextSplit);
+                splits.add(new Split(splitMeters, round(crossed - splitStartSeconds)));
+                splitStartSeconds = crossed;
+                nextSplit += splitMeters;
+            }
+
+            for (int k = 0; k < targetMeters.length; k++) {
+                double target = targetMeters[k];
+                if (distances[end] < target) {
+                    continue;
+                }
+                // 불변식: distances[end] - distances[start + 1] < target <= distances[end] - distances[start]
+                int start = starts[k];
+                while (distances[end] - distances[start + 1] >= target) {
+                    start++;
+                }
+                starts[k] = start;
+                double effortStart = interpolate(distances, seconds, start, distances[end] - target);
+                if (seconds[end] - effortStart < bestSeconds[k]) {
+                    bestSeconds[k] = seconds[end] - effortStart;
+                    bestStartSeconds[k] = effortStart;
+                }
+            }
+        }
+
+        double distance = n > 0 ? distances[n - 1] : 0;
+        double elapsed = n > 0 ? seconds[n - 1] : 0;
+        double lastSplit = distance - (nextSplit - splitMeters);
+        if (lastSplit >= MIN_LAST_SPLIT_METERS) {
+            splits.add(new Split(round(lastSplit), round(elapsed - splitStartSeconds)));
+        }
+        List<Effort> efforts = new ArrayList<>(targetMeters.length);
+        for (int k = 0; k < targetMeters.length; k++) {
+            if (bestSeconds[k] != Double.POSITIVE_INFINITY) {
+                efforts.add(new Effort(targetMeters[k], round(bestSeconds[k]), round(bestStartSeconds[k])));
+            }
+        }
+        efforts.sort((a, b) -> Integer.compare(a.distanceMeters(), b.distanceMeters()));
+        return new Result(round(distance), round(elapsed), splits, efforts);
+    }
+
+    /**
+     * 포인트 index와 index + 1 사이에서 누적 거리가 meters인 지점의 시각 (선형 보간)
+     */
+    private static double interpolate(double[] distances, double[] seconds, int index, double meters) {
+        double span = distances[index + 1] - distances[index];
+        if (span <= 0) {
+            return seconds[index + 1];
+        }
+        return seconds[index] + (seconds[index + 1] - seconds[index]) * (meters - distances[index]) / span;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
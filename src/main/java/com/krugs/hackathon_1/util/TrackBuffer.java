@@ -0,0 +1,123 @@
+package com.krugs.hackathon_1.util;
+
+import java.util.Arrays;
+
+/**
+ * 추가 전용 GPS 포인트 버퍼 (실시간 기록, 기록 파일 가져오기, GpsTrackCodec 인코딩 입력)
+ * - 포인트 객체 없이 열 단위 배열에 저장 (위경도는 1e-7도 정수, 약 1cm 정밀도) → 포인트당 22바이트
+ * - 추가할 때 이전 포인트와의 거리를 누적
+ * - 스레드 안전하지 않음 (세션 단위로 한 번에 한 스레드만 접근)
+ */
+public final class TrackBuffer {
+
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final double E7 = 1e7;
+
+    private int[] lats;
+    private int[] lngs;
+    private float[] elevations;
+    private long[] times;
+    private short[] heartRates;
+    private int size;
+
+    private double distanceKm;
+    private long firstTime = NO_TIME;
+    private long lastTime = NO_TIME;
+
+    public TrackBuffer(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        lats = new int[capacity];
+        lngs = new int[capacity];
+        elevations = new float[capacity];
+        times = new long[capacity];
+        heartRates = new short[capacity];
+    }
+
+    /**
+     * 포인트 추가 (고도가 없으면 NaN, 시각이 없으면 NO_TIME, 심박이 없으면 0)
+     */
+    public void append(double lat, double lng, double elevation, long timeMillis, int heartRate) {
+        if (size == lats.length) {
+            grow();
+        }
+        lats[size] = (int) Math.round(lat * E7);
+        lngs[size] = (int) Math.round(lng * E7);
+        elevations[size] = (float) elevation;
+        times[size] = timeMillis;
+        heartRates[size] = (short) Math.max(0, Math.min(heartRate, Short.MAX_VALUE));
+        if (size > 0) {
+            distanceKm += GeoUtils.haversineKm(lat(size - 1), lng(size - 1), lat(size), lng(size));
+        }
+        if (timeMillis != NO_TIME) {
+            if (firstTime == NO_TIME) {
+                firstTime = timeMillis;
+            }
+            lastTime = timeMillis;
+        }
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double distanceKm() {
+        return distanceKm;
+    }
+
+    /**
+     * 첫 번째 / 마지막 시각 (시각이 있는 포인트가 없으면 NO_TIME)
+     */
+    public long firstTime() {
+        return firstTime;
+    }
+
+    public long lastTime() {
+        return lastTime;
+    }
+
+    public double lat(int index) {
+        return lats[index] / E7;
+    }
+
+    public double lng(int index) {
+        return lngs[index] / E7;
+    }
+
+    int latE7(int index) {
+        return lats[index];
+    }
+
+    int lngE7(int index) {
+        return lngs[index];
+    }
+
+    public double elevation(int index) {
+        return elevations[index];
+    }
+
+    public long time(int index) {
+        return times[index];
+    }
+
+    public int heartRate(int index) {
+        return heartRates[index];
+    }
+
+    /**
+     * 현재 배열 용량 기준 메모리 사용량 (바이트)
+     */
+    public long capacityBytes() {
+        return (long) lats.length * 22;
+    }
+
+    private void grow() {
+        int capacity = lats.length + (lats.length >> 1);
+        lats = Arrays.copyOf(lats, capacity);
+        lngs = Arrays.copyOf(lngs, capacity);
+        elevations = Arrays.copyOf(elevations, capacity);
+        times = Arrays.copyOf(times, capacity);
+        heartRates = Arrays.copyOf(heartRates, capacity);
+    }
+}
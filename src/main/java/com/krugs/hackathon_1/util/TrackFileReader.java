@@ -0,0 +1,226 @@
+package com.krugs.hackathon_1.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * GPX / TCX 트랙 파일 스트리밍 파서 (StAX)
+ * - 파일 전체를 메모리에 올리지 않고 트랙 포인트를 읽는 즉시 콜백으로 넘김 (메모리 사용량은 파일 크기와 무관)
+ * - 형식은 루트 요소로 판별: gpx → GPX (trkpt, rtept), TrainingCenterDatabase → TCX (Trackpoint)
+ * - DTD / 외부 엔티티는 처리하지 않음 (XXE 방지)
+ */
+public final class TrackFileReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    public enum Format { GPX, TCX }
+
+    /**
+     * 트랙 포인트 (고도가 없으면 NaN, 시각/심박이 없으면 null)
+     */
+    public record TrackPoint(double lat, double lng, double elevation, Instant time, Integer heartRate) {
+        public boolean hasElevation() {
+            return !Double.isNaN(elevation);
+        }
+    }
+
+    /**
+     * 파싱 결과 요약 (파일의 트랙/코스 이름, 포인트 수)
+     */
+    public record Summary(Format format, String name, int points) {
+    }
+
+    private TrackFileReader() {
+    }
+
+    /**
+     * 요청 본문 스트림 (Content-Encoding: gzip이면 압축 해제하며 읽음)
+     */
+    public static InputStream open(InputStream body, String contentEncoding) throws IOException {
+        return "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+    }
+
+    /**
+     * 트랙 파일을 읽으며 포인트마다 consumer 호출 (위경도가 없는 포인트는 건너뜀)
+     * 포인트가 maxPoints개를 넘으면 중단 - gzip 본문처럼 압축 해제 후 크기를 미리 알 수 없는 입력의 상한
+     * @throws IllegalArgumentException GPX/TCX 형식이 아니거나 XML이 올바르지 않거나 포인트가 너무 많은 경우
+     */
+    public static Summary read(InputStream in, int maxPoints, Consumer<TrackPoint> consumer) {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(in);
+            return read(reader, maxPoints, consumer);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("트랙 파일을 읽을 수 없습니다: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // 닫기 실패는 무시
+                }
+            }
+        }
+    }
+
+    private static Summary read(XMLStreamReader reader, int maxPoints, Consumer<TrackPoint> consumer)
+            throws XMLStreamException {
+        Format format = null;
+        String name = null;
+        int points = 0;
+
+        // 요소 경로 (이름 요소의 부모 확인용) - getElementText로 읽은 단말 요소는 넣지 않음
+        Deque<String> path = new ArrayDeque<>();
+        boolean inPoint = false;
+        double lat = Double.NaN;
+        double lng = Double.NaN;
+        double elevation = Double.NaN;
+        Instant time = null;
+        Integer heartRate = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String local = reader.getLocalName();
+                if (format == null) {
+                    format = switch (local) {
+                        case "gpx" -> Format.GPX;
+                        case "TrainingCenterDatabase" -> Format.TCX;
+                        default -> throw new IllegalArgumentException("GPX 또는 TCX 파일이 아닙니다.");
+                    };
+                    path.push(local);
+                    continue;
+                }
+                String parent = path.peek();
+
+                if (format == Format.GPX && (local.equals("trkpt") || local.equals("rtept"))) {
+                    inPoint = true;
+                    lat = parseDouble(reader.getAttributeValue(null, "lat"));
+                    lng = parseDouble(reader.getAttributeValue(null, "lon"));
+                    elevation = Double.NaN;
+                    time = null;
+                    heartRate = null;
+                } else if (format == Format.TCX && local.equals("Trackpoint")) {
+                    inPoint = true;
+                    lat = Double.NaN;
+                    lng = Double.NaN;
+                    elevation = Double.NaN;
+                    time = null;
+                    heartRate = null;
+                } else if (inPoint && isLeaf(format, local, parent)) {
+                    String text = reader.getElementText();
+                    switch (local) {
+                        case "ele", "AltitudeMeters" -> elevation = parseDouble(text);
+                        case "time", "Time" -> time = parseTime(text);
+                        case "LatitudeDegrees" -> lat = parseDouble(text);
+                        case "LongitudeDegrees" -> lng = parseDouble(text);
+                        case "hr", "Value" -> heartRate = parseInt(text);
+                        default -> {
+                        }
+                    }
+                    continue;
+                } else if (!inPoint && name == null && isNameElement(format, local, parent)) {
+                    String text = reader.getElementText().trim();
+                    name = text.isEmpty() ? null : text;
+                    continue;
+                }
+                path.push(local);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                path.poll();
+                String local = reader.getLocalName();
+                boolean pointEnd = format == Format.GPX
+                        ? local.equals("trkpt") || local.equals("rtept")
+                        : local.equals("Trackpoint");
+                if (inPoint && pointEnd) {
+                    inPoint = false;
+                    if (isValid(lat, lng)) {
+                        if (points >= maxPoints) {
+                            throw new IllegalArgumentException("트랙 포인트가 너무 많습니다. (최대 " + maxPoints + "개)");
+                        }
+                        consumer.accept(new TrackPoint(lat, lng, elevation, time, heartRate));
+                        points++;
+                    }
+                }
+            }
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("GPX 또는 TCX 파일이 아닙니다.");
+        }
+        return new Summary(format, name, points);
+    }
+
+    private static boolean isLeaf(Format format, String local, String parent) {
+        if (format == Format.GPX) {
+            // 심박: <extensions><gpxtpx:TrackPointExtension><gpxtpx:hr>
+            return local.equals("ele") || local.equals("time") || local.equals("hr");
+        }
+        return switch (local) {
+            case "Time", "AltitudeMeters", "LatitudeDegrees", "LongitudeDegrees" -> true;
+            case "Value" -> "HeartRateBpm".equals(parent);
+            default -> false;
+        };
+    }
+
+    private static boolean isNameElement(Format format, String local, String parent) {
+        if (format == Format.GPX) {
+            return local.equals("name") && ("metadata".equals(parent) || "trk".equals(parent) || "rte".equals(parent));
+        }
+        // TCX 코스 이름 (Creator/Author 아래 Name은 기기/프로그램 이름)
+        return local.equals("Name") && "Course".equals(parent);
+    }
+
+    private static boolean isValid(double lat, double lng) {
+        return lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+    }
+
+    private static double parseDouble(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return (int) Math.round(Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Instant parseTime(String value) {
+        String text = value.trim();
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(text).toInstant();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
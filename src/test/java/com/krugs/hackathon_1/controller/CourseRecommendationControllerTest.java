@@ -0,0 +1,117 @@
+package com.krugs.hackathon_1.controller;
+
+import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.service.CourseRecommendationService;
+import com.krugs.hackathon_1.service.RecommendationRejectedException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CourseRecommendationControllerTest {
+
+    private CourseRecommendationService service;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(CourseRecommendationService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new CourseRecommendationController(service)).build();
+    }
+
+    @Test
+    void rejectedRecommendationIs503() throws Exception {
+        when(service.generateOptimalRoutes(anyString(), any(), anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(new RecommendationRejectedException("busy"));
+
+        mockMvc.perform(post("/api/courses/recommend")
+                        .param("theme", "자연경관").param("distance", "5")
+                        .param("startLocation", "대전").param("endLocation", "대전"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void rejectedAsyncRecommendationIs503() throws Exception {
+        when(service.generateOptimalRoutesAsync(anyString(), any(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RecommendationRejectedException("busy")));
+
+        MvcResult started = mockMvc.perform(post("/api/courses/recommend/async")
+                        .param("theme", "자연경관").param("distance", "5")
+                        .param("startLocation", "대전").param("endLocation", "대전"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void clientDisconnectCancelsTheStream() throws Exception {
+        CompletableFuture<List<RouteData>> task = new CompletableFuture<>();
+        when(service.streamOptimalRoutes(anyString(), any(), anyString(), anyString(), anyString(), anyString(), any()))
+                .thenReturn(task);
+
+        MockAsyncContext context = startStream();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(new AsyncEvent(context, new IOException("Broken pipe")));
+        }
+
+        assertTrue(task.isCancelled());
+    }
+
+    @Test
+    void streamTimeoutCancelsTheStream() throws Exception {
+        CompletableFuture<List<RouteData>> task = new CompletableFuture<>();
+        when(service.streamOptimalRoutes(anyString(), any(), anyString(), anyString(), anyString(), anyString(), any()))
+                .thenReturn(task);
+
+        MockAsyncContext context = startStream();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+        }
+
+        assertTrue(task.isCancelled());
+    }
+
+    @Test
+    void finishedStreamSendsDoneEvent() throws Exception {
+        when(service.streamOptimalRoutes(anyString(), any(), anyString(), anyString(), anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        MvcResult result = mockMvc.perform(get("/api/courses/recommend/stream")
+                        .param("theme", "자연경관").param("distance", "5").param("startLocation", "대전"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentAsString().contains("event:done"));
+    }
+
+    private MockAsyncContext startStream() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/courses/recommend/stream")
+                        .param("theme", "자연경관").param("distance", "5").param("startLocation", "대전"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return (MockAsyncContext) result.getRequest().getAsyncContext();
+    }
+}
@@ -0,0 +1,140 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.BatchItemResult;
+import com.krugs.hackathon_1.dto.MarathonEventDTO;
+import com.krugs.hackathon_1.dto.RecommendationSpec;
+import com.krugs.hackathon_1.dto.RouteData;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BatchRecommendationServiceTest {
+
+    private final CourseRecommendationService recommendationService = mock(CourseRecommendationService.class);
+    private final MarathonEventService marathonEventService = mock(MarathonEventService.class);
+
+    // 테마별로 생성 결과를 직접 완료시키기 위한 future
+    private final Map<String, CompletableFuture<List<RouteData>>> calls = new ConcurrentHashMap<>();
+
+    private BatchRecommendationService service(int maxParallel, long timeoutSeconds) {
+        CourseRecommendationCache cache = new CourseRecommendationCache(new RegionDataService());
+        ReflectionTestUtils.setField(cache, "distanceBucketKm", 0.5);
+        BatchRecommendationService service =
+                new BatchRecommendationService(recommendationService, cache, marathonEventService);
+        ReflectionTestUtils.setField(service, "maxItems", 20);
+        ReflectionTestUtils.setField(service, "maxParallel", maxParallel);
+        ReflectionTestUtils.setField(service, "itemTimeoutSeconds", timeoutSeconds);
+
+        when(recommendationService.generateOptimalRoutesAsync(anyString(), any(), anyString(), anyString(),
+                anyString(), anyString()))
+                .thenAnswer(invocation -> calls.computeIfAbsent(invocation.getArgument(0),
+                        theme -> new CompletableFuture<>()));
+        return service;
+    }
+
+    private static RecommendationSpec spec(String theme, float distance, String start) {
+        return RecommendationSpec.builder().theme(theme).distance(distance).startLocation(start).build();
+    }
+
+    private static List<RouteData> routes(String name) {
+        return List.of(RouteData.builder().name(name).build());
+    }
+
+    @Test
+    void equivalentItemsAreGeneratedOnce() throws Exception {
+        BatchRecommendationService service = service(4, 30);
+        when(marathonEventService.getMarathon(7L)).thenReturn(MarathonEventDTO.builder()
+                .theme("자연").desiredDistance(5f).startLocation("대전 유성").build());
+
+        List<RecommendationSpec> specs = List.of(
+                spec("자연", 5f, "대전 유성"),
+                spec("역사", 5f, "공주"),
+                spec(" 자연 ", 5.1f, "대전  유성"),
+                RecommendationSpec.builder().eventId(7L).difficulty("중급").build());
+        CompletableFuture<List<BatchItemResult>> done = service.recommend(specs, r -> { });
+        calls.get("자연").complete(routes("자연 코스"));
+        calls.get("역사").complete(routes("역사 코스"));
+
+        List<BatchItemResult> results = done.get(5, TimeUnit.SECONDS);
+        assertEquals(2, results.size());
+        assertEquals(List.of(0, 2, 3), results.get(0).getIndexes());
+        assertEquals("자연 코스", results.get(0).getRoutes().get(0).getName());
+        assertEquals(List.of(1), results.get(1).getIndexes());
+        verify(recommendationService, times(2)).generateOptimalRoutesAsync(anyString(), any(), anyString(),
+                anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void runsAtMostMaxParallelItemsAtOnce() throws Exception {
+        BatchRecommendationService service = service(2, 30);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<List<BatchItemResult>> done = service.recommend(List.of(
+                spec("a", 5f, "공주"), spec("b", 5f, "공주"), spec("c", 5f, "공주"), spec("d", 5f, "공주")),
+                r -> order.add(r.getSpec().getTheme()));
+
+        assertEquals(2, calls.size());
+        calls.get("b").complete(routes("b"));
+        assertEquals(3, calls.size());
+        calls.get("c").complete(routes("c"));
+        calls.get("a").complete(routes("a"));
+        assertEquals(4, calls.size());
+        calls.get("d").complete(routes("d"));
+
+        List<BatchItemResult> results = done.get(5, TimeUnit.SECONDS);
+        // 콜백은 완료 순서, 최종 결과는 요청 순서
+        assertEquals(List.of("b", "c", "a", "d"), order);
+        assertEquals(List.of("a", "b", "c", "d"), results.stream().map(r -> r.getSpec().getTheme()).toList());
+        assertTrue(results.stream().allMatch(r -> BatchItemResult.STATUS_OK.equals(r.getStatus())));
+    }
+
+    @Test
+    void failingItemsDoNotFailTheBatch() throws Exception {
+        BatchRecommendationService service = service(4, 1);
+        List<BatchItemResult> delivered = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<List<BatchItemResult>> done = service.recommend(List.of(
+                spec("ok", 5f, "공주"),
+                spec("error", 5f, "공주"),
+                spec("", 5f, "공주"),
+                spec("rejected", 5f, "공주"),
+                spec("slow", 5f, "공주")), delivered::add);
+        calls.get("ok").complete(routes("ok"));
+        calls.get("error").completeExceptionally(new RuntimeException("생성 실패"));
+        calls.get("rejected").completeExceptionally(new RecommendationRejectedException("대기열 초과"));
+
+        List<BatchItemResult> results = done.get(5, TimeUnit.SECONDS);
+        assertEquals(5, results.size());
+        assertEquals(5, delivered.size());
+        assertEquals(BatchItemResult.STATUS_OK, results.get(0).getStatus());
+        assertEquals(BatchItemResult.STATUS_ERROR, results.get(1).getStatus());
+        assertEquals("생성 실패", results.get(1).getError());
+        assertEquals(BatchItemResult.STATUS_ERROR, results.get(2).getStatus());
+        assertEquals("테마와 출발지는 필수입니다.", results.get(2).getError());
+        assertEquals(BatchItemResult.STATUS_REJECTED, results.get(3).getStatus());
+        assertEquals(BatchItemResult.STATUS_TIMEOUT, results.get(4).getStatus());
+    }
+
+    @Test
+    void rejectsEmptyOrOversizedBatches() {
+        BatchRecommendationService service = service(4, 30);
+        ReflectionTestUtils.setField(service, "maxItems", 2);
+
+        assertThrows(RuntimeException.class, () -> service.recommend(List.of(), r -> { }));
+        assertThrows(RuntimeException.class, () -> service.recommend(List.of(
+                spec("a", 5f, "공주"), spec("b", 5f, "공주"), spec("c", 5f, "공주")), r -> { }));
+        assertTrue(calls.isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CourseLeaderboardTest {
+
+    private final UploadedCourseRepository courseRepository = mock(UploadedCourseRepository.class);
+
+    // DB 대신 쓰는 코스 요약 (id → 요약)
+    private final Map<Long, CourseSummaryDTO> courses = new ConcurrentHashMap<>();
+
+    private CourseLeaderboard leaderboard(int capacity) {
+        CourseLeaderboard leaderboard = new CourseLeaderboard(courseRepository);
+        ReflectionTestUtils.setField(leaderboard, "capacity", capacity);
+        stubRepository(courseRepository, courses);
+        return leaderboard;
+    }
+
+    static void stubRepository(UploadedCourseRepository repository, Map<Long, CourseSummaryDTO> courses) {
+        when(repository.findSummaryById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(courses.get((Long) invocation.getArgument(0))));
+        when(repository.findSummariesByTheme(anyString(), anyInt(), anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    String theme = invocation.getArgument(0);
+                    Limit limit = invocation.getArgument(3);
+                    return courses.values().stream()
+                            .filter(course -> theme.equals(course.theme()))
+                            .sorted(Comparator.comparing(CourseSummaryDTO::likeCount).reversed()
+                                    .thenComparing(Comparator.comparing(CourseSummaryDTO::id).reversed()))
+                            .limit(limit.max())
+                            .toList();
+                });
+    }
+
+    static CourseSummaryDTO summary(long id, String theme, int likes) {
+        return new CourseSummaryDTO(id, 1L, "코스" + id, theme, 5f, "beginner", null, likes, 0, true, null);
+    }
+
+    private void put(long id, String theme, int likes) {
+        courses.put(id, summary(id, theme, likes));
+    }
+
+    private static List<Long> ids(List<CourseSummaryDTO> summaries) {
+        return summaries.stream().map(CourseSummaryDTO::id).toList();
+    }
+
+    @Test
+    void ranksByLikesThenNewestId() {
+        CourseLeaderboard leaderboard = leaderboard(10);
+        put(1, "자연", 3);
+        put(2, "자연", 5);
+        put(3, "자연", 5);
+        put(4, "자연", 1);
+        put(5, "역사", 9);
+
+        assertEquals(List.of(3L, 2L, 1L, 4L), ids(leaderboard.top("자연", 10)));
+        assertEquals(List.of(3L, 2L), ids(leaderboard.top("자연", 2)));
+        assertNull(leaderboard.top("자연", 11));
+        assertEquals(1L, leaderboard.stats().get("loads"));
+    }
+
+    @Test
+    void refreshMovesCourseWithoutReloading() {
+        CourseLeaderboard leaderboard = leaderboard(10);
+        put(1, "자연", 3);
+        put(2, "자연", 5);
+        put(3, "자연", 1);
+        leaderboard.top("자연", 10);
+
+        put(3, "자연", 6);
+        leaderboard.refresh(3L);
+        put(2, "자연", 0);
+        leaderboard.refresh(2L);
+
+        assertEquals(List.of(3L, 1L, 2L), ids(leaderboard.top("자연", 10)));
+        assertEquals(1L, leaderboard.stats().get("loads"));
+    }
+
+    @Test
+    void truncatedBoardReloadsWhenAnOutsideCourseMayMoveIn() {
+        CourseLeaderboard leaderboard = leaderboard(2);
+        put(1, "자연", 10);
+        put(2, "자연", 8);
+        put(3, "자연", 6);
+        put(4, "자연", 4);
+        assertEquals(List.of(1L, 2L), ids(leaderboard.top("자연", 2)));
+
+        // 밖의 코스가 순위에 들어오는 경우는 증분 반영
+        put(4, "자연", 9);
+        leaderboard.refresh(4L);
+        assertEquals(List.of(1L, 4L), ids(leaderboard.top("자연", 2)));
+        assertEquals(1L, leaderboard.stats().get("loads"));
+
+        // 안의 코스가 밖으로 밀려나면 다음 조회 때 다시 적재
+        put(1, "자연", 0);
+        leaderboard.refresh(1L);
+        assertEquals(List.of(4L, 2L), ids(leaderboard.top("자연", 2)));
+        assertEquals(2L, leaderboard.stats().get("loads"));
+
+        // 삭제도 밖의 코스가 들어와야 하므로 다시 적재
+        courses.remove(4L);
+        leaderboard.remove(4L, "자연");
+        assertEquals(List.of(2L, 3L), ids(leaderboard.top("자연", 2)));
+        assertEquals(3L, leaderboard.stats().get("loads"));
+    }
+
+    @Test
+    void invalidateDropsTheBoard() {
+        CourseLeaderboard leaderboard = leaderboard(10);
+        put(1, "자연", 1);
+        leaderboard.top("자연", 10);
+
+        put(2, "자연", 2);
+        leaderboard.invalidate("자연");
+
+        assertEquals(List.of(2L, 1L), ids(leaderboard.top("자연", 10)));
+        assertEquals(2L, leaderboard.stats().get("loads"));
+    }
+}
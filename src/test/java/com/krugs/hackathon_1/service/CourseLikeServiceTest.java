@@ -0,0 +1,125 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.CourseSummaryDTO;
+import com.krugs.hackathon_1.entity.CourseLike;
+import com.krugs.hackathon_1.repository.CourseLikeRepository;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CourseLikeServiceTest {
+
+    private final CourseLikeRepository likeRepository = mock(CourseLikeRepository.class);
+    private final UploadedCourseRepository courseRepository = mock(UploadedCourseRepository.class);
+
+    private final Map<Long, CourseSummaryDTO> courses = new ConcurrentHashMap<>();
+    // 저장된 좋아요 ("코스:사용자")
+    private final Set<String> likes = ConcurrentHashMap.newKeySet();
+
+    private final CourseLeaderboard leaderboard = new CourseLeaderboard(courseRepository);
+    private final CourseLikeService service = new CourseLikeService(likeRepository, courseRepository, leaderboard,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    CourseLikeServiceTest() {
+        ReflectionTestUtils.setField(leaderboard, "capacity", 10);
+        CourseLeaderboardTest.stubRepository(courseRepository, courses);
+        when(courseRepository.existsById(anyLong()))
+                .thenAnswer(invocation -> courses.containsKey((Long) invocation.getArgument(0)));
+        when(courseRepository.addLikeCount(anyLong(), anyInt())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            int delta = invocation.getArgument(1);
+            courses.computeIfPresent(id, (key, course) ->
+                    CourseLeaderboardTest.summary(id, course.theme(), course.likeCount() + delta));
+            return 1;
+        });
+        when(likeRepository.existsByCourseIdAndRunnerId(anyLong(), anyLong()))
+                .thenAnswer(invocation -> likes.contains(invocation.getArgument(0) + ":" + invocation.getArgument(1)));
+        when(likeRepository.saveAndFlush(any(CourseLike.class))).thenAnswer(invocation -> {
+            CourseLike like = invocation.getArgument(0);
+            if (!likes.add(like.getCourseId() + ":" + like.getRunnerId())) {
+                throw new DataIntegrityViolationException("uk_course_like");
+            }
+            return like;
+        });
+        when(likeRepository.deleteLike(anyLong(), anyLong()))
+                .thenAnswer(invocation -> likes.remove(invocation.getArgument(0) + ":" + invocation.getArgument(1)) ? 1 : 0);
+
+        courses.put(1L, CourseLeaderboardTest.summary(1, "자연", 0));
+        courses.put(2L, CourseLeaderboardTest.summary(2, "자연", 1));
+    }
+
+    @Test
+    void repeatedLikeCountsOnce() {
+        Map<String, Object> first = service.like(1L, 10L);
+        Map<String, Object> second = service.like(1L, 10L);
+
+        assertEquals(true, first.get("changed"));
+        assertEquals(1, first.get("likeCount"));
+        assertEquals(false, second.get("changed"));
+        assertEquals(1, second.get("likeCount"));
+        assertTrue(service.isLiked(1L, 10L));
+    }
+
+    @Test
+    void concurrentDuplicateLikeIsNotCounted() {
+        // 존재 확인은 통과했지만 다른 요청이 먼저 저장한 경우 (유니크 제약 위반)
+        likes.add("1:10");
+        when(likeRepository.existsByCourseIdAndRunnerId(1L, 10L)).thenReturn(false);
+
+        Map<String, Object> result = service.like(1L, 10L);
+
+        assertEquals(false, result.get("changed"));
+        assertEquals(0, result.get("likeCount"));
+        verify(courseRepository, never()).addLikeCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void unlikeRemovesOnceAndIgnoresMissingLike() {
+        service.like(1L, 10L);
+        service.like(1L, 11L);
+
+        assertEquals(true, service.unlike(1L, 10L).get("changed"));
+        Map<String, Object> again = service.unlike(1L, 10L);
+        Map<String, Object> never = service.unlike(1L, 12L);
+
+        assertEquals(false, again.get("changed"));
+        assertEquals(false, never.get("changed"));
+        assertEquals(1, never.get("likeCount"));
+        assertFalse(service.isLiked(1L, 10L));
+    }
+
+    @Test
+    void likesReorderTheLeaderboard() {
+        assertEquals(List.of(2L, 1L), leaderboard.top("자연", 10).stream().map(CourseSummaryDTO::id).toList());
+
+        service.like(1L, 10L);
+        service.like(1L, 11L);
+        assertEquals(List.of(1L, 2L), leaderboard.top("자연", 10).stream().map(CourseSummaryDTO::id).toList());
+
+        service.unlike(1L, 10L);
+        service.unlike(1L, 11L);
+        assertEquals(List.of(2L, 1L), leaderboard.top("자연", 10).stream().map(CourseSummaryDTO::id).toList());
+        assertEquals(1L, leaderboard.stats().get("loads"));
+    }
+
+    @Test
+    void rejectsUnknownCourse() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> service.like(99L, 10L));
+        assertEquals("코스를 찾을 수 없습니다.", error.getMessage());
+        assertTrue(likes.isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package com.krugs.hackathon_1.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CourseViewCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CourseViewCounter counter = new CourseViewCounter(jdbcTemplate);
+
+    // DB에 반영된 코스별 조회수
+    private final Map<Long, Long> flushed = new ConcurrentHashMap<>();
+    private final AtomicInteger batches = new AtomicInteger();
+
+    private void recordBatches(Runnable duringFlush) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batches.incrementAndGet();
+            duringFlush.run();
+            for (Object[] row : batch) {
+                flushed.merge((Long) row[1], (Long) row[0], Long::sum);
+            }
+            return new int[batch.size()];
+        });
+    }
+
+    @Test
+    void flushWritesOneBatchAndDropsIdleCourses() {
+        recordBatches(() -> { });
+        counter.record(1L);
+        counter.record(1L);
+        counter.record(1L);
+        counter.record(2L);
+        assertEquals(3, counter.pending(1L));
+
+        counter.flush();
+
+        assertEquals(Map.of(1L, 3L, 2L, 1L), flushed);
+        assertEquals(1, batches.get());
+        assertEquals(0, counter.pending(1L));
+        assertEquals(4L, counter.stats().get("flushedViews"));
+        assertEquals(2, counter.stats().get("lastBatchSize"));
+
+        // 조회가 없는 주기에는 쓰기 없이 빈 카운터만 정리
+        counter.flush();
+        assertEquals(1, batches.get());
+        assertEquals(0, counter.stats().get("pendingCourses"));
+    }
+
+    @Test
+    void viewsRecordedDuringFlushAreWrittenNextCycle() {
+        recordBatches(() -> {
+            if (batches.get() == 1) {
+                counter.record(1L);
+                counter.record(3L);
+            }
+        });
+        counter.record(1L);
+
+        counter.flush();
+        assertEquals(Map.of(1L, 1L), flushed);
+        assertEquals(1, counter.pending(1L));
+
+        counter.flush();
+        assertEquals(Map.of(1L, 2L, 3L, 1L), flushed);
+        assertEquals(0L, counter.stats().get("pendingViews"));
+    }
+
+    @Test
+    void failedFlushKeepsCountsForRetry() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new RuntimeException("DB 연결 실패"))
+                .thenAnswer(invocation -> {
+                    List<Object[]> batch = invocation.getArgument(1);
+                    batch.forEach(row -> flushed.merge((Long) row[1], (Long) row[0], Long::sum));
+                    return new int[batch.size()];
+                });
+        counter.record(1L);
+        counter.record(1L);
+
+        counter.flush();
+        assertEquals(2, counter.pending(1L));
+        assertEquals(1L, counter.stats().get("flushFailures"));
+
+        counter.flush();
+        assertEquals(Map.of(1L, 2L), flushed);
+    }
+
+    @Test
+    void concurrentViewsAreNeitherLostNorDoubleCounted() throws Exception {
+        recordBatches(() -> { });
+        int threads = 4;
+        int viewsPerThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < viewsPerThread; i++) {
+                    // 일부 코스는 드물게 조회되어 맵에서 빠졌다가 다시 들어옴
+                    counter.record(i % 50 == 0 ? 100L + i % 7 : (long) (i % 3));
+                }
+                return null;
+            });
+        }
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                counter.flush();
+            }
+        });
+        flusher.start();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        running.set(false);
+        flusher.join();
+        counter.flush();
+
+        long total = flushed.values().stream().mapToLong(Long::longValue).sum();
+        assertEquals((long) threads * viewsPerThread, total);
+        assertEquals(total, counter.stats().get("flushedViews"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.krugs.hackathon_1.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.dto.RouteData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiRouteParserTest {
+
+    private final GeminiRouteParser parser = new GeminiRouteParser(new ObjectMapper());
+
+    @Test
+    void readsRoutesInsideCodeFenceAndIgnoresSurroundingText() throws IOException {
+        String response = "네, 추천 코스입니다.\n```json\n{\"summary\":{\"count\":4},\"routes\":["
+                + "{\"name\":\"갑천 코스\",\"distance\":5.2,\"coordinates\":[[36.35,127.38],[36.36,127.39]],"
+                + "\"landmarks\":[\"엑스포다리\",\"한밭수목원\"],\"elevationGain\":12.6,\"safetyScore\":9,"
+                + "\"estimatedTime\":\"35분\",\"extra\":{\"nested\":[1,2]}},"
+                + "{\"name\":\"두번째\"},{\"name\":\"세번째\"},{\"name\":\"네번째\"}]}\n```\n더 필요하시면 말씀해주세요 {}";
+
+        List<RouteData> routes = parser.parseResponse(response, 3);
+
+        assertEquals(3, routes.size());
+        RouteData first = routes.get(0);
+        assertEquals("갑천 코스", first.getName());
+        assertEquals(5.2f, first.getDistance());
+        assertEquals(GeoPath.of(new double[]{36.35, 36.36}, new double[]{127.38, 127.39}), first.getCoordinates());
+        assertEquals(List.of("엑스포다리", "한밭수목원"), first.getLandmarks());
+        assertEquals(13, first.getElevationGain());
+        assertEquals(9, first.getSafetyScore());
+        assertEquals("35분", first.getEstimatedTime());
+        assertEquals(1, first.getRank());
+        assertEquals("세번째", routes.get(2).getName());
+        assertEquals(3, routes.get(2).getRank());
+    }
+
+    @Test
+    void missingFieldsGetDefaults() throws IOException {
+        RouteData route = parser.parseRoute("{\"name\":\"이름만\",\"description\":null}", 2);
+
+        assertEquals("이름만", route.getName());
+        assertNull(route.getDescription());
+        assertTrue(route.getCoordinates().isEmpty());
+        assertEquals(List.of(), route.getLandmarks());
+        assertEquals(0, route.getElevationGain());
+        assertEquals(7, route.getSafetyScore());
+        assertEquals(2, route.getRank());
+    }
+
+    @Test
+    void structuredValuesInScalarFieldsAreSkippedWithoutShiftingLaterFields() throws IOException {
+        RouteData route = parser.parseRoute("{\"name\":{\"ko\":\"갑천\",\"en\":[\"Gapcheon\"]},"
+                + "\"distance\":[5,6],\"safetyScore\":{\"value\":3},\"description\":\"설명\","
+                + "\"estimatedTime\":\"40분\"}", 1);
+
+        assertNull(route.getName());
+        assertNull(route.getDistance());
+        assertEquals(7, route.getSafetyScore());
+        assertEquals("설명", route.getDescription());
+        assertEquals("40분", route.getEstimatedTime());
+    }
+
+    @Test
+    void mixedAndBrokenCoordinatePairs() throws IOException {
+        RouteData route = parser.parseRoute("{\"coordinates\":[[36.1,127.1],{\"lat\":36.2,\"lng\":127.2},"
+                + "{\"latitude\":36.3,\"longitude\":127.3},[36.4],[\"36.5\",\"127.5\"],\"36.6,127.6\","
+                + "[36.7,127.7,55.0]],\"landmarks\":[\"a\",{\"name\":\"b\"},3]}", 1);
+
+        GeoPath path = route.getCoordinates();
+        assertEquals(4, path.size(), "한 값만 있거나 문자열인 좌표는 제외");
+        assertEquals(36.3, path.lat(2));
+        assertEquals(127.7, path.lng(3));
+        assertEquals(List.of("a", "3"), route.getLandmarks());
+    }
+
+    @Test
+    void nonArrayCoordinatesAndLandmarksAreEmpty() throws IOException {
+        RouteData route = parser.parseRoute("{\"coordinates\":\"없음\",\"landmarks\":{\"a\":1},\"name\":\"뒤 필드\"}", 1);
+
+        assertTrue(route.getCoordinates().isEmpty());
+        assertEquals(List.of(), route.getLandmarks());
+        assertEquals("뒤 필드", route.getName());
+    }
+
+    @Test
+    void malformedOrPartialOutputIsRejected() {
+        assertThrows(IOException.class, () -> parser.parseResponse("죄송합니다. 코스를 만들 수 없습니다.", 3));
+        assertThrows(IOException.class, () -> parser.parseResponse("{\"routes\":[{\"name\":\"잘린 코스\",\"coordinates\":[[36.3", 3));
+        assertThrows(IOException.class, () -> parser.parseResponse("{\"routes\":[{\"name\" \"콜론 없음\"}]}", 3));
+        assertThrows(IOException.class, () -> parser.parseRoute("[{\"name\":\"배열\"}]", 1));
+    }
+
+    @Test
+    void responseWithoutRoutesGivesNoRoutes() throws IOException {
+        assertEquals(List.of(), parser.parseResponse("{\"routes\":\"없음\",\"message\":\"범위 밖\"}", 3));
+        assertEquals(List.of(), parser.parseResponse("{\"message\":\"범위 밖\"}", 3));
+    }
+}
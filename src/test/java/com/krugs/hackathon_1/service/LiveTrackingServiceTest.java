@@ -0,0 +1,157 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.LivePointBatch;
+import com.krugs.hackathon_1.dto.RunningRecordDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LiveTrackingServiceTest {
+
+    private static final Long RUNNER = 1L;
+
+    private RunningRecordService recordService;
+    private LiveTrackingService service;
+    private ExecutorService workerPool;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        recordService = mock(RunningRecordService.class);
+        when(recordService.save(any(), any(), isNull(), eq(RUNNER))).thenAnswer(invocation -> {
+            RunningRecordDTO dto = invocation.getArgument(0);
+            dto.setId(100L);
+            return dto;
+        });
+        service = new LiveTrackingService(recordService);
+        ReflectionTestUtils.setField(service, "maxSessions", 10);
+        ReflectionTestUtils.setField(service, "maxBatchPoints", 100);
+        ReflectionTestUtils.setField(service, "maxSessionPoints", 1000);
+        ReflectionTestUtils.setField(service, "maxPendingBatches", 2);
+        ReflectionTestUtils.setField(service, "maxPendingPoints", 30L);
+        // 작업 스레드 하나를 release 전까지 묶어 두어 대기열이 쌓이게 함
+        workerPool = Executors.newSingleThreadExecutor();
+        workerPool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ReflectionTestUtils.setField(service, "workerPool", workerPool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        workerPool.shutdownNow();
+    }
+
+    private static LivePointBatch batch(long seq, int count) {
+        List<LivePointBatch.Point> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int n = (int) (seq * 100 + i);
+            points.add(new LivePointBatch.Point(37.5 + n * 0.0001, 127.0, null, Instant.ofEpochSecond(1_700_000_000L + n), null));
+        }
+        return new LivePointBatch(seq, points);
+    }
+
+    private String open() {
+        return (String) service.open(RUNNER, null).get("sessionId");
+    }
+
+    @Test
+    void repeatedSeqIsDuplicateAndGapIsRejected() throws Exception {
+        String session = open();
+        LiveTrackingService.Ack first = service.append(session, RUNNER, batch(1, 5));
+        assertTrue(first.accepted());
+        assertEquals(2, first.expectedSeq());
+
+        LiveTrackingService.Ack again = service.append(session, RUNNER, batch(1, 5));
+        assertFalse(again.accepted());
+        assertTrue(again.duplicate());
+        assertEquals(5, again.bufferedPoints());
+
+        LiveTrackingService.Ack gap = service.append(session, RUNNER, batch(3, 5));
+        assertFalse(gap.accepted());
+        assertFalse(gap.duplicate());
+        assertEquals(2, gap.expectedSeq());
+
+        assertTrue(service.append(session, RUNNER, batch(2, 5)).accepted());
+        assertEquals(1L, service.stats().get("duplicates"));
+        assertEquals(1L, service.stats().get("outOfOrder"));
+        assertEquals(10L, service.stats().get("points"));
+
+        // 종료 재시도는 같은 기록을 돌려주고 한 번만 저장
+        RunningRecordDTO saved = service.finish(session, RUNNER, null);
+        assertSame(saved, service.finish(session, RUNNER, null));
+        verify(recordService, times(1)).save(any(), any(), isNull(), eq(RUNNER));
+        assertEquals("FINISHED", service.status(session, RUNNER).get("state"));
+        assertTrue(saved.getDistance() > 0);
+        assertEquals(0L, service.stats().get("pendingPoints"));
+        assertThrows(RuntimeException.class, () -> service.append(session, RUNNER, batch(3, 5)));
+    }
+
+    @Test
+    void fullQueuesRejectWithRetryAfterUntilWorkersCatchUp() throws Exception {
+        String first = open();
+        String second = open();
+        service.append(first, RUNNER, batch(1, 10));
+        service.append(first, RUNNER, batch(2, 10));
+
+        // 세션 대기열 한도
+        LiveTrackingRejectedException sessionFull = assertThrows(LiveTrackingRejectedException.class,
+                () -> service.append(first, RUNNER, batch(3, 1)));
+        assertEquals(1, sessionFull.getRetryAfterSeconds());
+
+        // 서버 전체 대기 포인트 한도 (20 + 15 > 30)
+        LiveTrackingRejectedException busy = assertThrows(LiveTrackingRejectedException.class,
+                () -> service.append(second, RUNNER, batch(1, 15)));
+        assertEquals(2, busy.getRetryAfterSeconds());
+        assertEquals(2L, service.stats().get("rejected"));
+        assertEquals(20L, service.stats().get("pendingPoints"));
+
+        // 거절된 seq는 받지 않은 것으로 남아 같은 seq로 재전송하면 받아짐
+        release.countDown();
+        service.shutdown();
+        assertEquals(0L, service.stats().get("pendingPoints"));
+        assertTrue(service.append(first, RUNNER, batch(3, 1)).accepted());
+        assertTrue(service.append(second, RUNNER, batch(1, 15)).accepted());
+        assertEquals(21, service.status(first, RUNNER).get("bufferedPoints"));
+        assertEquals(15, service.status(second, RUNNER).get("bufferedPoints"));
+    }
+
+    @Test
+    void shutdownDrainsQueuedBatchesAndLaterBatchesAreAppliedInline() throws Exception {
+        String session = open();
+        service.append(session, RUNNER, batch(1, 4));
+        service.append(session, RUNNER, batch(2, 4));
+        assertEquals(0, service.status(session, RUNNER).get("bufferedPoints"));
+        assertEquals(2, service.status(session, RUNNER).get("pendingBatches"));
+
+        release.countDown();
+        service.shutdown();
+        assertTrue(workerPool.isTerminated());
+        assertEquals(8, service.status(session, RUNNER).get("bufferedPoints"));
+        assertEquals(0, service.status(session, RUNNER).get("pendingBatches"));
+        assertEquals(0L, service.stats().get("pendingPoints"));
+
+        // 작업 스레드가 멈춘 뒤에도 대기열에 남기지 않음
+        LiveTrackingService.Ack ack = service.append(session, RUNNER, batch(3, 4));
+        assertTrue(ack.accepted());
+        assertEquals(12, service.status(session, RUNNER).get("bufferedPoints"));
+        assertEquals(0L, service.stats().get("pendingPoints"));
+    }
+}
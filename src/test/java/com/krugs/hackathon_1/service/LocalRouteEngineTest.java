@@ -0,0 +1,72 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.dto.RegionInfo;
+import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRouteEngineTest {
+
+    private static final RegionDataService REGIONS = new RegionDataService();
+    private final LocalRouteEngine engine = new LocalRouteEngine(REGIONS);
+
+    @Test
+    void loopRoutesStartAndEndAtTheRegionAndMatchTheTargetDistance() {
+        List<RouteData> routes = engine.generateRoutes("자연경관", 10f, "공주", "공주", "beginner");
+
+        RegionInfo region = REGIONS.getRegionByStartLocation("공주");
+        assertEquals(3, routes.size());
+        for (int i = 0; i < routes.size(); i++) {
+            RouteData route = routes.get(i);
+            GeoPath path = route.getCoordinates();
+            assertEquals(i + 1, route.getRank());
+            assertEquals(region.getCenterLat(), path.lat(0), 1e-9);
+            assertEquals(region.getCenterLng(), path.lng(0), 1e-9);
+            assertEquals(path.lat(0), path.lat(path.size() - 1), 1e-9);
+            assertEquals(path.lng(0), path.lng(path.size() - 1), 1e-9);
+            assertEquals(10, route.getDistance(), 1.0, route.getName());
+            // 보고한 거리는 실제 좌표 길이
+            assertEquals(GeoUtils.pathLengthKm(path), route.getDistance(), 0.1);
+        }
+    }
+
+    @Test
+    void sameInputGivesSameRoutes() {
+        List<RouteData> first = engine.generateRoutes("문화유산", 7f, "부여", "부여", "intermediate");
+        List<RouteData> second = engine.generateRoutes("문화유산", 7f, "부여", "부여", "intermediate");
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getName(), second.get(i).getName());
+            assertEquals(first.get(i).getCoordinates(), second.get(i).getCoordinates());
+            assertEquals(first.get(i).getLandmarks(), second.get(i).getLandmarks());
+        }
+    }
+
+    @Test
+    void differentEndRegionGivesLinearRoutes() {
+        List<RouteData> routes = engine.generateRoutes("자연경관", 30f, "대전 유성", "공주", "advanced");
+
+        RegionInfo end = REGIONS.getRegionByStartLocation("공주");
+        for (RouteData route : routes) {
+            GeoPath path = route.getCoordinates();
+            assertEquals(end.getCenterLat(), path.lat(path.size() - 1), 1e-9);
+            assertEquals(end.getCenterLng(), path.lng(path.size() - 1), 1e-9);
+            assertTrue(route.getDescription().contains("선형"));
+        }
+    }
+
+    @Test
+    void unknownLocationUsesTheDefaultRegion() {
+        List<RouteData> routes = engine.generateRoutes("", null, "없는지역", "", "beginner");
+
+        assertEquals(3, routes.size());
+        assertTrue(routes.get(0).getName().startsWith("대전 유성"), routes.get(0).getName());
+        assertEquals(10, routes.get(0).getDistance(), 1.0);
+    }
+}
@@ -0,0 +1,154 @@
+package com.krugs.hackathon_1.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationExecutorTest {
+
+    private RecommendationExecutor executor;
+
+    private RecommendationExecutor executor(int concurrency, int queue, long timeoutSeconds) {
+        executor = new RecommendationExecutor();
+        ReflectionTestUtils.setField(executor, "maxConcurrency", concurrency);
+        ReflectionTestUtils.setField(executor, "queueCapacity", queue);
+        ReflectionTestUtils.setField(executor, "timeoutSeconds", timeoutSeconds);
+        executor.init();
+        return executor;
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectsWhenRunningAndQueuedTasksReachTheLimit() throws Exception {
+        RecommendationExecutor executor = executor(1, 1, 30);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = executor.submit(() -> {
+            release.await();
+            return "a";
+        });
+        CompletableFuture<String> queued = executor.submit(() -> "b");
+        CompletableFuture<String> rejected = executor.submit(() -> "c");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RecommendationRejectedException.class, error.getCause());
+        assertEquals(1L, executor.stats().get("rejected"));
+
+        release.countDown();
+        assertEquals("a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+        assertEquals("d", executor.submit(() -> "d").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timedOutTaskKeepsItsSlotUntilTheCallReturns() throws Exception {
+        RecommendationExecutor executor = executor(1, 0, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        // 인터럽트를 무시하는 호출 (응답을 기다리는 HTTP 클라이언트처럼)
+        CompletableFuture<String> stuck = executor.submit(() -> {
+            try {
+                while (true) {
+                    try {
+                        release.await();
+                        return "late";
+                    } catch (InterruptedException ignored) {
+                        // 계속 대기
+                    }
+                }
+            } finally {
+                finished.countDown();
+            }
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> stuck.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause().getCause());
+        // 타임아웃 카운터는 결과를 실패시킨 직후 타이머 스레드에서 증가
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Long.valueOf(1).equals(executor.stats().get("timedOut")) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1L, executor.stats().get("timedOut"));
+
+        // 결과는 실패했지만 호출이 아직 끝나지 않았으므로 한도에 포함
+        CompletableFuture<String> whileStuck = executor.submit(() -> "x");
+        assertThrows(ExecutionException.class, () -> whileStuck.get(1, TimeUnit.SECONDS));
+        assertEquals(1, executor.stats().get("active"));
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals("y", awaitAccepted(executor));
+    }
+
+    @Test
+    void cancellingTheResultInterruptsTheWorker() throws Exception {
+        RecommendationExecutor executor = executor(1, 0, 60);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<String> result = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+                return "done";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        result.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals("y", awaitAccepted(executor));
+    }
+
+    @Test
+    void timeoutIsCancelledWhenTheTaskCompletes() throws Exception {
+        RecommendationExecutor executor = executor(2, 2, 60);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, executor.submit(() -> 0).get(5, TimeUnit.SECONDS));
+        }
+
+        ScheduledThreadPoolExecutor timer = (ScheduledThreadPoolExecutor) ReflectionTestUtils.getField(executor, "timer");
+        assertNotNull(timer);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!timer.getQueue().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(timer.getQueue().isEmpty());
+    }
+
+    /**
+     * 작업 스레드의 finally가 끝나 한도가 풀릴 때까지 재시도
+     */
+    private static String awaitAccepted(RecommendationExecutor executor) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                return executor.submit(() -> "y").get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof RecommendationRejectedException) || System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.dto.RegionInfo;
+import com.krugs.hackathon_1.dto.RouteData;
+import com.krugs.hackathon_1.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteGeometryProcessorTest {
+
+    private static final double LAT = 36.35;
+    private static final double LNG = 127.38;
+    // 위도 1m에 해당하는 각도
+    private static final double METER = 1 / 110_540.0;
+
+    private static final RegionInfo REGION = RegionInfo.builder()
+            .regionName("대전").centerLat(LAT).centerLng(LNG).build();
+
+    private final RouteGeometryProcessor processor = processor();
+
+    private static RouteGeometryProcessor processor() {
+        RouteGeometryProcessor processor = new RouteGeometryProcessor(new RegionDataService());
+        ReflectionTestUtils.setField(processor, "simplifyToleranceMeters", 10.0);
+        ReflectionTestUtils.setField(processor, "distanceFlagRatio", 0.15);
+        ReflectionTestUtils.setField(processor, "distanceRejectRatio", 0.5);
+        ReflectionTestUtils.setField(processor, "regionMarginKm", 10.0);
+        ReflectionTestUtils.setField(processor, "spikeMinKm", 2.0);
+        ReflectionTestUtils.setField(processor, "maxElevationPerKm", 60);
+        return processor;
+    }
+
+    @Test
+    void simplifyDropsCollinearAndJitterPointsButKeepsCorners() {
+        GeoPath.Builder builder = GeoPath.builder();
+        // 북쪽으로 1km (10m 간격, ±3m 흔들림) → 동쪽으로 꺾어 1km
+        for (int i = 0; i <= 100; i++) {
+            builder.add(LAT + i * 10 * METER, LNG + (i % 2 == 0 ? 3 : -3) * METER);
+        }
+        double cornerLat = LAT + 1000 * METER;
+        for (int i = 1; i <= 100; i++) {
+            builder.add(cornerLat, LNG + i * 10 * METER * 1.24);
+        }
+        GeoPath path = builder.build();
+
+        GeoPath simplified = RouteGeometryProcessor.simplify(path, 10);
+
+        assertTrue(simplified.size() <= 4, String.valueOf(simplified.size()));
+        assertEquals(path.lat(0), simplified.lat(0));
+        assertEquals(path.lng(path.size() - 1), simplified.lng(simplified.size() - 1));
+        boolean cornerKept = false;
+        for (int i = 0; i < simplified.size(); i++) {
+            cornerKept |= Math.abs(simplified.lat(i) - cornerLat) < 5 * METER
+                    && Math.abs(simplified.lng(i) - LNG) < 5 * METER;
+        }
+        assertTrue(cornerKept);
+        // 흔들림이 제거되어 실제 2km에 가까워짐
+        assertTrue(GeoUtils.pathLengthKm(path) > 2.1);
+        assertEquals(2.0, GeoUtils.pathLengthKm(simplified), 0.05);
+    }
+
+    @Test
+    void simplifyKeepsDeviationsAboveTolerance() {
+        GeoPath zigzag = GeoPath.of(
+                new double[]{LAT, LAT + 100 * METER, LAT + 200 * METER, LAT + 300 * METER, LAT + 400 * METER},
+                new double[]{LNG, LNG + 50 * METER, LNG, LNG + 50 * METER, LNG});
+
+        assertEquals(5, RouteGeometryProcessor.simplify(zigzag, 10).size());
+        assertSame(zigzag, RouteGeometryProcessor.simplify(zigzag, 0));
+        GeoPath two = GeoPath.of(new double[]{LAT, LAT + METER}, new double[]{LNG, LNG});
+        assertSame(two, RouteGeometryProcessor.simplify(two, 10));
+    }
+
+    @Test
+    void stripOutliersRemovesInvalidFarAndSpikePoints() {
+        GeoPath path = GeoPath.of(
+                new double[]{LAT, 0, LAT + 0.001, LAT + 0.05, LAT + 0.002, Double.NaN, LAT + 0.5, LAT + 0.003},
+                new double[]{LNG, 0, LNG, LNG, LNG, LNG, LNG, LNG});
+
+        // (0,0)과 NaN은 잘못된 좌표, +0.5도(약 55km)는 지역 밖, +0.05도(약 5.5km)는 앞뒤보다 크게 튀는 점
+        GeoPath cleaned = processor.stripOutliers(path, REGION, 5f);
+
+        assertEquals(4, cleaned.size());
+        assertEquals(LAT + 0.003, cleaned.lat(3));
+        for (int i = 0; i < cleaned.size(); i++) {
+            assertTrue(cleaned.lat(i) < LAT + 0.01);
+        }
+    }
+
+    @Test
+    void processMeasuresDistanceAndFillsMissingFields() {
+        // 북쪽으로 5km 직선 (100m 간격)
+        GeoPath.Builder builder = GeoPath.builder();
+        for (int i = 0; i <= 50; i++) {
+            builder.add(LAT + i * 100 * METER, LNG);
+        }
+        RouteData route = RouteData.builder().name("직선").distance(8f).coordinates(builder.build())
+                .elevationGain(5000).build();
+
+        RouteData processed = processor.process(route, 5f, REGION);
+
+        assertNotNull(processed);
+        assertEquals(8f, processed.getClaimedDistance());
+        assertEquals(5.0f, processed.getDistance(), 0.05f);
+        assertFalse(processed.getDistanceMismatch());
+        assertEquals(2, processed.getCoordinates().size());
+        assertEquals(LAT, processed.getStartPointLat());
+        assertEquals(LNG, processed.getStartPointLng());
+        assertEquals(Math.ceil(processed.getDistance() * 60), processed.getElevationGain(), 3);
+
+        Map<String, Object> stats = processor.stats();
+        assertEquals(51L, stats.get("pointsBefore"));
+        assertEquals(2L, stats.get("pointsAfter"));
+    }
+
+    @Test
+    void processFlagsOrRejectsDistanceMismatches() {
+        GeoPath sixKm = GeoPath.of(new double[]{LAT, LAT + 6000 * METER}, new double[]{LNG, LNG});
+
+        RouteData flagged = processor.process(RouteData.builder().coordinates(sixKm).build(), 5f, REGION);
+        RouteData rejected = processor.process(RouteData.builder().coordinates(sixKm).build(), 3f, REGION);
+        RouteData tooFew = processor.process(RouteData.builder()
+                .coordinates(GeoPath.of(new double[]{LAT}, new double[]{LNG})).build(), 5f, REGION);
+
+        assertTrue(flagged.getDistanceMismatch());
+        assertNull(rejected);
+        assertNull(tooFew);
+        assertEquals(2L, processor.stats().get("routesRejected"));
+    }
+}
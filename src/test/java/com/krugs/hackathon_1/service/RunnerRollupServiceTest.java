@@ -0,0 +1,174 @@
+package com.krugs.hackathon_1.service;
+
+import com.krugs.hackathon_1.entity.RunnerDailyStats;
+import com.krugs.hackathon_1.entity.RunningRecord;
+import com.krugs.hackathon_1.repository.RunnerDailyStatsRepository;
+import com.krugs.hackathon_1.repository.RunningRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+// 서비스가 직접 트랜잭션을 나누므로 테스트 트랜잭션 없이 실행
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RunnerRollupServiceTest {
+
+    private static final Long RUNNER = 7L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private RunnerDailyStatsRepository dailyRepository;
+    @Autowired
+    private RunningRecordRepository recordRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private RunnerRollupService service() {
+        return new RunnerRollupService(dailyRepository, recordRepository, transactionTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dailyRepository.deleteAll();
+        recordRepository.deleteAll();
+    }
+
+    private RunningRecord record(LocalDate day, float distance, int seconds, Integer calories) {
+        return RunningRecord.builder()
+                .runnerId(RUNNER)
+                .distance(distance)
+                .durationSeconds(seconds)
+                .caloriesBurned(calories)
+                .recordDate(day.atTime(7, 0))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 기록 저장 경로와 같은 순서: 날짜 행 생성 → 기록 INSERT와 증감을 한 트랜잭션
+    private RunningRecord save(RunnerRollupService service, RunningRecord record) {
+        service.ensureDay(record.getRunnerId(), record.getRecordDate().toLocalDate());
+        return transactionTemplate.execute(status -> {
+            RunningRecord saved = recordRepository.save(record);
+            service.recordAdded(saved);
+            return saved;
+        });
+    }
+
+    private List<RunnerDailyStats> days() {
+        return dailyRepository.findAll().stream()
+                .sorted(Comparator.comparing(RunnerDailyStats::getRunDate))
+                .toList();
+    }
+
+    @Test
+    void addsAndRemovesDailyTotals() {
+        RunnerRollupService service = service();
+        save(service, record(TODAY, 5f, 1800, 300));
+        RunningRecord second = save(service, record(TODAY, 3f, 1200, null));
+        save(service, record(TODAY.minusDays(1), 10f, 3600, 600));
+        service.ensureDay(RUNNER, TODAY);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recordRepository.deleteById(second.getId());
+            service.recordRemoved(second);
+        });
+
+        List<RunnerDailyStats> days = days();
+        assertEquals(2, days.size());
+        assertEquals(1, days.get(1).getRecords());
+        assertEquals(5.0, days.get(1).getDistance(), 1e-6);
+        assertEquals(1800, days.get(1).getSeconds());
+        assertEquals(300, days.get(1).getCalories());
+
+        List<Map<String, Object>> weekly = service.getWeekly(RUNNER, 2);
+        long weeklyRecords = weekly.stream().mapToLong(week -> (Long) week.get("records")).sum();
+        assertEquals(2L, weeklyRecords);
+        assertEquals(15.0, service.getYearly(RUNNER).get(0).get("distance"));
+        Map<String, Object> heatmap = service.getHeatmap(RUNNER, 7);
+        assertEquals(2, heatmap.get("activeDays"));
+        assertEquals(10.0, heatmap.get("maxDistance"));
+    }
+
+    @Test
+    void backfillRebuildsDaysFromRecords() {
+        RunnerRollupService service = service();
+        recordRepository.save(record(TODAY, 5f, 1800, 300));
+        recordRepository.save(record(TODAY, 2f, 600, 100));
+        recordRepository.save(record(TODAY.minusDays(3), 8f, 2400, null));
+        // 통계 행 없이 남아 있던 날짜 행
+        dailyRepository.save(RunnerDailyStats.builder().runnerId(RUNNER).runDate(TODAY.minusDays(10)).records(9).build());
+
+        transactionTemplate.executeWithoutResult(status -> service.backfill(RUNNER));
+
+        List<RunnerDailyStats> days = days();
+        assertEquals(List.of(TODAY.minusDays(3), TODAY), days.stream().map(RunnerDailyStats::getRunDate).toList());
+        assertEquals(1, days.get(0).getRecords());
+        assertEquals(0, days.get(0).getCalories());
+        assertEquals(2, days.get(1).getRecords());
+        assertEquals(7.0, days.get(1).getDistance(), 1e-6);
+        assertEquals(400, days.get(1).getCalories());
+    }
+
+    @Test
+    void verifyCorrectsDriftedMissingAndOrphanDays() {
+        RunnerRollupService service = service();
+        save(service, record(TODAY, 5f, 1800, 300));
+        save(service, record(TODAY.minusDays(1), 4f, 1500, 200));
+        // 어긋난 값, 날짜 행 없는 기록, 기록 없는 날의 합계
+        RunnerDailyStats drifted = days().get(1);
+        dailyRepository.save(RunnerDailyStats.builder().id(drifted.getId()).runnerId(RUNNER).runDate(TODAY)
+                .records(3).distance(1).seconds(1).calories(1).version(drifted.getVersion()).build());
+        recordRepository.save(record(TODAY.minusDays(2), 6f, 2000, null));
+        dailyRepository.save(RunnerDailyStats.builder().runnerId(RUNNER).runDate(TODAY.minusDays(5)).records(1).build());
+
+        assertArrayEquals(new int[] {3, 3}, service.verify(List.of(RUNNER)));
+        assertArrayEquals(new int[] {0, 0}, service.verify(List.of(RUNNER)));
+
+        List<RunnerDailyStats> days = days();
+        assertEquals(4, days.size());
+        assertEquals(0, days.get(0).getRecords());
+        assertEquals(1, days.get(1).getRecords());
+        assertEquals(6.0, days.get(1).getDistance(), 1e-6);
+        assertEquals(1, days.get(3).getRecords());
+        assertEquals(5.0, days.get(3).getDistance(), 1e-6);
+    }
+
+    @Test
+    void verifyDoesNotOverwriteDaysUpdatedWhileComparing() {
+        RunnerRollupService writer = service();
+        save(writer, record(TODAY, 5f, 1800, 300));
+        RunnerDailyStats day = days().get(0);
+        dailyRepository.save(RunnerDailyStats.builder().id(day.getId()).runnerId(RUNNER).runDate(TODAY)
+                .records(9).distance(9).seconds(9).calories(9).version(day.getVersion()).build());
+
+        // 검증이 일 합계를 읽은 직후 같은 날 기록이 저장됨 → 읽은 version이 낡아 덮어쓰지 않음
+        RunnerDailyStatsRepository racing = mock(RunnerDailyStatsRepository.class, delegatesTo(dailyRepository));
+        doAnswer(invocation -> {
+            List<RunnerDailyStats> stored = dailyRepository.findByRunnerIdIn(invocation.getArgument(0));
+            save(writer, record(TODAY, 1f, 300, 50));
+            return stored;
+        }).when(racing).findByRunnerIdIn(anyCollection());
+        RunnerRollupService verifier = new RunnerRollupService(racing, recordRepository, transactionTemplate);
+
+        assertArrayEquals(new int[] {1, 0}, verifier.verify(List.of(RUNNER)));
+        assertEquals(10, days().get(0).getRecords());
+
+        // 다음 검증에서 바로잡힘
+        assertArrayEquals(new int[] {1, 1}, service().verify(List.of(RUNNER)));
+        assertEquals(2, days().get(0).getRecords());
+    }
+}
@@ -0,0 +1,80 @@
+package com.krugs.hackathon_1.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krugs.hackathon_1.dto.GeoPath;
+import com.krugs.hackathon_1.entity.UploadedCourse;
+import com.krugs.hackathon_1.repository.CourseLikeRepository;
+import com.krugs.hackathon_1.repository.UploadedCourseRepository;
+import com.krugs.hackathon_1.util.GeometryCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UploadedCourseServiceTest {
+
+    private final UploadedCourseService service = new UploadedCourseService(
+            mock(UploadedCourseRepository.class), mock(CourseViewCounter.class), mock(CourseLeaderboard.class),
+            mock(CourseLikeRepository.class), mock(NearbyCourseService.class), mock(CourseSimilarityService.class),
+            mock(CourseSearchService.class), new ObjectMapper());
+
+    @Test
+    void migratesLegacyJsonThatRoundTrips() {
+        UploadedCourse course = UploadedCourse.builder()
+                .coordinatesJson("[{\"lat\":36.35,\"lng\":127.38},{\"lat\":36.36,\"lng\":127.39}]")
+                .elevationDataJson("[50.2,null,61.0]")
+                .build();
+
+        assertTrue(service.migrateGeometry(course));
+
+        assertNull(course.getCoordinatesJson());
+        assertNull(course.getElevationDataJson());
+        assertNull(course.getGeometryJsonKept());
+        GeoPath path = GeometryCodec.decodePath(course.getCoordinatesData());
+        assertEquals(2, path.size());
+        assertEquals(127.39, path.lng(1), 5e-7);
+        assertEquals(Arrays.asList(50.2, null, 61.0), GeometryCodec.decodeElevations(course.getElevationData()));
+        assertEquals(36.35, course.getStartLat());
+        assertNotNull(course.getRouteSignature());
+    }
+
+    @Test
+    void keepsLegacyJsonThatWouldLoseData() {
+        // 좌표에 고도/시간 키가 함께 들어 있고, 한 항목은 경도가 없음
+        String coordinates = "[{\"lat\":36.35,\"lng\":127.38,\"ele\":50},{\"lat\":36.36},{\"lat\":36.37,\"lng\":127.4}]";
+        UploadedCourse course = UploadedCourse.builder()
+                .coordinatesJson(coordinates)
+                .elevationDataJson("[50.2, 51.0]")
+                .build();
+
+        assertTrue(service.migrateGeometry(course));
+
+        assertEquals(coordinates, course.getCoordinatesJson());
+        assertNull(course.getCoordinatesData());
+        assertTrue(course.getGeometryJsonKept());
+        // 고도는 손실 없이 옮겨짐
+        assertNull(course.getElevationDataJson());
+        assertEquals(List.of(50.2, 51.0), GeometryCodec.decodeElevations(course.getElevationData()));
+        // 서명/범위는 읽을 수 있는 좌표로 계산
+        assertEquals(36.35, course.getStartLat());
+        assertEquals(36.37, course.getMaxLat());
+        assertNotNull(course.getRouteSignature());
+
+        // 이미 표시된 코스는 다시 처리하지 않음
+        assertFalse(service.migrateGeometry(course));
+    }
+
+    @Test
+    void keepsUnreadableLegacyJson() {
+        UploadedCourse course = UploadedCourse.builder().coordinatesJson("[{\"lat\":").build();
+
+        assertTrue(service.migrateGeometry(course));
+
+        assertEquals("[{\"lat\":", course.getCoordinatesJson());
+        assertTrue(course.getGeometryJsonKept());
+        assertEquals(0, course.getRouteSignature().length);
+    }
+}
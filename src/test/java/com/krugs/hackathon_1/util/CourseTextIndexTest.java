@@ -0,0 +1,123 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseTextIndexTest {
+
+    private static CourseTextIndex index() {
+        CourseTextIndex index = new CourseTextIndex(1.2, 0.75, 2.0);
+        index.putAll(List.of(
+                new CourseTextIndex.Document(1, "갑천 벚꽃길", "대전 시내를 지나는 코스", "자연경관", "beginner"),
+                new CourseTextIndex.Document(2, "유성 온천길", "갑천 옆을 달리는 코스", "자연경관", "beginner"),
+                new CourseTextIndex.Document(3, "엑스포 야경", "갑천 다리와 엑스포 다리를 건너 한밭수목원까지 이어지는 긴 코스",
+                        "야경", "intermediate"),
+                new CourseTextIndex.Document(4, "계족산 황톳길", "숲길 코스", "자연경관", "advanced")));
+        return index;
+    }
+
+    @Test
+    void nameMatchesOutrankShortThenLongDescriptions() {
+        List<CourseTextIndex.Hit> hits = index().search("갑천", null, null, null, 10);
+
+        // 이름 가중치 > 짧은 설명 > 긴 설명 (문서 길이 정규화), 갑천이 없는 4번은 제외
+        assertEquals(List.of(1L, 2L, 3L), hits.stream().map(CourseTextIndex.Hit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertTrue(hits.get(1).score() > hits.get(2).score());
+    }
+
+    @Test
+    void rareTermsWeighMore() {
+        // "코스"는 모든 코스에 있어 idf가 낮고, "황톳길"은 4번에만 있음
+        List<CourseTextIndex.Hit> hits = index().search("황톳길 코스", null, null, null, 10);
+
+        assertEquals(4L, hits.get(0).id());
+        assertEquals(4, hits.size());
+    }
+
+    @Test
+    void singleSyllableQueryMatchesBigrams() {
+        List<CourseTextIndex.Hit> hits = index().search("산", null, null, null, 10);
+
+        assertEquals(List.of(4L), hits.stream().map(CourseTextIndex.Hit::id).toList());
+    }
+
+    @Test
+    void filtersAndReplacement() {
+        CourseTextIndex index = index();
+
+        assertEquals(List.of(3L), index.search("갑천", "야경", null, null, 10).stream().map(CourseTextIndex.Hit::id).toList());
+        assertEquals(List.of(1L, 2L), index.search("갑천", "자연경관", "beginner", null, 10).stream()
+                .map(CourseTextIndex.Hit::id).toList());
+        assertTrue(index.search("갑천", "없는테마", null, null, 10).isEmpty());
+
+        index.put(new CourseTextIndex.Document(1, "계룡산 둘레길", "산길", "자연경관", "advanced"));
+        assertTrue(index.remove(2));
+        assertEquals(List.of(3L), index.search("갑천", null, null, null, 10).stream().map(CourseTextIndex.Hit::id).toList());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void cursorPagesVisitEveryHitOnceInOrder() {
+        CourseTextIndex index = new CourseTextIndex(1.2, 0.75, 2.0);
+        List<CourseTextIndex.Document> documents = new ArrayList<>();
+        for (long id = 1; id <= 47; id++) {
+            // 같은 점수가 여러 개 나오도록 설명 길이를 세 가지로만 바꿈
+            String description = "둘레길 " + "코스 ".repeat((int) (id % 3));
+            documents.add(new CourseTextIndex.Document(id, id % 10 == 0 ? "둘레길 명소" : "산책로 " + id, description,
+                    null, null));
+        }
+        index.putAll(documents);
+        List<CourseTextIndex.Hit> all = index.search("둘레길", null, null, null, 100);
+        assertEquals(47, all.size());
+
+        // CourseSearchService와 같은 방식으로 (점수 비트, id)를 PageCursor로 주고받음
+        List<CourseTextIndex.Hit> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageCursor after = PageCursor.decode(cursor);
+            CourseTextIndex.Hit afterHit = PageCursor.FIRST.equals(after)
+                    ? null
+                    : new CourseTextIndex.Hit(after.id(), Float.intBitsToFloat(after.keyAsInt()));
+            CursorPage<CourseTextIndex.Hit> page = CursorPage.of(index.search("둘레길", null, null, afterHit, 11), 10,
+                    hit -> PageCursor.of(Float.floatToIntBits(hit.score()), hit.id()));
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(all, paged);
+        for (int i = 1; i < all.size(); i++) {
+            CourseTextIndex.Hit previous = all.get(i - 1);
+            CourseTextIndex.Hit hit = all.get(i);
+            assertTrue(previous.score() > hit.score() || (previous.score() == hit.score() && previous.id() > hit.id()));
+        }
+    }
+
+    @Test
+    void reusedScoreBuffersDoNotLeakBetweenSearches() {
+        CourseTextIndex index = index();
+        List<CourseTextIndex.Hit> first = index.search("갑천 산", null, null, null, 10);
+
+        // 다른 질의를 거친 뒤에도 같은 질의는 같은 점수
+        index.search("엑스포 다리", null, null, null, 10);
+        index.search("갑", "야경", null, null, 10);
+        assertEquals(first, index.search("갑천 산", null, null, null, 10));
+
+        // 문서 추가로 슬롯이 늘어나면 작은 버퍼는 버리고 새로 할당
+        for (int i = 5; i < 3000; i++) {
+            index.put(new CourseTextIndex.Document(i, "공원 " + i, "호수 코스", "도심", "beginner"));
+        }
+        index.search("공원 호수", null, null, null, 10);
+
+        assertEquals(10, index.search("호수", null, null, null, 10).size());
+        assertEquals(first.stream().map(CourseTextIndex.Hit::id).toList(),
+                index.search("갑천 산", null, null, null, 10).stream().map(CourseTextIndex.Hit::id).toList());
+        assertEquals(List.of(3L), index.search("갑", "야경", null, null, 10).stream()
+                .map(CourseTextIndex.Hit::id).toList());
+    }
+}
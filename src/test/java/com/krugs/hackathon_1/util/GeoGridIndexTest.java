@@ -0,0 +1,118 @@
+package com.krugs.hackathon_1.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridIndexTest {
+
+    private static final double LAT = 36.35;
+    private static final double LNG = 127.38;
+
+    private final GeoGridIndex index = new GeoGridIndex(0.05);
+
+    private static GeoGridIndex.Item point(long id, double lat, double lng, String theme) {
+        return new GeoGridIndex.Item(id, lat, lng, null, null, null, null, theme, "beginner");
+    }
+
+    private static GeoGridIndex.Item course(long id, double lat, double lng, double minLat, double minLng,
+                                            double maxLat, double maxLng) {
+        return new GeoGridIndex.Item(id, lat, lng, minLat, minLng, maxLat, maxLng, "자연", "beginner");
+    }
+
+    private static List<Long> ids(List<GeoGridIndex.Hit> hits) {
+        return hits.stream().map(GeoGridIndex.Hit::id).toList();
+    }
+
+    private float span() {
+        return (float) ReflectionTestUtils.getField(index, "maxSpanLat");
+    }
+
+    @Test
+    void nearbyMatchesLinearScan() {
+        Random random = new Random(5);
+        List<GeoGridIndex.Item> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            items.add(point(i, LAT + random.nextGaussian() * 0.1, LNG + random.nextGaussian() * 0.1,
+                    i % 3 == 0 ? "역사" : "자연"));
+        }
+        index.putAll(items);
+
+        List<GeoGridIndex.Hit> hits = index.nearby(LAT, LNG, 5, "자연", null, 20);
+
+        List<Long> expected = items.stream()
+                .filter(item -> item.theme().equals("자연"))
+                .filter(item -> GeoUtils.haversineKm(LAT, LNG, item.lat(), item.lng()) <= 5)
+                .sorted((a, b) -> Double.compare(GeoUtils.haversineKm(LAT, LNG, a.lat(), a.lng()),
+                        GeoUtils.haversineKm(LAT, LNG, b.lat(), b.lng())))
+                .limit(20)
+                .map(GeoGridIndex.Item::id)
+                .toList();
+        assertEquals(expected, ids(hits));
+        assertTrue(hits.get(hits.size() - 1).distanceKm() <= 5);
+        assertTrue(index.nearby(LAT, LNG, 5, "없는 테마", null, 20).isEmpty());
+    }
+
+    @Test
+    void withinFindsCoursesWhoseRangeOverlapsButStartIsOutside() {
+        // 시작점은 영역 밖(남쪽 약 10km)이지만 경로가 영역 안으로 들어오는 코스
+        index.put(course(1, LAT - 0.09, LNG, LAT - 0.09, LNG - 0.01, LAT + 0.005, LNG + 0.01));
+        index.put(course(2, LAT - 0.09, LNG, LAT - 0.1, LNG - 0.01, LAT - 0.08, LNG + 0.01));
+        index.put(point(3, LAT, LNG + 0.001, "자연"));
+
+        List<GeoGridIndex.Hit> hits = index.within(LAT - 0.01, LNG - 0.01, LAT + 0.01, LNG + 0.01, null, null, 10);
+
+        assertEquals(List.of(3L, 1L), ids(hits));
+    }
+
+    @Test
+    void removeDropsCourseAndUnknownIdIsIgnored() {
+        index.put(point(1, LAT, LNG, "자연"));
+        index.put(point(2, LAT + 0.001, LNG, "자연"));
+
+        assertTrue(index.remove(1, LAT, LNG));
+        assertFalse(index.remove(1, LAT, LNG));
+        assertFalse(index.remove(2, LAT + 1, LNG));
+
+        assertEquals(List.of(2L), ids(index.nearby(LAT, LNG, 1, null, null, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void strayOutlierDoesNotWidenBoundingBoxScans() {
+        index.put(course(1, LAT, LNG, LAT - 0.01, LNG - 0.01, LAT + 0.01, LNG + 0.01));
+        // 좌표 하나가 (0, 0)으로 잘못 찍혀 범위가 한반도~적도까지 늘어난 코스
+        index.put(course(2, LAT, LNG, 0, 0, LAT + 0.01, LNG + 0.01));
+
+        assertEquals(0.02f, span(), 1e-4f);
+        assertEquals(1, index.oversizedCount());
+        // 긴 범위 코스도 범위 조회에서 빠지지 않음
+        assertEquals(List.of(1L, 2L), ids(index.within(LAT - 0.001, LNG - 0.001, LAT + 0.001, LNG + 0.001,
+                null, null, 10)));
+        assertEquals(List.of(2L), ids(index.within(10, 10, 10.1, 10.1, null, null, 10)));
+
+        assertTrue(index.remove(2, LAT, LNG));
+        assertEquals(0, index.oversizedCount());
+        assertTrue(index.within(10, 10, 10.1, 10.1, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void spanShrinksWhenTheWidestCourseIsRemovedOrReplaced() {
+        index.put(course(1, LAT, LNG, LAT - 0.01, LNG - 0.01, LAT + 0.01, LNG + 0.01));
+        index.put(course(2, LAT, LNG, LAT - 0.05, LNG - 0.05, LAT + 0.05, LNG + 0.05));
+        assertEquals(0.1f, span(), 1e-4f);
+
+        index.put(course(2, LAT, LNG, LAT - 0.02, LNG - 0.02, LAT + 0.02, LNG + 0.02));
+        assertEquals(0.04f, span(), 1e-4f);
+
+        index.remove(2, LAT, LNG);
+        assertEquals(0.02f, span(), 1e-4f);
+        assertEquals(List.of(1L), ids(index.within(LAT + 0.005, LNG + 0.005, LAT + 0.006, LNG + 0.006,
+                null, null, 10)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeometryCodecTest {
+
+    @Test
+    void coordinatesRoundTripWithin1e6Degrees() {
+        Random random = new Random(11);
+        GeoPath.Builder builder = GeoPath.builder();
+        double lat = 37.5665;
+        double lng = 126.9780;
+        for (int i = 0; i < 2000; i++) {
+            // 남서쪽으로도 움직여 음수 차분 포함
+            lat += (random.nextDouble() - 0.5) * 0.0005;
+            lng += (random.nextDouble() - 0.5) * 0.0005;
+            builder.add(lat, lng);
+        }
+        GeoPath path = builder.build();
+
+        GeoPath decoded = GeometryCodec.decodePath(GeometryCodec.encode(path));
+
+        assertEquals(path.size(), decoded.size());
+        for (int i = 0; i < path.size(); i++) {
+            assertEquals(path.lat(i), decoded.lat(i), 5e-7);
+            assertEquals(path.lng(i), decoded.lng(i), 5e-7);
+        }
+    }
+
+    @Test
+    void coordinatesRoundTripLargeJumpsAndNegativeValues() {
+        GeoPath path = GeoPath.of(new double[]{-33.8688, 51.5072, 0, 89.999999, -90},
+                new double[]{151.2093, -0.1276, 0, -179.999999, 180});
+
+        GeoPath decoded = GeometryCodec.decodePath(GeometryCodec.encode(path));
+
+        assertEquals(path.size(), decoded.size());
+        for (int i = 0; i < path.size(); i++) {
+            assertEquals(path.lat(i), decoded.lat(i), 5e-7);
+            assertEquals(path.lng(i), decoded.lng(i), 5e-7);
+        }
+    }
+
+    @Test
+    void emptyAndSinglePointPaths() {
+        assertTrue(GeometryCodec.decodePath(GeometryCodec.encode(GeoPath.empty())).isEmpty());
+
+        GeoPath single = GeometryCodec.decodePath(GeometryCodec.encode(GeoPath.of(new double[]{36.35}, new double[]{127.38})));
+        assertEquals(1, single.size());
+        assertEquals(36.35, single.lat(0), 5e-7);
+        assertEquals(127.38, single.lng(0), 5e-7);
+    }
+
+    @Test
+    void legacyCoordinateMapsAcceptAliasesAndSkipInvalidPoints() {
+        List<Map<String, Object>> coordinates = new ArrayList<>();
+        coordinates.add(Map.of("lat", 37.1, "lng", 127.1));
+        coordinates.add(Map.of("latitude", 37, "longitude", 127));
+        coordinates.add(null);
+        coordinates.add(Map.of("lat", "37.3", "lng", 127.3));
+        Map<String, Object> missing = new HashMap<>();
+        missing.put("lat", 37.4);
+        coordinates.add(missing);
+
+        List<Map<String, Double>> decoded = GeometryCodec.decodeCoordinates(GeometryCodec.encodeCoordinates(coordinates));
+
+        assertEquals(2, decoded.size());
+        assertEquals(37.1, decoded.get(0).get("lat"), 5e-7);
+        assertEquals(127.0, decoded.get(1).get("lng"), 5e-7);
+    }
+
+    @Test
+    void coordinatesRoundTripCheckRejectsLossyLegacyData() {
+        assertTrue(GeometryCodec.coordinatesRoundTrip(List.of(
+                Map.of("lat", 37.1234567, "lng", 127.1), Map.of("latitude", 37, "longitude", 127))));
+
+        // 추가 키, 건너뛰는 항목, 숫자가 아닌 값
+        assertFalse(GeometryCodec.coordinatesRoundTrip(List.of(Map.of("lat", 37.1, "lng", 127.1, "ele", 30.0))));
+        assertFalse(GeometryCodec.coordinatesRoundTrip(List.of(Map.of("lat", 37.1, "lng", 127.1), Map.of("lat", 37.2))));
+        assertFalse(GeometryCodec.coordinatesRoundTrip(List.of(Map.of("lat", "37.1", "lng", 127.1))));
+        List<Map<String, Object>> withNull = new ArrayList<>();
+        withNull.add(null);
+        assertFalse(GeometryCodec.coordinatesRoundTrip(withNull));
+    }
+
+    @Test
+    void elevationsRoundTripCheckAllowsQuantizationOnly() {
+        assertTrue(GeometryCodec.elevationsRoundTrip(Arrays.asList(12.34, null, -4.56)));
+        assertTrue(GeometryCodec.elevationsRoundTrip(List.of()));
+        assertFalse(GeometryCodec.elevationsRoundTrip(List.of(1.0, Double.NaN)));
+        assertFalse(GeometryCodec.elevationsRoundTrip(List.of(Double.POSITIVE_INFINITY)));
+    }
+
+    @Test
+    void elevationsRoundTripWithNullsAndNegativeValues() {
+        List<Double> elevations = Arrays.asList(12.3, null, -4.5, 8848.8, null, 0.0, -0.1);
+
+        List<Double> decoded = GeometryCodec.decodeElevations(GeometryCodec.encodeElevations(elevations));
+
+        assertEquals(elevations, decoded);
+    }
+
+    @Test
+    void elevationsAreQuantizedTo10cm() {
+        List<Double> decoded = GeometryCodec.decodeElevations(GeometryCodec.encodeElevations(List.of(10.04, 10.06, -3.25)));
+
+        assertEquals(List.of(10.0, 10.1, -3.2), decoded);
+    }
+
+    @Test
+    void emptyElevations() {
+        assertTrue(GeometryCodec.decodeElevations(GeometryCodec.encodeElevations(List.of())).isEmpty());
+    }
+
+    @Test
+    void rejectsWrongFormatAndTruncatedData() {
+        byte[] coordinates = GeometryCodec.encode(GeoPath.of(new double[]{37.1, 37.2}, new double[]{127.1, 127.2}));
+        byte[] elevations = GeometryCodec.encodeElevations(List.of(1.0, 2.0));
+
+        assertThrows(IllegalArgumentException.class, () -> GeometryCodec.decodePath(elevations));
+        assertThrows(IllegalArgumentException.class, () -> GeometryCodec.decodeElevations(coordinates));
+        assertThrows(IllegalArgumentException.class,
+                () -> GeometryCodec.decodePath(Arrays.copyOf(coordinates, coordinates.length - 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> GeometryCodec.decodeElevations(Arrays.copyOf(elevations, elevations.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> GeometryCodec.decodePath(new byte[0]));
+    }
+}
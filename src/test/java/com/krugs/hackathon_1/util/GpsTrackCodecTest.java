@@ -0,0 +1,183 @@
+package com.krugs.hackathon_1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GpsTrackCodecTest {
+
+    private static final long START = 1_760_000_000_000L;
+
+    @Test
+    void allColumnsRoundTripWithNegativeDeltas() {
+        TrackBuffer track = new TrackBuffer(600);
+        for (int i = 0; i < 600; i++) {
+            // 남서쪽으로 내려가며 고도/심박이 줄고, 시각 간격이 불규칙 (차분의 차분이 음수)
+            long time = START + i * 1000L + (i % 7 == 0 ? 350 : 0);
+            track.append(37.5665 - i * 0.00001, 126.978 - i * 0.000013, 120.0 - i * 0.1, time, 180 - i % 40);
+        }
+
+        byte[] data = GpsTrackCodec.encode(track);
+
+        assertEquals(1, data[1], "큰 본문은 압축");
+        assertRoundTrip(track, data);
+    }
+
+    @Test
+    void absentColumnsReadAsMissing() {
+        TrackBuffer track = new TrackBuffer(3);
+        track.append(36.35, 127.38, Double.NaN, TrackBuffer.NO_TIME, 0);
+        track.append(36.351, 127.379, Double.NaN, TrackBuffer.NO_TIME, 0);
+
+        GpsTrackCodec.Cursor cursor = GpsTrackCodec.cursor(GpsTrackCodec.encode(track));
+
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(TrackBuffer.NO_TIME, cursor.time());
+            assertTrue(Double.isNaN(cursor.elevation()));
+            assertEquals(0, cursor.heartRate());
+            count++;
+        }
+        assertEquals(2, count);
+    }
+
+    @Test
+    void partialColumnsKeepGapsAcrossBitmapBytes() {
+        TrackBuffer track = new TrackBuffer(40);
+        for (int i = 0; i < 40; i++) {
+            track.append(35.1 + i * 0.0001, 129.04 + i * 0.0001,
+                    i % 2 == 0 ? 12.5 + i : Double.NaN,
+                    i % 3 == 0 ? TrackBuffer.NO_TIME : START + i * 2000L,
+                    i % 5 == 0 ? 0 : 140 + i);
+        }
+
+        assertRoundTrip(track, GpsTrackCodec.encode(track));
+    }
+
+    @Test
+    void smallBodyStaysUncompressed() {
+        TrackBuffer track = new TrackBuffer(2);
+        track.append(-33.8688, 151.2093, -2.5, START, 95);
+        track.append(-33.8689, 151.2092, -3.0, START - 500, 90);
+
+        byte[] data = GpsTrackCodec.encode(track);
+
+        assertEquals(0, data[1]);
+        assertTrue(data.length < 64);
+        assertRoundTrip(track, data);
+    }
+
+    @Test
+    void emptyTrackRoundTrips() {
+        GpsTrackCodec.Cursor cursor = GpsTrackCodec.cursor(GpsTrackCodec.encode(new TrackBuffer(0)));
+
+        assertEquals(0, cursor.size());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void corruptInputIsRejected() {
+        TrackBuffer small = new TrackBuffer(2);
+        small.append(37.0, 127.0, 10.0, START, 100);
+        small.append(37.0001, 127.0001, 10.5, START + 1000, 101);
+        byte[] uncompressed = GpsTrackCodec.encode(small);
+        TrackBuffer large = new TrackBuffer(300);
+        for (int i = 0; i < 300; i++) {
+            large.append(37.0 + i * 0.00001, 127.0, 10.0, START + i * 1000L, 100);
+        }
+        byte[] compressed = GpsTrackCodec.encode(large);
+
+        byte[] wrongFormat = uncompressed.clone();
+        wrongFormat[0] = 9;
+        byte[] unknownCompression = uncompressed.clone();
+        unknownCompression[1] = 7;
+        byte[] badDeflate = compressed.clone();
+        Arrays.fill(badDeflate, 4, badDeflate.length, (byte) 0xFF);
+
+        for (byte[] data : List.of(new byte[0], wrongFormat, unknownCompression,
+                Arrays.copyOf(uncompressed, uncompressed.length - 1),
+                Arrays.copyOf(compressed, compressed.length / 2), badDeflate)) {
+            assertThrows(IllegalArgumentException.class, () -> GpsTrackCodec.cursor(data));
+        }
+    }
+
+    @Test
+    void toTrackKeepsCanonicalPointsExactly() {
+        List<Map<String, Object>> points = List.of(
+                point("lat", 37.5665123, "lng", 126.9780456, "ele", 38.7, "time", "2025-10-09T06:30:00Z", "hr", 150),
+                point("lat", 37.5665, "lng", 126.978, "ele", -1.5, "time", "2025-10-09T06:30:01.250Z", "hr", 151),
+                point("lat", 37.5664, "lng", 126.9779, "time", START));
+
+        TrackBuffer track = GpsTrackCodec.toTrack(points);
+
+        assertNotNull(track);
+        GpsTrackCodec.Cursor cursor = GpsTrackCodec.cursor(GpsTrackCodec.encode(track));
+        assertTrue(cursor.next());
+        assertEquals(37.5665123, cursor.lat());
+        assertEquals(126.9780456, cursor.lng());
+        assertEquals(38.7, cursor.elevation());
+        assertEquals(1_759_991_400_000L, cursor.time());
+        assertEquals(150, cursor.heartRate());
+        assertTrue(cursor.next());
+        assertEquals(-1.5, cursor.elevation());
+        assertEquals(1_759_991_401_250L, cursor.time());
+        assertTrue(cursor.next());
+        assertEquals(START, cursor.time());
+        assertTrue(Double.isNaN(cursor.elevation()));
+        assertEquals(0, cursor.heartRate());
+    }
+
+    @Test
+    void toTrackRejectsPointsThatWouldChange() {
+        List<Map<String, Object>> lossy = List.of(
+                point("latitude", 37.5, "longitude", 127.0),
+                point("lat", 37.5, "lng", 127.0, "timestamp", START),
+                point("lat", 37.56651234, "lng", 127.0),
+                point("lat", 37.5, "lng", 127.0, "ele", 38.75),
+                point("lat", 37.5, "lng", 127.0, "time", "2025-10-09T15:30:00+09:00"),
+                point("lat", 37.5, "lng", 127.0, "time", "2025-10-09T06:30:00.000001Z"),
+                point("lat", 37.5, "lng", 127.0, "time", 1.5e12),
+                point("lat", 37.5, "lng", 127.0, "hr", 0),
+                point("lat", 37.5, "lng", 127.0, "hr", 150.5),
+                point("lat", 37.5, "lng", 127.0, "ele", null),
+                point("lat", 37.5, "lng", 127.0, "speed", 3.2),
+                point("lat", 37.5),
+                point("lat", 91.0, "lng", 127.0));
+
+        for (Map<String, Object> point : lossy) {
+            assertNull(GpsTrackCodec.toTrack(List.of(point)), point.toString());
+        }
+    }
+
+    private static void assertRoundTrip(TrackBuffer track, byte[] data) {
+        GpsTrackCodec.Cursor cursor = GpsTrackCodec.cursor(data);
+        assertEquals(track.size(), cursor.size());
+        for (int i = 0; i < track.size(); i++) {
+            assertTrue(cursor.next());
+            assertEquals(i, cursor.index());
+            assertEquals(track.lat(i), cursor.lat());
+            assertEquals(track.lng(i), cursor.lng());
+            assertEquals(track.time(i), cursor.time());
+            assertEquals(track.heartRate(i), cursor.heartRate());
+            if (Double.isNaN(track.elevation(i))) {
+                assertTrue(Double.isNaN(cursor.elevation()));
+            } else {
+                assertEquals(track.elevation(i), cursor.elevation(), 0.05);
+            }
+        }
+        assertFalse(cursor.next());
+    }
+
+    private static Map<String, Object> point(Object... keyValues) {
+        Map<String, Object> point = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            point.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return point;
+    }
+}
@@ -0,0 +1,60 @@
+package com.krugs.hackathon_1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        PageCursor cursor = PageCursor.of(-42L, 7L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("=") || encoded.contains("+") || encoded.contains("/"), "URL에 그대로 쓰는 문자열");
+        assertEquals(cursor, PageCursor.decode(encoded));
+    }
+
+    @Test
+    void dateKeysKeepMicroseconds() {
+        LocalDateTime date = LocalDateTime.of(2025, 10, 9, 6, 30, 15, 123_456_789);
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of(date, 99L).encode());
+
+        assertEquals(date.withNano(123_456_000), decoded.keyAsDateTime());
+        assertEquals(99L, decoded.id());
+        // 1970년 이전 날짜는 음수 키
+        LocalDateTime old = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000);
+        assertEquals(old, PageCursor.of(old, 1L).keyAsDateTime());
+    }
+
+    @Test
+    void blankCursorIsFirstPage() {
+        assertEquals(PageCursor.FIRST, PageCursor.decode(null));
+        assertEquals(PageCursor.FIRST, PageCursor.decode(" "));
+        assertEquals(LocalDateTime.of(9999, 12, 31, 23, 59, 59), PageCursor.FIRST.keyAsDateTime());
+        assertEquals(Integer.MAX_VALUE, PageCursor.FIRST.keyAsInt());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String raw : new String[]{"v2:1:2", "v1:1", "v1:x:2", "v1:1:2:3"}) {
+            String cursor = Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            assertThrows(RuntimeException.class, () -> PageCursor.decode(cursor), raw);
+        }
+        assertThrows(RuntimeException.class, () -> PageCursor.decode("not base64!"));
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(20, PageCursor.pageSize(null, 20, 100));
+        assertEquals(1, PageCursor.pageSize(0, 20, 100));
+        assertEquals(100, PageCursor.pageSize(500, 20, 100));
+        assertEquals(35, PageCursor.pageSize(35, 20, 100));
+    }
+}
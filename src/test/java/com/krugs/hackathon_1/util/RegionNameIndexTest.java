@@ -0,0 +1,78 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.Attraction;
+import com.krugs.hackathon_1.dto.RegionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionNameIndexTest {
+
+    private static final RegionNameIndex INDEX = RegionNameIndex.build(List.of(
+            region("대전", 36.3504, 127.3845, "대전역", "엑스포과학공원"),
+            region("천안", 36.8151, 127.1139, "천안삼거리공원"),
+            region("아산", 36.7898, 127.0018, "현충사"),
+            region("공주", 36.4465, 127.119, "공산성")));
+
+    @Test
+    void exactNameRanksAboveLongerPrefixMatches() {
+        List<RegionNameIndex.Candidate> candidates = INDEX.search("대전", 5);
+
+        assertEquals("대전", candidates.get(0).name());
+        assertEquals(RegionNameIndex.Type.REGION, candidates.get(0).type());
+        assertEquals(1.0, candidates.get(0).score());
+        assertEquals("대전역", candidates.get(1).name());
+        assertEquals(RegionNameIndex.Type.ATTRACTION, candidates.get(1).type());
+        assertTrue(candidates.get(1).score() < 1.0);
+    }
+
+    @Test
+    void incompleteSyllablesMatchAsPrefix() {
+        // "천ㅇ", "처"처럼 입력 중인 글자도 자모 접두어로 일치, 짧은 이름(지역)이 먼저
+        for (String query : List.of("천ㅇ", "처", "천")) {
+            List<RegionNameIndex.Candidate> candidates = INDEX.search(query, 5);
+            assertEquals("천안", candidates.get(0).name(), query);
+            assertEquals("천안삼거리공원", candidates.get(1).name(), query);
+            assertTrue(candidates.get(0).score() > candidates.get(1).score(), query);
+        }
+    }
+
+    @Test
+    void namesContainedInLongerInput() {
+        assertEquals("천안", INDEX.resolve("천안역").getRegionName());
+        assertEquals("공주", INDEX.resolve("충남 공주시").getRegionName());
+        assertEquals("대전", INDEX.resolve("대전 유성구 엑스포과학공원 근처").getRegionName());
+    }
+
+    @Test
+    void typosAreMatchedByJamoEditDistance() {
+        List<RegionNameIndex.Candidate> candidates = INDEX.search("엑스포과학공윈", 3);
+
+        assertEquals("엑스포과학공원", candidates.get(0).name());
+        assertEquals("대전", candidates.get(0).region().getRegionName());
+        assertTrue(candidates.get(0).score() < 0.6, "오타 일치는 접두어 일치보다 낮은 점수");
+        assertEquals("대전", INDEX.resolve("대잔").getRegionName());
+    }
+
+    @Test
+    void unrelatedOrBlankInputHasNoMatch() {
+        assertNull(INDEX.resolve("부산"));
+        assertNull(INDEX.resolve("  "));
+        assertNull(INDEX.resolve(null));
+        assertTrue(INDEX.search("대전", 0).isEmpty());
+    }
+
+    private static RegionInfo region(String name, double lat, double lng, String... attractions) {
+        return RegionInfo.builder()
+                .regionName(name)
+                .centerLat(lat)
+                .centerLng(lng)
+                .attractions(Arrays.stream(attractions)
+                        .map(attraction -> Attraction.builder().name(attraction).latitude(lat).longitude(lng).build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.krugs.hackathon_1.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionTest {
+
+    private static final Instant MODIFIED = Instant.parse("2026-10-18T06:00:00.123456Z");
+
+    private MockHttpServletResponse response;
+
+    private ServletWebRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/organizer/marathons");
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        response = new MockHttpServletResponse();
+        return new ServletWebRequest(request, response);
+    }
+
+    @Test
+    void etagEncodesPartsAndModifiedMicros() {
+        ResourceVersion version = ResourceVersion.of(MODIFIED, "events", 3);
+
+        assertEquals("\"events-3-" + Long.toString(1_792_303_200_123_456L, 36) + "\"", version.etag());
+        assertEquals(MODIFIED.toEpochMilli(), version.lastModified());
+        assertEquals("W/" + version.etag(), version.weak().etag());
+        assertEquals(version.weak(), version.weak().weak());
+    }
+
+    @Test
+    void ifNoneMatchReturns304OnlyForTheSameVersion() {
+        ResourceVersion version = ResourceVersion.of(MODIFIED, "events", 3).weak();
+
+        assertTrue(version.notModified(request(HttpHeaders.IF_NONE_MATCH, version.etag())));
+        assertEquals(304, response.getStatus());
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        // 한 건 삭제 - 최근 수정 시각은 같고 개수만 바뀜
+        ResourceVersion afterDelete = ResourceVersion.of(MODIFIED, "events", 2).weak();
+        assertFalse(afterDelete.notModified(request(HttpHeaders.IF_NONE_MATCH, version.etag())));
+        assertEquals(200, response.getStatus());
+        assertEquals(afterDelete.etag(), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void ifModifiedSinceUsesLastModifiedUnlessEtagOnly() {
+        String since = "Sun, 18 Oct 2026 06:00:01 GMT";
+
+        ResourceVersion version = ResourceVersion.of(MODIFIED, "event", 7);
+        assertTrue(version.notModified(request(HttpHeaders.IF_MODIFIED_SINCE, since)));
+        assertEquals(304, response.getStatus());
+        assertFalse(ResourceVersion.of(MODIFIED.plusSeconds(5), "event", 7)
+                .notModified(request(HttpHeaders.IF_MODIFIED_SINCE, since)));
+
+        // 삭제처럼 수정 시각에 드러나지 않는 변경이 있는 목록은 날짜만으로 304를 주지 않음
+        ResourceVersion etagOnly = ResourceVersion.of(MODIFIED, "events", 2).weak().etagOnly();
+        assertFalse(etagOnly.notModified(request(HttpHeaders.IF_MODIFIED_SINCE, since)));
+        assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertTrue(etagOnly.notModified(request(HttpHeaders.IF_NONE_MATCH, etagOnly.etag())));
+    }
+}
@@ -0,0 +1,106 @@
+package com.krugs.hackathon_1.util;
+
+import com.krugs.hackathon_1.dto.GeoPath;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteSimilarityTest {
+
+    private static final double LAT = 36.35;
+    private static final double LNG = 127.38;
+    // 위도 1m에 해당하는 각도
+    private static final double METER = 1 / 111_195.0;
+
+    /**
+     * 북쪽으로 2km 갔다가 동쪽으로 2km (50m 간격), 위도 방향으로 offsetMeters만큼 이동
+     */
+    private static GeoPath lShape(double offsetMeters) {
+        GeoPath.Builder builder = GeoPath.builder();
+        double lngMeter = METER / Math.cos(Math.toRadians(LAT));
+        for (int i = 0; i <= 40; i++) {
+            builder.add(LAT + (i * 50 + offsetMeters) * METER, LNG);
+        }
+        for (int i = 1; i <= 40; i++) {
+            builder.add(LAT + (2000 + offsetMeters) * METER, LNG + i * 50 * lngMeter);
+        }
+        return builder.build();
+    }
+
+    private static GeoPath reversed(GeoPath path) {
+        GeoPath.Builder builder = GeoPath.builder();
+        for (int i = path.size() - 1; i >= 0; i--) {
+            builder.add(path.lat(i), path.lng(i));
+        }
+        return builder.build();
+    }
+
+    private static boolean sharesBand(int[] a, int[] b) {
+        for (int band = 0; band < RouteSimilarity.BANDS; band++) {
+            if (RouteSimilarity.bandKey(a, band) == RouteSimilarity.bandKey(b, band)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void nearbyCopiesAreCandidatesAndDistantRoutesAreNot() {
+        int[] route = RouteSimilarity.signature(lShape(0));
+        int[] shifted = RouteSimilarity.signature(lShape(20));
+        int[] reverse = RouteSimilarity.signature(reversed(lShape(0)));
+        int[] elsewhere = RouteSimilarity.signature(lShape(5000));
+
+        assertEquals(1.0, RouteSimilarity.estimateJaccard(route, reverse));
+        assertTrue(RouteSimilarity.estimateJaccard(route, shifted) > 0.5);
+        assertTrue(sharesBand(route, shifted));
+        assertEquals(0.0, RouteSimilarity.estimateJaccard(route, elsewhere));
+        assertFalse(sharesBand(route, elsewhere));
+        assertNull(RouteSimilarity.signature(GeoPath.of(new double[]{LAT}, new double[]{LNG})));
+    }
+
+    @Test
+    void frechetMeasuresShapeDistanceInEitherDirection() {
+        GeoPath route = lShape(0);
+
+        assertEquals(0, RouteSimilarity.frechetMeters(route, route), 1e-6);
+        assertEquals(0, RouteSimilarity.frechetMeters(route, reversed(route)), 1e-6);
+        assertEquals(30, RouteSimilarity.frechetMeters(route, lShape(30)), 1);
+        // 같은 칸을 지나도 모양이 다르면 멀다: 직선 2km vs ㄱ자
+        GeoPath straight = GeoPath.of(new double[]{LAT, LAT + 2000 * METER}, new double[]{LNG, LNG});
+        assertTrue(RouteSimilarity.frechetMeters(route, straight) > 1500);
+    }
+
+    @Test
+    void longJumpsAreNotInterpolated() {
+        GeoPath route = lShape(0);
+        GeoPath.Builder builder = GeoPath.builder();
+        for (int i = 0; i < route.size(); i++) {
+            builder.add(route.lat(i), route.lng(i));
+            if (i == 40) {
+                // 잘못 찍힌 (0, 0) 좌표 하나
+                builder.add(0, 0);
+            }
+        }
+        GeoPath withOutlier = builder.build();
+
+        int[] clean = RouteSimilarity.signature(route);
+        int[] outlier = RouteSimilarity.signature(withOutlier);
+        // 보간했다면 적도까지 수십만 칸이 더해져 유사도가 0에 가까워짐
+        assertTrue(RouteSimilarity.estimateJaccard(clean, outlier) > 0.8);
+
+        GeoPath infinite = GeoPath.of(new double[]{LAT, Double.POSITIVE_INFINITY, LAT},
+                new double[]{LNG, LNG, LNG + 0.001});
+        assertNotNull(assertTimeoutPreemptively(Duration.ofSeconds(2), () -> RouteSimilarity.signature(infinite)));
+    }
+
+    @Test
+    void signatureBytesRoundTrip() {
+        int[] signature = RouteSimilarity.signature(lShape(0));
+
+        assertArrayEquals(signature, RouteSimilarity.fromBytes(RouteSimilarity.toBytes(signature)));
+        assertNull(RouteSimilarity.fromBytes(new byte[3]));
+    }
+}
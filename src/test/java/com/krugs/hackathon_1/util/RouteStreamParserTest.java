@@ -0,0 +1,67 @@
+package com.krugs.hackathon_1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteStreamParserTest {
+
+    private static final String ROUTE_1 = "{\"name\":\"갑천 {벚꽃} 길\",\"description\":\"괄호 ] 와 \\\"따옴표\\\" }\","
+            + "\"coordinates\":[[36.35,127.38],[36.36,127.39]]}";
+    private static final String ROUTE_2 = "{\"name\":\"엑스포 [야경]\",\"landmarks\":[{\"name\":\"한빛탑 }{\"}]}";
+    private static final String RESPONSE = "좋아요! 코스입니다.\n```json\n{\"summary\":\"{\\\"routes\\\": [] }\","
+            + "\"routes\":[" + ROUTE_1 + ", " + ROUTE_2 + "],\"note\":\"끝 }\"}\n```";
+
+    @Test
+    void bracesInsideStringsDoNotEndRoutes() {
+        List<String> routes = new ArrayList<>();
+        RouteStreamParser parser = new RouteStreamParser(routes::add);
+
+        parser.feed(RESPONSE);
+
+        assertEquals(List.of(ROUTE_1, ROUTE_2), routes);
+        assertEquals(2, parser.getEmittedCount());
+        assertTrue(parser.isFinished());
+    }
+
+    @Test
+    void routesAreEmittedAcrossChunkBoundaries() {
+        // 한 글자씩 나눠 받아도 문자열/이스케이프 상태가 이어짐
+        List<String> routes = new ArrayList<>();
+        RouteStreamParser parser = new RouteStreamParser(routes::add);
+
+        for (int i = 0; i < RESPONSE.length(); i++) {
+            parser.feed(RESPONSE.substring(i, i + 1));
+            if (routes.size() == 1) {
+                assertFalse(parser.isFinished());
+            }
+        }
+
+        assertEquals(List.of(ROUTE_1, ROUTE_2), routes);
+        assertTrue(parser.isFinished());
+    }
+
+    @Test
+    void nestedRoutesKeyIsNotTheRouteList() {
+        List<String> routes = new ArrayList<>();
+        RouteStreamParser parser = new RouteStreamParser(routes::add);
+
+        parser.feed("{\"meta\":{\"routes\":[{\"name\":\"아님\"}]},\"routes\":[{\"name\":\"맞음\"}]}");
+
+        assertEquals(List.of("{\"name\":\"맞음\"}"), routes);
+    }
+
+    @Test
+    void incompleteResponseEmitsOnlyFinishedRoutes() {
+        List<String> routes = new ArrayList<>();
+        RouteStreamParser parser = new RouteStreamParser(routes::add);
+
+        parser.feed("{\"routes\":[" + ROUTE_1 + ",{\"name\":\"잘린 코스 }");
+
+        assertEquals(List.of(ROUTE_1), routes);
+        assertFalse(parser.isFinished());
+    }
+}
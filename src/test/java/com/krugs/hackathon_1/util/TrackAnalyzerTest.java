@@ -0,0 +1,100 @@
+package com.krugs.hackathon_1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackAnalyzerTest {
+
+    private static final long START = 1_760_000_000_000L;
+    private static final double SEGMENT_METERS = 30;
+    // 30m 구간 34개 2m/s, 34개 약 3.33m/s, 16개 2.5m/s → 2520m, 1008초
+    private static final int[][] PHASES = {{34, 15_000}, {34, 9_000}, {16, 12_000}};
+
+    @Test
+    void splitsAreInterpolatedBetweenPoints() {
+        TrackAnalyzer.Result result = analyze(track(-1), new int[0]);
+
+        assertEquals(2520, result.distanceMeters(), 0.1);
+        assertEquals(1008, result.elapsedSeconds(), 0.1);
+        List<TrackAnalyzer.Split> splits = result.splits();
+        assertEquals(3, splits.size());
+        // 1000m, 2000m 경계는 포인트 사이 (990~1020m, 1980~2010m)
+        assertEquals(1000, splits.get(0).distanceMeters(), 0.1);
+        assertEquals(500, splits.get(0).seconds(), 0.1);
+        assertEquals(304, splits.get(1).seconds(), 0.1);
+        assertEquals(520, splits.get(2).distanceMeters(), 0.1);
+        assertEquals(204, splits.get(2).seconds(), 0.1);
+    }
+
+    @Test
+    void bestEffortsSlideAcrossPaceChanges() {
+        TrackAnalyzer.Result result = analyze(track(-1), new int[]{2000, 1000, 5000});
+
+        List<TrackAnalyzer.Effort> efforts = result.efforts();
+        assertEquals(2, efforts.size(), "달성하지 못한 5km는 제외");
+        TrackAnalyzer.Effort oneK = efforts.get(0);
+        assertEquals(1000, oneK.distanceMeters());
+        assertEquals(300, oneK.seconds(), 0.1);
+        // 3.33m/s 구간(1020~2040m, 510~816초) 안의 어느 1km든 300초
+        assertTrue(oneK.startSeconds() >= 509.9 && oneK.startSeconds() <= 516.1, String.valueOf(oneK.startSeconds()));
+        TrackAnalyzer.Effort twoK = efforts.get(1);
+        assertEquals(2000, twoK.distanceMeters());
+        // 가장 빠른 2km는 520m 지점(260초)에서 시작해 끝까지: 250 + 306 + 192초
+        assertEquals(748, twoK.seconds(), 0.1);
+        assertEquals(260, twoK.startSeconds(), 0.1);
+    }
+
+    @Test
+    void gpsJumpsAndPointsWithoutTimeAreIgnored() {
+        TrackAnalyzer.Result clean = analyze(track(-1), new int[]{1000});
+        TrackAnalyzer.Result noisy = analyze(track(40), new int[]{1000});
+
+        // 40번째 포인트가 1km 옆으로 튐 → 그 앞뒤 두 구간(60m)은 거리에서 빠짐
+        assertEquals(clean.distanceMeters() - 60, noisy.distanceMeters(), 0.1);
+        assertEquals(clean.elapsedSeconds(), noisy.elapsedSeconds(), 0.1);
+    }
+
+    @Test
+    void emptyTrack() {
+        TrackAnalyzer.Result result = analyze(new TrackBuffer(0), new int[]{1000});
+
+        assertEquals(0, result.distanceMeters());
+        assertTrue(result.splits().isEmpty());
+        assertTrue(result.efforts().isEmpty());
+    }
+
+    /**
+     * 경도 고정, 북쪽으로 30m씩 이동하는 트랙 (jumpIndex 포인트는 동쪽으로 1km 튐)
+     * 시각 없는 포인트와 같은 시각이 반복되는 포인트를 중간에 섞음
+     */
+    private static TrackBuffer track(int jumpIndex) {
+        TrackBuffer track = new TrackBuffer(100);
+        int index = 0;
+        long time = START;
+        track.append(lat(0), 127.0, Double.NaN, time, 0);
+        for (int[] phase : PHASES) {
+            for (int i = 0; i < phase[0]; i++) {
+                index++;
+                time += phase[1];
+                double lng = index == jumpIndex ? 127.0 + 0.011 : 127.0;
+                track.append(lat(index * SEGMENT_METERS), lng, Double.NaN, time, 0);
+                if (index % 10 == 0) {
+                    track.append(lat(index * SEGMENT_METERS + 500), 127.0, Double.NaN, TrackBuffer.NO_TIME, 0);
+                    track.append(lat(index * SEGMENT_METERS + 500), 127.0, Double.NaN, time, 0);
+                }
+            }
+        }
+        return track;
+    }
+
+    private static double lat(double meters) {
+        return 36.35 + Math.toDegrees(meters / (GeoUtils.EARTH_RADIUS_KM * 1000));
+    }
+
+    private static TrackAnalyzer.Result analyze(TrackBuffer track, int[] targets) {
+        return TrackAnalyzer.analyze(GpsTrackCodec.cursor(GpsTrackCodec.encode(track)), 1000, targets);
+    }
+}
@@ -0,0 +1,140 @@
+package com.krugs.hackathon_1.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackFileReaderTest {
+
+    private static InputStream xml(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void gpxWrittenByGpxWriterReadsBackTheSamePoints() throws IOException {
+        List<TrackFileReader.TrackPoint> written = List.of(
+                new TrackFileReader.TrackPoint(36.3504119, 127.3845475, 52.5, Instant.parse("2026-10-18T06:00:00Z"), 141),
+                new TrackFileReader.TrackPoint(36.3505, 127.3846, Double.NaN, Instant.parse("2026-10-18T06:00:01.500Z"), null),
+                new TrackFileReader.TrackPoint(-33.8688, -151.2093, -4.2, null, 155));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GpxWriter gpx = new GpxWriter(out, "한밭 <수목원> & 갑천")) {
+            written.forEach(p -> gpx.point(p.lat(), p.lng(), p.elevation(), p.time(), p.heartRate()));
+            assertEquals(3, gpx.points());
+        }
+
+        List<TrackFileReader.TrackPoint> read = new ArrayList<>();
+        TrackFileReader.Summary summary = TrackFileReader.read(
+                TrackFileReader.open(new ByteArrayInputStream(gzip(out.toByteArray())), "gzip"), 10, read::add);
+
+        assertEquals(TrackFileReader.Format.GPX, summary.format());
+        assertEquals("한밭 <수목원> & 갑천", summary.name());
+        assertEquals(3, summary.points());
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            TrackFileReader.TrackPoint expected = written.get(i);
+            TrackFileReader.TrackPoint actual = read.get(i);
+            assertEquals(expected.lat(), actual.lat());
+            assertEquals(expected.lng(), actual.lng());
+            assertEquals(expected.hasElevation(), actual.hasElevation());
+            if (expected.hasElevation()) {
+                assertEquals(expected.elevation(), actual.elevation());
+            }
+            assertEquals(expected.time(), actual.time());
+            assertEquals(expected.heartRate(), actual.heartRate());
+        }
+    }
+
+    @Test
+    void readsTcxTrackpointsAndCourseName() {
+        String tcx = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <TrainingCenterDatabase xmlns="http://www.garmin.com/xmlschemas/TrainingCenterDatabase/v2">
+                  <Courses><Course><Name>계룡산 둘레길</Name><Track>
+                    <Trackpoint>
+                      <Time>2026-10-18T06:00:00Z</Time>
+                      <Position><LatitudeDegrees>36.34</LatitudeDegrees><LongitudeDegrees>127.21</LongitudeDegrees></Position>
+                      <AltitudeMeters>120.4</AltitudeMeters>
+                      <HeartRateBpm><Value>150</Value></HeartRateBpm>
+                    </Trackpoint>
+                    <Trackpoint><Time>2026-10-18T06:00:01Z</Time></Trackpoint>
+                  </Track></Course></Courses>
+                  <Author><Name>Garmin Connect</Name></Author>
+                </TrainingCenterDatabase>
+                """;
+        List<TrackFileReader.TrackPoint> points = new ArrayList<>();
+
+        TrackFileReader.Summary summary = TrackFileReader.read(xml(tcx.strip()), 10, points::add);
+
+        assertEquals(TrackFileReader.Format.TCX, summary.format());
+        assertEquals("계룡산 둘레길", summary.name());
+        // 위치가 없는 포인트는 건너뜀
+        assertEquals(1, points.size());
+        assertEquals(new TrackFileReader.TrackPoint(36.34, 127.21, 120.4, Instant.parse("2026-10-18T06:00:00Z"), 150),
+                points.get(0));
+    }
+
+    @Test
+    void stopsAtMaxPoints() {
+        StringBuilder gpx = new StringBuilder("<gpx><trk><trkseg>");
+        for (int i = 0; i < 5; i++) {
+            gpx.append("<trkpt lat=\"36.3").append(i).append("\" lon=\"127.38\"/>");
+        }
+        gpx.append("<trkpt lon=\"127.38\"/></trkseg></trk></gpx>");
+        List<TrackFileReader.TrackPoint> points = new ArrayList<>();
+
+        assertEquals(5, TrackFileReader.read(xml(gpx.toString()), 5, p -> { }).points());
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> TrackFileReader.read(xml(gpx.toString()), 4, points::add));
+        assertEquals("트랙 포인트가 너무 많습니다. (최대 4개)", error.getMessage());
+        assertEquals(4, points.size());
+    }
+
+    @Test
+    void rejectsExternalEntities(@TempDir Path dir) throws IOException {
+        Path secret = dir.resolve("secret.txt");
+        Files.writeString(secret, "SECRET");
+        String gpx = "<?xml version=\"1.0\"?>"
+                + "<!DOCTYPE gpx [<!ENTITY xxe SYSTEM \"" + secret.toUri() + "\">]>"
+                + "<gpx><trk><name>&xxe;</name><trkseg><trkpt lat=\"36.3\" lon=\"127.3\"/></trkseg></trk></gpx>";
+
+        assertThrows(IllegalArgumentException.class, () -> TrackFileReader.read(xml(gpx), 10, p -> { }));
+    }
+
+    @Test
+    void rejectsInternalEntityExpansion() {
+        String gpx = "<?xml version=\"1.0\"?>"
+                + "<!DOCTYPE gpx [<!ENTITY a \"aaaaaaaaaa\"><!ENTITY b \"&a;&a;&a;&a;&a;&a;&a;&a;&a;&a;\">]>"
+                + "<gpx><trk><name>&b;</name></trk></gpx>";
+
+        assertThrows(IllegalArgumentException.class, () -> TrackFileReader.read(xml(gpx), 10, p -> { }));
+    }
+
+    @Test
+    void rejectsOtherDocumentsAndBrokenXml() {
+        assertThrows(IllegalArgumentException.class, () -> TrackFileReader.read(xml("<kml></kml>"), 10, p -> { }));
+        assertThrows(IllegalArgumentException.class,
+                () -> TrackFileReader.read(xml("<gpx><trk><trkseg><trkpt lat=\"36"), 10, p -> { }));
+        assertThrows(IllegalArgumentException.class, () -> TrackFileReader.read(xml(""), 10, p -> { }));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}